@@ -1,14 +1,30 @@
 package Solution.Logic;
 
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
 /**
  * Handles user authentication and registration
+ * Passwords are kept only as salted PBKDF2 hashes, so an attached TaskLog
+ * never writes them to disk
  */
 public class AuthManager
 {
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_ITERATIONS = 65_536;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private String storedUsername;
-    private String storedPassword;
+    private byte[] storedSalt;
+    private byte[] storedPasswordHash;
     private String storedFirstName;
     private String storedLastName;
+    private TaskLog log;
 
     /**
      * Registers a new user
@@ -17,10 +33,13 @@ public class AuthManager
      * @param firstName
      * @param lastName
      * @throws IllegalArgumentException if validation fails
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written;
+     *         no user is registered in that case
      */
     public void registerUser(String username, String password, 
                            String firstName, String lastName)
-        throws IllegalArgumentException
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
     {
         if (!isValidUsername(username))
         {
@@ -34,12 +53,53 @@ public class AuthManager
                 "Password needs 8+ chars with uppercase, number, and special char");
         }
 
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = hashPassword(password, salt);
+        // Logged first, so a failing log leaves the previous user in place
+        if (log != null)
+        {
+            log.append(TaskLog.encodeUser(username, salt, hash, firstName, lastName));
+            log.sync();
+        }
+        restoreUser(username, salt, hash, firstName, lastName);
+    }
+
+    /**
+     * Stores a user whose password was already hashed
+     */
+    void restoreUser(String username, byte[] salt, byte[] passwordHash,
+                     String firstName, String lastName)
+    {
         storedUsername = username;
-        storedPassword = password;
+        storedSalt = salt;
+        storedPasswordHash = passwordHash;
         storedFirstName = firstName;
         storedLastName = lastName;
     }
 
+    /**
+     * Encodes the registered user as a log record, for a snapshot
+     * @return record, or null if no user is registered
+     */
+    byte[] encodeUser()
+    {
+        if (storedUsername == null)
+        {
+            return null;
+        }
+        return TaskLog.encodeUser(storedUsername, storedSalt, storedPasswordHash,
+                                  storedFirstName, storedLastName);
+    }
+
+    /**
+     * Starts appending every later registration to the log
+     */
+    void attachLog(TaskLog log)
+    {
+        this.log = log;
+    }
+
     /**
      * Authenticates a user
      * @param username
@@ -51,7 +111,8 @@ public class AuthManager
         throws IllegalArgumentException
     {
         if (storedUsername == null || !storedUsername.equals(username) || 
-            !storedPassword.equals(password))
+            password == null ||
+            !MessageDigest.isEqual(storedPasswordHash, hashPassword(password, storedSalt)))
         {
             throw new IllegalArgumentException("Invalid credentials");
         }
@@ -76,6 +137,27 @@ public class AuthManager
         return storedLastName;
     }
 
+    /**
+     * Hashes a password with PBKDF2 and the given salt
+     */
+    private static byte[] hashPassword(String password, byte[] salt)
+    {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, HASH_ITERATIONS, HASH_BITS);
+        try
+        {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+                .generateSecret(spec).getEncoded();
+        }
+        catch (GeneralSecurityException e)
+        {
+            throw new IllegalStateException("Password hashing is unavailable", e);
+        }
+        finally
+        {
+            spec.clearPassword();
+        }
+    }
+
     /**
      * Validates username format
      */
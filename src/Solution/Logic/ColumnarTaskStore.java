@@ -0,0 +1,324 @@
+package Solution.Logic;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays task store
+ * Each field lives in its own primitive column: durations in a float array,
+ * status ordinals as one byte each, developers as ids of the store's dictionary,
+ * and names and descriptions as offsets into one shared char array. Task
+ * objects are only created when a row is read through get
+ */
+final class ColumnarTaskStore implements TaskStore
+{
+    private static final int INITIAL_ROWS = 16;
+
+    private int size;
+    private float[] durations = new float[INITIAL_ROWS];
+    private byte[] statuses = new byte[INITIAL_ROWS];
+    private long[] sequences = new long[INITIAL_ROWS];
+    private int[] idDevelopers = new int[INITIAL_ROWS];
+
+    // Row r owns text[textOffsets[2r], textOffsets[2r+1]) as its name and
+    // text[textOffsets[2r+1], textOffsets[2r+2]) as its description
+    private int[] textOffsets = new int[2 * INITIAL_ROWS + 1];
+    private char[] text = new char[16 * INITIAL_ROWS];
+    private int textLength;
+
+    // Row r owns developerIds[developerRanges[2r], developerRanges[2r+1]).
+    // Rows are laid out in order, except that a row given more developers
+    // than it had is moved to the end, leaving its old slots unused
+    private int[] developerRanges = new int[2 * INITIAL_ROWS];
+    private int[] developerIds = new int[2 * INITIAL_ROWS];
+    private int developerLength;
+    private int movedDevelopersEnd;
+
+    private final DeveloperDictionary dictionary;
+
+    /**
+     * Constructs an empty store with its own developer dictionary
+     */
+    ColumnarTaskStore()
+    {
+        this(new DeveloperDictionary());
+    }
+
+    /**
+     * Constructs an empty store using the given developer dictionary
+     */
+    ColumnarTaskStore(DeveloperDictionary dictionary)
+    {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public TaskStore newEmpty()
+    {
+        return new ColumnarTaskStore(dictionary);
+    }
+
+    @Override
+    public void replace(TaskStore original)
+    {
+        // Nothing is kept outside the heap
+    }
+
+    @Override
+    public int add(TaskManager.Task task)
+    {
+        ensureRowCapacity(size + 1);
+
+        int row = size;
+        durations[row] = task.getDuration();
+        statuses[row] = (byte) task.getStatus().ordinal();
+        sequences[row] = task.getSequence();
+        idDevelopers[row] = idDeveloperOf(task);
+
+        appendText(task.getName());
+        textOffsets[2 * row + 1] = textLength;
+        appendText(task.getDescription());
+        textOffsets[2 * row + 2] = textLength;
+
+        writeDevelopers(row, developerIdsOf(task));
+
+        size++;
+        return row;
+    }
+
+    @Override
+    public void ensureCapacity(int rows)
+    {
+        ensureRowCapacity(rows);
+    }
+
+    @Override
+    public void truncate(int rows)
+    {
+        if (rows < size)
+        {
+            size = rows;
+            textLength = textOffsets[2 * rows];
+            developerLength = Math.max(developerRanges[2 * rows], movedDevelopersEnd);
+        }
+    }
+
+    @Override
+    public TaskManager.Task get(int row)
+    {
+        checkRow(row);
+
+        String name = textAt(textOffsets[2 * row], textOffsets[2 * row + 1]);
+        String description = textAt(textOffsets[2 * row + 1], textOffsets[2 * row + 2]);
+
+        int[] developers = Arrays.copyOfRange(developerIds, developerRanges[2 * row],
+                                              developerRanges[2 * row + 1]);
+
+        return new TaskManager.Task(name, description, developers, dictionary,
+                                    durations[row], TaskStatus.fromOrdinal(statuses[row]),
+                                    sequences[row], idDevelopers[row]);
+    }
+
+    @Override
+    public void setStatus(int row, TaskStatus status)
+    {
+        checkRow(row);
+        statuses[row] = (byte) status.ordinal();
+    }
+
+    @Override
+    public void setDuration(int row, float duration)
+    {
+        checkRow(row);
+        durations[row] = duration;
+    }
+
+    @Override
+    public void setDevelopers(int row, int[] developerIds)
+    {
+        checkRow(row);
+        int start = developerRanges[2 * row];
+        if (developerIds.length <= developerRanges[2 * row + 1] - start)
+        {
+            // Fits in the row's current slots
+            System.arraycopy(developerIds, 0, this.developerIds, start, developerIds.length);
+            developerRanges[2 * row + 1] = start + developerIds.length;
+            return;
+        }
+
+        writeDevelopers(row, developerIds);
+        movedDevelopersEnd = developerLength;
+    }
+
+    @Override
+    public void markDeleted(int row)
+    {
+        checkRow(row);
+    }
+
+    @Override
+    public boolean isMarkedDeleted(int row)
+    {
+        checkRow(row);
+        return false;
+    }
+
+    @Override
+    public int[] getDeveloperIds(int row)
+    {
+        checkRow(row);
+        return Arrays.copyOfRange(developerIds, developerRanges[2 * row], developerRanges[2 * row + 1]);
+    }
+
+    @Override
+    public int getIdDeveloper(int row)
+    {
+        checkRow(row);
+        return idDevelopers[row];
+    }
+
+    @Override
+    public String getName(int row)
+    {
+        checkRow(row);
+        return textAt(textOffsets[2 * row], textOffsets[2 * row + 1]);
+    }
+
+    @Override
+    public String getDescription(int row)
+    {
+        checkRow(row);
+        return textAt(textOffsets[2 * row + 1], textOffsets[2 * row + 2]);
+    }
+
+    @Override
+    public float getDuration(int row)
+    {
+        checkRow(row);
+        return durations[row];
+    }
+
+    @Override
+    public TaskStatus getStatus(int row)
+    {
+        checkRow(row);
+        return TaskStatus.fromOrdinal(statuses[row]);
+    }
+
+    @Override
+    public long getSequence(int row)
+    {
+        checkRow(row);
+        return sequences[row];
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public DeveloperDictionary getDeveloperDictionary()
+    {
+        return dictionary;
+    }
+
+    /**
+     * Rejects rows that have not been written
+     */
+    private void checkRow(int row)
+    {
+        if (row < 0 || row >= size)
+        {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+    }
+
+    /**
+     * Grows every per-row column to hold at least the given number of rows
+     */
+    private void ensureRowCapacity(int rows)
+    {
+        if (rows <= durations.length)
+        {
+            return;
+        }
+
+        int capacity = Math.max(rows, durations.length + (durations.length >> 1));
+        durations = Arrays.copyOf(durations, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        sequences = Arrays.copyOf(sequences, capacity);
+        idDevelopers = Arrays.copyOf(idDevelopers, capacity);
+        textOffsets = Arrays.copyOf(textOffsets, 2 * capacity + 1);
+        developerRanges = Arrays.copyOf(developerRanges, 2 * capacity);
+    }
+
+    /**
+     * Appends a row's developer ids to the end of the developer column
+     */
+    private void writeDevelopers(int row, int[] developers)
+    {
+        int start = developerLength;
+        if (start + developers.length > developerIds.length)
+        {
+            developerIds = Arrays.copyOf(developerIds,
+                Math.max(developerIds.length * 2, start + developers.length));
+        }
+        System.arraycopy(developers, 0, developerIds, start, developers.length);
+        developerRanges[2 * row] = start;
+        developerRanges[2 * row + 1] = start + developers.length;
+        developerLength = start + developers.length;
+    }
+
+    /**
+     * Appends characters to the shared text storage
+     */
+    private void appendText(String value)
+    {
+        if (textLength + value.length() > text.length)
+        {
+            long grown = Math.max((long) text.length * 2, (long) textLength + value.length());
+            if (grown > Integer.MAX_VALUE - 8)
+            {
+                throw new IllegalStateException("Task text storage is full");
+            }
+            text = Arrays.copyOf(text, (int) grown);
+        }
+        value.getChars(0, value.length(), text, textLength);
+        textLength += value.length();
+    }
+
+    /**
+     * Copies a range of the shared text storage into a string
+     */
+    private String textAt(int start, int end)
+    {
+        return new String(text, start, end - start);
+    }
+
+    /**
+     * Gets a task's developer ids in this store's dictionary
+     */
+    private int[] developerIdsOf(TaskManager.Task task)
+    {
+        if (task.getDictionary() == dictionary)
+        {
+            return task.getDeveloperIds();
+        }
+        return dictionary.internAll(task.getDevelopers());
+    }
+
+    /**
+     * Gets the id of the developer a task's ID was built from in this
+     * store's dictionary
+     */
+    private int idDeveloperOf(TaskManager.Task task)
+    {
+        int id = task.getIdDeveloper();
+        if (task.getDictionary() == dictionary || id == DeveloperDictionary.UNKNOWN)
+        {
+            return id;
+        }
+        return dictionary.intern(task.getDictionary().nameOf(id));
+    }
+}
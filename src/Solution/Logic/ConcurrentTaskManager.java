@@ -0,0 +1,1440 @@
+package Solution.Logic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe task manager for concurrent ingest
+ * Tasks are spread over independent TaskManager stripes, each guarded by its
+ * own read/write lock, so writers on different stripes never wait for each
+ * other. Readers lock every stripe in a fixed order and merge the stripes by
+ * sequence number, which gives them one consistent view of the board in
+ * order of addition.
+ * Deleted tasks stay in their stripe as tombstones until the stripe's share
+ * of deleted rows reaches the compaction threshold; the stripe is then
+ * copied without them on a background thread and swapped in.
+ * With a log attached, a stripe appends a change's record before applying
+ * it, so a closed or failed log rejects the change with the board
+ * unchanged. The wait for the group commit follows once the stripe lock is
+ * released; if that commit fails, the caller gets the exception, the change
+ * stays on the board without being durable and the log refuses every later
+ * change
+ */
+public class ConcurrentTaskManager extends TaskLogTarget
+{
+    /**
+     * Share of deleted rows in a stripe at which it is compacted by default
+     */
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.25;
+
+    private static final int COMPACTION_ATTEMPTS = 3;
+
+    // One daemon thread compacts stripes for every manager
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(task ->
+    {
+        Thread thread = new Thread(task, "task-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TaskManager[] stripes;
+    private final AtomicLong sequences = new AtomicLong();
+    private final ReentrantReadWriteLock[] locks;
+    private final AtomicBoolean[] compacting;
+    private final double compactionThreshold;
+    private volatile TaskLog log;
+    private volatile ForkJoinPool scanPool = ForkJoinPool.commonPool();
+    private volatile int scanThreshold = ParallelScan.DEFAULT_THRESHOLD;
+    private final TaskEventPublisher events = new TaskEventPublisher();
+
+    /**
+     * Constructs a manager with one stripe per available processor
+     */
+    public ConcurrentTaskManager()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a manager with the given number of stripes
+     * @param stripeCount
+     * @throws IllegalArgumentException if stripeCount is not positive
+     */
+    public ConcurrentTaskManager(int stripeCount)
+        throws IllegalArgumentException
+    {
+        this(stripeCount, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a manager with the given number of stripes and compaction
+     * threshold
+     * @param stripeCount
+     * @param compactionThreshold share of deleted rows, above 0 and at most
+     *        1, at which a stripe is compacted
+     * @throws IllegalArgumentException if stripeCount is not positive or the
+     *         threshold is out of range
+     */
+    public ConcurrentTaskManager(int stripeCount, double compactionThreshold)
+        throws IllegalArgumentException
+    {
+        if (stripeCount < 1)
+        {
+            throw new IllegalArgumentException("Must have at least one stripe");
+        }
+
+        if (!(compactionThreshold > 0 && compactionThreshold <= 1))
+        {
+            throw new IllegalArgumentException("Compaction threshold must be above 0 and at most 1");
+        }
+
+        stripes = new TaskManager[stripeCount];
+        locks = new ReentrantReadWriteLock[stripeCount];
+        compacting = new AtomicBoolean[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+        {
+            stripes[i] = new TaskManager(new ListTaskStore(), sequences);
+            stripes[i].publishTo(events);
+            locks[i] = new ReentrantReadWriteLock();
+            compacting[i] = new AtomicBoolean();
+        }
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Adds a new task with multiple developers
+     * @param name
+     * @param description
+     * @param developers
+     * @param duration
+     * @param status label of the status, e.g. "To Do"
+     * @throws IllegalArgumentException if validation fails
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written
+     */
+    public void addTask(String name, String description,
+                       List<String> developers, float duration, String status)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        addTask(name, description, developers, duration, TaskStatus.fromLabel(status));
+    }
+
+    /**
+     * Adds a new task with multiple developers
+     * @param name
+     * @param description
+     * @param developers
+     * @param duration
+     * @param status
+     * @throws IllegalArgumentException if validation fails
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written
+     */
+    public void addTask(String name, String description,
+                       List<String> developers, float duration, TaskStatus status)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        writeToFreeStripe(stripe -> stripe.addTask(name, description, developers, duration, status));
+    }
+
+    /**
+     * Adds several tasks at once, all or nothing
+     * The whole batch goes to one stripe under one lock, so readers see
+     * either none or all of it
+     * @param drafts
+     * @throws TaskBatchException listing every invalid task if any fails
+     *         validation; no task is added in that case
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written
+     */
+    public void addTasks(Collection<TaskDraft> drafts)
+        throws TaskBatchException, IllegalStateException, UncheckedIOException
+    {
+        writeToFreeStripe(stripe -> stripe.addTasks(drafts));
+    }
+
+    /**
+     * Moves a task to another status column
+     * @param id
+     * @param status label of the status, e.g. "Done"
+     * @throws IllegalArgumentException if the status is unknown or no task
+     *         has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written
+     */
+    public void moveTask(String id, String status)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        moveTask(id, TaskStatus.fromLabel(status));
+    }
+
+    /**
+     * Moves a task to another status column
+     * @param id
+     * @param status
+     * @throws IllegalArgumentException if the status is missing or no task
+     *         has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written
+     */
+    public void moveTask(String id, TaskStatus status)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        if (status == null)
+        {
+            throw new IllegalArgumentException("Status is required");
+        }
+        writeToStripeOf(id, stripe -> stripe.moveTask(id, status));
+    }
+
+    /**
+     * Changes the duration of a task
+     * @param id
+     * @param duration
+     * @throws IllegalArgumentException if no task has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written
+     */
+    public void updateDuration(String id, float duration)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        writeToStripeOf(id, stripe -> stripe.updateDuration(id, duration));
+    }
+
+    /**
+     * Changes the developers of a task; the task keeps its ID
+     * @param id
+     * @param developers
+     * @throws IllegalArgumentException if there are not 1-5 developers or no
+     *         task has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written
+     */
+    public void updateDevelopers(String id, List<String> developers)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        if (developers == null || developers.size() < 1 || developers.size() > 5)
+        {
+            throw new IllegalArgumentException("Must have 1-5 developers");
+        }
+        writeToStripeOf(id, stripe -> stripe.updateDevelopers(id, developers));
+    }
+
+    /**
+     * Deletes a task
+     * The task is hidden from every read at once; its stripe is compacted
+     * in the background once enough of it is deleted
+     * @param id
+     * @throws IllegalArgumentException if no task has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written
+     */
+    public void deleteTask(String id)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        int stripe = writeToStripeOf(id, manager -> manager.deleteTask(id));
+        compactIfNeeded(stripe);
+    }
+
+    /**
+     * Schedules a stripe for compaction if its deleted share is at or above
+     * the threshold and it is not already scheduled
+     */
+    private void compactIfNeeded(int stripe)
+    {
+        if (needsCompaction(stripe) && compacting[stripe].compareAndSet(false, true))
+        {
+            COMPACTOR.execute(() -> compact(stripe));
+        }
+    }
+
+    /**
+     * Checks whether a stripe's deleted share is at or above the threshold
+     */
+    private boolean needsCompaction(int stripe)
+    {
+        Lock lock = locks[stripe].readLock();
+        lock.lock();
+        try
+        {
+            return stripes[stripe].getDeletedRatio() >= compactionThreshold;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces a stripe with a copy without its deleted tasks
+     * The copy is built under the read lock, so readers and writers on
+     * other stripes carry on; the write lock is only held to apply deletes
+     * made in the meantime and swap. A stripe that had tasks added or
+     * changed in the meantime is copied again. The copy takes the stripe's
+     * log when it is swapped in, so a log attached after a replay scheduled
+     * the compaction is kept
+     */
+    private void compact(int stripe)
+    {
+        boolean swapped = false;
+        try
+        {
+            for (int attempt = 0; attempt < COMPACTION_ATTEMPTS; attempt++)
+            {
+                TaskManager original;
+                long version;
+                BitSet deletedAtCopy;
+                TaskManager copy;
+                Lock readLock = locks[stripe].readLock();
+                readLock.lock();
+                try
+                {
+                    original = stripes[stripe];
+                    version = original.getVersion();
+                    deletedAtCopy = original.copyDeletedRows();
+                    copy = original.copyWithoutDeleted();
+                }
+                finally
+                {
+                    readLock.unlock();
+                }
+
+                Lock writeLock = locks[stripe].writeLock();
+                writeLock.lock();
+                try
+                {
+                    if (stripes[stripe] == original && original.getVersion() == version)
+                    {
+                        copy.deleteSince(original, deletedAtCopy);
+                        copy.takePlaceOf(original);
+                        copy.publishTo(events);
+                        stripes[stripe] = copy;
+                        swapped = true;
+                        return;
+                    }
+                }
+                finally
+                {
+                    writeLock.unlock();
+                }
+            }
+        }
+        finally
+        {
+            // Deletes made while this ran did not schedule a compaction
+            if (swapped && needsCompaction(stripe))
+            {
+                COMPACTOR.execute(() -> compact(stripe));
+            }
+            else
+            {
+                compacting[stripe].set(false);
+            }
+        }
+    }
+
+    /**
+     * Waits until every compaction scheduled so far has finished
+     */
+    void awaitCompaction()
+        throws InterruptedException
+    {
+        for (AtomicBoolean scheduled : compacting)
+        {
+            while (scheduled.get())
+            {
+                try
+                {
+                    COMPACTOR.submit(() -> { }).get();
+                }
+                catch (ExecutionException e)
+                {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the share of stored rows that belong to deleted tasks
+     * @return ratio from 0 to 1
+     */
+    public double getDeletedRatio()
+    {
+        lockAllForReading();
+        try
+        {
+            long rows = 0;
+            long deleted = 0;
+            for (TaskManager stripe : stripes)
+            {
+                int stripeRows = stripe.getStore().size();
+                rows += stripeRows;
+                deleted += stripeRows - stripe.getTaskCount();
+            }
+            return rows == 0 ? 0 : (double) deleted / rows;
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Runs a write on the stripe holding a task
+     * The stripe is found under read locks, which a running compaction does
+     * not block, and only that stripe is then locked for writing. Tasks never
+     * change stripe, so the write still finds the task unless it was deleted
+     * in between
+     * @return index of the stripe
+     */
+    private int writeToStripeOf(String id, Consumer<TaskManager> write)
+    {
+        int stripe = findStripe(id);
+        if (stripe < 0)
+        {
+            throw new IllegalArgumentException("No task with ID " + id);
+        }
+
+        Lock lock = locks[stripe].writeLock();
+        lock.lock();
+        try
+        {
+            write.accept(stripes[stripe]);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        syncLog();
+        events.flush();
+        return stripe;
+    }
+
+    /**
+     * Waits until the records of writes made so far are on disk, if a log
+     * is attached
+     * Stripes only append to the log, so this wait happens outside every
+     * stripe lock and concurrent writers share group commits. A snapshot
+     * that has become due is written on the background thread
+     */
+    private void syncLog()
+    {
+        TaskLog current = log;
+        if (current != null)
+        {
+            current.sync();
+            if (current.claimCheckpoint())
+            {
+                COMPACTOR.execute(current::runClaimedCheckpoint);
+            }
+        }
+    }
+
+    @Override
+    void replayAdd(TaskDraft draft, long sequence)
+    {
+        applyToStripe(replayStripeFor(sequence), stripe -> stripe.replayAdd(draft, sequence));
+    }
+
+    @Override
+    void replayAddAll(List<TaskDraft> drafts, long[] sequences)
+    {
+        if (sequences.length > 0)
+        {
+            applyToStripe(replayStripeFor(sequences[0]),
+                          stripe -> stripe.replayAddAll(drafts, sequences));
+        }
+    }
+
+    @Override
+    TaskSnapshot captureSnapshot(TaskLog log)
+    {
+        List<TaskManager.Task> live;
+        long position;
+        long nextSequence;
+        lockAllForReading();
+        try
+        {
+            int count = 0;
+            for (TaskManager stripe : stripes)
+            {
+                count += stripe.getTaskCount();
+            }
+            live = new ArrayList<>(count);
+            for (TaskManager stripe : stripes)
+            {
+                stripe.collectLiveTasks(live);
+            }
+            position = log.getPosition();
+            nextSequence = sequences.get();
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+
+        // Tasks are immutable, so the stripes are merged outside the locks
+        live.sort(Comparator.comparingLong(TaskManager.Task::getSequence));
+        return new TaskSnapshot(position, nextSequence, live);
+    }
+
+    /**
+     * Splits the snapshot's tasks into one run per stripe, so every stripe
+     * stays in sequence order
+     */
+    @Override
+    void restoreSnapshot(TaskSnapshot snapshot)
+    {
+        List<TaskManager.Task> tasks = snapshot.getTasks();
+        for (int i = 0; i < stripes.length; i++)
+        {
+            int from = (int) ((long) tasks.size() * i / stripes.length);
+            int to = (int) ((long) tasks.size() * (i + 1) / stripes.length);
+            applyToStripe(i, stripe -> stripe.restoreTasks(tasks, from, to));
+        }
+        sequences.accumulateAndGet(snapshot.getNextSequence(), Math::max);
+    }
+
+    /**
+     * Picks the stripe a replayed task goes to
+     * The log interleaves stripes, so sequence numbers arrive out of order,
+     * but readers need each stripe's rows in sequence order. Taking the
+     * stripe whose last sequence is the highest one below the new task keeps
+     * that order whenever there are at least as many stripes as when the
+     * log was written; otherwise finishReplay re-splits the stripes
+     */
+    private int replayStripeFor(long sequence)
+    {
+        int best = -1;
+        long bestLast = -1;
+        int lowest = 0;
+        long lowestLast = Long.MAX_VALUE;
+        for (int i = 0; i < stripes.length; i++)
+        {
+            TaskStore store = stripes[i].getStore();
+            long last = store.size() == 0 ? -1 : store.getSequence(store.size() - 1);
+            if (last < sequence && (best < 0 || last > bestLast))
+            {
+                best = i;
+                bestLast = last;
+            }
+            if (last < lowestLast)
+            {
+                lowest = i;
+                lowestLast = last;
+            }
+        }
+        return best >= 0 ? best : lowest;
+    }
+
+    /**
+     * Runs a write on the given stripe under its write lock
+     */
+    private void applyToStripe(int stripe, Consumer<TaskManager> write)
+    {
+        Lock lock = locks[stripe].writeLock();
+        lock.lock();
+        try
+        {
+            write.accept(stripes[stripe]);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Re-splits the stripes if replay left any of them out of sequence
+     * order, which happens when the log was written with more stripes than
+     * this manager has
+     * The live tasks are merged by sequence and cut into one run per stripe,
+     * as a snapshot is restored; deleted rows are dropped on the way
+     */
+    @Override
+    void finishReplay()
+    {
+        lockAllForReading();
+        List<TaskManager.Task> live;
+        try
+        {
+            boolean ordered = true;
+            for (int i = 0; i < stripes.length && ordered; i++)
+            {
+                TaskStore store = stripes[i].getStore();
+                for (int row = 1; row < store.size() && ordered; row++)
+                {
+                    ordered = store.getSequence(row - 1) < store.getSequence(row);
+                }
+            }
+            if (ordered)
+            {
+                return;
+            }
+
+            live = new ArrayList<>();
+            for (TaskManager stripe : stripes)
+            {
+                stripe.collectLiveTasks(live);
+            }
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+
+        live.sort(Comparator.comparingLong(TaskManager.Task::getSequence));
+        for (int i = 0; i < stripes.length; i++)
+        {
+            int from = (int) ((long) live.size() * i / stripes.length);
+            int to = (int) ((long) live.size() * (i + 1) / stripes.length);
+            TaskManager stripe = new TaskManager(new ListTaskStore(), sequences);
+            stripe.publishTo(events);
+            stripe.restoreTasks(live, from, to);
+
+            // A compaction running meanwhile sees the new stripe and gives up
+            Lock lock = locks[i].writeLock();
+            lock.lock();
+            try
+            {
+                stripes[i] = stripe;
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    void attachLog(TaskLog log)
+    {
+        for (int i = 0; i < stripes.length; i++)
+        {
+            Lock lock = locks[i].writeLock();
+            lock.lock();
+            try
+            {
+                stripes[i].attachLog(log, false);
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+        this.log = log;
+    }
+
+    /**
+     * Finds the stripe holding a task, locking one stripe at a time
+     * @return index of the stripe, or -1 if no stripe has the task
+     */
+    private int findStripe(String id)
+    {
+        for (int i = 0; i < stripes.length; i++)
+        {
+            Lock lock = locks[i].readLock();
+            lock.lock();
+            try
+            {
+                if (stripes[i].getRowById(id) >= 0)
+                {
+                    return i;
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Runs a write on the first free stripe, then waits for its log record
+     * and notifies listeners
+     */
+    private void writeToFreeStripe(Consumer<TaskManager> write)
+    {
+        applyToFreeStripe(write);
+        syncLog();
+        events.flush();
+    }
+
+    /**
+     * Runs a write on the first free stripe, starting from a random one,
+     * and only blocks when every stripe is busy
+     */
+    private void applyToFreeStripe(Consumer<TaskManager> write)
+    {
+        int start = ThreadLocalRandom.current().nextInt(stripes.length);
+        for (int i = 0; i < stripes.length; i++)
+        {
+            int stripe = (start + i) % stripes.length;
+            Lock lock = locks[stripe].writeLock();
+            if (lock.tryLock())
+            {
+                try
+                {
+                    write.accept(stripes[stripe]);
+                    return;
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+            }
+        }
+
+        Lock lock = locks[start].writeLock();
+        lock.lock();
+        try
+        {
+            write.accept(stripes[start]);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the total number of tasks
+     * @return 
+     */
+    public int getTaskCount()
+    {
+        lockAllForReading();
+        try
+        {
+            int count = 0;
+            for (TaskManager stripe : stripes)
+            {
+                count += stripe.getTaskCount();
+            }
+            return count;
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Gets the number of tasks with the given status
+     * @param status
+     * @return 
+     */
+    public int getTaskCount(TaskStatus status)
+    {
+        lockAllForReading();
+        try
+        {
+            int count = 0;
+            for (TaskManager stripe : stripes)
+            {
+                count += stripe.getTaskCount(status);
+            }
+            return count;
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Gets the count, total, shortest and longest duration of every task
+     * @return 
+     */
+    public DurationStats getDurationStats()
+    {
+        lockAllForReading();
+        try
+        {
+            DurationStats stats = DurationStats.EMPTY;
+            for (TaskManager stripe : stripes)
+            {
+                stats = stats.plus(stripe.getDurationStats());
+            }
+            return stats;
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Gets the count, total, shortest and longest duration of the tasks
+     * with a status
+     * @param status
+     * @return 
+     * @throws IllegalArgumentException if the status is missing
+     */
+    public DurationStats getDurationStats(TaskStatus status)
+        throws IllegalArgumentException
+    {
+        lockAllForReading();
+        try
+        {
+            DurationStats stats = DurationStats.EMPTY;
+            for (TaskManager stripe : stripes)
+            {
+                stats = stats.plus(stripe.getDurationStats(status));
+            }
+            return stats;
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Gets the count, total, shortest and longest duration of the tasks a
+     * developer is on, across every stripe
+     * @param developer
+     * @return stats, empty if the developer has no tasks
+     */
+    public DurationStats getDeveloperDurationStats(String developer)
+    {
+        lockAllForReading();
+        try
+        {
+            DurationStats stats = DurationStats.EMPTY;
+            for (TaskManager stripe : stripes)
+            {
+                stats = stats.plus(stripe.getDeveloperDurationStats(developer));
+            }
+            return stats;
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Gets all tasks as formatted string
+     * @return 
+     */
+    public String getAllTasks()
+    {
+        StringBuilder sb = new StringBuilder();
+        try
+        {
+            writeAllTasks(sb);
+        }
+        catch (IOException e)
+        {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return sb.length() == 0 ? "No tasks available" : sb.toString();
+    }
+
+    /**
+     * Writes all tasks in order of addition
+     * Writes nothing when no tasks exist
+     * @param out
+     * @throws IOException if the destination fails
+     */
+    public void writeAllTasks(Appendable out)
+        throws IOException
+    {
+        lockAllForReading();
+        try
+        {
+            writeMerged(null, new int[stripes.length], Integer.MAX_VALUE, rendering(out));
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Passes every task to a writer in order of addition
+     * Every stripe stays locked for reading until the last task is written,
+     * so the writer sees one consistent view of the board
+     * @param writer
+     * @throws IOException if the writer fails
+     */
+    void writeAllTasks(TaskWriter writer)
+        throws IOException
+    {
+        lockAllForReading();
+        try
+        {
+            writeMerged(null, new int[stripes.length], Integer.MAX_VALUE, writer);
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Writes one page of tasks in order of addition
+     * Offsets are sequence numbers, so a page started from a returned offset
+     * continues where the last page ended even if tasks were deleted or
+     * stripes compacted in between
+     * @param out
+     * @param offset 0, or an offset returned by the previous page
+     * @param limit maximum number of tasks to write
+     * @return offset of the next page, or -1 if the last task was written
+     * @throws IOException if the destination fails
+     * @throws IllegalArgumentException if offset or limit is negative
+     */
+    public long writeTasks(Appendable out, long offset, int limit)
+        throws IOException, IllegalArgumentException
+    {
+        if (offset < 0 || limit < 0)
+        {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+
+        lockAllForReading();
+        try
+        {
+            int[] positions = new int[stripes.length];
+            for (int i = 0; i < stripes.length; i++)
+            {
+                positions[i] = firstRowFrom(stripes[i].getStore(), offset);
+            }
+            return writeMerged(null, positions, limit, rendering(out));
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Gets tasks by developer in order of addition
+     * @param developer
+     * @return 
+     * @throws IllegalArgumentException if no tasks found
+     */
+    public String getTasksByDeveloper(String developer)
+        throws IllegalArgumentException
+    {
+        StringBuilder sb = new StringBuilder();
+        lockAllForReading();
+        try
+        {
+            IntList[] rows = new IntList[stripes.length];
+            for (int i = 0; i < stripes.length; i++)
+            {
+                rows[i] = stripes[i].getDeveloperRows(developer);
+            }
+            writeMerged(rows, new int[stripes.length], Integer.MAX_VALUE, rendering(sb));
+        }
+        catch (IOException e)
+        {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+
+        if (sb.length() == 0)
+        {
+            throw new IllegalArgumentException("No tasks for " + developer);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Finds the tasks whose name or description contains every word of a
+     * query, as TaskManager.searchTasks does
+     * @param query
+     * @return IDs of the matching tasks in order of addition; empty if none
+     * @throws IllegalArgumentException if the query has no words
+     */
+    public List<String> searchTasks(String query)
+        throws IllegalArgumentException
+    {
+        List<TaskManager.Task> matches = new ArrayList<>();
+        lockAllForReading();
+        try
+        {
+            for (TaskManager stripe : stripes)
+            {
+                IntList rows = stripe.searchRows(query);
+                for (int i = 0; i < rows.size(); i++)
+                {
+                    matches.add(stripe.getStore().get(rows.get(i)));
+                }
+            }
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+
+        matches.sort(Comparator.comparingLong(TaskManager.Task::getSequence));
+        List<String> ids = new ArrayList<>(matches.size());
+        for (TaskManager.Task task : matches)
+        {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Runs a query on every stripe, as TaskManager.query does
+     * Each stripe plans the query against its own indexes and returns at
+     * most the limit in the query's order; the stripes' matches are then
+     * merged in that order, ties in order of addition, and cut to the limit
+     * @param query
+     * @return matching task IDs in the query's order, with each stripe's plan
+     * @throws IllegalArgumentException if the query is missing or its text
+     *         filter has no words
+     */
+    public QueryResult query(TaskQuery query)
+        throws IllegalArgumentException
+    {
+        List<TaskManager.Task> matches = new ArrayList<>();
+        StringBuilder plan = new StringBuilder();
+        long rowsTouched = 0;
+        lockAllForReading();
+        try
+        {
+            for (int i = 0; i < stripes.length; i++)
+            {
+                QueryPlanner planner = stripes[i].runQuery(query);
+                IntList rows = planner.getRows();
+                for (int r = 0; r < rows.size(); r++)
+                {
+                    matches.add(stripes[i].getStore().get(rows.get(r)));
+                }
+                plan.append("Stripe ").append(i).append(":\n  ")
+                    .append(planner.describe().replace("\n", "\n  ")).append('\n');
+                rowsTouched += planner.getRowsTouched();
+            }
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+
+        Comparator<TaskManager.Task> byAddition = Comparator.comparingLong(TaskManager.Task::getSequence);
+        switch (query.getOrder())
+        {
+            case LONGEST_FIRST -> matches.sort(Comparator.comparingDouble(TaskManager.Task::getDuration)
+                                               .reversed().thenComparing(byAddition));
+            case SHORTEST_FIRST -> matches.sort(Comparator.comparingDouble(TaskManager.Task::getDuration)
+                                                .thenComparing(byAddition));
+            default -> matches.sort(byAddition);
+        }
+        List<String> ids = new ArrayList<>(Math.min(matches.size(), query.getLimit()));
+        for (int i = 0; i < matches.size() && i < query.getLimit(); i++)
+        {
+            ids.add(matches.get(i).getId());
+        }
+        plan.append("Merged ").append(matches.size()).append(" matches, touched ").append(rowsTouched)
+            .append(" rows, returned ").append(ids.size());
+        return new QueryResult(ids, plan.toString(), rowsTouched);
+    }
+
+    /**
+     * Finds the tasks a filter accepts by scanning every task, as
+     * TaskManager.findTasks does
+     * Stripes are scanned one after another under the read locks, each
+     * split across the scan pool, and the matches are merged in order of
+     * addition
+     * @param filter test applied to a view of each task
+     * @return IDs of the matching tasks in order of addition
+     * @throws IllegalArgumentException if the filter is missing
+     */
+    public List<String> findTasks(Predicate<? super TaskView> filter)
+        throws IllegalArgumentException
+    {
+        List<TaskManager.Task> matches = new ArrayList<>();
+        lockAllForReading();
+        try
+        {
+            for (TaskManager stripe : stripes)
+            {
+                IntList rows = stripe.scanRows(filter, scanPool, scanThreshold);
+                for (int i = 0; i < rows.size(); i++)
+                {
+                    matches.add(stripe.getStore().get(rows.get(i)));
+                }
+            }
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+
+        matches.sort(Comparator.comparingLong(TaskManager.Task::getSequence));
+        List<String> ids = new ArrayList<>(matches.size());
+        for (TaskManager.Task task : matches)
+        {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Sets the pool that runs findTasks scans
+     * @param pool pool to use, or null for the common pool
+     */
+    public void setScanPool(ForkJoinPool pool)
+    {
+        scanPool = pool == null ? ForkJoinPool.commonPool() : pool;
+    }
+
+    /**
+     * Sets how many rows of a stripe a findTasks scan handles on one thread
+     * before the work is split
+     * @param rows
+     * @throws IllegalArgumentException if rows is below 1
+     */
+    public void setScanThreshold(int rows)
+        throws IllegalArgumentException
+    {
+        if (rows < 1)
+        {
+            throw new IllegalArgumentException("Scan threshold must be at least 1");
+        }
+        scanThreshold = rows;
+    }
+
+    /**
+     * Subscribes to the changes made to every stripe
+     * Stripes share one publisher, which is flushed after the stripe lock
+     * is released and the log record is on disk, so listeners never run
+     * under a stripe lock and may read the board. Concurrent writers'
+     * changes may share a batch
+     * @param listener
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void addTaskListener(TaskListener listener)
+        throws IllegalArgumentException
+    {
+        if (listener == null)
+        {
+            throw new IllegalArgumentException("Listener is required");
+        }
+        events.addListener(listener);
+    }
+
+    /**
+     * Unsubscribes a listener; does nothing if it is not subscribed
+     * @param listener
+     */
+    public void removeTaskListener(TaskListener listener)
+    {
+        events.removeListener(listener);
+    }
+
+    @Override
+    void setPublishing(boolean publishing)
+    {
+        events.setPaused(!publishing);
+    }
+
+    /**
+     * Sets how long changes are collected before listeners are notified
+     * @param millis 0, the default, to notify after every operation on the
+     *        writer's thread
+     * @throws IllegalArgumentException if millis is negative
+     */
+    public void setEventDelay(long millis)
+        throws IllegalArgumentException
+    {
+        if (millis < 0)
+        {
+            throw new IllegalArgumentException("Event delay must not be negative");
+        }
+        events.setDelay(millis);
+    }
+
+    /**
+     * Finds developers whose names are like a full, partial or misspelt
+     * name, as TaskManager.findDevelopers does
+     * Each stripe ranks its own developers and the best match of each name
+     * is kept
+     * @param query
+     * @param limit maximum number of names
+     * @return names of the closest developers; empty if none is close
+     * @throws IllegalArgumentException if limit is below 1
+     */
+    public List<String> findDevelopers(String query, int limit)
+        throws IllegalArgumentException
+    {
+        Map<String, TrigramIndex.Match> best = new HashMap<>();
+        lockAllForReading();
+        try
+        {
+            for (TaskManager stripe : stripes)
+            {
+                for (TrigramIndex.Match match : stripe.findDeveloperMatches(query, limit))
+                {
+                    best.merge(match.getName(), match,
+                               (kept, found) -> TrigramIndex.Match.BEST_FIRST.compare(kept, found) <= 0
+                                   ? kept : found);
+                }
+            }
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+
+        List<TrigramIndex.Match> ranked = new ArrayList<>(best.values());
+        ranked.sort(TrigramIndex.Match.BEST_FIRST);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < ranked.size() && i < limit; i++)
+        {
+            names.add(ranked.get(i).getName());
+        }
+        return names;
+    }
+
+    /**
+     * Gets a task by its ID
+     * @param id
+     * @return 
+     * @throws IllegalArgumentException if no task has the ID
+     */
+    public String getTaskById(String id)
+        throws IllegalArgumentException
+    {
+        lockAllForReading();
+        try
+        {
+            for (TaskManager stripe : stripes)
+            {
+                int row = stripe.getRowById(id);
+                if (row >= 0)
+                {
+                    return stripe.getStore().get(row).toString();
+                }
+            }
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+        throw new IllegalArgumentException("No task with ID " + id);
+    }
+
+    /**
+     * Gets task with longest duration
+     * Ties go to the task added first, as in TaskManager
+     * @return 
+     * @throws IllegalStateException if no tasks exist
+     */
+    public String getTaskWithLongestDuration()
+        throws IllegalStateException
+    {
+        lockAllForReading();
+        try
+        {
+            TaskStore longestStore = null;
+            int longestRow = -1;
+            for (TaskManager stripe : stripes)
+            {
+                int row = stripe.getLongestRow();
+                if (row < 0)
+                {
+                    continue;
+                }
+
+                TaskStore store = stripe.getStore();
+                if (longestStore == null || isLonger(store, row, longestStore, longestRow))
+                {
+                    longestStore = store;
+                    longestRow = row;
+                }
+            }
+
+            if (longestStore == null)
+            {
+                throw new IllegalStateException("No tasks available");
+            }
+            return "Longest task:\n" + longestStore.get(longestRow);
+        }
+        finally
+        {
+            unlockAllForReading();
+        }
+    }
+
+    /**
+     * Checks whether one row is longer than another, or as long and older
+     */
+    private static boolean isLonger(TaskStore store, int row, TaskStore otherStore, int otherRow)
+    {
+        int byDuration = Float.compare(store.getDuration(row), otherStore.getDuration(otherRow));
+        if (byDuration != 0)
+        {
+            return byDuration > 0;
+        }
+        return store.getSequence(row) < otherStore.getSequence(otherRow);
+    }
+
+    /**
+     * Finds the first row of a stripe's store whose sequence number is at
+     * least the given one, by binary search over rows in sequence order
+     */
+    private static int firstRowFrom(TaskStore store, long sequence)
+    {
+        int low = 0;
+        int high = store.size();
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (store.getSequence(middle) < sequence)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Receives tasks merged from every stripe
+     */
+    interface TaskWriter
+    {
+        void write(TaskManager.Task task)
+            throws IOException;
+    }
+
+    /**
+     * Gets a writer that renders each task followed by a blank line
+     */
+    private static TaskWriter rendering(Appendable out)
+    {
+        return task ->
+        {
+            TaskRenderer.render(task, out);
+            out.append("\n\n");
+        };
+    }
+
+    /**
+     * Writes rows of every stripe merged by sequence number
+     * Each stripe's rows must already be in sequence order; stripes are few,
+     * so the smallest head is found by a linear pass. Deleted rows are skipped
+     * @param postings rows to write per stripe, or null to write every row
+     * @param positions where to start in each stripe's rows or postings;
+     *        advanced as rows are written
+     * @param limit maximum number of tasks to write
+     * @return sequence number of the next task, or -1 if none is left
+     */
+    private long writeMerged(IntList[] postings, int[] positions, int limit, TaskWriter writer)
+        throws IOException
+    {
+        int[] ends = new int[stripes.length];
+        for (int i = 0; i < stripes.length; i++)
+        {
+            if (postings == null)
+            {
+                ends[i] = stripes[i].getStore().size();
+            }
+            else if (postings[i] != null)
+            {
+                ends[i] = postings[i].size();
+            }
+        }
+
+        int written = 0;
+        while (true)
+        {
+            int next = -1;
+            int nextRow = -1;
+            long nextSequence = Long.MAX_VALUE;
+            for (int i = 0; i < stripes.length; i++)
+            {
+                int row = -1;
+                while (positions[i] < ends[i])
+                {
+                    row = postings == null ? positions[i] : postings[i].get(positions[i]);
+                    if (!stripes[i].isDeleted(row))
+                    {
+                        break;
+                    }
+                    positions[i]++;
+                }
+
+                if (positions[i] < ends[i])
+                {
+                    long sequence = stripes[i].getStore().getSequence(row);
+                    if (sequence < nextSequence)
+                    {
+                        next = i;
+                        nextRow = row;
+                        nextSequence = sequence;
+                    }
+                }
+            }
+
+            if (next < 0)
+            {
+                return -1;
+            }
+            if (written == limit)
+            {
+                return nextSequence;
+            }
+
+            writer.write(stripes[next].getStore().get(nextRow));
+            positions[next]++;
+            written++;
+        }
+    }
+
+    /**
+     * Takes every stripe's read lock in stripe order
+     */
+    private void lockAllForReading()
+    {
+        for (ReentrantReadWriteLock lock : locks)
+        {
+            lock.readLock().lock();
+        }
+    }
+
+    /**
+     * Releases every stripe's read lock
+     */
+    private void unlockAllForReading()
+    {
+        for (int i = locks.length - 1; i >= 0; i--)
+        {
+            locks[i].readLock().unlock();
+        }
+    }
+}
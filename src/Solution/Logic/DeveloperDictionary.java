@@ -0,0 +1,84 @@
+package Solution.Logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns developer names and maps each one to a compact int id
+ * Ids are handed out densely from 0 in order of first use, so they can
+ * index arrays directly. Tasks store id arrays and resolve names here
+ */
+final class DeveloperDictionary
+{
+    /**
+     * Id returned by idOf for names that were never interned
+     */
+    static final int UNKNOWN = -1;
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * Gets the id of a name, adding the name if it is new
+     * @param name
+     * @return 
+     */
+    int intern(String name)
+    {
+        Integer id = ids.get(name);
+        if (id == null)
+        {
+            id = names.size();
+            names.add(name);
+            ids.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * Interns every name of a developer list
+     * @param developers
+     * @return ids in the same order as the names
+     */
+    int[] internAll(List<String> developers)
+    {
+        int[] result = new int[developers.size()];
+        for (int i = 0; i < result.length; i++)
+        {
+            result[i] = intern(developers.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the id of a name without adding it
+     * @param name
+     * @return id, or UNKNOWN if the name was never interned
+     */
+    int idOf(String name)
+    {
+        Integer id = ids.get(name);
+        return id == null ? UNKNOWN : id;
+    }
+
+    /**
+     * Gets the name of an id
+     * @param id
+     * @return 
+     */
+    String nameOf(int id)
+    {
+        return names.get(id);
+    }
+
+    /**
+     * Gets the number of distinct names
+     * @return 
+     */
+    int size()
+    {
+        return names.size();
+    }
+}
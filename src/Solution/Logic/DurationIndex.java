@@ -0,0 +1,414 @@
+package Solution.Logic;
+
+import java.util.Arrays;
+
+/**
+ * Order statistic index of rows by duration, longest first
+ * Each row is kept as one long key, the duration's sortable bits inverted
+ * in the high half and the row in the low half, so keys in ascending order
+ * run from the longest task to the shortest, ties in order of addition,
+ * and the duration is read back from the key without touching storage.
+ * Keys live in a treap held in primitive arrays: nodes have random
+ * priorities and subtree sizes, so adding, removing, counting the keys in
+ * a duration range and finding the key at a rank all take O(log n)
+ * expected time. Removed nodes are reused
+ */
+final class DurationIndex
+{
+    private static final int NONE = 0;
+
+    // Node 0 is an empty sentinel with size 0, so children need no null checks
+    private long[] keys = new long[16];
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] sizes = new int[16];
+    private int[] priorities = new int[16];
+    private int allocated = 1;
+    private int freeList = NONE;
+    private int root = NONE;
+    private int seed = 0x2545F491;
+
+    // Results of split, which returns two trees
+    private int splitLess;
+    private int splitRest;
+    private boolean removed;
+
+    /**
+     * Builds the key of a row
+     * @param row
+     * @param duration
+     * @return 
+     */
+    static long keyOf(int row, float duration)
+    {
+        return (long) ~sortableBits(duration) << 32 | row;
+    }
+
+    /**
+     * Maps a float to an int whose signed order matches Float.compare
+     * The mapping is its own inverse
+     */
+    private static int sortableBits(float value)
+    {
+        int bits = Float.floatToIntBits(value);
+        return bits >= 0 ? bits : bits ^ Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the duration a key was built from
+     */
+    private static float durationOf(long key)
+    {
+        int sortable = ~(int) (key >> 32);
+        return Float.intBitsToFloat(sortable >= 0 ? sortable : sortable ^ Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the smallest key a duration can have
+     */
+    private static long lowestKey(float duration)
+    {
+        return (long) ~sortableBits(duration) << 32;
+    }
+
+    /**
+     * Adds a row
+     * @param row
+     * @param duration
+     */
+    void add(int row, float duration)
+    {
+        long key = keyOf(row, duration);
+        root = insert(root, allocate(key), key);
+    }
+
+    /**
+     * Removes a row
+     * @param row
+     * @param duration duration the row was added with
+     * @return true if the row was present
+     */
+    boolean remove(int row, float duration)
+    {
+        removed = false;
+        root = erase(root, keyOf(row, duration));
+        return removed;
+    }
+
+    /**
+     * Adds keys to the empty index in linear time
+     * @param sortedKeys keys from keyOf in ascending order
+     * @throws IllegalStateException if the index is not empty
+     */
+    void addAllSorted(long[] sortedKeys)
+        throws IllegalStateException
+    {
+        if (root != NONE)
+        {
+            throw new IllegalStateException("Keys can only be bulk added to an empty index");
+        }
+
+        ensureCapacity(allocated + sortedKeys.length);
+        // Cartesian tree construction: the right spine sits on a stack
+        int[] spine = new int[64];
+        int depth = 0;
+        for (long key : sortedKeys)
+        {
+            int node = allocate(key);
+            int last = NONE;
+            while (depth > 0 && priorities[spine[depth - 1]] < priorities[node])
+            {
+                last = spine[--depth];
+            }
+            left[node] = last;
+            if (depth > 0)
+            {
+                right[spine[depth - 1]] = node;
+            }
+            if (depth == spine.length)
+            {
+                spine = Arrays.copyOf(spine, depth * 2);
+            }
+            spine[depth++] = node;
+        }
+        root = depth > 0 ? spine[0] : NONE;
+        computeSizes(root);
+    }
+
+    /**
+     * Gets the number of rows
+     * @return 
+     */
+    int size()
+    {
+        return sizes[root];
+    }
+
+    /**
+     * Checks whether the index holds no rows
+     * @return 
+     */
+    boolean isEmpty()
+    {
+        return root == NONE;
+    }
+
+    /**
+     * Gets the row at a rank, longest first
+     * @param rank from 0 to size() - 1
+     * @return 
+     */
+    int rowAt(int rank)
+    {
+        return (int) keyAt(rank);
+    }
+
+    /**
+     * Gets the duration at a rank, longest first
+     * @param rank from 0 to size() - 1
+     * @return 
+     */
+    float durationAt(int rank)
+    {
+        return durationOf(keyAt(rank));
+    }
+
+    /**
+     * Counts the rows at least as long as a duration
+     * @param duration
+     * @return 
+     */
+    int countAtLeast(float duration)
+    {
+        return rankOf(lowestKey(duration) + 0xFFFFFFFFL + 1);
+    }
+
+    /**
+     * Counts the rows longer than a duration
+     * @param duration
+     * @return 
+     */
+    int countLongerThan(float duration)
+    {
+        return rankOf(lowestKey(duration));
+    }
+
+    /**
+     * Counts the keys below a key
+     */
+    private int rankOf(long key)
+    {
+        int rank = 0;
+        int node = root;
+        while (node != NONE)
+        {
+            if (keys[node] < key)
+            {
+                rank += sizes[left[node]] + 1;
+                node = right[node];
+            }
+            else
+            {
+                node = left[node];
+            }
+        }
+        return rank;
+    }
+
+    private long keyAt(int rank)
+    {
+        if (rank < 0 || rank >= size())
+        {
+            throw new IndexOutOfBoundsException("Rank " + rank + " of " + size());
+        }
+
+        int node = root;
+        while (true)
+        {
+            int leftSize = sizes[left[node]];
+            if (rank < leftSize)
+            {
+                node = left[node];
+            }
+            else if (rank == leftSize)
+            {
+                return keys[node];
+            }
+            else
+            {
+                rank -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    private int insert(int tree, int node, long key)
+    {
+        if (tree == NONE)
+        {
+            return node;
+        }
+        if (priorities[node] > priorities[tree])
+        {
+            split(tree, key);
+            left[node] = splitLess;
+            right[node] = splitRest;
+            update(node);
+            return node;
+        }
+
+        if (key < keys[tree])
+        {
+            left[tree] = insert(left[tree], node, key);
+        }
+        else
+        {
+            right[tree] = insert(right[tree], node, key);
+        }
+        sizes[tree]++;
+        return tree;
+    }
+
+    private int erase(int tree, long key)
+    {
+        if (tree == NONE)
+        {
+            return NONE;
+        }
+        if (keys[tree] == key)
+        {
+            int merged = merge(left[tree], right[tree]);
+            release(tree);
+            removed = true;
+            return merged;
+        }
+
+        if (key < keys[tree])
+        {
+            left[tree] = erase(left[tree], key);
+        }
+        else
+        {
+            right[tree] = erase(right[tree], key);
+        }
+        if (removed)
+        {
+            sizes[tree]--;
+        }
+        return tree;
+    }
+
+    /**
+     * Splits a tree into keys below a key, left in splitLess, and the
+     * rest, left in splitRest
+     */
+    private void split(int tree, long key)
+    {
+        if (tree == NONE)
+        {
+            splitLess = NONE;
+            splitRest = NONE;
+        }
+        else if (keys[tree] < key)
+        {
+            split(right[tree], key);
+            right[tree] = splitLess;
+            update(tree);
+            splitLess = tree;
+        }
+        else
+        {
+            split(left[tree], key);
+            left[tree] = splitRest;
+            update(tree);
+            splitRest = tree;
+        }
+    }
+
+    /**
+     * Joins two trees whose keys do not overlap, the first one's lower
+     */
+    private int merge(int lower, int upper)
+    {
+        if (lower == NONE)
+        {
+            return upper;
+        }
+        if (upper == NONE)
+        {
+            return lower;
+        }
+        if (priorities[lower] > priorities[upper])
+        {
+            right[lower] = merge(right[lower], upper);
+            update(lower);
+            return lower;
+        }
+        left[upper] = merge(lower, left[upper]);
+        update(upper);
+        return upper;
+    }
+
+    private void update(int node)
+    {
+        sizes[node] = sizes[left[node]] + sizes[right[node]] + 1;
+    }
+
+    private int computeSizes(int node)
+    {
+        if (node == NONE)
+        {
+            return 0;
+        }
+        sizes[node] = computeSizes(left[node]) + computeSizes(right[node]) + 1;
+        return sizes[node];
+    }
+
+    private int allocate(long key)
+    {
+        int node;
+        if (freeList != NONE)
+        {
+            node = freeList;
+            freeList = right[node];
+        }
+        else
+        {
+            ensureCapacity(allocated + 1);
+            node = allocated++;
+        }
+
+        // Xorshift priorities keep the tree balanced in expectation
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        keys[node] = key;
+        priorities[node] = seed;
+        left[node] = NONE;
+        right[node] = NONE;
+        sizes[node] = 1;
+        return node;
+    }
+
+    private void release(int node)
+    {
+        left[node] = NONE;
+        sizes[node] = 0;
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity <= keys.length)
+        {
+            return;
+        }
+        int grown = Math.max(capacity, keys.length + (keys.length >> 1));
+        keys = Arrays.copyOf(keys, grown);
+        left = Arrays.copyOf(left, grown);
+        right = Arrays.copyOf(right, grown);
+        sizes = Arrays.copyOf(sizes, grown);
+        priorities = Arrays.copyOf(priorities, grown);
+    }
+}
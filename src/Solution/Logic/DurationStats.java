@@ -0,0 +1,105 @@
+package Solution.Logic;
+
+/**
+ * Count, total, shortest and longest duration of a group of tasks
+ * A snapshot read from the aggregates TaskManager keeps up to date as
+ * tasks are added, moved, changed and deleted; it does not change later
+ */
+public final class DurationStats
+{
+    /**
+     * Stats of a group without tasks
+     */
+    static final DurationStats EMPTY = new DurationStats(0, 0, 0, 0);
+
+    private final int count;
+    private final double totalHours;
+    private final float minHours;
+    private final float maxHours;
+
+    /**
+     * Constructs stats
+     * @param count number of tasks
+     * @param totalHours sum of their durations
+     * @param minHours shortest duration, 0 if there are no tasks
+     * @param maxHours longest duration, 0 if there are no tasks
+     */
+    DurationStats(int count, double totalHours, float minHours, float maxHours)
+    {
+        this.count = count;
+        this.totalHours = totalHours;
+        this.minHours = minHours;
+        this.maxHours = maxHours;
+    }
+
+    /**
+     * Combines the stats of two disjoint groups
+     * @param other
+     * @return 
+     */
+    DurationStats plus(DurationStats other)
+    {
+        if (count == 0)
+        {
+            return other;
+        }
+        if (other.count == 0)
+        {
+            return this;
+        }
+        return new DurationStats(count + other.count, totalHours + other.totalHours,
+                                 Math.min(minHours, other.minHours), Math.max(maxHours, other.maxHours));
+    }
+
+    /**
+     * Gets the number of tasks
+     * @return 
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the durations
+     * @return hours
+     */
+    public double getTotalHours()
+    {
+        return totalHours;
+    }
+
+    /**
+     * Gets the shortest duration
+     * @return hours, or 0 if there are no tasks
+     */
+    public float getMinHours()
+    {
+        return minHours;
+    }
+
+    /**
+     * Gets the longest duration
+     * @return hours, or 0 if there are no tasks
+     */
+    public float getMaxHours()
+    {
+        return maxHours;
+    }
+
+    /**
+     * Gets the mean duration
+     * @return hours, or 0 if there are no tasks
+     */
+    public double getAverageHours()
+    {
+        return count == 0 ? 0 : totalHours / count;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%d tasks, %.2f hours (min %.2f, max %.2f, average %.2f)",
+                             count, totalHours, minHours, maxHours, getAverageHours());
+    }
+}
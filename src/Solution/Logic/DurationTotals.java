@@ -0,0 +1,117 @@
+package Solution.Logic;
+
+/**
+ * Running count, sum, minimum and maximum of a changing group of durations
+ * Adding and removing are O(1). Removing the current minimum or maximum
+ * marks the bounds stale rather than searching for the next one; they are
+ * recomputed from the group's members on the next read that needs them.
+ * The sum restarts at exactly 0 whenever the group empties, so rounding
+ * from removals does not build up
+ */
+final class DurationTotals
+{
+    private int count;
+    private double sum;
+    private float min;
+    private float max;
+    private boolean boundsStale;
+
+    /**
+     * Adds a duration
+     * @param duration
+     */
+    void add(float duration)
+    {
+        if (count == 0)
+        {
+            min = duration;
+            max = duration;
+        }
+        else if (!boundsStale)
+        {
+            min = Math.min(min, duration);
+            max = Math.max(max, duration);
+        }
+        count++;
+        sum += duration;
+    }
+
+    /**
+     * Removes a duration that was added
+     * @param duration
+     */
+    void remove(float duration)
+    {
+        count--;
+        if (count == 0)
+        {
+            sum = 0;
+            boundsStale = false;
+            return;
+        }
+        sum -= duration;
+        if (!(duration > min && duration < max))
+        {
+            boundsStale = true;
+        }
+    }
+
+    /**
+     * Gets the number of durations
+     * @return 
+     */
+    int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the durations
+     * @return 
+     */
+    double getSum()
+    {
+        return sum;
+    }
+
+    /**
+     * Checks whether the minimum and maximum must be recomputed
+     * @return 
+     */
+    boolean isBoundsStale()
+    {
+        return boundsStale;
+    }
+
+    /**
+     * Replaces stale bounds with ones recomputed from the members
+     * @param min
+     * @param max
+     */
+    void setBounds(float min, float max)
+    {
+        this.min = min;
+        this.max = max;
+        boundsStale = false;
+    }
+
+    /**
+     * Takes a snapshot, with bounds given for groups that do not track them
+     * @param min
+     * @param max
+     * @return 
+     */
+    DurationStats toStats(float min, float max)
+    {
+        return count == 0 ? DurationStats.EMPTY : new DurationStats(count, sum, min, max);
+    }
+
+    /**
+     * Takes a snapshot with the tracked bounds, which must not be stale
+     * @return 
+     */
+    DurationStats toStats()
+    {
+        return toStats(min, max);
+    }
+}
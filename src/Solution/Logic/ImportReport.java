@@ -0,0 +1,121 @@
+package Solution.Logic;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a TaskImporter run
+ * Counts what was imported and rejected, how fast, and why lines were
+ * rejected. Only the first rejections are kept as messages; the count
+ * covers all of them
+ */
+public final class ImportReport
+{
+    private final long imported;
+    private final long rejected;
+    private final long lines;
+    private final long bytes;
+    private final long elapsedNanos;
+    private final List<String> errors;
+
+    /**
+     * Constructs a report
+     * @param imported tasks added to the board
+     * @param rejected lines that were not valid tasks
+     * @param lines lines read, blank ones included
+     * @param bytes bytes read
+     * @param elapsedNanos time the import took
+     * @param errors messages of the first rejected lines, e.g. "Line 12: Status is required"
+     */
+    ImportReport(long imported, long rejected, long lines, long bytes, long elapsedNanos,
+                 List<String> errors)
+    {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.lines = lines;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Gets the number of tasks added to the board
+     * @return 
+     */
+    public long getImported()
+    {
+        return imported;
+    }
+
+    /**
+     * Gets the number of lines that were not valid tasks
+     * @return 
+     */
+    public long getRejected()
+    {
+        return rejected;
+    }
+
+    /**
+     * Gets the number of lines read, blank ones included
+     * @return 
+     */
+    public long getLines()
+    {
+        return lines;
+    }
+
+    /**
+     * Gets the number of bytes read
+     * @return 
+     */
+    public long getBytes()
+    {
+        return bytes;
+    }
+
+    /**
+     * Gets the time the import took
+     * @return nanoseconds
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the messages of the first rejected lines, in file order
+     * @return messages such as "Line 12: Status is required"
+     */
+    public List<String> getErrors()
+    {
+        return errors;
+    }
+
+    /**
+     * Gets the number of tasks imported per second
+     * @return 
+     */
+    public double getTasksPerSecond()
+    {
+        return elapsedNanos == 0 ? 0 : imported / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Gets the number of megabytes read per second
+     * @return 
+     */
+    public double getMegabytesPerSecond()
+    {
+        return elapsedNanos == 0 ? 0 : bytes / 1e6 / (elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("Imported %,d tasks from %,d lines in %.2f s (%,.0f tasks/s, %.1f MB/s); "
+                             + "%,d lines rejected",
+                             imported, lines, elapsedNanos / 1e9, getTasksPerSecond(),
+                             getMegabytesPerSecond(), rejected);
+    }
+}
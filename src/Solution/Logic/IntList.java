@@ -0,0 +1,146 @@
+package Solution.Logic;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints
+ * Used for row posting lists so indexes do not box every entry
+ */
+final class IntList
+{
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructs an empty list
+     */
+    IntList()
+    {
+        this(4);
+    }
+
+    /**
+     * Constructs an empty list with the given capacity
+     */
+    IntList(int capacity)
+    {
+        values = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Appends a value
+     */
+    void add(int value)
+    {
+        if (size == values.length)
+        {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Removes every value, keeping the capacity
+     */
+    void clear()
+    {
+        size = 0;
+    }
+
+    /**
+     * Appends every value of another list
+     */
+    void addAll(IntList other)
+    {
+        if (size + other.size > values.length)
+        {
+            values = Arrays.copyOf(values, Math.max(size + other.size, size + (size >> 1) + 1));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Inserts a value into a list sorted in ascending order, keeping it
+     * sorted; does nothing if the value is already present
+     */
+    void addSorted(int value)
+    {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0)
+        {
+            return;
+        }
+
+        index = -index - 1;
+        if (size == values.length)
+        {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * Removes a value from a list sorted in ascending order
+     * @return true if the value was present
+     */
+    boolean removeSorted(int value)
+    {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0)
+        {
+            return false;
+        }
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Finds a value in a list sorted in ascending order
+     * @return position of the value, or a negative number if it is absent
+     */
+    int binarySearch(int value)
+    {
+        return Arrays.binarySearch(values, 0, size, value);
+    }
+
+    /**
+     * Gets the value at a position
+     */
+    int get(int index)
+    {
+        if (index >= size)
+        {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+        return values[index];
+    }
+
+    /**
+     * Gets the last value
+     */
+    int last()
+    {
+        return get(size - 1);
+    }
+
+    /**
+     * Gets the number of values
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Checks whether the list is empty
+     */
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+}
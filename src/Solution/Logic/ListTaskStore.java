@@ -0,0 +1,162 @@
+package Solution.Logic;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Default task store keeping one Task object per row
+ */
+final class ListTaskStore implements TaskStore
+{
+    private final ArrayList<TaskManager.Task> tasks = new ArrayList<>();
+    private final DeveloperDictionary dictionary;
+
+    /**
+     * Constructs an empty store with its own developer dictionary
+     */
+    ListTaskStore()
+    {
+        this(new DeveloperDictionary());
+    }
+
+    /**
+     * Constructs an empty store using the given developer dictionary
+     */
+    ListTaskStore(DeveloperDictionary dictionary)
+    {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public TaskStore newEmpty()
+    {
+        return new ListTaskStore(dictionary);
+    }
+
+    @Override
+    public void replace(TaskStore original)
+    {
+        // Nothing is kept outside the heap
+    }
+
+    @Override
+    public int add(TaskManager.Task task)
+    {
+        if (task.getDictionary() != dictionary)
+        {
+            DeveloperDictionary source = task.getDictionary();
+            int idDeveloper = task.getIdDeveloper() == DeveloperDictionary.UNKNOWN
+                ? DeveloperDictionary.UNKNOWN
+                : dictionary.intern(source.nameOf(task.getIdDeveloper()));
+            task = new TaskManager.Task(task.getName(), task.getDescription(),
+                                        dictionary.internAll(task.getDevelopers()), dictionary,
+                                        task.getDuration(), task.getStatus(), task.getSequence(),
+                                        idDeveloper);
+        }
+        tasks.add(task);
+        return tasks.size() - 1;
+    }
+
+    @Override
+    public void ensureCapacity(int rows)
+    {
+        tasks.ensureCapacity(rows);
+    }
+
+    @Override
+    public void truncate(int rows)
+    {
+        tasks.subList(rows, tasks.size()).clear();
+    }
+
+    @Override
+    public void setStatus(int row, TaskStatus status)
+    {
+        tasks.set(row, tasks.get(row).withStatus(status));
+    }
+
+    @Override
+    public void setDuration(int row, float duration)
+    {
+        tasks.set(row, tasks.get(row).withDuration(duration));
+    }
+
+    @Override
+    public void setDevelopers(int row, int[] developerIds)
+    {
+        tasks.set(row, tasks.get(row).withDevelopers(developerIds));
+    }
+
+    @Override
+    public TaskManager.Task get(int row)
+    {
+        return tasks.get(row);
+    }
+
+    @Override
+    public void markDeleted(int row)
+    {
+        Objects.checkIndex(row, tasks.size());
+    }
+
+    @Override
+    public boolean isMarkedDeleted(int row)
+    {
+        Objects.checkIndex(row, tasks.size());
+        return false;
+    }
+
+    @Override
+    public String getName(int row)
+    {
+        return tasks.get(row).getName();
+    }
+
+    @Override
+    public String getDescription(int row)
+    {
+        return tasks.get(row).getDescription();
+    }
+
+    @Override
+    public int[] getDeveloperIds(int row)
+    {
+        return tasks.get(row).getDeveloperIds();
+    }
+
+    @Override
+    public int getIdDeveloper(int row)
+    {
+        return tasks.get(row).getIdDeveloper();
+    }
+
+    @Override
+    public float getDuration(int row)
+    {
+        return tasks.get(row).getDuration();
+    }
+
+    @Override
+    public TaskStatus getStatus(int row)
+    {
+        return tasks.get(row).getStatus();
+    }
+
+    @Override
+    public long getSequence(int row)
+    {
+        return tasks.get(row).getSequence();
+    }
+
+    @Override
+    public int size()
+    {
+        return tasks.size();
+    }
+
+    @Override
+    public DeveloperDictionary getDeveloperDictionary()
+    {
+        return dictionary;
+    }
+}
@@ -0,0 +1,128 @@
+package Solution.Logic;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from long keys to int values
+ * Keeps keys and values in two flat arrays, so an entry costs 12 bytes
+ * instead of a HashMap node with two boxed numbers
+ */
+final class LongIntHashMap
+{
+    /**
+     * Value returned by get for keys that are not present
+     */
+    static final int MISSING = -1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructs an empty map
+     */
+    LongIntHashMap()
+    {
+        allocate(16);
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value
+     * @param key any value except Long.MIN_VALUE
+     * @param value
+     */
+    void put(long key, int value)
+    {
+        if (key == EMPTY)
+        {
+            throw new IllegalArgumentException("Reserved key");
+        }
+
+        if ((size + 1) * 4L > keys.length * 3L)
+        {
+            rehash(keys.length * 2);
+        }
+
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY && keys[slot] != key)
+        {
+            slot = (slot + 1) & mask;
+        }
+
+        if (keys[slot] == EMPTY)
+        {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Gets the value of a key
+     * @param key
+     * @return value, or MISSING if the key is not present
+     */
+    int get(long key)
+    {
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY)
+        {
+            if (keys[slot] == key)
+            {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Gets the number of entries
+     * @return 
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Finds the home slot of a key
+     */
+    private int slotOf(long key)
+    {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Allocates empty tables of the given power of two capacity
+     */
+    private void allocate(int capacity)
+    {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Moves every entry into tables of the given capacity
+     */
+    private void rehash(int capacity)
+    {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            if (oldKeys[i] != EMPTY)
+            {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
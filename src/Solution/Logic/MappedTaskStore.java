@@ -0,0 +1,816 @@
+package Solution.Logic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Task store kept off the heap in two memory-mapped files
+ * The rows file holds a header and one fixed-width row per task: sequence,
+ * duration, status, deletion mark, the developer the ID was built from and
+ * where the task's text and developer ids lie in the data file. The data
+ * file holds names and descriptions as TaskCodec strings, developer id
+ * lists and the developer names themselves, chained from newest to oldest.
+ * Durations, statuses, sequences and developer ids are read straight from
+ * the mapped segments; Task objects are only created when a row is read
+ * through get. Opening an existing store maps the files and reads the
+ * developer names, so the heap never holds the tasks themselves.
+ * Changes reach the files through the page cache; flush forces them to
+ * disk. A store is not safe for concurrent writers.
+ * A compacted copy is built in files named after the store with
+ * ".compacting" appended and moved over the store's files when it is
+ * swapped in. Both files carry a generation that each copy increments, so
+ * opening a store whose swap was interrupted between the two moves can
+ * finish it
+ */
+final class MappedTaskStore implements TaskStore, Closeable
+{
+    private static final int MAGIC = 0x4B424D53;
+    private static final int DATA_MAGIC = 0x4B424D44;
+    private static final int VERSION = 1;
+
+    // Rows file header
+    private static final long ROW_COUNT = 8;
+    private static final long DATA_END = 16;
+    private static final long DEVELOPER_COUNT = 24;
+    private static final long LAST_DEVELOPER = 32;
+    private static final long GENERATION = 40;
+    private static final long HEADER_BYTES = 64;
+
+    // Fields of a row
+    private static final long SEQUENCE = 0;
+    private static final long TEXT_OFFSET = 8;
+    private static final long DEVELOPERS_OFFSET = 16;
+    private static final long DURATION = 24;
+    private static final long ID_DEVELOPER = 28;
+    private static final long TEXT_BYTES = 32;
+    private static final long STATUS = 36;
+    private static final long DELETED = 37;
+    private static final long DEVELOPER_LENGTH = 38;
+    private static final long ROW_BYTES = 40;
+
+    // Data file header
+    private static final long DATA_GENERATION = 4;
+    private static final long DATA_START = 8;
+    private static final int INITIAL_ROWS = 1024;
+    private static final long INITIAL_DATA_BYTES = 1 << 16;
+
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED;
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED;
+    private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+
+    private Path file;
+    private final FileChannel rowChannel;
+    private final FileChannel dataChannel;
+    private final DeveloperDictionary dictionary;
+    private Arena rowArena;
+    private Arena dataArena;
+    private MemorySegment rows;
+    private MemorySegment data;
+    private int size;
+    private long dataEnd;
+    private int storedDevelopers;
+    private long lastDeveloper;
+    private int generation;
+    // Store a compacted copy was made from, until the copy is swapped in
+    private MappedTaskStore source;
+    // Compacted copy of this store that is still open
+    private MappedTaskStore compaction;
+    private boolean replaced;
+    // Data before this offset is kept when rows are truncated: developer
+    // names and lists moved by setDevelopers may be newer than the rows
+    private long keptDataEnd;
+
+    /**
+     * Constructs a store on open files
+     */
+    private MappedTaskStore(Path file, FileChannel rowChannel, FileChannel dataChannel,
+                            DeveloperDictionary dictionary)
+    {
+        this.file = file;
+        this.rowChannel = rowChannel;
+        this.dataChannel = dataChannel;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Creates an empty store, replacing any store kept in the file
+     * @param file rows file; the data file is kept next to it
+     * @return 
+     * @throws IOException if the files cannot be created
+     */
+    static MappedTaskStore create(Path file)
+        throws IOException
+    {
+        return create(file, new DeveloperDictionary(), 0);
+    }
+
+    /**
+     * Creates an empty store of the given generation using the given
+     * developer dictionary
+     */
+    private static MappedTaskStore create(Path file, DeveloperDictionary dictionary, int generation)
+        throws IOException
+    {
+        FileChannel rowChannel = openChannel(file, StandardOpenOption.TRUNCATE_EXISTING);
+        FileChannel dataChannel = null;
+        try
+        {
+            dataChannel = openChannel(dataFileFor(file), StandardOpenOption.TRUNCATE_EXISTING);
+            MappedTaskStore store = new MappedTaskStore(file, rowChannel, dataChannel, dictionary);
+            store.mapRows(HEADER_BYTES + INITIAL_ROWS * ROW_BYTES);
+            store.mapData(INITIAL_DATA_BYTES);
+            store.data.set(INT, 0, DATA_MAGIC);
+            store.data.set(INT, DATA_GENERATION, generation);
+            store.rows.set(INT, 4, VERSION);
+            store.rows.set(INT, GENERATION, generation);
+            store.generation = generation;
+            store.dataEnd = DATA_START;
+            store.keptDataEnd = DATA_START;
+            store.writeHeader();
+            // The magic goes last, so a half-created store is not opened
+            store.rows.set(INT, 0, MAGIC);
+            return store;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            closeQuietly(rowChannel, dataChannel);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the store kept in a file, creating it if it does not exist
+     * Only the header and developer names are read. A compacted copy whose
+     * swap was interrupted is moved into place first; any other copy left
+     * behind is deleted
+     * @param file rows file; the data file is kept next to it
+     * @return 
+     * @throws IOException if the files cannot be read or are not a store
+     */
+    static MappedTaskStore open(Path file)
+        throws IOException
+    {
+        recoverCompaction(file);
+        if (!Files.exists(file) || Files.size(file) == 0)
+        {
+            return create(file);
+        }
+
+        FileChannel rowChannel = openChannel(file);
+        FileChannel dataChannel = null;
+        try
+        {
+            dataChannel = openChannel(dataFileFor(file));
+            MappedTaskStore store = new MappedTaskStore(file, rowChannel, dataChannel,
+                                                        new DeveloperDictionary());
+            store.load();
+            return store;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            closeQuietly(rowChannel, dataChannel);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the file the variable-length data of a store is kept in
+     * @param file rows file
+     * @return 
+     */
+    static Path dataFileFor(Path file)
+    {
+        return file.resolveSibling(file.getFileName() + ".data");
+    }
+
+    /**
+     * Gets the file a compacted copy of a store is built in
+     * @param file rows file
+     * @return 
+     */
+    static Path compactingFileFor(Path file)
+    {
+        return file.resolveSibling(file.getFileName() + ".compacting");
+    }
+
+    /**
+     * Finishes the swap of a compacted copy that stopped after its data
+     * file was moved, or deletes a copy that was never swapped in
+     */
+    private static void recoverCompaction(Path file)
+        throws IOException
+    {
+        Path pending = compactingFileFor(file);
+        if (!Files.exists(pending))
+        {
+            return;
+        }
+
+        // The data file moves first, so only a moved one matches the copy
+        if (!Files.exists(dataFileFor(pending)) && readInt(pending, 0) == MAGIC
+            && readInt(pending, GENERATION) == readInt(dataFileFor(file), DATA_GENERATION))
+        {
+            Files.move(pending, file, StandardCopyOption.ATOMIC_MOVE);
+        }
+        else
+        {
+            Files.delete(pending);
+            Files.deleteIfExists(dataFileFor(pending));
+        }
+    }
+
+    /**
+     * Reads a native-order int from a file
+     * @return the int, or -1 if the file is missing or too short
+     */
+    private static long readInt(Path path, long position)
+        throws IOException
+    {
+        if (!Files.exists(path))
+        {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.nativeOrder());
+            while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0)
+            {
+                // Keep reading until the int is complete or the file ends
+            }
+            return buffer.hasRemaining() ? -1 : buffer.getInt(0);
+        }
+    }
+
+    /**
+     * Creates an empty store in the compacting files next to this one,
+     * sharing this store's developer dictionary
+     * The copy takes this store's place when replace is called on it;
+     * closed before that, its files are deleted
+     * @throws IllegalStateException if a copy of this store is still open,
+     *         this store was already replaced or the files cannot be created
+     */
+    @Override
+    public TaskStore newEmpty()
+        throws IllegalStateException
+    {
+        if (replaced)
+        {
+            throw new IllegalStateException("Task store was replaced by its compacted copy: " + file);
+        }
+        if (compaction != null)
+        {
+            throw new IllegalStateException("Task store is already being compacted: " + file);
+        }
+
+        try
+        {
+            MappedTaskStore copy = create(compactingFileFor(file), dictionary, generation + 1);
+            copy.source = this;
+            compaction = copy;
+            return copy;
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Cannot create a store next to " + file, e);
+        }
+    }
+
+    /**
+     * Forces this copy to disk, closes the store it was made from and
+     * atomically moves this copy's data file, then its rows file, over that
+     * store's files
+     * The original is closed first because a file that is still mapped
+     * cannot be replaced on every platform; it cannot be used afterwards
+     * @throws IllegalArgumentException if this store is not a copy of original
+     * @throws IllegalStateException if the files cannot be moved; opening
+     *         the store again finishes or drops the swap
+     */
+    @Override
+    public void replace(TaskStore original)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if (source == null || original != source)
+        {
+            throw new IllegalArgumentException("Task store is not a compacted copy of " + original);
+        }
+
+        try
+        {
+            flush();
+            source.close();
+            Files.move(dataFileFor(file), dataFileFor(source.file), StandardCopyOption.ATOMIC_MOVE);
+            Files.move(file, source.file, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Cannot move the compacted store over " + source.file, e);
+        }
+        file = source.file;
+        source.compaction = null;
+        source.replaced = true;
+        source = null;
+    }
+
+    @Override
+    public int add(TaskManager.Task task)
+    {
+        if (size == Integer.MAX_VALUE)
+        {
+            throw new IllegalStateException("Task store is full");
+        }
+        ensureRowCapacity(size + 1);
+
+        int[] developerIds = developerIdsOf(task);
+        int idDeveloper = idDeveloperOf(task);
+        storeDevelopers();
+
+        long textOffset = dataEnd;
+        int textBytes = TaskCodec.stringSize(task.getName())
+            + TaskCodec.stringSize(task.getDescription());
+        ByteBuffer text = allocateData(textBytes);
+        TaskCodec.putString(text, task.getName());
+        TaskCodec.putString(text, task.getDescription());
+
+        long row = rowOffset(size);
+        rows.set(LONG, row + SEQUENCE, task.getSequence());
+        rows.set(LONG, row + TEXT_OFFSET, textOffset);
+        rows.set(FLOAT, row + DURATION, task.getDuration());
+        rows.set(INT, row + ID_DEVELOPER, idDeveloper);
+        rows.set(INT, row + TEXT_BYTES, textBytes);
+        rows.set(BYTE, row + STATUS, (byte) task.getStatus().ordinal());
+        rows.set(BYTE, row + DELETED, (byte) 0);
+        writeDevelopers(row, developerIds);
+
+        size++;
+        writeHeader();
+        return size - 1;
+    }
+
+    @Override
+    public void ensureCapacity(int rows)
+    {
+        ensureRowCapacity(rows);
+    }
+
+    @Override
+    public void truncate(int rows)
+    {
+        if (rows < size)
+        {
+            dataEnd = Math.max(this.rows.get(LONG, rowOffset(rows) + TEXT_OFFSET), keptDataEnd);
+            size = rows;
+            writeHeader();
+        }
+    }
+
+    @Override
+    public TaskManager.Task get(int row)
+    {
+        long offset = checkedRowOffset(row);
+        ByteBuffer text = textOf(offset);
+        String name = TaskCodec.getString(text);
+        String description = TaskCodec.getString(text);
+
+        return new TaskManager.Task(name, description, getDeveloperIds(row), dictionary,
+                                    rows.get(FLOAT, offset + DURATION),
+                                    TaskStatus.fromOrdinal(rows.get(BYTE, offset + STATUS)),
+                                    rows.get(LONG, offset + SEQUENCE),
+                                    rows.get(INT, offset + ID_DEVELOPER));
+    }
+
+    @Override
+    public void setStatus(int row, TaskStatus status)
+    {
+        rows.set(BYTE, checkedRowOffset(row) + STATUS, (byte) status.ordinal());
+    }
+
+    @Override
+    public void setDuration(int row, float duration)
+    {
+        rows.set(FLOAT, checkedRowOffset(row) + DURATION, duration);
+    }
+
+    @Override
+    public void setDevelopers(int row, int[] developerIds)
+    {
+        long offset = checkedRowOffset(row);
+        storeDevelopers();
+        if (developerIds.length <= rows.get(SHORT, offset + DEVELOPER_LENGTH))
+        {
+            // Fits in the row's current slots
+            long start = rows.get(LONG, offset + DEVELOPERS_OFFSET);
+            MemorySegment.copy(developerIds, 0, data, INT, start, developerIds.length);
+            rows.set(SHORT, offset + DEVELOPER_LENGTH, (short) developerIds.length);
+            return;
+        }
+
+        writeDevelopers(offset, developerIds);
+        keptDataEnd = dataEnd;
+        writeHeader();
+    }
+
+    @Override
+    public void markDeleted(int row)
+    {
+        rows.set(BYTE, checkedRowOffset(row) + DELETED, (byte) 1);
+    }
+
+    @Override
+    public boolean isMarkedDeleted(int row)
+    {
+        return rows.get(BYTE, checkedRowOffset(row) + DELETED) != 0;
+    }
+
+    @Override
+    public int[] getDeveloperIds(int row)
+    {
+        long offset = checkedRowOffset(row);
+        int[] ids = new int[rows.get(SHORT, offset + DEVELOPER_LENGTH)];
+        MemorySegment.copy(data, INT, rows.get(LONG, offset + DEVELOPERS_OFFSET), ids, 0, ids.length);
+        return ids;
+    }
+
+    @Override
+    public int getIdDeveloper(int row)
+    {
+        return rows.get(INT, checkedRowOffset(row) + ID_DEVELOPER);
+    }
+
+    @Override
+    public String getName(int row)
+    {
+        return TaskCodec.getString(textOf(checkedRowOffset(row)));
+    }
+
+    @Override
+    public String getDescription(int row)
+    {
+        ByteBuffer text = textOf(checkedRowOffset(row));
+        TaskCodec.skipString(text);
+        return TaskCodec.getString(text);
+    }
+
+    /**
+     * Gets the encoded name and description of the row at an offset
+     */
+    private ByteBuffer textOf(long offset)
+    {
+        return data.asSlice(rows.get(LONG, offset + TEXT_OFFSET),
+                            rows.get(INT, offset + TEXT_BYTES)).asByteBuffer();
+    }
+
+    @Override
+    public float getDuration(int row)
+    {
+        return rows.get(FLOAT, checkedRowOffset(row) + DURATION);
+    }
+
+    @Override
+    public TaskStatus getStatus(int row)
+    {
+        return TaskStatus.fromOrdinal(rows.get(BYTE, checkedRowOffset(row) + STATUS));
+    }
+
+    @Override
+    public long getSequence(int row)
+    {
+        return rows.get(LONG, checkedRowOffset(row) + SEQUENCE);
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public DeveloperDictionary getDeveloperDictionary()
+    {
+        return dictionary;
+    }
+
+    /**
+     * Forces every change to disk
+     * @throws IOException if the files cannot be written
+     */
+    void flush()
+        throws IOException
+    {
+        data.force();
+        rows.force();
+    }
+
+    /**
+     * Forces every change to disk, unmaps the files and closes them
+     * A compacted copy that was not swapped in is deleted instead
+     * @throws IOException if the files cannot be written or deleted
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        if (rowArena == null)
+        {
+            return;
+        }
+        try
+        {
+            if (source == null)
+            {
+                flush();
+            }
+        }
+        finally
+        {
+            rowArena.close();
+            dataArena.close();
+            rowArena = null;
+            dataArena = null;
+            closeQuietly(rowChannel, dataChannel);
+        }
+
+        if (source != null)
+        {
+            source.compaction = null;
+            source = null;
+            // Rows whose data file was already moved finish the swap on open
+            if (Files.exists(dataFileFor(file)))
+            {
+                Files.delete(file);
+                Files.delete(dataFileFor(file));
+            }
+        }
+    }
+
+    /**
+     * Maps existing files and reads the header and developer names
+     */
+    private void load()
+        throws IOException
+    {
+        if (rowChannel.size() < HEADER_BYTES || dataChannel.size() < DATA_START)
+        {
+            throw new IOException("Not a task store: " + file);
+        }
+        mapRows(rowChannel.size());
+        mapData(dataChannel.size());
+        if (rows.get(INT, 0) != MAGIC || data.get(INT, 0) != DATA_MAGIC)
+        {
+            throw new IOException("Not a task store: " + file);
+        }
+        if (rows.get(INT, 4) != VERSION)
+        {
+            throw new IOException("Unsupported task store version " + rows.get(INT, 4));
+        }
+        generation = rows.get(INT, GENERATION);
+        if (data.get(INT, DATA_GENERATION) != generation)
+        {
+            throw new IOException("Rows and data files do not match: " + file);
+        }
+
+        long storedSize = rows.get(LONG, ROW_COUNT);
+        dataEnd = rows.get(LONG, DATA_END);
+        storedDevelopers = rows.get(INT, DEVELOPER_COUNT);
+        lastDeveloper = rows.get(LONG, LAST_DEVELOPER);
+        if (storedSize < 0 || HEADER_BYTES + storedSize * ROW_BYTES > rows.byteSize()
+            || dataEnd < DATA_START || dataEnd > data.byteSize() || storedDevelopers < 0)
+        {
+            throw new IOException("Damaged task store: " + file);
+        }
+        size = (int) storedSize;
+        keptDataEnd = dataEnd;
+
+        // Names are chained newest first; intern them oldest first so
+        // their ids match the ones stored in the rows
+        String[] names = new String[storedDevelopers];
+        long offset = lastDeveloper;
+        for (int id = storedDevelopers - 1; id >= 0; id--)
+        {
+            if (offset < DATA_START || offset >= dataEnd)
+            {
+                throw new IOException("Damaged task store: " + file);
+            }
+            ByteBuffer record = data.asSlice(offset, dataEnd - offset).asByteBuffer();
+            long previous = record.getLong();
+            names[id] = TaskCodec.getString(record);
+            offset = previous;
+        }
+        for (String name : names)
+        {
+            dictionary.intern(name);
+        }
+    }
+
+    /**
+     * Writes the names of developers interned since they were last stored,
+     * so the file can be read without the dictionary that was in memory
+     */
+    private void storeDevelopers()
+    {
+        while (storedDevelopers < dictionary.size())
+        {
+            String name = dictionary.nameOf(storedDevelopers);
+            long offset = dataEnd;
+            ByteBuffer record = allocateData(Long.BYTES + TaskCodec.stringSize(name));
+            record.putLong(lastDeveloper);
+            TaskCodec.putString(record, name);
+            lastDeveloper = offset;
+            storedDevelopers++;
+            keptDataEnd = dataEnd;
+        }
+        writeHeader();
+    }
+
+    /**
+     * Appends a row's developer ids to the data file and points the row at them
+     */
+    private void writeDevelopers(long row, int[] developerIds)
+    {
+        if (developerIds.length > Short.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Too many developers for one task");
+        }
+        long start = dataEnd;
+        allocateData((long) developerIds.length * Integer.BYTES);
+        MemorySegment.copy(developerIds, 0, data, INT, start, developerIds.length);
+        rows.set(LONG, row + DEVELOPERS_OFFSET, start);
+        rows.set(SHORT, row + DEVELOPER_LENGTH, (short) developerIds.length);
+    }
+
+    /**
+     * Claims bytes at the end of the data file, growing it if needed
+     * @return buffer over the claimed bytes
+     */
+    private ByteBuffer allocateData(long bytes)
+    {
+        long end = dataEnd + bytes;
+        if (end > data.byteSize())
+        {
+            mapData(Math.max(end, data.byteSize() * 2));
+        }
+        ByteBuffer claimed = data.asSlice(dataEnd, bytes).asByteBuffer();
+        dataEnd = end;
+        return claimed;
+    }
+
+    /**
+     * Records the row count, data end and stored developers in the header
+     */
+    private void writeHeader()
+    {
+        rows.set(LONG, ROW_COUNT, size);
+        rows.set(LONG, DATA_END, dataEnd);
+        rows.set(INT, DEVELOPER_COUNT, storedDevelopers);
+        rows.set(LONG, LAST_DEVELOPER, lastDeveloper);
+    }
+
+    /**
+     * Grows the rows file to hold at least the given number of rows
+     */
+    private void ensureRowCapacity(int count)
+    {
+        long needed = HEADER_BYTES + count * ROW_BYTES;
+        if (needed > rows.byteSize())
+        {
+            mapRows(Math.max(needed, HEADER_BYTES + (rows.byteSize() - HEADER_BYTES) * 3 / 2));
+        }
+    }
+
+    /**
+     * Maps the rows file at a new size, unmapping the previous mapping
+     */
+    private void mapRows(long bytes)
+    {
+        Arena arena = Arena.ofShared();
+        rows = map(rowChannel, bytes, arena);
+        if (rowArena != null)
+        {
+            rowArena.close();
+        }
+        rowArena = arena;
+    }
+
+    /**
+     * Maps the data file at a new size, unmapping the previous mapping
+     */
+    private void mapData(long bytes)
+    {
+        Arena arena = Arena.ofShared();
+        data = map(dataChannel, bytes, arena);
+        if (dataArena != null)
+        {
+            dataArena.close();
+        }
+        dataArena = arena;
+    }
+
+    /**
+     * Maps a whole file for reading and writing, extending it if needed
+     */
+    private static MemorySegment map(FileChannel channel, long bytes, Arena arena)
+    {
+        try
+        {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes, arena);
+        }
+        catch (IOException e)
+        {
+            arena.close();
+            throw new IllegalStateException("Cannot map task store of " + bytes + " bytes", e);
+        }
+    }
+
+    /**
+     * Gets where a row starts in the rows file
+     */
+    private static long rowOffset(int row)
+    {
+        return HEADER_BYTES + row * ROW_BYTES;
+    }
+
+    /**
+     * Rejects rows that have not been written and gets where a row starts
+     */
+    private long checkedRowOffset(int row)
+    {
+        if (row < 0 || row >= size)
+        {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return rowOffset(row);
+    }
+
+    /**
+     * Gets a task's developer ids in this store's dictionary
+     */
+    private int[] developerIdsOf(TaskManager.Task task)
+    {
+        if (task.getDictionary() == dictionary)
+        {
+            return task.getDeveloperIds();
+        }
+        return dictionary.internAll(task.getDevelopers());
+    }
+
+    /**
+     * Gets the id of the developer a task's ID was built from in this
+     * store's dictionary
+     */
+    private int idDeveloperOf(TaskManager.Task task)
+    {
+        int id = task.getIdDeveloper();
+        if (task.getDictionary() == dictionary || id == DeveloperDictionary.UNKNOWN)
+        {
+            return id;
+        }
+        return dictionary.intern(task.getDictionary().nameOf(id));
+    }
+
+    /**
+     * Opens a file for reading and writing, creating it if needed
+     */
+    private static FileChannel openChannel(Path path, StandardOpenOption... extra)
+        throws IOException
+    {
+        StandardOpenOption[] options = Arrays.copyOf(extra, extra.length + 3);
+        options[extra.length] = StandardOpenOption.CREATE;
+        options[extra.length + 1] = StandardOpenOption.READ;
+        options[extra.length + 2] = StandardOpenOption.WRITE;
+        return FileChannel.open(path, options);
+    }
+
+    /**
+     * Closes channels, ignoring failures since a store is already failing
+     * or closed
+     */
+    private static void closeQuietly(FileChannel... channels)
+    {
+        for (FileChannel channel : channels)
+        {
+            try
+            {
+                if (channel != null)
+                {
+                    channel.close();
+                }
+            }
+            catch (IOException e)
+            {
+                // Nothing more can be done for a channel that will not close
+            }
+        }
+    }
+}
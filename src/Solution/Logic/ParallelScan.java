@@ -0,0 +1,173 @@
+package Solution.Logic;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Fork/join scan of a store's live rows with an arbitrary filter
+ * The row range is halved until pieces hold at most the threshold of rows;
+ * each piece is scanned in order on a pool worker, and the matches of the
+ * two halves are joined left before right, so rows come back in ascending
+ * order whatever the number of threads. Boards no larger than the
+ * threshold are scanned on the calling thread without touching the pool.
+ * Workers only read, so the store must not change during the scan
+ */
+final class ParallelScan extends RecursiveTask<IntList>
+{
+    /**
+     * Rows below which a range is scanned without being split
+     */
+    static final int DEFAULT_THRESHOLD = 16_384;
+
+    private final TaskStore store;
+    private final BitSet deletedRows;
+    private final Predicate<? super TaskView> filter;
+    private final int threshold;
+    private final int from;
+    private final int to;
+
+    private ParallelScan(TaskStore store, BitSet deletedRows, Predicate<? super TaskView> filter,
+                         int threshold, int from, int to)
+    {
+        this.store = store;
+        this.deletedRows = deletedRows;
+        this.filter = filter;
+        this.threshold = threshold;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Finds the live rows a filter accepts
+     * @param pool pool the pieces run on
+     * @param threshold largest number of rows scanned without splitting
+     * @param store
+     * @param deletedRows rows to skip
+     * @param filter
+     * @return matching rows in ascending order
+     */
+    static IntList scan(ForkJoinPool pool, int threshold, TaskStore store, BitSet deletedRows,
+                        Predicate<? super TaskView> filter)
+    {
+        ParallelScan whole = new ParallelScan(store, deletedRows, filter, threshold, 0, store.size());
+        return store.size() <= threshold ? whole.scanSequentially() : pool.invoke(whole);
+    }
+
+    @Override
+    protected IntList compute()
+    {
+        if (to - from <= threshold)
+        {
+            return scanSequentially();
+        }
+
+        int middle = (from + to) >>> 1;
+        ParallelScan left = new ParallelScan(store, deletedRows, filter, threshold, from, middle);
+        ParallelScan right = new ParallelScan(store, deletedRows, filter, threshold, middle, to);
+        left.fork();
+        IntList rightRows = right.compute();
+        IntList rows = left.join();
+        rows.addAll(rightRows);
+        return rows;
+    }
+
+    private IntList scanSequentially()
+    {
+        IntList rows = new IntList();
+        RowView view = new RowView(store);
+        for (int row = deletedRows.nextClearBit(from); row < to; row = deletedRows.nextClearBit(row + 1))
+        {
+            view.row = row;
+            view.task = null;
+            if (filter.test(view))
+            {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * View pointed at one row after another by a single piece of the scan
+     */
+    private static final class RowView implements TaskView
+    {
+        private final TaskStore store;
+        private int row;
+        private TaskManager.Task task;
+
+        RowView(TaskStore store)
+        {
+            this.store = store;
+        }
+
+        /**
+         * Gets the task of the current row, building it at most once
+         */
+        private TaskManager.Task task()
+        {
+            if (task == null)
+            {
+                task = store.get(row);
+            }
+            return task;
+        }
+
+        @Override
+        public String getId()
+        {
+            return task().getId();
+        }
+
+        @Override
+        public String getName()
+        {
+            return task != null ? task.getName() : store.getName(row);
+        }
+
+        @Override
+        public String getDescription()
+        {
+            return task != null ? task.getDescription() : store.getDescription(row);
+        }
+
+        @Override
+        public List<String> getDevelopers()
+        {
+            return task().getDevelopers();
+        }
+
+        @Override
+        public boolean hasDeveloper(String developer)
+        {
+            int id = store.getDeveloperDictionary().idOf(developer);
+            if (id == DeveloperDictionary.UNKNOWN)
+            {
+                return false;
+            }
+            for (int candidate : store.getDeveloperIds(row))
+            {
+                if (candidate == id)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public float getDuration()
+        {
+            return store.getDuration(row);
+        }
+
+        @Override
+        public TaskStatus getStatus()
+        {
+            return store.getStatus(row);
+        }
+    }
+}
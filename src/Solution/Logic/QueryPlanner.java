@@ -0,0 +1,376 @@
+package Solution.Logic;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Runs one TaskQuery against one TaskManager
+ * Every filter that an index can answer is an access path with a known
+ * number of rows: the developer's posting list, the text index's matches,
+ * the status bucket, or a rank range of the duration index, which is the
+ * status's own index when a status is given. The smallest path drives the
+ * query. The other posting lists are intersected with its rows by binary
+ * search, and any remaining filters are checked against the store. Only
+ * a query with no filter an index can answer scans every row. When the
+ * query is ordered by duration and the duration index drives it, rows come
+ * out already in order, so a limit stops the walk early
+ */
+final class QueryPlanner
+{
+    private enum Path
+    {
+        DEVELOPER, TEXT, DURATION, STATUS, SCAN
+    }
+
+    private final TaskManager manager;
+    private final TaskStore store;
+    private final TaskQuery query;
+    private final StringBuilder candidates = new StringBuilder();
+    private final StringBuilder plan = new StringBuilder();
+    private long rowsTouched;
+    private IntList rows;
+
+    private IntList developerRows;
+    private IntList textRows;
+    private DurationIndex durations;
+    private int fromRank;
+    private int toRank;
+    private Path driver = Path.SCAN;
+    private long driverRows = Long.MAX_VALUE;
+
+    /**
+     * Constructs a planner for one query
+     * @param manager
+     * @param query
+     */
+    QueryPlanner(TaskManager manager, TaskQuery query)
+    {
+        this.manager = manager;
+        this.store = manager.getStore();
+        this.query = query;
+    }
+
+    /**
+     * Picks the access path and runs the query
+     * @throws IllegalArgumentException if the text filter has no words
+     */
+    void run()
+        throws IllegalArgumentException
+    {
+        if (query.getDeveloper() != null)
+        {
+            developerRows = manager.getDeveloperRows(query.getDeveloper());
+            if (developerRows == null)
+            {
+                plan.append("Driver: developer index \"").append(query.getDeveloper())
+                    .append("\" has no tasks\n");
+                finish(new IntList(0));
+                return;
+            }
+            consider(Path.DEVELOPER, developerRows.size(), "developer index");
+        }
+        if (query.getText() != null)
+        {
+            textRows = manager.searchRows(query.getText());
+            consider(Path.TEXT, textRows.size(), "text index");
+        }
+
+        boolean byDuration = query.getOrder() != TaskQuery.Order.ADDED;
+        durations = manager.getDurationIndex(query.getStatus());
+        fromRank = 0;
+        toRank = durations.size();
+        if (query.hasDurationRange())
+        {
+            fromRank = durations.countLongerThan(query.getMaxHours());
+            toRank = Math.max(durations.countAtLeast(query.getMinHours()), fromRank);
+        }
+        if (query.hasDurationRange() || byDuration)
+        {
+            long rows = toRank - fromRank;
+            if (byDuration && developerRows == null && textRows == null)
+            {
+                // Nothing is left to check, so the walk stops at the limit
+                rows = Math.min(rows, query.getLimit());
+            }
+            consider(Path.DURATION, rows, "duration index");
+        }
+        if (query.getStatus() != null)
+        {
+            consider(Path.STATUS, manager.getTaskCount(query.getStatus()), "status index");
+        }
+
+        IntList matches = driver == Path.DURATION ? walkDurations() : walkRows();
+        if (byDuration && driver != Path.DURATION)
+        {
+            sortByDuration(matches, query.getOrder() == TaskQuery.Order.LONGEST_FIRST);
+            plan.append("Order: ").append(query.getOrder().getLabel()).append(", sorted after filtering\n");
+        }
+        else if (!byDuration && driver == Path.DURATION)
+        {
+            sortByRow(matches);
+            plan.append("Order: ").append(query.getOrder().getLabel()).append(", sorted after filtering\n");
+        }
+        else
+        {
+            plan.append("Order: ").append(query.getOrder().getLabel())
+                .append(driver == Path.DURATION ? ", read from the index\n" : ", read from the driver\n");
+        }
+        if (matches.size() > query.getLimit())
+        {
+            IntList limited = new IntList(query.getLimit());
+            for (int i = 0; i < query.getLimit(); i++)
+            {
+                limited.add(matches.get(i));
+            }
+            matches = limited;
+        }
+        if (query.getLimit() != Integer.MAX_VALUE)
+        {
+            plan.append("Limit: ").append(query.getLimit()).append('\n');
+        }
+        finish(matches);
+    }
+
+    /**
+     * Gets the matching rows in the query's order, available after run
+     * @return 
+     */
+    IntList getRows()
+    {
+        return rows;
+    }
+
+    /**
+     * Gets the plan description, available after run
+     * @return 
+     */
+    String describe()
+    {
+        return plan.toString();
+    }
+
+    /**
+     * Gets the number of rows the plan looked at, available after run
+     * @return 
+     */
+    long getRowsTouched()
+    {
+        return rowsTouched;
+    }
+
+    /**
+     * Records an access path and keeps it as the driver if it has the
+     * fewest rows so far; earlier paths win ties
+     */
+    private void consider(Path path, long rows, String name)
+    {
+        candidates.append(candidates.length() == 0 ? "Candidates: " : ", ")
+            .append(name).append(' ').append(rows);
+        if (rows < driverRows)
+        {
+            driver = path;
+            driverRows = rows;
+        }
+    }
+
+    /**
+     * Walks the driver's rows in order of addition, checking the other
+     * filters on each
+     */
+    private IntList walkRows()
+    {
+        IntList source = null;
+        BitSet statusRows = null;
+        switch (driver)
+        {
+            case DEVELOPER ->
+            {
+                source = developerRows;
+                describeDriver("developer index \"" + query.getDeveloper() + "\"", source.size());
+            }
+            case TEXT ->
+            {
+                source = textRows;
+                describeDriver("text index \"" + query.getText() + "\"", source.size());
+            }
+            case STATUS ->
+            {
+                statusRows = manager.getStatusRows(query.getStatus());
+                describeDriver("status index " + query.getStatus(), driverRows);
+            }
+            default -> describeDriver("full scan", store.size());
+        }
+        describeChecks(driver != Path.STATUS, true);
+
+        boolean stopAtLimit = query.getOrder() == TaskQuery.Order.ADDED;
+        IntList matches = new IntList();
+        int end = source != null ? source.size() : store.size();
+        int next = statusRows != null ? statusRows.nextSetBit(0) : 0;
+        while (next >= 0 && next < end && !(stopAtLimit && matches.size() == query.getLimit()))
+        {
+            int row = source != null ? source.get(next) : next;
+            rowsTouched++;
+            if (!manager.isDeleted(row) && accepts(row, driver != Path.STATUS, true))
+            {
+                matches.add(row);
+            }
+            next = statusRows != null ? statusRows.nextSetBit(next + 1) : next + 1;
+        }
+        return matches;
+    }
+
+    /**
+     * Walks a rank range of the duration index in the query's duration
+     * order, checking the posting list filters on each row
+     */
+    private IntList walkDurations()
+    {
+        String index = query.getStatus() == null ? "duration index" : "duration index of " + query.getStatus();
+        String range = query.hasDurationRange()
+            ? ", " + query.getMinHours() + " to " + query.getMaxHours() + " hours" : "";
+        boolean stopAtLimit = query.getOrder() != TaskQuery.Order.ADDED;
+        String rows = (toRank - fromRank) + " rows";
+        if (stopAtLimit && query.getLimit() < toRank - fromRank)
+        {
+            rows += ", stops after " + query.getLimit() + " matches";
+        }
+        plan.append("Driver: ").append(index).append(range).append(" (").append(rows).append(")\n");
+        describeChecks(false, false);
+
+        IntList matches = new IntList();
+        if (query.getOrder() != TaskQuery.Order.SHORTEST_FIRST)
+        {
+            for (int rank = fromRank; rank < toRank && !(stopAtLimit && matches.size() == query.getLimit()); rank++)
+            {
+                checkRank(rank, matches);
+            }
+            return matches;
+        }
+
+        // Walk backwards one run of equal durations at a time, each run
+        // forwards, so ties stay in order of addition
+        int runEnd = toRank;
+        while (runEnd > fromRank && matches.size() < query.getLimit())
+        {
+            int runStart = Math.max(durations.countLongerThan(durations.durationAt(runEnd - 1)), fromRank);
+            for (int rank = runStart; rank < runEnd && matches.size() < query.getLimit(); rank++)
+            {
+                checkRank(rank, matches);
+            }
+            runEnd = runStart;
+        }
+        return matches;
+    }
+
+    private void checkRank(int rank, IntList matches)
+    {
+        int row = durations.rowAt(rank);
+        rowsTouched++;
+        if (accepts(row, false, false))
+        {
+            matches.add(row);
+        }
+    }
+
+    /**
+     * Checks a live row against every filter the driver does not answer
+     */
+    private boolean accepts(int row, boolean checkStatus, boolean checkDuration)
+    {
+        if (developerRows != null && driver != Path.DEVELOPER && developerRows.binarySearch(row) < 0)
+        {
+            return false;
+        }
+        if (textRows != null && driver != Path.TEXT && textRows.binarySearch(row) < 0)
+        {
+            return false;
+        }
+        if (checkStatus && query.getStatus() != null && store.getStatus(row) != query.getStatus())
+        {
+            return false;
+        }
+        if (checkDuration && query.hasDurationRange())
+        {
+            float duration = store.getDuration(row);
+            return duration >= query.getMinHours() && duration <= query.getMaxHours();
+        }
+        return true;
+    }
+
+    private void describeDriver(String name, long rows)
+    {
+        plan.append("Driver: ").append(name).append(" (").append(rows).append(" rows)\n");
+    }
+
+    /**
+     * Lists the intersections and filters applied to the driver's rows
+     */
+    private void describeChecks(boolean checkStatus, boolean checkDuration)
+    {
+        if (developerRows != null && driver != Path.DEVELOPER)
+        {
+            plan.append("Intersect: developer postings \"").append(query.getDeveloper()).append("\" (")
+                .append(developerRows.size()).append(" rows)\n");
+        }
+        if (textRows != null && driver != Path.TEXT)
+        {
+            plan.append("Intersect: text postings \"").append(query.getText()).append("\" (")
+                .append(textRows.size()).append(" rows)\n");
+        }
+        if (checkStatus && query.getStatus() != null)
+        {
+            plan.append("Filter: status ").append(query.getStatus()).append('\n');
+        }
+        if (checkDuration && query.hasDurationRange())
+        {
+            plan.append("Filter: duration ").append(query.getMinHours()).append(" to ")
+                .append(query.getMaxHours()).append(" hours\n");
+        }
+    }
+
+    /**
+     * Sorts rows by duration, ties in order of addition, on primitive keys
+     */
+    private void sortByDuration(IntList rows, boolean longestFirst)
+    {
+        long[] keys = new long[rows.size()];
+        for (int i = 0; i < keys.length; i++)
+        {
+            int row = rows.get(i);
+            long key = DurationIndex.keyOf(row, store.getDuration(row));
+            // Flipping the duration half turns longest first into shortest first
+            keys[i] = longestFirst ? key : (long) ~(int) (key >> 32) << 32 | row;
+        }
+        Arrays.sort(keys);
+        rows.clear();
+        for (long key : keys)
+        {
+            rows.add((int) key);
+        }
+    }
+
+    private static void sortByRow(IntList rows)
+    {
+        int[] sorted = new int[rows.size()];
+        for (int i = 0; i < sorted.length; i++)
+        {
+            sorted[i] = rows.get(i);
+        }
+        Arrays.sort(sorted);
+        rows.clear();
+        for (int row : sorted)
+        {
+            rows.add(row);
+        }
+    }
+
+    private void finish(IntList matches)
+    {
+        if (candidates.length() > 0)
+        {
+            plan.insert(0, candidates.append('\n'));
+        }
+        plan.append("Touched ").append(rowsTouched).append(" rows, returned ").append(matches.size());
+        rows = matches;
+    }
+}
@@ -0,0 +1,62 @@
+package Solution.Logic;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tasks found by a TaskQuery, with the plan that found them
+ */
+public final class QueryResult
+{
+    private final List<String> taskIds;
+    private final String plan;
+    private final long rowsTouched;
+
+    /**
+     * Constructs a result
+     * @param taskIds IDs of the matching tasks in the query's order
+     * @param plan description of how the tasks were found
+     * @param rowsTouched number of stored rows the plan looked at
+     */
+    QueryResult(List<String> taskIds, String plan, long rowsTouched)
+    {
+        this.taskIds = Collections.unmodifiableList(taskIds);
+        this.plan = plan;
+        this.rowsTouched = rowsTouched;
+    }
+
+    /**
+     * Gets the IDs of the matching tasks in the query's order
+     * @return 
+     */
+    public List<String> getTaskIds()
+    {
+        return taskIds;
+    }
+
+    /**
+     * Gets the number of stored rows the plan looked at
+     * @return 
+     */
+    public long getRowsTouched()
+    {
+        return rowsTouched;
+    }
+
+    /**
+     * Describes the plan that ran: the index that drove it, the checks
+     * applied to each of its rows, how the matches were ordered and how
+     * many rows were touched
+     * @return 
+     */
+    public String explain()
+    {
+        return plan;
+    }
+
+    @Override
+    public String toString()
+    {
+        return taskIds + "\n" + plan;
+    }
+}
@@ -0,0 +1,32 @@
+package Solution.Logic;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when a batch of tasks is rejected
+ * Carries every validation failure of the batch, not just the first one
+ */
+public class TaskBatchException extends IllegalArgumentException
+{
+    private final List<String> errors;
+
+    /**
+     * Constructs the exception from the batch's failures
+     * @param errors one message per invalid task
+     */
+    public TaskBatchException(List<String> errors)
+    {
+        super(errors.size() + " invalid task(s): " + String.join("; ", errors));
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Gets the failure messages, one per invalid task
+     * @return 
+     */
+    public List<String> getErrors()
+    {
+        return errors;
+    }
+}
@@ -0,0 +1,654 @@
+package Solution.Logic;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Compact, versioned binary encoding of tasks on ByteBuffers
+ * A stream starts with a version byte and holds one record per task. Each
+ * record is prefixed by its length, so a reader can skip fields added by
+ * later versions and can tell whether a buffer holds a whole record.
+ * Inside a record:
+ * - numbers are unsigned LEB128 varints
+ * - durations are a varint of hundredths of an hour when that is exact,
+ *   otherwise 0 followed by the float's four bytes
+ * - strings are a varint of (length << 1 | utf8) followed by one byte per
+ *   char when every char is Latin-1, otherwise by UTF-8
+ * - developers are numbered in order of first use within the stream; a
+ *   number equal to the count of names so far is followed by the name
+ * Encoding and decoding keep the developer numbering of their stream, so
+ * one codec instance writes or reads one stream. The static methods are
+ * the stateless building blocks and are shared with other formats
+ */
+final class TaskCodec
+{
+    /**
+     * Encoding version written at the start of every stream
+     */
+    static final byte VERSION = 1;
+
+    private static final int NOT_WRITTEN = DeveloperDictionary.UNKNOWN;
+    private static final int MAX_VARINT_BYTES = 10;
+
+    // Encoder state: names already written, and each source dictionary's
+    // ids mapped to their numbers, with the last one used at hand
+    private final DeveloperDictionary written = new DeveloperDictionary();
+    private final Map<DeveloperDictionary, int[]> writtenIdsBySource = new IdentityHashMap<>();
+    private DeveloperDictionary source;
+    private int[] writtenIds;
+    // Ids first written by the task being measured, in order
+    private int[] fresh = new int[8];
+    private int freshCount;
+
+    // Decoder state: names read so far; decoded tasks refer to it
+    private final DeveloperDictionary read = new DeveloperDictionary();
+
+    /**
+     * Writes the stream header
+     * @param out
+     * @throws java.nio.BufferOverflowException if the buffer is full
+     */
+    static void writeHeader(ByteBuffer out)
+    {
+        out.put(VERSION);
+    }
+
+    /**
+     * Reads and checks the stream header
+     * @param in
+     * @throws IllegalArgumentException if the stream has another version
+     */
+    static void readHeader(ByteBuffer in)
+        throws IllegalArgumentException
+    {
+        byte version = in.get();
+        if (version != VERSION)
+        {
+            throw new IllegalArgumentException("Unsupported task encoding version " + version);
+        }
+    }
+
+    /**
+     * Gets the dictionary decoded tasks refer to
+     * @return 
+     */
+    DeveloperDictionary getDictionary()
+    {
+        return read;
+    }
+
+    /**
+     * Encodes a task if the buffer has room for the whole record
+     * @param task
+     * @param out
+     * @return false, leaving the buffer and the codec unchanged, if the
+     *         record does not fit
+     */
+    boolean encode(TaskManager.Task task, ByteBuffer out)
+    {
+        int bodySize = bodySize(task);
+        if (out.remaining() < varIntSize(bodySize) + bodySize)
+        {
+            return false;
+        }
+
+        putVarInt(out, bodySize);
+        putVarLong(out, task.getSequence());
+        putString(out, task.getName());
+        putString(out, task.getDescription());
+        int[] ids = task.getDeveloperIds();
+        putVarInt(out, ids.length);
+        for (int id : ids)
+        {
+            putDeveloper(out, id);
+        }
+        if (task.getIdDeveloper() == DeveloperDictionary.UNKNOWN)
+        {
+            out.put((byte) 0);
+        }
+        else
+        {
+            out.put((byte) 1);
+            putDeveloper(out, task.getIdDeveloper());
+        }
+        putDuration(out, task.getDuration());
+        out.put((byte) task.getStatus().ordinal());
+        return true;
+    }
+
+    /**
+     * Gets the size of the record encode would write for a task next
+     * @param task
+     * @return 
+     */
+    int encodedSize(TaskManager.Task task)
+    {
+        int bodySize = bodySize(task);
+        return varIntSize(bodySize) + bodySize;
+    }
+
+    /**
+     * Decodes the next task if the buffer holds its whole record
+     * @param in
+     * @return task in this codec's dictionary, or null, leaving the buffer
+     *         unchanged, if the record is incomplete
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    TaskManager.Task decode(ByteBuffer in)
+        throws IllegalArgumentException
+    {
+        int start = in.position();
+        long bodySize = peekVarLong(in);
+        if (bodySize < 0)
+        {
+            return null;
+        }
+        if (bodySize > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Task record too long");
+        }
+        if (in.remaining() < bodySize)
+        {
+            in.position(start);
+            return null;
+        }
+
+        int end = in.position() + (int) bodySize;
+        ByteBuffer record = in.duplicate().limit(end);
+        try
+        {
+            long sequence = getVarLong(record);
+            String name = getString(record);
+            String description = getString(record);
+            // Each developer takes at least one byte
+            int count = getVarInt(record);
+            if (count < 0 || count > record.remaining())
+            {
+                throw new IllegalArgumentException("Bad developer count " + count);
+            }
+            int[] ids = new int[count];
+            for (int i = 0; i < ids.length; i++)
+            {
+                ids[i] = getDeveloper(record);
+            }
+            int idDeveloper = record.get() == 0 ? DeveloperDictionary.UNKNOWN : getDeveloper(record);
+            float duration = getDuration(record);
+            TaskStatus status = TaskStatus.fromOrdinal(record.get());
+            // Fields added by later versions are skipped
+            in.position(end);
+            return new TaskManager.Task(name, description, ids, read,
+                                        duration, status, sequence, idDeveloper);
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException e)
+        {
+            throw new IllegalArgumentException("Truncated task record", e);
+        }
+    }
+
+    /**
+     * Gets the size of a task's record without its length prefix
+     */
+    private int bodySize(TaskManager.Task task)
+    {
+        int size = varLongSize(task.getSequence())
+            + stringSize(task.getName())
+            + stringSize(task.getDescription());
+        int[] ids = task.getDeveloperIds();
+        DeveloperDictionary dictionary = task.getDictionary();
+        freshCount = 0;
+        size += varIntSize(ids.length);
+        for (int id : ids)
+        {
+            size += developerSize(dictionary, id);
+        }
+        size += 1;
+        if (task.getIdDeveloper() != DeveloperDictionary.UNKNOWN)
+        {
+            size += developerSize(dictionary, task.getIdDeveloper());
+        }
+        return size + durationSize(task.getDuration()) + 1;
+    }
+
+    /**
+     * Gets the size of a developer reference, including the name if it
+     * has not been written yet
+     * A name new to the stream is only written at its first use in the
+     * task; later uses get the number it will have by then
+     */
+    private int developerSize(DeveloperDictionary dictionary, int id)
+    {
+        int number = writtenId(dictionary, id);
+        if (number != NOT_WRITTEN)
+        {
+            return varIntSize(number);
+        }
+        for (int k = 0; k < freshCount; k++)
+        {
+            if (fresh[k] == id)
+            {
+                return varIntSize(written.size() + k);
+            }
+        }
+
+        if (freshCount == fresh.length)
+        {
+            fresh = Arrays.copyOf(fresh, freshCount * 2);
+        }
+        fresh[freshCount++] = id;
+        return varIntSize(written.size() + freshCount - 1) + stringSize(dictionary.nameOf(id));
+    }
+
+    /**
+     * Writes a developer reference of the dictionary measured last
+     */
+    private void putDeveloper(ByteBuffer out, int id)
+    {
+        int number = writtenIds[id];
+        if (number != NOT_WRITTEN)
+        {
+            putVarInt(out, number);
+            return;
+        }
+
+        String name = source.nameOf(id);
+        number = written.intern(name);
+        writtenIds[id] = number;
+        putVarInt(out, number);
+        putString(out, name);
+    }
+
+    /**
+     * Gets the stream number of a developer, switching the cached mapping
+     * to the task's dictionary if needed
+     * @return number, or NOT_WRITTEN if the name has not been written
+     */
+    private int writtenId(DeveloperDictionary dictionary, int id)
+    {
+        if (dictionary != source)
+        {
+            if (source != null)
+            {
+                writtenIdsBySource.put(source, writtenIds);
+            }
+            source = dictionary;
+            writtenIds = writtenIdsBySource.get(dictionary);
+            if (writtenIds == null)
+            {
+                writtenIds = new int[Math.max(16, dictionary.size())];
+                Arrays.fill(writtenIds, NOT_WRITTEN);
+            }
+        }
+        if (id >= writtenIds.length)
+        {
+            int oldLength = writtenIds.length;
+            writtenIds = Arrays.copyOf(writtenIds, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(writtenIds, oldLength, writtenIds.length, NOT_WRITTEN);
+        }
+
+        // The name may have been written for another source dictionary
+        if (writtenIds[id] == NOT_WRITTEN)
+        {
+            writtenIds[id] = written.idOf(dictionary.nameOf(id));
+        }
+        return writtenIds[id];
+    }
+
+    /**
+     * Reads a developer reference
+     */
+    private int getDeveloper(ByteBuffer in)
+    {
+        int number = getVarInt(in);
+        if (number == read.size())
+        {
+            return read.intern(getString(in));
+        }
+        if (number > read.size())
+        {
+            throw new IllegalArgumentException("Unknown developer number " + number);
+        }
+        return number;
+    }
+
+    /**
+     * Writes an unsigned varint
+     * @param out
+     * @param value must not be negative
+     */
+    static void putVarInt(ByteBuffer out, int value)
+    {
+        putVarLong(out, value);
+    }
+
+    /**
+     * Writes an unsigned varint
+     * @param out
+     * @param value must not be negative
+     */
+    static void putVarLong(ByteBuffer out, long value)
+    {
+        if (value < 0)
+        {
+            throw new IllegalArgumentException("Varints must not be negative");
+        }
+        while (value >= 0x80)
+        {
+            out.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Gets the size of an unsigned varint
+     * @param value
+     * @return 
+     */
+    static int varIntSize(int value)
+    {
+        return varLongSize(value);
+    }
+
+    /**
+     * Gets the size of an unsigned varint
+     * @param value
+     * @return 
+     */
+    static int varLongSize(long value)
+    {
+        int size = 1;
+        while (value >= 0x80 || value < 0)
+        {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Reads an unsigned varint that must fit an int
+     * @param in
+     * @return 
+     * @throws IllegalArgumentException if the value is too large
+     */
+    static int getVarInt(ByteBuffer in)
+        throws IllegalArgumentException
+    {
+        long value = getVarLong(in);
+        if (value > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Varint too large");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads an unsigned varint
+     * @param in
+     * @return 
+     * @throws IllegalArgumentException if the varint is too long
+     */
+    static long getVarLong(ByteBuffer in)
+        throws IllegalArgumentException
+    {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7)
+        {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+            {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint too long");
+    }
+
+    /**
+     * Reads a varint if the buffer holds all of it
+     * @return value, or -1 with the position unchanged if it is incomplete
+     */
+    private static long peekVarLong(ByteBuffer in)
+    {
+        int start = in.position();
+        for (int i = start; i < in.limit() && i - start < MAX_VARINT_BYTES; i++)
+        {
+            if (in.get(i) >= 0)
+            {
+                return getVarLong(in);
+            }
+        }
+        if (in.remaining() >= MAX_VARINT_BYTES)
+        {
+            throw new IllegalArgumentException("Varint too long");
+        }
+        return -1;
+    }
+
+    /**
+     * Writes a duration as exact hundredths when possible
+     * @param out
+     * @param duration
+     */
+    static void putDuration(ByteBuffer out, float duration)
+    {
+        long hundredths = hundredthsOf(duration);
+        if (hundredths >= 0)
+        {
+            putVarLong(out, hundredths + 1);
+        }
+        else
+        {
+            out.put((byte) 0);
+            out.putFloat(duration);
+        }
+    }
+
+    /**
+     * Gets the size of an encoded duration
+     * @param duration
+     * @return 
+     */
+    static int durationSize(float duration)
+    {
+        long hundredths = hundredthsOf(duration);
+        return hundredths >= 0 ? varLongSize(hundredths + 1) : 1 + Float.BYTES;
+    }
+
+    /**
+     * Reads a duration
+     * @param in
+     * @return 
+     */
+    static float getDuration(ByteBuffer in)
+    {
+        long encoded = getVarLong(in);
+        return encoded == 0 ? in.getFloat() : (float) ((encoded - 1) / 100.0);
+    }
+
+    /**
+     * Gets a duration in hundredths of an hour if that is exact
+     * @return hundredths, or -1 if the duration needs its float bits
+     */
+    private static long hundredthsOf(float duration)
+    {
+        if (!(duration >= 0 && duration < 1e7f))
+        {
+            return -1;
+        }
+        long hundredths = Math.round(duration * 100.0);
+        return (float) (hundredths / 100.0) == duration ? hundredths : -1;
+    }
+
+    /**
+     * Writes a string, one byte per char when it is all Latin-1
+     * @param out
+     * @param value
+     */
+    static void putString(ByteBuffer out, String value)
+    {
+        int length = value.length();
+        if (isLatin1(value))
+        {
+            putVarInt(out, length << 1);
+            for (int i = 0; i < length; i++)
+            {
+                out.put((byte) value.charAt(i));
+            }
+            return;
+        }
+
+        putVarInt(out, utf8Length(value) << 1 | 1);
+        for (int i = 0; i < length; i++)
+        {
+            char c = value.charAt(i);
+            if (c < 0x80)
+            {
+                out.put((byte) c);
+            }
+            else if (c < 0x800)
+            {
+                out.put((byte) (0xC0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3F));
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < length
+                     && Character.isLowSurrogate(value.charAt(i + 1)))
+            {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | codePoint >> 18));
+                out.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                out.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                out.put((byte) (0x80 | codePoint & 0x3F));
+            }
+            else if (Character.isSurrogate(c))
+            {
+                // A lone surrogate is written as '?', as String.getBytes does
+                out.put((byte) '?');
+            }
+            else
+            {
+                out.put((byte) (0xE0 | c >> 12));
+                out.put((byte) (0x80 | c >> 6 & 0x3F));
+                out.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Gets the size of an encoded string
+     * @param value
+     * @return 
+     */
+    static int stringSize(String value)
+    {
+        int bytes = isLatin1(value) ? value.length() : utf8Length(value);
+        return varIntSize(bytes << 1 | 1) + bytes;
+    }
+
+    /**
+     * Reads a string
+     * Heap buffers are decoded in place; other buffers go through one copy
+     * @param in
+     * @return 
+     * @throws IllegalArgumentException if the string runs past the buffer
+     */
+    static String getString(ByteBuffer in)
+        throws IllegalArgumentException
+    {
+        int header = getVarInt(in);
+        int length = header >>> 1;
+        if (length > in.remaining())
+        {
+            throw new IllegalArgumentException("Truncated string");
+        }
+
+        Charset charset = (header & 1) == 0
+            ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8;
+        String value;
+        if (in.hasArray())
+        {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, charset);
+            in.position(in.position() + length);
+        }
+        else
+        {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, charset);
+        }
+        return value;
+    }
+
+    /**
+     * Moves past a string without decoding it
+     * @param in
+     * @throws IllegalArgumentException if the string runs past the buffer
+     */
+    static void skipString(ByteBuffer in)
+        throws IllegalArgumentException
+    {
+        int length = getVarInt(in) >>> 1;
+        if (length > in.remaining())
+        {
+            throw new IllegalArgumentException("Truncated string");
+        }
+        in.position(in.position() + length);
+    }
+
+    /**
+     * Checks whether every char of a string fits one Latin-1 byte
+     */
+    private static boolean isLatin1(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            if (value.charAt(i) > 0xFF)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the UTF-8 length of a string, counting a lone surrogate as the
+     * one byte of '?'
+     */
+    private static int utf8Length(String value)
+    {
+        int bytes = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++)
+        {
+            char c = value.charAt(i);
+            if (c < 0x80)
+            {
+                bytes += 1;
+            }
+            else if (c < 0x800)
+            {
+                bytes += 2;
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < length
+                     && Character.isLowSurrogate(value.charAt(i + 1)))
+            {
+                bytes += 4;
+                i++;
+            }
+            else if (Character.isSurrogate(c))
+            {
+                bytes += 1;
+            }
+            else
+            {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
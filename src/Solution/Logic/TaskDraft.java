@@ -0,0 +1,79 @@
+package Solution.Logic;
+
+import java.util.List;
+
+/**
+ * Fields of a task that has not been added yet
+ * Used to hand several tasks to TaskManager.addTasks at once
+ */
+public final class TaskDraft
+{
+    private final String name;
+    private final String description;
+    private final List<String> developers;
+    private final float duration;
+    private final TaskStatus status;
+
+    /**
+     * Constructs a task draft
+     * @param name
+     * @param description
+     * @param developers
+     * @param duration
+     * @param status
+     */
+    public TaskDraft(String name, String description,
+                     List<String> developers, float duration, TaskStatus status)
+    {
+        this.name = name;
+        this.description = description;
+        this.developers = developers;
+        this.duration = duration;
+        this.status = status;
+    }
+
+    /**
+     * Gets task name
+     * @return 
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Gets task description
+     * @return 
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+    /**
+     * Gets developer names
+     * @return 
+     */
+    public List<String> getDevelopers()
+    {
+        return developers;
+    }
+
+    /**
+     * Gets task duration
+     * @return 
+     */
+    public float getDuration()
+    {
+        return duration;
+    }
+
+    /**
+     * Gets task status
+     * @return 
+     */
+    public TaskStatus getStatus()
+    {
+        return status;
+    }
+}
@@ -0,0 +1,93 @@
+package Solution.Logic;
+
+/**
+ * Change made to one task, delivered to TaskListener subscribers
+ */
+public final class TaskEvent
+{
+    /**
+     * Kind of change
+     */
+    public enum Type
+    {
+        /**
+         * A task was added
+         */
+        ADDED,
+        /**
+         * A task moved to another status column
+         */
+        MOVED,
+        /**
+         * A task's duration or developers changed
+         */
+        UPDATED,
+        /**
+         * A task was deleted
+         */
+        DELETED
+    }
+
+    private final Type type;
+    private final String taskId;
+    private final TaskStatus status;
+    private final TaskStatus previousStatus;
+
+    /**
+     * Constructs an event
+     * @param type
+     * @param taskId
+     * @param status status of the task after the change, or before a delete
+     * @param previousStatus status before a move, otherwise null
+     */
+    TaskEvent(Type type, String taskId, TaskStatus status, TaskStatus previousStatus)
+    {
+        this.type = type;
+        this.taskId = taskId;
+        this.status = status;
+        this.previousStatus = previousStatus;
+    }
+
+    /**
+     * Gets the kind of change
+     * @return 
+     */
+    public Type getType()
+    {
+        return type;
+    }
+
+    /**
+     * Gets the ID of the changed task
+     * @return 
+     */
+    public String getTaskId()
+    {
+        return taskId;
+    }
+
+    /**
+     * Gets the status of the task after the change; for a delete, the
+     * status it had
+     * @return 
+     */
+    public TaskStatus getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * Gets the status a moved task came from
+     * @return status, or null if the task did not move
+     */
+    public TaskStatus getPreviousStatus()
+    {
+        return previousStatus;
+    }
+
+    @Override
+    public String toString()
+    {
+        return type + " " + taskId + (previousStatus != null ? " " + previousStatus + " -> " : " ") + status;
+    }
+}
@@ -0,0 +1,154 @@
+package Solution.Logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the change events of a board and delivers them to listeners in
+ * batches
+ * Writers publish events as they change tasks and flush once the
+ * operation is done. Without a delay, a flush delivers the pending events
+ * on the writer's thread, so a batch add is one notification. With a
+ * delay, the first flush schedules one delivery that many milliseconds
+ * later on a shared event thread, and every event published until then
+ * joins the same batch, so bursty ingest costs one notification per window
+ * rather than one per task. Nothing is collected while no one listens
+ */
+final class TaskEventPublisher
+{
+    // One daemon thread delivers delayed batches for every board
+    private static final ScheduledExecutorService DELIVERY = Executors.newSingleThreadScheduledExecutor(task ->
+    {
+        Thread thread = new Thread(task, "task-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<TaskListener> listeners = new CopyOnWriteArrayList<>();
+    // Delivering one batch at a time keeps batches in order across writers
+    private final Object deliveryLock = new Object();
+    private List<TaskEvent> pending = new ArrayList<>();
+    private boolean scheduled;
+    private volatile long delayMillis;
+    private volatile boolean paused;
+
+    /**
+     * Adds a listener
+     * @param listener
+     */
+    void addListener(TaskListener listener)
+    {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener; events already pending are not delivered to it
+     * @param listener
+     */
+    void removeListener(TaskListener listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Checks whether events should be published: someone listens and
+     * publishing is not paused, so writers can skip building events
+     * @return 
+     */
+    boolean isListening()
+    {
+        return !paused && !listeners.isEmpty();
+    }
+
+    /**
+     * Pauses or resumes publishing, e.g. while a log is replayed
+     * @param paused
+     */
+    void setPaused(boolean paused)
+    {
+        this.paused = paused;
+    }
+
+    /**
+     * Sets how long events are collected before a batch is delivered
+     * @param millis 0 to deliver after every operation
+     */
+    void setDelay(long millis)
+    {
+        delayMillis = millis;
+    }
+
+    /**
+     * Adds an event to the pending batch
+     * @param event
+     */
+    synchronized void publish(TaskEvent event)
+    {
+        pending.add(event);
+    }
+
+    /**
+     * Delivers the pending batch now, or schedules its delivery when a
+     * delay is set
+     */
+    void flush()
+    {
+        long delay = delayMillis;
+        if (delay == 0)
+        {
+            deliver();
+            return;
+        }
+
+        synchronized (this)
+        {
+            if (scheduled || pending.isEmpty())
+            {
+                return;
+            }
+            scheduled = true;
+        }
+        DELIVERY.schedule(this::deliver, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hands the pending batch to every listener
+     */
+    private void deliver()
+    {
+        synchronized (deliveryLock)
+        {
+            List<TaskEvent> batch;
+            synchronized (this)
+            {
+                scheduled = false;
+                if (pending.isEmpty())
+                {
+                    return;
+                }
+                batch = Collections.unmodifiableList(pending);
+                pending = new ArrayList<>();
+            }
+
+            for (TaskListener listener : listeners)
+            {
+                try
+                {
+                    listener.tasksChanged(batch);
+                }
+                catch (RuntimeException e)
+                {
+                    // A failing subscriber must not undo or hide the write;
+                    // the thread's handler decides how failures are reported
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package Solution.Logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * Writes the tasks of a board as CSV or JSON lines
+ * Tasks are read from storage one at a time, in order of addition, and
+ * encoded as UTF-8 straight into one direct buffer that is written to the
+ * channel whenever it fills, so memory use does not grow with the board.
+ * A developer or status filter is answered from the board's indexes. The
+ * output is what TaskImporter reads, with each task's ID added: a sixth CSV
+ * column or an "id" key
+ */
+public final class TaskExporter
+{
+    public static final int DEFAULT_BUFFER_BYTES = 1 << 16;
+
+    private int bufferBytes = DEFAULT_BUFFER_BYTES;
+
+    /**
+     * Sets the size of the buffer tasks are encoded into
+     * @param bufferBytes
+     * @throws IllegalArgumentException if bufferBytes is below 16
+     */
+    public void setBufferBytes(int bufferBytes)
+        throws IllegalArgumentException
+    {
+        if (bufferBytes < 16)
+        {
+            throw new IllegalArgumentException("Buffer must hold at least 16 bytes");
+        }
+        this.bufferBytes = bufferBytes;
+    }
+
+    /**
+     * Exports every task of a board to a file, replacing its contents
+     * @param manager
+     * @param file
+     * @param format
+     * @return number of tasks written
+     * @throws IOException if the file cannot be written
+     */
+    public long exportFile(TaskManager manager, Path file, TaskImporter.Format format)
+        throws IOException
+    {
+        return exportFile(manager, file, format, null, null);
+    }
+
+    /**
+     * Exports the tasks of a board that match optional filters to a file,
+     * replacing its contents
+     * @param manager
+     * @param file
+     * @param format
+     * @param developer developer the tasks must include, or null for any
+     * @param status status the tasks must have, or null for any
+     * @return number of tasks written
+     * @throws IOException if the file cannot be written
+     */
+    public long exportFile(TaskManager manager, Path file, TaskImporter.Format format,
+                           String developer, TaskStatus status)
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            return export(manager, channel, format, developer, status);
+        }
+    }
+
+    /**
+     * Exports every task of a concurrent board to a file, replacing its
+     * contents
+     * Writers wait until the export is done, so the file holds one
+     * consistent view of the board
+     * @param manager
+     * @param file
+     * @param format
+     * @return number of tasks written
+     * @throws IOException if the file cannot be written
+     */
+    public long exportFile(ConcurrentTaskManager manager, Path file, TaskImporter.Format format)
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            Utf8Output out = new Utf8Output(channel, bufferBytes);
+            writeHeader(format, out);
+            long[] written = new long[1];
+            manager.writeAllTasks(task ->
+            {
+                writeTask(task, format, out);
+                written[0]++;
+            });
+            out.flush();
+            return written[0];
+        }
+    }
+
+    /**
+     * Exports the tasks of a board that match optional filters to a channel
+     * The channel is left open
+     * @param manager
+     * @param channel
+     * @param format
+     * @param developer developer the tasks must include, or null for any
+     * @param status status the tasks must have, or null for any
+     * @return number of tasks written
+     * @throws IOException if the channel cannot be written
+     */
+    public long export(TaskManager manager, WritableByteChannel channel, TaskImporter.Format format,
+                       String developer, TaskStatus status)
+        throws IOException
+    {
+        Utf8Output out = new Utf8Output(channel, bufferBytes);
+        TaskStore store = manager.getStore();
+        writeHeader(format, out);
+
+        long written = 0;
+        for (PrimitiveIterator.OfInt rows = manager.matchingRows(developer, status).iterator();
+             rows.hasNext(); )
+        {
+            writeTask(store.get(rows.nextInt()), format, out);
+            written++;
+        }
+        out.flush();
+        return written;
+    }
+
+    /**
+     * Writes the CSV header line; JSON lines have none
+     */
+    private static void writeHeader(TaskImporter.Format format, Utf8Output out)
+        throws IOException
+    {
+        if (format == TaskImporter.Format.CSV)
+        {
+            out.append(TaskRecordParser.CSV_HEADER).append(",id\n");
+        }
+    }
+
+    /**
+     * Writes a task in the given format
+     */
+    private static void writeTask(TaskManager.Task task, TaskImporter.Format format, Utf8Output out)
+        throws IOException
+    {
+        if (format == TaskImporter.Format.CSV)
+        {
+            writeCsv(task, out);
+        }
+        else
+        {
+            writeJson(task, out);
+        }
+    }
+
+    /**
+     * Writes a task as one CSV line
+     */
+    private static void writeCsv(TaskManager.Task task, Utf8Output out)
+        throws IOException
+    {
+        writeCsvField(task.getName(), out);
+        out.append(',');
+        writeCsvField(task.getDescription(), out);
+        out.append(',');
+        writeCsvField(String.join(";", task.getDevelopers()), out);
+        out.append(',').append(Float.toString(task.getDuration())).append(',');
+        writeCsvField(task.getStatus().toString(), out);
+        out.append(',');
+        writeCsvField(task.getId(), out);
+        out.append('\n');
+    }
+
+    /**
+     * Writes a CSV field, quoted when it holds a separator, quote or line
+     * break or starts or ends with a space
+     */
+    private static void writeCsvField(String value, Utf8Output out)
+        throws IOException
+    {
+        boolean quote = !value.isEmpty()
+            && (value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ');
+        for (int i = 0; i < value.length() && !quote; i++)
+        {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote)
+        {
+            out.append(value);
+            return;
+        }
+
+        out.append('"');
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c == '"')
+            {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    /**
+     * Writes a task as one JSON object on its own line
+     */
+    private static void writeJson(TaskManager.Task task, Utf8Output out)
+        throws IOException
+    {
+        out.append("{\"id\":");
+        writeJsonString(task.getId(), out);
+        out.append(",\"name\":");
+        writeJsonString(task.getName(), out);
+        out.append(",\"description\":");
+        writeJsonString(task.getDescription(), out);
+        out.append(",\"developers\":[");
+        List<String> developers = task.getDevelopers();
+        for (int i = 0; i < developers.size(); i++)
+        {
+            if (i > 0)
+            {
+                out.append(',');
+            }
+            writeJsonString(developers.get(i), out);
+        }
+        out.append("],\"duration\":");
+        float duration = task.getDuration();
+        if (Float.isFinite(duration))
+        {
+            out.append(Float.toString(duration));
+        }
+        else
+        {
+            // JSON numbers cannot be NaN or infinite; the importer reads the string
+            writeJsonString(Float.toString(duration), out);
+        }
+        out.append(",\"status\":");
+        writeJsonString(task.getStatus().toString(), out);
+        out.append("}\n");
+    }
+
+    /**
+     * Writes a JSON string with quotes, backslashes and control characters
+     * escaped
+     */
+    private static void writeJsonString(String value, Utf8Output out)
+        throws IOException
+    {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            switch (c)
+            {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default ->
+                {
+                    if (c < 0x20)
+                    {
+                        out.append(String.format("\\u%04x", (int) c));
+                    }
+                    else
+                    {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Encodes characters as UTF-8 into a direct buffer and writes it to a
+     * channel whenever it fills
+     * A lone surrogate is written as '?', as String.getBytes does
+     */
+    private static final class Utf8Output
+    {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+        private char highSurrogate;
+
+        Utf8Output(WritableByteChannel channel, int bufferBytes)
+        {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        }
+
+        Utf8Output append(String value)
+            throws IOException
+        {
+            for (int i = 0; i < value.length(); i++)
+            {
+                append(value.charAt(i));
+            }
+            return this;
+        }
+
+        Utf8Output append(char c)
+            throws IOException
+        {
+            if (buffer.remaining() < 4)
+            {
+                drain();
+            }
+
+            if (highSurrogate != 0)
+            {
+                char high = highSurrogate;
+                highSurrogate = 0;
+                if (Character.isLowSurrogate(c))
+                {
+                    int codePoint = Character.toCodePoint(high, c);
+                    buffer.put((byte) (0xF0 | codePoint >> 18));
+                    buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                    buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                    buffer.put((byte) (0x80 | codePoint & 0x3F));
+                    return this;
+                }
+                buffer.put((byte) '?');
+                return append(c);
+            }
+
+            if (c < 0x80)
+            {
+                buffer.put((byte) c);
+            }
+            else if (c < 0x800)
+            {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+            else if (Character.isHighSurrogate(c))
+            {
+                highSurrogate = c;
+            }
+            else if (Character.isLowSurrogate(c))
+            {
+                buffer.put((byte) '?');
+            }
+            else
+            {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+            return this;
+        }
+
+        /**
+         * Writes out everything encoded so far
+         */
+        void flush()
+            throws IOException
+        {
+            if (highSurrogate != 0)
+            {
+                highSurrogate = 0;
+                if (buffer.remaining() < 1)
+                {
+                    drain();
+                }
+                buffer.put((byte) '?');
+            }
+            drain();
+        }
+
+        private void drain()
+            throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
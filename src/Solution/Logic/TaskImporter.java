@@ -0,0 +1,424 @@
+package Solution.Logic;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Streams tasks from a CSV or JSON lines file into a board
+ * The file is read through a FileChannel in chunks that end at a line
+ * break. Chunks are parsed and validated by a pool of threads while the
+ * next ones are read, and their tasks are added in file order with
+ * addTasks, a batch at a time. At most two chunks per thread are in flight,
+ * so memory stays bounded whatever the size of the file. Invalid lines are
+ * skipped and reported by line number; see TaskRecordParser for the formats
+ */
+public final class TaskImporter
+{
+    public static final int DEFAULT_CHUNK_BYTES = 1 << 20;
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+    public static final int DEFAULT_MAX_ERRORS = 1_000;
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int chunkBytes = DEFAULT_CHUNK_BYTES;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int maxErrors = DEFAULT_MAX_ERRORS;
+
+    /**
+     * Formats the importer reads
+     */
+    public enum Format
+    {
+        CSV,
+        JSON;
+
+        /**
+         * Gets the format of a file from its extension
+         * Files ending in .json, .jsonl or .ndjson are JSON; others are CSV
+         * @param file
+         * @return 
+         */
+        public static Format of(Path file)
+        {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson")
+                ? JSON : CSV;
+        }
+    }
+
+    /**
+     * Sets the number of threads that parse chunks
+     * @param threads
+     * @throws IllegalArgumentException if threads is not positive
+     */
+    public void setThreads(int threads)
+        throws IllegalArgumentException
+    {
+        if (threads < 1)
+        {
+            throw new IllegalArgumentException("Threads must be at least 1");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Sets the number of bytes read per chunk
+     * A line longer than a chunk is still read whole
+     * @param chunkBytes
+     * @throws IllegalArgumentException if chunkBytes is not positive
+     */
+    public void setChunkBytes(int chunkBytes)
+        throws IllegalArgumentException
+    {
+        if (chunkBytes < 1)
+        {
+            throw new IllegalArgumentException("Chunk size must be at least 1 byte");
+        }
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Sets the number of tasks added to the board at once
+     * @param batchSize
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public void setBatchSize(int batchSize)
+        throws IllegalArgumentException
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets how many rejected lines are reported with a message
+     * @param maxErrors
+     * @throws IllegalArgumentException if maxErrors is negative
+     */
+    public void setMaxErrors(int maxErrors)
+        throws IllegalArgumentException
+    {
+        if (maxErrors < 0)
+        {
+            throw new IllegalArgumentException("Maximum errors must not be negative");
+        }
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Imports a file into a board
+     * @param file
+     * @param format
+     * @param manager
+     * @return 
+     * @throws IOException if the file cannot be read
+     */
+    public ImportReport importFile(Path file, Format format, TaskManager manager)
+        throws IOException
+    {
+        return importFile(file, format, manager::addTasks);
+    }
+
+    /**
+     * Imports a file into a concurrent board
+     * @param file
+     * @param format
+     * @param manager
+     * @return 
+     * @throws IOException if the file cannot be read
+     */
+    public ImportReport importFile(Path file, Format format, ConcurrentTaskManager manager)
+        throws IOException
+    {
+        return importFile(file, format, manager::addTasks);
+    }
+
+    /**
+     * Reads, parses and hands batches of valid tasks to a board
+     * @param file
+     * @param format
+     * @param board receives batches in file order, on the calling thread
+     * @return 
+     * @throws IOException if the file cannot be read
+     */
+    ImportReport importFile(Path file, Format format, Consumer<List<TaskDraft>> board)
+        throws IOException
+    {
+        long start = System.nanoTime();
+        int pool = POOL_NUMBER.incrementAndGet();
+        AtomicInteger workerNumber = new AtomicInteger();
+        ExecutorService parsers = Executors.newFixedThreadPool(threads, task ->
+        {
+            Thread thread = new Thread(task, "task-import-" + pool + "-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ArrayDeque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+        List<TaskDraft> batch = new ArrayList<>(batchSize);
+        List<String> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+        long lines = 0;
+        long bytes = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            ChunkReader reader = new ChunkReader(channel, chunkBytes);
+            long nextLine = 1;
+            boolean endOfFile = false;
+            while (!endOfFile || !inFlight.isEmpty())
+            {
+                // Keep every parser busy while the oldest chunk is added
+                while (!endOfFile && inFlight.size() < 2 * threads)
+                {
+                    byte[] chunk = reader.next();
+                    if (chunk == null)
+                    {
+                        endOfFile = true;
+                        break;
+                    }
+                    long firstLine = nextLine;
+                    nextLine += countLineBreaks(chunk);
+                    bytes += chunk.length;
+                    inFlight.add(parsers.submit(() -> parse(chunk, firstLine, format)));
+                }
+                if (inFlight.isEmpty())
+                {
+                    break;
+                }
+
+                ParsedChunk parsed = await(inFlight.poll());
+                lines += parsed.lines;
+                rejected += parsed.errors.size();
+                for (String error : parsed.errors)
+                {
+                    if (errors.size() < maxErrors)
+                    {
+                        errors.add(error);
+                    }
+                }
+                for (TaskDraft draft : parsed.drafts)
+                {
+                    batch.add(draft);
+                    if (batch.size() == batchSize)
+                    {
+                        board.accept(batch);
+                        imported += batch.size();
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+
+            if (!batch.isEmpty())
+            {
+                board.accept(batch);
+                imported += batch.size();
+            }
+        }
+        finally
+        {
+            parsers.shutdownNow();
+        }
+        return new ImportReport(imported, rejected, lines, bytes, System.nanoTime() - start, errors);
+    }
+
+    /**
+     * Waits for a chunk to be parsed
+     */
+    private static ParsedChunk await(Future<ParsedChunk> future)
+        throws IOException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime)
+            {
+                throw runtime;
+            }
+            if (cause instanceof Error error)
+            {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Parses the lines of one chunk
+     * Runs on a parser thread
+     */
+    private static ParsedChunk parse(byte[] chunk, long firstLine, Format format)
+    {
+        String text = new String(chunk, StandardCharsets.UTF_8);
+        ParsedChunk parsed = new ParsedChunk();
+        int start = firstLine == 1 && text.startsWith("\uFEFF") ? 1 : 0;
+        long line = firstLine;
+        while (start < text.length())
+        {
+            int lineBreak = text.indexOf('\n', start);
+            int end = lineBreak < 0 ? text.length() : lineBreak;
+            String value = text.substring(start, end > start && text.charAt(end - 1) == '\r'
+                                                 ? end - 1 : end);
+            parseLine(value, line, format, parsed);
+            parsed.lines++;
+            line++;
+            start = end + 1;
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses one line into a draft or an error
+     */
+    private static void parseLine(String value, long line, Format format, ParsedChunk parsed)
+    {
+        if (value.trim().isEmpty() || (line == 1 && format == Format.CSV
+                                       && TaskRecordParser.isCsvHeader(value)))
+        {
+            return;
+        }
+
+        try
+        {
+            TaskDraft draft = format == Format.CSV
+                ? TaskRecordParser.parseCsv(value) : TaskRecordParser.parseJson(value);
+            if (draft != null)
+            {
+                parsed.drafts.add(draft);
+            }
+        }
+        catch (IllegalArgumentException e)
+        {
+            parsed.errors.add("Line " + line + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Counts the line breaks in a chunk
+     */
+    private static int countLineBreaks(byte[] chunk)
+    {
+        int count = 0;
+        for (byte b : chunk)
+        {
+            if (b == '\n')
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drafts and errors of one chunk
+     */
+    private static final class ParsedChunk
+    {
+        private final List<TaskDraft> drafts = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private long lines;
+    }
+
+    /**
+     * Reads a file in chunks that end just after a line break
+     * The bytes after the last line break of a read are kept for the next
+     * chunk; the buffer grows only when a single line does not fit
+     */
+    private static final class ChunkReader
+    {
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+        private boolean endOfFile;
+
+        ChunkReader(FileChannel channel, int chunkBytes)
+        {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(chunkBytes);
+        }
+
+        /**
+         * Reads the next chunk
+         * @return bytes of whole lines, the last line possibly without a
+         *         line break at the end of the file, or null when done
+         */
+        byte[] next()
+            throws IOException
+        {
+            while (true)
+            {
+                while (!endOfFile && buffer.hasRemaining())
+                {
+                    if (channel.read(buffer) < 0)
+                    {
+                        endOfFile = true;
+                    }
+                }
+
+                int end = lastLineBreak() + 1;
+                if (end == 0 && endOfFile)
+                {
+                    end = buffer.position();
+                }
+                if (end > 0)
+                {
+                    byte[] chunk = Arrays.copyOf(buffer.array(), end);
+                    buffer.flip().position(end);
+                    buffer.compact();
+                    return chunk;
+                }
+                if (endOfFile)
+                {
+                    return null;
+                }
+
+                // One line is longer than the buffer
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+            }
+        }
+
+        /**
+         * Finds the last line break read so far
+         * @return index, or -1 if there is none
+         */
+        private int lastLineBreak()
+        {
+            byte[] bytes = buffer.array();
+            for (int i = buffer.position() - 1; i >= 0; i--)
+            {
+                if (bytes[i] == '\n')
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package Solution.Logic;
+
+import java.util.List;
+
+/**
+ * Subscriber to the changes made to a board
+ * Changes arrive in batches: everything one operation changed, or, when the
+ * board has an event delay, everything changed during the delay. Batches
+ * arrive one at a time, in the order the changes were made
+ */
+@FunctionalInterface
+public interface TaskListener
+{
+    /**
+     * Receives a batch of changes
+     * Called on the thread that made the changes, or on the event thread
+     * when the board has an event delay, so UI code must hand the batch to
+     * its own thread. An exception thrown here does not reach the writer
+     * and does not stop other listeners; it is handed to the uncaught
+     * exception handler of the delivering thread
+     * @param events changes in the order they were made, never empty
+     */
+    void tasksChanged(List<TaskEvent> events);
+}
@@ -0,0 +1,1134 @@
+package Solution.Logic;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of board and account changes
+ * Managers append one record per change and then wait in sync until a
+ * dedicated writer thread has written and forced it to disk. The writer
+ * takes every record appended since its last write as one group and forces
+ * the file once per group, so concurrent writers share the cost of each
+ * fsync. A flush interval makes the writer wait for more records before
+ * writing a group, trading latency for larger groups.
+ * Each record is framed by its length and a CRC32, so a record torn by a
+ * crash is detected and dropped when the log is opened again.
+ * Once enough has been logged since the last snapshot, a TaskSnapshot of
+ * the board is written next to the log; opening the log loads it and
+ * replays only the records after it. The snapshot before it is kept too,
+ * and the log is then cut back to where that one starts, so a damaged
+ * newest snapshot still has a fallback and the log holds about two
+ * checkpoint intervals of records. Positions count from the start of the
+ * uncut log, so snapshots stay valid after a cut
+ */
+public final class TaskLog implements Closeable
+{
+    /**
+     * Flush interval used when none is given: write as soon as possible
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 0;
+
+    /**
+     * Maximum records per group commit used when none is given
+     */
+    public static final int DEFAULT_MAX_BATCH_RECORDS = 4096;
+
+    /**
+     * Bytes logged after a snapshot before the next one is due, used when
+     * none is given
+     */
+    public static final long DEFAULT_CHECKPOINT_BYTES = 64L << 20;
+
+    static final byte ADD = 1;
+    static final byte ADD_BATCH = 2;
+    static final byte MOVE = 3;
+    static final byte DURATION = 4;
+    static final byte DEVELOPERS = 5;
+    static final byte DELETE = 6;
+    static final byte USER = 7;
+
+    private static final int MAGIC = 0x4B424C47;
+    private static final byte VERSION = 2;
+    private static final byte CUT_VERSION = 3;
+    private static final int HEADER_BYTES = 5;
+    private static final int CUT_HEADER_BYTES = 13;
+    private static final int FRAME_BYTES = 8;
+
+    private final Path file;
+    private final Path snapshotFile;
+    private final Path previousSnapshotFile;
+    private final TaskLogTarget tasks;
+    private final AuthManager users;
+    private final long flushIntervalNanos;
+    private final int maxBatchRecords;
+    private final Thread writer;
+    private final Object lock = new Object();
+    private final Object checkpointLock = new Object();
+
+    // Replaced only by cutBack, while the writer is idle
+    private FileChannel channel;
+
+    // Guarded by checkpointLock; -1 when the file holds no usable snapshot
+    private long snapshotPosition;
+    private long previousSnapshotPosition;
+
+    // Guarded by lock
+    private ArrayList<byte[]> pending = new ArrayList<>();
+    private long appended;
+    private long position;
+    private long durablePosition;
+    private long base;
+    private long shift;
+    private long checkpointPosition;
+    private long checkpointBytes = DEFAULT_CHECKPOINT_BYTES;
+    private boolean checkpointing;
+    private long durable;
+    private long groupCommits;
+    private IOException failure;
+    private boolean closed;
+
+    /**
+     * Constructs a log appending to an open channel at the given position
+     * and starts its writer
+     * @param base position of the first record in the file
+     * @param shift position of the first byte of the file
+     */
+    private TaskLog(Path file, FileChannel channel, TaskLogTarget tasks, AuthManager users,
+                    long base, long shift, long position, long checkpointPosition,
+                    long snapshotPosition, long previousSnapshotPosition,
+                    long flushIntervalMillis, int maxBatchRecords)
+    {
+        this.file = file;
+        this.channel = channel;
+        this.snapshotFile = TaskSnapshot.fileFor(file);
+        this.previousSnapshotFile = TaskSnapshot.previousFileFor(file);
+        this.tasks = tasks;
+        this.users = users;
+        this.base = base;
+        this.shift = shift;
+        this.position = position;
+        this.durablePosition = position;
+        this.checkpointPosition = checkpointPosition;
+        this.snapshotPosition = snapshotPosition;
+        this.previousSnapshotPosition = previousSnapshotPosition;
+        this.flushIntervalNanos = flushIntervalMillis * 1_000_000;
+        this.maxBatchRecords = maxBatchRecords;
+        this.writer = new Thread(this::runWriter, "task-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens a log with the default flush interval and group size, replays
+     * it into the managers and attaches it to them
+     * @param file
+     * @param tasks
+     * @param users may be null
+     * @return 
+     * @throws IOException if the file cannot be read or written, or is not
+     *         a task log
+     */
+    public static TaskLog open(Path file, TaskManager tasks, AuthManager users)
+        throws IOException
+    {
+        return open(file, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_MAX_BATCH_RECORDS, tasks, users);
+    }
+
+    /**
+     * Opens a log with the default flush interval and group size, replays
+     * it into the managers and attaches it to them
+     * @param file
+     * @param tasks
+     * @param users may be null
+     * @return 
+     * @throws IOException if the file cannot be read or written, or is not
+     *         a task log
+     */
+    public static TaskLog open(Path file, ConcurrentTaskManager tasks, AuthManager users)
+        throws IOException
+    {
+        return open(file, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_MAX_BATCH_RECORDS, tasks, users);
+    }
+
+    /**
+     * Opens a log, replays it into the managers and attaches it to them
+     * @param file
+     * @param flushIntervalMillis how long the writer waits for more records
+     *        before writing a group
+     * @param maxBatchRecords most records written per group commit
+     * @param tasks
+     * @param users may be null
+     * @return 
+     * @throws IOException if the file cannot be read or written, or is not
+     *         a task log
+     * @throws IllegalArgumentException if the interval is negative or the
+     *         group size is not positive
+     */
+    public static TaskLog open(Path file, long flushIntervalMillis, int maxBatchRecords,
+                               TaskManager tasks, AuthManager users)
+        throws IOException, IllegalArgumentException
+    {
+        return open(file, flushIntervalMillis, maxBatchRecords, (TaskLogTarget) tasks, users);
+    }
+
+    /**
+     * Opens a log, replays it into the managers and attaches it to them
+     * @param file
+     * @param flushIntervalMillis how long the writer waits for more records
+     *        before writing a group
+     * @param maxBatchRecords most records written per group commit
+     * @param tasks
+     * @param users may be null
+     * @return 
+     * @throws IOException if the file cannot be read or written, or is not
+     *         a task log
+     * @throws IllegalArgumentException if the interval is negative or the
+     *         group size is not positive
+     */
+    public static TaskLog open(Path file, long flushIntervalMillis, int maxBatchRecords,
+                               ConcurrentTaskManager tasks, AuthManager users)
+        throws IOException, IllegalArgumentException
+    {
+        return open(file, flushIntervalMillis, maxBatchRecords, (TaskLogTarget) tasks, users);
+    }
+
+    /**
+     * Opens a log for any kind of task manager
+     * Loads the newest usable snapshot of the log and replays the records
+     * after it; otherwise replays the whole log
+     * @throws IOException if the log was cut back and no snapshot it
+     *         needs can be read
+     */
+    private static TaskLog open(Path file, long flushIntervalMillis, int maxBatchRecords,
+                                TaskLogTarget tasks, AuthManager users)
+        throws IOException
+    {
+        if (flushIntervalMillis < 0 || maxBatchRecords < 1)
+        {
+            throw new IllegalArgumentException(
+                "Flush interval must not be negative and batches must hold a record");
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                               StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try
+        {
+            long base = readHeader(channel);
+            long shift = base - channel.position();
+            TaskSnapshot snapshot = readSnapshot(TaskSnapshot.fileFor(file), base,
+                                                 shift + channel.size());
+            TaskSnapshot previous = readSnapshot(TaskSnapshot.previousFileFor(file), base,
+                                                 shift + channel.size());
+            TaskSnapshot restored = snapshot != null ? snapshot : previous;
+            if (restored == null && base != HEADER_BYTES)
+            {
+                throw new IOException("Task log was cut back and none of its snapshots can be read");
+            }
+
+            long start = base;
+            long end;
+            // Restoring is not a change, so listeners hear nothing of it
+            tasks.setPublishing(false);
+            try
+            {
+                if (restored != null)
+                {
+                    tasks.restoreSnapshot(restored);
+                    if (users != null && restored.getUser() != null)
+                    {
+                        apply(restored.getUser(), tasks, users);
+                    }
+                    start = restored.getLogPosition();
+                }
+
+                end = shift + replay(channel, start - shift, tasks, users);
+                tasks.finishReplay();
+            }
+            finally
+            {
+                tasks.setPublishing(true);
+            }
+            // Drop a record torn by a crash so new records follow whole ones
+            channel.truncate(end - shift);
+            channel.position(end - shift);
+
+            TaskLog log = new TaskLog(file, channel, tasks, users, base, shift, end, start,
+                                      snapshot == null ? -1 : snapshot.getLogPosition(),
+                                      previous == null ? -1 : previous.getLogPosition(),
+                                      flushIntervalMillis, maxBatchRecords);
+            tasks.attachLog(log);
+            if (users != null)
+            {
+                users.attachLog(log);
+            }
+            return log;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks the header of the file, writing one to an empty file, and
+     * leaves the channel at the first record
+     * @return position of the first record in the uncut log
+     */
+    private static long readHeader(FileChannel channel)
+        throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(CUT_HEADER_BYTES);
+        if (channel.size() == 0)
+        {
+            header.putInt(MAGIC).put(VERSION).flip();
+            while (header.hasRemaining())
+            {
+                channel.write(header);
+            }
+            channel.force(true);
+            return HEADER_BYTES;
+        }
+
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0)
+        {
+            // Keep reading until the header is complete or the file ends
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC)
+        {
+            throw new IOException("Not a task log");
+        }
+        byte version = header.get();
+        if (version == VERSION)
+        {
+            channel.position(HEADER_BYTES);
+            return HEADER_BYTES;
+        }
+        // A log that was cut back also gives the position it starts at
+        if (version != CUT_VERSION || header.remaining() < Long.BYTES)
+        {
+            throw new IOException("Not a task log");
+        }
+        long base = header.getLong();
+        if (base < CUT_HEADER_BYTES)
+        {
+            throw new IOException("Not a task log");
+        }
+        channel.position(CUT_HEADER_BYTES);
+        return base;
+    }
+
+    /**
+     * Reads a snapshot file if it exists and lies within the log
+     * @return snapshot, or null if there is none that can be used
+     */
+    private static TaskSnapshot readSnapshot(Path file, long start, long end)
+        throws IOException
+    {
+        if (!Files.exists(file))
+        {
+            return null;
+        }
+        TaskSnapshot snapshot = TaskSnapshot.read(file);
+        // A snapshot outside the log does not belong to it
+        if (snapshot == null || snapshot.getLogPosition() < start || snapshot.getLogPosition() > end)
+        {
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Applies every whole record of the file from a position on to the
+     * managers
+     * @return position just after the last whole record
+     */
+    private static long replay(FileChannel channel, long start, TaskLogTarget tasks,
+                               AuthManager users)
+        throws IOException
+    {
+        channel.position(start);
+        DataInputStream in = new DataInputStream(
+            new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+
+        long position = start;
+        long size = channel.size();
+        CRC32 crc = new CRC32();
+        while (true)
+        {
+            byte[] record;
+            try
+            {
+                int length = in.readInt();
+                if (length < 1 || length > size - position - FRAME_BYTES)
+                {
+                    return position;
+                }
+                record = new byte[length];
+                in.readFully(record);
+                crc.reset();
+                crc.update(record);
+                if (in.readInt() != (int) crc.getValue())
+                {
+                    return position;
+                }
+            }
+            catch (EOFException e)
+            {
+                return position;
+            }
+
+            try
+            {
+                apply(record, tasks, users);
+            }
+            catch (IOException | RuntimeException e)
+            {
+                throw new IOException("Corrupt task log record at byte " + position, e);
+            }
+            position += FRAME_BYTES + record.length;
+        }
+    }
+
+    /**
+     * Applies one record to the managers
+     */
+    private static void apply(byte[] record, TaskLogTarget tasks, AuthManager users)
+        throws IOException
+    {
+        ByteBuffer in = ByteBuffer.wrap(record);
+        byte type = in.get();
+        switch (type)
+        {
+            case ADD:
+            {
+                long sequence = TaskCodec.getVarLong(in);
+                tasks.replayAdd(readDraft(in), sequence);
+                break;
+            }
+            case ADD_BATCH:
+            {
+                int count = TaskCodec.getVarInt(in);
+                List<TaskDraft> drafts = new ArrayList<>(Math.min(count, record.length));
+                long[] sequences = new long[count];
+                for (int i = 0; i < count; i++)
+                {
+                    sequences[i] = TaskCodec.getVarLong(in);
+                    drafts.add(readDraft(in));
+                }
+                tasks.replayAddAll(drafts, sequences);
+                break;
+            }
+            case MOVE:
+                tasks.moveTask(TaskCodec.getString(in), TaskStatus.fromOrdinal(in.get()));
+                break;
+            case DURATION:
+                tasks.updateDuration(TaskCodec.getString(in), TaskCodec.getDuration(in));
+                break;
+            case DEVELOPERS:
+                tasks.updateDevelopers(TaskCodec.getString(in), readStrings(in));
+                break;
+            case DELETE:
+                tasks.deleteTask(TaskCodec.getString(in));
+                break;
+            case USER:
+            {
+                String username = TaskCodec.getString(in);
+                byte[] salt = readBytes(in);
+                byte[] hash = readBytes(in);
+                String firstName = TaskCodec.getString(in);
+                String lastName = TaskCodec.getString(in);
+                if (users != null)
+                {
+                    users.restoreUser(username, salt, hash, firstName, lastName);
+                }
+                break;
+            }
+            default:
+                throw new IOException("Unknown record type " + type);
+        }
+    }
+
+    /**
+     * Encodes an added task
+     */
+    static byte[] encodeAdd(String name, String description, List<String> developers,
+                            float duration, TaskStatus status, long sequence)
+    {
+        RecordBuilder record = new RecordBuilder(ADD);
+        record.writeVarLong(sequence);
+        record.writeDraft(name, description, developers, duration, status);
+        return record.toByteArray();
+    }
+
+    /**
+     * Encodes a batch of added tasks as one record, so it replays all or
+     * nothing
+     */
+    static byte[] encodeBatch(List<TaskDraft> drafts, long[] sequences)
+    {
+        RecordBuilder record = new RecordBuilder(ADD_BATCH);
+        record.writeVarLong(drafts.size());
+        for (int i = 0; i < sequences.length; i++)
+        {
+            TaskDraft draft = drafts.get(i);
+            record.writeVarLong(sequences[i]);
+            record.writeDraft(draft.getName(), draft.getDescription(), draft.getDevelopers(),
+                              draft.getDuration(), draft.getStatus());
+        }
+        return record.toByteArray();
+    }
+
+    /**
+     * Encodes a move to another status
+     */
+    static byte[] encodeMove(String id, TaskStatus status)
+    {
+        RecordBuilder record = new RecordBuilder(MOVE);
+        record.writeString(id);
+        record.writeByte(status.ordinal());
+        return record.toByteArray();
+    }
+
+    /**
+     * Encodes a duration change
+     */
+    static byte[] encodeDuration(String id, float duration)
+    {
+        RecordBuilder record = new RecordBuilder(DURATION);
+        record.writeString(id);
+        record.writeDuration(duration);
+        return record.toByteArray();
+    }
+
+    /**
+     * Encodes a developer change
+     */
+    static byte[] encodeDevelopers(String id, List<String> developers)
+    {
+        RecordBuilder record = new RecordBuilder(DEVELOPERS);
+        record.writeString(id);
+        record.writeStrings(developers);
+        return record.toByteArray();
+    }
+
+    /**
+     * Encodes a deletion
+     */
+    static byte[] encodeDelete(String id)
+    {
+        RecordBuilder record = new RecordBuilder(DELETE);
+        record.writeString(id);
+        return record.toByteArray();
+    }
+
+    /**
+     * Encodes a registered user; only the salted password hash is stored
+     */
+    static byte[] encodeUser(String username, byte[] salt, byte[] hash,
+                             String firstName, String lastName)
+    {
+        RecordBuilder record = new RecordBuilder(USER);
+        record.writeString(username);
+        record.writeBytes(salt);
+        record.writeBytes(hash);
+        record.writeString(firstName);
+        record.writeString(lastName);
+        return record.toByteArray();
+    }
+
+    /**
+     * Appends an encoded record without waiting for it to be written
+     * @param record
+     * @throws IllegalStateException if the log is closed
+     * @throws UncheckedIOException if an earlier write failed
+     */
+    void append(byte[] record)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        byte[] frame = ByteBuffer.allocate(FRAME_BYTES + record.length)
+            .putInt(record.length).put(record).putInt((int) crc.getValue()).array();
+
+        synchronized (lock)
+        {
+            checkUsable();
+            pending.add(frame);
+            appended++;
+            position += frame.length;
+            if (pending.size() == 1 || pending.size() >= maxBatchRecords)
+            {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until every record appended before the call is on disk
+     * @throws UncheckedIOException if writing failed
+     * @throws IllegalStateException if the log was closed first
+     */
+    void sync()
+    {
+        synchronized (lock)
+        {
+            long target = appended;
+            boolean interrupted = false;
+            while (durable < target)
+            {
+                if (failure != null)
+                {
+                    throw new UncheckedIOException(failure);
+                }
+                try
+                {
+                    lock.wait();
+                }
+                catch (InterruptedException e)
+                {
+                    // The record is already queued; finish waiting for it
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Gets the position in the log just after the last appended record
+     * Managers call this while no change can be appended, to mark what a
+     * snapshot covers
+     */
+    long getPosition()
+    {
+        synchronized (lock)
+        {
+            return position;
+        }
+    }
+
+    /**
+     * Sets how many bytes may be logged after a snapshot before the next
+     * one is due
+     * @param checkpointBytes
+     * @throws IllegalArgumentException if the amount is not positive
+     */
+    public void setCheckpointBytes(long checkpointBytes)
+        throws IllegalArgumentException
+    {
+        if (checkpointBytes < 1)
+        {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        synchronized (lock)
+        {
+            this.checkpointBytes = checkpointBytes;
+        }
+    }
+
+    /**
+     * Claims a due snapshot for the caller to write with
+     * runClaimedCheckpoint
+     * @return true if a snapshot is due and no one else has claimed it
+     */
+    boolean claimCheckpoint()
+    {
+        synchronized (lock)
+        {
+            if (checkpointing || closed || position - checkpointPosition < checkpointBytes)
+            {
+                return false;
+            }
+            checkpointing = true;
+            // A failed snapshot is retried after another interval
+            checkpointPosition = position;
+            return true;
+        }
+    }
+
+    /**
+     * Writes a snapshot claimed with claimCheckpoint
+     * @throws UncheckedIOException if the snapshot cannot be written
+     */
+    void runClaimedCheckpoint()
+    {
+        try
+        {
+            checkpoint();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the board and account, so the next open only
+     * replays records appended after this call, and cuts the log back to
+     * where the snapshot before it starts
+     * Call from the thread that owns a TaskManager; ConcurrentTaskManager
+     * may be changed concurrently
+     * @throws IOException if the snapshot cannot be written or the log
+     *         cannot be cut back
+     */
+    public void checkpoint()
+        throws IOException
+    {
+        synchronized (checkpointLock)
+        {
+            try
+            {
+                TaskSnapshot snapshot = tasks.captureSnapshot(this);
+                snapshot.setUser(users == null ? null : users.encodeUser());
+                // The snapshot must never be ahead of what is on disk
+                sync();
+                if (snapshotPosition >= 0)
+                {
+                    Files.move(snapshotFile, previousSnapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                               StandardCopyOption.ATOMIC_MOVE);
+                    previousSnapshotPosition = snapshotPosition;
+                    snapshotPosition = -1;
+                }
+                snapshot.write(snapshotFile);
+                snapshotPosition = snapshot.getLogPosition();
+                synchronized (lock)
+                {
+                    checkpointPosition = Math.max(checkpointPosition, snapshot.getLogPosition());
+                }
+                if (previousSnapshotPosition >= 0)
+                {
+                    cutBack(previousSnapshotPosition);
+                }
+            }
+            finally
+            {
+                synchronized (lock)
+                {
+                    checkpointing = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cuts the log back so it starts at a position: the records from there
+     * on are copied into a new file that is then moved over the log
+     * What is already on disk is copied while appends go on; appends only
+     * wait while the rest is copied and the files are swapped
+     */
+    private void cutBack(long start)
+        throws IOException
+    {
+        long oldShift;
+        long copied;
+        synchronized (lock)
+        {
+            if (closed || failure != null || start <= base)
+            {
+                return;
+            }
+            oldShift = shift;
+            copied = durablePosition;
+        }
+
+        Path cutting = file.resolveSibling(file.getFileName() + ".cutting");
+        FileChannel out = FileChannel.open(cutting, StandardOpenOption.CREATE,
+                                           StandardOpenOption.WRITE,
+                                           StandardOpenOption.TRUNCATE_EXISTING);
+        try
+        {
+            ByteBuffer header = ByteBuffer.allocate(CUT_HEADER_BYTES);
+            header.putInt(MAGIC).put(CUT_VERSION).putLong(start).flip();
+            while (header.hasRemaining())
+            {
+                out.write(header);
+            }
+            copy(channel, start - oldShift, copied - oldShift, out);
+
+            synchronized (lock)
+            {
+                // The channel may only change while the writer has nothing to write
+                boolean interrupted = false;
+                while (durable < appended && failure == null)
+                {
+                    try
+                    {
+                        lock.wait();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                if (closed || failure != null)
+                {
+                    return;
+                }
+
+                copy(channel, copied - oldShift, durablePosition - oldShift, out);
+                out.force(true);
+                out.close();
+                channel.close();
+                try
+                {
+                    Files.move(cutting, file, StandardCopyOption.REPLACE_EXISTING,
+                               StandardCopyOption.ATOMIC_MOVE);
+                    base = start;
+                    shift = start - CUT_HEADER_BYTES;
+                }
+                finally
+                {
+                    // The cut file, or the whole one if the move failed
+                    try
+                    {
+                        channel = FileChannel.open(file, StandardOpenOption.READ,
+                                                   StandardOpenOption.WRITE);
+                        channel.position(channel.size());
+                    }
+                    catch (IOException e)
+                    {
+                        failure = e;
+                        lock.notifyAll();
+                        throw e;
+                    }
+                }
+            }
+        }
+        finally
+        {
+            out.close();
+            Files.deleteIfExists(cutting);
+        }
+    }
+
+    /**
+     * Copies a range of one file to the end of another
+     */
+    private static void copy(FileChannel from, long start, long end, FileChannel to)
+        throws IOException
+    {
+        while (start < end)
+        {
+            start += from.transferTo(start, end - start, to);
+        }
+    }
+
+    /**
+     * Gets the number of group commits written so far
+     */
+    long getGroupCommits()
+    {
+        synchronized (lock)
+        {
+            return groupCommits;
+        }
+    }
+
+    /**
+     * Writes every pending record and stops the writer
+     * @throws IOException if a write failed
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        synchronized (lock)
+        {
+            if (closed)
+            {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+
+        try
+        {
+            writer.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+
+        synchronized (lock)
+        {
+            if (failure != null)
+            {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Rejects appends once the log is closed or has failed
+     */
+    private void checkUsable()
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Task log is closed");
+        }
+        if (failure != null)
+        {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    /**
+     * Writer thread: writes and forces one group of records at a time
+     */
+    private void runWriter()
+    {
+        while (true)
+        {
+            List<byte[]> group;
+            long end;
+            synchronized (lock)
+            {
+                try
+                {
+                    while (pending.isEmpty() && !closed)
+                    {
+                        lock.wait();
+                    }
+                    long deadline = System.nanoTime() + flushIntervalNanos;
+                    long remaining = flushIntervalNanos;
+                    while (!closed && pending.size() < maxBatchRecords && remaining > 0)
+                    {
+                        lock.wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                        remaining = deadline - System.nanoTime();
+                    }
+                }
+                catch (InterruptedException e)
+                {
+                    // Only close stops the writer
+                }
+
+                if (pending.isEmpty())
+                {
+                    if (closed)
+                    {
+                        return;
+                    }
+                    continue;
+                }
+
+                int count = Math.min(pending.size(), maxBatchRecords);
+                if (count == pending.size())
+                {
+                    group = pending;
+                    pending = new ArrayList<>();
+                }
+                else
+                {
+                    group = new ArrayList<>(pending.subList(0, count));
+                    pending.subList(0, count).clear();
+                }
+                end = appended - pending.size();
+            }
+
+            IOException error = null;
+            int written = 0;
+            try
+            {
+                written = write(group);
+            }
+            catch (IOException e)
+            {
+                error = e;
+            }
+
+            synchronized (lock)
+            {
+                if (error != null)
+                {
+                    failure = error;
+                    lock.notifyAll();
+                    return;
+                }
+                durable = end;
+                durablePosition += written;
+                groupCommits++;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes a group of framed records and forces them to disk
+     * @return number of bytes written
+     */
+    private int write(List<byte[]> group)
+        throws IOException
+    {
+        int bytes = 0;
+        for (byte[] frame : group)
+        {
+            bytes += frame.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        for (byte[] frame : group)
+        {
+            buffer.put(frame);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        return bytes;
+    }
+
+    /**
+     * Reads the fields of an added task
+     */
+    private static TaskDraft readDraft(ByteBuffer in)
+    {
+        String name = TaskCodec.getString(in);
+        String description = TaskCodec.getString(in);
+        List<String> developers = readStrings(in);
+        float duration = TaskCodec.getDuration(in);
+        TaskStatus status = TaskStatus.fromOrdinal(in.get());
+        return new TaskDraft(name, description, developers, duration, status);
+    }
+
+    /**
+     * Reads a count-prefixed list of strings
+     */
+    private static List<String> readStrings(ByteBuffer in)
+    {
+        int count = TaskCodec.getVarInt(in);
+        List<String> values = new ArrayList<>(Math.min(count, in.remaining()));
+        for (int i = 0; i < count; i++)
+        {
+            values.add(TaskCodec.getString(in));
+        }
+        return values;
+    }
+
+    /**
+     * Reads a length-prefixed byte array
+     */
+    private static byte[] readBytes(ByteBuffer in)
+    {
+        int length = TaskCodec.getVarInt(in);
+        if (length < 0 || length > in.remaining())
+        {
+            throw new IllegalArgumentException("Bad byte count " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Builds the bytes of one record with the TaskCodec encodings
+     * Grows its buffer as needed, so callers need not size records first
+     */
+    private static final class RecordBuilder
+    {
+        private ByteBuffer bytes = ByteBuffer.allocate(64);
+
+        RecordBuilder(byte type)
+        {
+            writeByte(type);
+        }
+
+        void writeByte(int value)
+        {
+            ensure(1);
+            bytes.put((byte) value);
+        }
+
+        void writeVarLong(long value)
+        {
+            ensure(TaskCodec.varLongSize(value));
+            TaskCodec.putVarLong(bytes, value);
+        }
+
+        void writeDuration(float value)
+        {
+            ensure(TaskCodec.durationSize(value));
+            TaskCodec.putDuration(bytes, value);
+        }
+
+        void writeBytes(byte[] value)
+        {
+            ensure(TaskCodec.varIntSize(value.length) + value.length);
+            TaskCodec.putVarInt(bytes, value.length);
+            bytes.put(value);
+        }
+
+        void writeString(String value)
+        {
+            ensure(TaskCodec.stringSize(value));
+            TaskCodec.putString(bytes, value);
+        }
+
+        void writeStrings(List<String> values)
+        {
+            writeVarLong(values.size());
+            for (String value : values)
+            {
+                writeString(value);
+            }
+        }
+
+        void writeDraft(String name, String description, List<String> developers,
+                        float duration, TaskStatus status)
+        {
+            writeString(name);
+            writeString(description);
+            writeStrings(developers);
+            writeDuration(duration);
+            writeByte(status.ordinal());
+        }
+
+        byte[] toByteArray()
+        {
+            return Arrays.copyOf(bytes.array(), bytes.position());
+        }
+
+        /**
+         * Makes room for the given number of bytes
+         */
+        private void ensure(int needed)
+        {
+            if (bytes.remaining() < needed)
+            {
+                ByteBuffer larger = ByteBuffer.allocate(
+                    Math.max(bytes.capacity() * 2, bytes.position() + needed));
+                bytes.flip();
+                larger.put(bytes);
+                bytes = larger;
+            }
+        }
+    }
+}
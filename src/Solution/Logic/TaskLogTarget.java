@@ -0,0 +1,84 @@
+package Solution.Logic;
+
+import java.util.List;
+
+/**
+ * Task manager that TaskLog can replay records into and then append to
+ * An abstract class rather than an interface, so the replay methods stay
+ * package-private
+ */
+abstract class TaskLogTarget
+{
+    /**
+     * Adds a logged task under the sequence number it was first given
+     * @param draft
+     * @param sequence
+     */
+    abstract void replayAdd(TaskDraft draft, long sequence);
+
+    /**
+     * Adds a logged batch under the sequence numbers it was first given
+     * @param drafts
+     * @param sequences
+     */
+    abstract void replayAddAll(List<TaskDraft> drafts, long[] sequences);
+
+    /**
+     * Moves a task to another status column
+     * @param id
+     * @param status
+     */
+    abstract void moveTask(String id, TaskStatus status);
+
+    /**
+     * Changes the duration of a task
+     * @param id
+     * @param duration
+     */
+    abstract void updateDuration(String id, float duration);
+
+    /**
+     * Changes the developers of a task
+     * @param id
+     * @param developers
+     */
+    abstract void updateDevelopers(String id, List<String> developers);
+
+    /**
+     * Deletes a task
+     * @param id
+     */
+    abstract void deleteTask(String id);
+
+    /**
+     * Puts the replayed tasks in order once the whole log has been replayed
+     */
+    abstract void finishReplay();
+
+    /**
+     * Starts appending every later change to the log
+     * @param log
+     */
+    abstract void attachLog(TaskLog log);
+
+    /**
+     * Turns change events off while the log is replayed, and back on
+     * @param publishing
+     */
+    abstract void setPublishing(boolean publishing);
+
+    /**
+     * Captures the live tasks in order of addition, together with the log
+     * position they are current up to, while no change can be logged
+     * @param log
+     * @return 
+     */
+    abstract TaskSnapshot captureSnapshot(TaskLog log);
+
+    /**
+     * Loads the tasks of a snapshot into this empty manager
+     * @param snapshot
+     * @throws IllegalStateException if the manager already holds tasks
+     */
+    abstract void restoreSnapshot(TaskSnapshot snapshot);
+}
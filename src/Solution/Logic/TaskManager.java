@@ -1,16 +1,179 @@
 package Solution.Logic;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.text.DecimalFormat;
 
 /**
  * Manages task creation and operations with multiple developers
  */
-public class TaskManager
+public class TaskManager extends TaskLogTarget implements Closeable
 {
-    private final List<Task> tasks = new ArrayList<>();
+    private final TaskStore store;
+    private final DeveloperDictionary developers;
+    private final List<IntList> rowsByDeveloper = new ArrayList<>();
+    private final DurationIndex rowsByDuration = new DurationIndex();
+    private final DurationIndex[] rowsByStatusDuration = new DurationIndex[TaskStatus.values().length];
+    private final BitSet[] rowsByStatus = new BitSet[TaskStatus.values().length];
+    private final int[] statusCounts = new int[TaskStatus.values().length];
+    private final DurationTotals[] hoursByStatus = new DurationTotals[TaskStatus.values().length];
+    private final List<DurationTotals> hoursByDeveloper = new ArrayList<>();
+    private final LongIntHashMap rowsBySequence = new LongIntHashMap();
+    private final TextIndex rowsByWord = new TextIndex();
+    private final TrigramIndex developersByTrigram;
+    private final BitSet deletedRows = new BitSet();
+    private int deletedCount;
+    private long version;
+    private final AtomicLong sequences;
+    private TaskLog log;
+    private boolean syncOnWrite;
+    private ForkJoinPool scanPool = ForkJoinPool.commonPool();
+    private int scanThreshold = ParallelScan.DEFAULT_THRESHOLD;
+    private TaskEventPublisher events = new TaskEventPublisher();
+    private boolean flushesEvents = true;
     private final DecimalFormat hoursFormat = new DecimalFormat("#.##");
 
+    /**
+     * Constructs a task manager keeping one Task object per task
+     */
+    public TaskManager()
+    {
+        this(new ListTaskStore());
+    }
+
+    /**
+     * Constructs a task manager on top of the given storage engine
+     * @param store
+     */
+    TaskManager(TaskStore store)
+    {
+        this(store, new AtomicLong());
+    }
+
+    /**
+     * Constructs a task manager drawing sequence numbers from a counter
+     * that may be shared with other managers
+     * @param store
+     * @param sequences
+     */
+    TaskManager(TaskStore store, AtomicLong sequences)
+    {
+        this.store = store;
+        this.sequences = sequences;
+        this.developers = store.getDeveloperDictionary();
+        this.developersByTrigram = new TrigramIndex(developers);
+        for (TaskStatus status : TaskStatus.values())
+        {
+            rowsByStatus[status.ordinal()] = new BitSet();
+            rowsByStatusDuration[status.ordinal()] = new DurationIndex();
+            hoursByStatus[status.ordinal()] = new DurationTotals();
+        }
+    }
+
+    /**
+     * Creates a task manager backed by the columnar store, which keeps
+     * large boards in primitive arrays instead of one object per task
+     * @return 
+     */
+    public static TaskManager withColumnarStore()
+    {
+        return new TaskManager(new ColumnarTaskStore());
+    }
+
+    /**
+     * Opens a task manager backed by a memory-mapped store, creating the
+     * store if the file does not exist
+     * Tasks stay in the file, off the heap; only the indexes are built, from
+     * fields read straight from the mapped rows. Changes are written to the
+     * file as they are made, so the store needs no task log. Close the
+     * manager to force them to disk
+     * @param file
+     * @return 
+     * @throws IOException if the store cannot be opened
+     */
+    public static TaskManager withMappedStore(Path file)
+        throws IOException
+    {
+        MappedTaskStore store = MappedTaskStore.open(file);
+        try
+        {
+            TaskManager manager = new TaskManager(store);
+            manager.indexStoredRows();
+            return manager;
+        }
+        catch (RuntimeException e)
+        {
+            store.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Indexes every row already in the store, reading fields without
+     * materializing tasks, and continues numbering after the highest
+     * sequence number found
+     */
+    private void indexStoredRows()
+    {
+        int[] addedPerStatus = new int[statusCounts.length];
+        IntList live = new IntList(store.size());
+        long nextSequence = 0;
+        for (int row = 0; row < store.size(); row++)
+        {
+            long sequence = store.getSequence(row);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            rowsBySequence.put(sequence, row);
+            int[] developerIds = store.getDeveloperIds(row);
+            indexByDeveloper(row, developerIds);
+            if (store.isMarkedDeleted(row))
+            {
+                deletedRows.set(row);
+                deletedCount++;
+                continue;
+            }
+
+            TaskStatus status = store.getStatus(row);
+            rowsByWord.add(row, store.getName(row), store.getDescription(row));
+            addToTotals(status, store.getDuration(row), developerIds);
+            live.add(row);
+            rowsByStatus[status.ordinal()].set(row);
+            addedPerStatus[status.ordinal()]++;
+        }
+
+        indexByDurationInBulk(live);
+        for (int bucket = 0; bucket < statusCounts.length; bucket++)
+        {
+            statusCounts[bucket] += addedPerStatus[bucket];
+        }
+        sequences.accumulateAndGet(nextSequence, Math::max);
+    }
+
+    /**
+     * Adds a new task with multiple developers
+     * @param name
+     * @param description
+     * @param developers
+     * @param duration
+     * @param status label of the status, e.g. "To Do"
+     * @throws IllegalArgumentException if validation fails
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written;
+     *         the board is unchanged
+     */
+    public void addTask(String name, String description, 
+                       List<String> developers, float duration, String status)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        addTask(name, description, developers, duration, TaskStatus.fromLabel(status));
+    }
+
     /**
      * Adds a new task with multiple developers
      * @param name
@@ -18,142 +181,2059 @@ public class TaskManager
      * @param developers
      * @param duration
      * @param status
-     * @throws IllegalArgumentException if validation fails
+     * @throws IllegalArgumentException if validation fails
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written;
+     *         the board is unchanged
+     */
+    public void addTask(String name, String description, 
+                       List<String> developers, float duration, TaskStatus status)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        String error = validate(name, description, developers, status);
+        if (error != null)
+        {
+            throw new IllegalArgumentException(error);
+        }
+
+        long sequence = sequences.getAndIncrement();
+        Task added = new Task(name, description, developers, this.developers, duration, status, sequence);
+        journal(TaskLog.encodeAdd(name, description, developers, duration, status, sequence));
+        insert(added);
+        checkpointIfDue();
+        publish(TaskEvent.Type.ADDED, added.getId(), status, null);
+        flushEvents();
+    }
+
+    @Override
+    void replayAdd(TaskDraft draft, long sequence)
+    {
+        String error = validate(draft.getName(), draft.getDescription(), draft.getDevelopers(),
+                                draft.getStatus());
+        if (error != null)
+        {
+            throw new IllegalArgumentException(error);
+        }
+
+        sequences.accumulateAndGet(sequence + 1, Math::max);
+        insert(new Task(draft.getName(), draft.getDescription(), draft.getDevelopers(), developers,
+                        draft.getDuration(), draft.getStatus(), sequence));
+    }
+
+    /**
+     * Stores and indexes a validated task
+     */
+    private void insert(Task newTask)
+    {
+        TaskStatus status = newTask.getStatus();
+        int row = store.add(newTask);
+        rowsBySequence.put(newTask.getSequence(), row);
+        indexByDeveloper(row, newTask.getDeveloperIds());
+        rowsByWord.add(row, newTask.getName(), newTask.getDescription());
+        indexByDuration(row, status);
+        addToTotals(status, newTask.getDuration(), newTask.getDeveloperIds());
+        rowsByStatus[status.ordinal()].set(row);
+        statusCounts[status.ordinal()]++;
+        version++;
+    }
+
+    /**
+     * Adds several tasks at once, all or nothing
+     * The whole batch is validated in one pass before anything is stored,
+     * storage grows once for the batch and the indexes are updated after
+     * every task is in place. Listeners get the whole batch in one
+     * notification
+     * @param drafts
+     * @throws TaskBatchException listing every invalid task if any fails
+     *         validation; no task is added in that case
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written;
+     *         no task is added in that case
+     */
+    public void addTasks(Collection<TaskDraft> drafts)
+        throws TaskBatchException, IllegalStateException, UncheckedIOException
+    {
+        validateBatch(drafts);
+
+        long[] batchSequences = new long[drafts.size()];
+        for (int i = 0; i < batchSequences.length; i++)
+        {
+            batchSequences[i] = sequences.getAndIncrement();
+        }
+        journal(TaskLog.encodeBatch(new ArrayList<>(drafts), batchSequences));
+        Task[] added = insertBatch(drafts, batchSequences);
+        checkpointIfDue();
+        if (events.isListening())
+        {
+            for (Task task : added)
+            {
+                publish(TaskEvent.Type.ADDED, task.getId(), task.getStatus(), null);
+            }
+        }
+        flushEvents();
+    }
+
+    @Override
+    void replayAddAll(List<TaskDraft> drafts, long[] batchSequences)
+    {
+        validateBatch(drafts);
+        for (long sequence : batchSequences)
+        {
+            sequences.accumulateAndGet(sequence + 1, Math::max);
+        }
+        insertBatch(drafts, batchSequences);
+    }
+
+    /**
+     * Validates every task of a batch
+     * @throws TaskBatchException listing every invalid task
+     */
+    private static void validateBatch(Collection<TaskDraft> drafts)
+        throws TaskBatchException
+    {
+        List<String> errors = new ArrayList<>();
+        int position = 1;
+        for (TaskDraft draft : drafts)
+        {
+            String error = draft == null ? "Task is required"
+                : validate(draft.getName(), draft.getDescription(), draft.getDevelopers(),
+                           draft.getStatus());
+            if (error != null)
+            {
+                errors.add("Task " + position + ": " + error);
+            }
+            position++;
+        }
+
+        if (!errors.isEmpty())
+        {
+            throw new TaskBatchException(errors);
+        }
+    }
+
+    /**
+     * Stores a validated batch, all or nothing, and indexes it
+     * @return the stored tasks in order
+     */
+    private Task[] insertBatch(Collection<TaskDraft> drafts, long[] batchSequences)
+    {
+        int firstRow = store.size();
+        Task[] added = new Task[drafts.size()];
+        store.ensureCapacity(firstRow + added.length);
+        try
+        {
+            int i = 0;
+            for (TaskDraft draft : drafts)
+            {
+                added[i] = new Task(draft.getName(), draft.getDescription(), draft.getDevelopers(),
+                                    developers, draft.getDuration(), draft.getStatus(),
+                                    batchSequences[i]);
+                store.add(added[i]);
+                i++;
+            }
+        }
+        catch (RuntimeException e)
+        {
+            // Storage failed part way; drop the rows already written
+            store.truncate(firstRow);
+            throw e;
+        }
+
+        indexBatch(firstRow, added);
+        version++;
+        return added;
+    }
+
+    /**
+     * Moves a task to another status column
+     * Only the task's status bucket, count and per-status duration ordering
+     * change; moving a task to its current status does nothing
+     * @param id
+     * @param status label of the status, e.g. "Done"
+     * @throws IllegalArgumentException if the status is unknown or no task
+     *         has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written;
+     *         the board is unchanged
+     */
+    public void moveTask(String id, String status)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        moveTask(id, TaskStatus.fromLabel(status));
+    }
+
+    /**
+     * Moves a task to another status column
+     * Only the task's status bucket, count and per-status duration ordering
+     * change; moving a task to its current status does nothing
+     * @param id
+     * @param status
+     * @throws IllegalArgumentException if the status is missing or no task
+     *         has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written;
+     *         the board is unchanged
+     */
+    public void moveTask(String id, TaskStatus status)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        if (status == null)
+        {
+            throw new IllegalArgumentException("Status is required");
+        }
+
+        int row = requireRow(id);
+        TaskStatus current = store.getStatus(row);
+        if (current == status)
+        {
+            return;
+        }
+        journal(TaskLog.encodeMove(id, status));
+
+        float duration = store.getDuration(row);
+        rowsByStatusDuration[current.ordinal()].remove(row, duration);
+        rowsByStatus[current.ordinal()].clear(row);
+        statusCounts[current.ordinal()]--;
+        hoursByStatus[current.ordinal()].remove(duration);
+
+        store.setStatus(row, status);
+
+        rowsByStatusDuration[status.ordinal()].add(row, duration);
+        rowsByStatus[status.ordinal()].set(row);
+        statusCounts[status.ordinal()]++;
+        hoursByStatus[status.ordinal()].add(duration);
+        version++;
+        checkpointIfDue();
+        publish(TaskEvent.Type.MOVED, id, status, current);
+        flushEvents();
+    }
+
+    /**
+     * Changes the duration of a task
+     * The task is taken out of the duration orderings and aggregates before
+     * the change and put back after it
+     * @param id
+     * @param duration
+     * @throws IllegalArgumentException if no task has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written;
+     *         the board is unchanged
+     */
+    public void updateDuration(String id, float duration)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        int row = requireRow(id);
+        journal(TaskLog.encodeDuration(id, duration));
+        TaskStatus status = store.getStatus(row);
+        int[] developerIds = store.getDeveloperIds(row);
+        DurationIndex statusOrdering = rowsByStatusDuration[status.ordinal()];
+        float previous = store.getDuration(row);
+        rowsByDuration.remove(row, previous);
+        statusOrdering.remove(row, previous);
+        removeFromTotals(status, previous, developerIds);
+
+        store.setDuration(row, duration);
+
+        rowsByDuration.add(row, duration);
+        statusOrdering.add(row, duration);
+        addToTotals(status, duration, developerIds);
+        version++;
+        checkpointIfDue();
+        publish(TaskEvent.Type.UPDATED, id, status, null);
+        flushEvents();
+    }
+
+    /**
+     * Changes the developers of a task; the task keeps its ID
+     * Only the posting lists and aggregates of developers who were added or
+     * removed change
+     * @param id
+     * @param developers
+     * @throws IllegalArgumentException if there are not 1-5 developers or no
+     *         task has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written;
+     *         the board is unchanged
+     */
+    public void updateDevelopers(String id, List<String> developers)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        String error = validateDevelopers(developers);
+        if (error != null)
+        {
+            throw new IllegalArgumentException(error);
+        }
+
+        int row = requireRow(id);
+        int[] previous = store.getDeveloperIds(row);
+        int[] next = this.developers.internAll(developers);
+        journal(TaskLog.encodeDevelopers(id, developers));
+        float duration = store.getDuration(row);
+
+        for (int i = 0; i < previous.length; i++)
+        {
+            int developer = previous[i];
+            if (!contains(next, developer) && isFirst(previous, i))
+            {
+                rowsByDeveloper.get(developer).removeSorted(row);
+                hoursByDeveloper.get(developer).remove(duration);
+            }
+        }
+        for (int i = 0; i < next.length; i++)
+        {
+            int developer = next[i];
+            if (!contains(previous, developer) && isFirst(next, i))
+            {
+                while (rowsByDeveloper.size() <= developer)
+                {
+                    rowsByDeveloper.add(new IntList());
+                }
+                rowsByDeveloper.get(developer).addSorted(row);
+                developerHours(developer).add(duration);
+            }
+        }
+
+        store.setDevelopers(row, next);
+        version++;
+        checkpointIfDue();
+        publish(TaskEvent.Type.UPDATED, id, store.getStatus(row), null);
+        flushEvents();
+    }
+
+    /**
+     * Deletes a task
+     * The row is only marked as deleted; it leaves the status buckets,
+     * duration orderings and aggregates, while storage and developer
+     * posting lists keep it until the board is compacted, and reads skip it
+     * @param id
+     * @throws IllegalArgumentException if no task has the ID
+     * @throws IllegalStateException if the attached log is closed
+     * @throws UncheckedIOException if the attached log cannot be written;
+     *         the board is unchanged
+     */
+    public void deleteTask(String id)
+        throws IllegalArgumentException, IllegalStateException, UncheckedIOException
+    {
+        int row = requireRow(id);
+        TaskStatus status = store.getStatus(row);
+        journal(TaskLog.encodeDelete(id));
+        deleteRow(row);
+        checkpointIfDue();
+        publish(TaskEvent.Type.DELETED, id, status, null);
+        flushEvents();
+    }
+
+    /**
+     * Marks a live row as deleted and takes it out of the indexes that
+     * answer counts and orderings
+     */
+    private void deleteRow(int row)
+    {
+        TaskStatus status = store.getStatus(row);
+        float duration = store.getDuration(row);
+        rowsByDuration.remove(row, duration);
+        rowsByStatusDuration[status.ordinal()].remove(row, duration);
+        rowsByStatus[status.ordinal()].clear(row);
+        statusCounts[status.ordinal()]--;
+        removeFromTotals(status, duration, store.getDeveloperIds(row));
+
+        deletedRows.set(row);
+        deletedCount++;
+        store.markDeleted(row);
+    }
+
+    /**
+     * Gets the share of stored rows that belong to deleted tasks
+     * @return ratio from 0 to 1
+     */
+    public double getDeletedRatio()
+    {
+        int rows = store.size();
+        return rows == 0 ? 0 : (double) deletedCount / rows;
+    }
+
+    /**
+     * Creates a copy of this manager without deleted tasks that takes its
+     * place
+     * The copy gets a fresh store of the same kind sharing this store's
+     * developer dictionary, and its indexes are built in one batch. Tasks
+     * keep their sequence numbers and IDs, and the copy draws new sequence
+     * numbers from the same counter. A memory-mapped copy is built next to
+     * this manager's file and moved over it; this manager's store is closed
+     * first, so this manager cannot be used afterwards
+     * @return 
+     * @throws IllegalStateException if a memory-mapped copy cannot be built
+     *         or moved into place, or this manager was already compacted
+     */
+    public TaskManager compacted()
+        throws IllegalStateException
+    {
+        TaskManager copy = copyWithoutDeleted();
+        try
+        {
+            copy.takePlaceOf(this);
+        }
+        catch (IllegalStateException e)
+        {
+            try
+            {
+                copy.close();
+            }
+            catch (IOException suppressed)
+            {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a copy of this manager without deleted tasks and without a
+     * log, leaving this manager's store in place until takePlaceOf is called
+     * This manager is only read
+     */
+    TaskManager copyWithoutDeleted()
+    {
+        TaskManager copy = new TaskManager(store.newEmpty(), sequences);
+        copy.setScanPool(scanPool);
+        copy.setScanThreshold(scanThreshold);
+        Task[] live = new Task[getTaskCount()];
+        copy.store.ensureCapacity(live.length);
+
+        int i = 0;
+        for (int row = deletedRows.nextClearBit(0); row < store.size();
+             row = deletedRows.nextClearBit(row + 1))
+        {
+            live[i] = store.get(row);
+            copy.store.add(live[i]);
+            i++;
+        }
+
+        copy.indexBatch(0, live);
+        return copy;
+    }
+
+    /**
+     * Puts this compacted copy's store in the place of its source's store
+     * and logs to the log the source has now, which may have been attached
+     * after the copy was made
+     * @param source manager this copy was compacted from
+     */
+    void takePlaceOf(TaskManager source)
+    {
+        store.replace(source.store);
+        attachLog(source.log, source.syncOnWrite);
+    }
+
+    /**
+     * Deletes from this compacted copy the tasks deleted in its source
+     * since the copy was made
+     * @param source manager this copy was compacted from
+     * @param deletedAtCopy deleted rows of the source when the copy was made
+     */
+    void deleteSince(TaskManager source, BitSet deletedAtCopy)
+    {
+        BitSet deletedSince = (BitSet) source.deletedRows.clone();
+        deletedSince.andNot(deletedAtCopy);
+        for (int row = deletedSince.nextSetBit(0); row >= 0; row = deletedSince.nextSetBit(row + 1))
+        {
+            deleteRow(rowsBySequence.get(source.store.getSequence(row)));
+        }
+    }
+
+    /**
+     * Gets a copy of the set of deleted rows
+     */
+    BitSet copyDeletedRows()
+    {
+        return (BitSet) deletedRows.clone();
+    }
+
+    /**
+     * Replayed tasks are stored in log order, which is already the order
+     * reads use
+     */
+    @Override
+    void finishReplay()
+    {
+    }
+
+    @Override
+    void attachLog(TaskLog log)
+    {
+        attachLog(log, true);
+    }
+
+    /**
+     * Starts appending every later change to the log
+     * @param log
+     * @param syncOnWrite whether each change waits until it is on disk;
+     *        callers that sync themselves, outside their locks, pass false
+     */
+    void attachLog(TaskLog log, boolean syncOnWrite)
+    {
+        this.log = log;
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    /**
+     * Appends a change to the log, if one is attached, and waits until it
+     * is on disk unless the caller syncs itself
+     * Called before the change is applied, so a log that is closed or
+     * failing rejects the change while the board is still unchanged
+     * @throws IllegalStateException if the log is closed
+     * @throws UncheckedIOException if the log cannot be written
+     */
+    private void journal(byte[] record)
+        throws IllegalStateException, UncheckedIOException
+    {
+        if (log != null)
+        {
+            log.append(record);
+            if (syncOnWrite)
+            {
+                log.sync();
+            }
+        }
+    }
+
+    /**
+     * Writes the log's snapshot when one is due, once the change just
+     * journaled has been applied
+     * Only a manager that syncs itself does so, on the calling thread,
+     * since it is not safe to read from another thread
+     */
+    private void checkpointIfDue()
+    {
+        if (log != null && syncOnWrite && log.claimCheckpoint())
+        {
+            log.runClaimedCheckpoint();
+        }
+    }
+
+    @Override
+    TaskSnapshot captureSnapshot(TaskLog log)
+    {
+        List<Task> live = new ArrayList<>(getTaskCount());
+        collectLiveTasks(live);
+        return new TaskSnapshot(log.getPosition(), sequences.get(), live);
+    }
+
+    /**
+     * Adds every live task to a list in order of addition
+     * @param live
+     */
+    void collectLiveTasks(List<Task> live)
+    {
+        for (int row = deletedRows.nextClearBit(0); row < store.size();
+             row = deletedRows.nextClearBit(row + 1))
+        {
+            live.add(store.get(row));
+        }
+    }
+
+    @Override
+    void restoreSnapshot(TaskSnapshot snapshot)
+    {
+        List<Task> tasks = snapshot.getTasks();
+        restoreTasks(tasks, 0, tasks.size());
+        sequences.accumulateAndGet(snapshot.getNextSequence(), Math::max);
+    }
+
+    /**
+     * Loads a range of snapshot tasks into this empty manager, keeping their
+     * sequence numbers and IDs, and indexes them in one batch
+     * @param tasks tasks in order of addition, from any dictionary
+     * @param from first task to load
+     * @param to end of the range, exclusive
+     * @throws IllegalStateException if the manager already holds tasks
+     */
+    void restoreTasks(List<Task> tasks, int from, int to)
+    {
+        if (store.size() != 0)
+        {
+            throw new IllegalStateException("Snapshots can only be restored into an empty board");
+        }
+
+        Task[] restored = new Task[to - from];
+        store.ensureCapacity(restored.length);
+        // Tasks merged from several stripes alternate between dictionaries,
+        // so each dictionary is mapped once
+        Map<DeveloperDictionary, int[]> remaps = new IdentityHashMap<>();
+        for (int i = 0; i < restored.length; i++)
+        {
+            Task task = tasks.get(from + i);
+            DeveloperDictionary source = task.getDictionary();
+            int[] remap = remaps.get(source);
+            if (remap == null || remap.length < source.size())
+            {
+                int mapped = remap == null ? 0 : remap.length;
+                remap = remap == null ? new int[source.size()] : Arrays.copyOf(remap, source.size());
+                for (int id = mapped; id < remap.length; id++)
+                {
+                    remap[id] = developers.intern(source.nameOf(id));
+                }
+                remaps.put(source, remap);
+            }
+
+            int[] ids = task.getDeveloperIds().clone();
+            for (int d = 0; d < ids.length; d++)
+            {
+                ids[d] = remap[ids[d]];
+            }
+            int idDeveloper = task.getIdDeveloper() == DeveloperDictionary.UNKNOWN
+                ? DeveloperDictionary.UNKNOWN : remap[task.getIdDeveloper()];
+            restored[i] = new Task(task.getName(), task.getDescription(), ids, developers,
+                                   task.getDuration(), task.getStatus(), task.getSequence(),
+                                   idDeveloper);
+            store.add(restored[i]);
+        }
+
+        indexBatch(0, restored);
+        version++;
+    }
+
+    /**
+     * Gets the row of a task, failing if no task has the ID
+     */
+    private int requireRow(String id)
+    {
+        int row = getRowById(id);
+        if (row < 0)
+        {
+            throw new IllegalArgumentException("No task with ID " + id);
+        }
+        return row;
+    }
+
+    /**
+     * Checks whether a small array of ids contains an id
+     */
+    private static boolean contains(int[] ids, int id)
+    {
+        for (int candidate : ids)
+        {
+            if (candidate == id)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether an id is the first of its value in a small array, so a
+     * developer listed twice on a task is only counted once
+     */
+    private static boolean isFirst(int[] ids, int index)
+    {
+        for (int i = 0; i < index; i++)
+        {
+            if (ids[i] == ids[index])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks task fields against the board rules
+     * Also used by TaskRecordParser, so imported tasks follow the same rules.
+     * Text with an unpaired surrogate is rejected: the log cannot store it,
+     * and a name that changed on replay would change the task's ID
+     * @return failure message, or null if the fields are valid
+     */
+    static String validate(String name, String description, List<String> developers,
+                           TaskStatus status)
+    {
+        if (status == null)
+        {
+            return "Status is required";
+        }
+
+        if (description == null || description.length() > 50)
+        {
+            return "Description must be ≤50 characters";
+        }
+
+        if (!isWellFormed(name) || !isWellFormed(description))
+        {
+            return "Text must not contain unpaired surrogates";
+        }
+        return validateDevelopers(developers);
+    }
+
+    /**
+     * Checks a task's developer list against the board rules
+     * @return failure message, or null if the developers are valid
+     */
+    private static String validateDevelopers(List<String> developers)
+    {
+        if (developers == null || developers.size() < 1 || developers.size() > 5)
+        {
+            return "Must have 1-5 developers";
+        }
+
+        for (String developer : developers)
+        {
+            if (!isWellFormed(developer))
+            {
+                return "Text must not contain unpaired surrogates";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks that every surrogate in a string is part of a pair
+     */
+    private static boolean isWellFormed(String text)
+    {
+        if (text == null)
+        {
+            return true;
+        }
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(i + 1)))
+            {
+                i++;
+            }
+            else if (Character.isSurrogate(c))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indexes a batch of consecutive rows starting at firstRow
+     * Status counts are added once per status rather than once per task
+     */
+    private void indexBatch(int firstRow, Task[] added)
+    {
+        int[] addedPerStatus = new int[statusCounts.length];
+        boolean bulk = rowsByDuration.isEmpty() && added.length > 1;
+        IntList batchRows = bulk ? new IntList(added.length) : null;
+        for (int i = 0; i < added.length; i++)
+        {
+            int row = firstRow + i;
+            int bucket = added[i].getStatus().ordinal();
+            rowsBySequence.put(added[i].getSequence(), row);
+            indexByDeveloper(row, added[i].getDeveloperIds());
+            rowsByWord.add(row, added[i].getName(), added[i].getDescription());
+            addToTotals(added[i].getStatus(), added[i].getDuration(), added[i].getDeveloperIds());
+            if (bulk)
+            {
+                batchRows.add(row);
+            }
+            else
+            {
+                indexByDuration(row, added[i].getStatus());
+            }
+            rowsByStatus[bucket].set(row);
+            addedPerStatus[bucket]++;
+        }
+        if (bulk)
+        {
+            indexByDurationInBulk(batchRows);
+        }
+
+        for (int bucket = 0; bucket < statusCounts.length; bucket++)
+        {
+            statusCounts[bucket] += addedPerStatus[bucket];
+        }
+    }
+
+    /**
+     * Adds a row to the posting list of each of its task's developers
+     * A developer listed twice on the same task is only indexed once
+     */
+    private void indexByDeveloper(int row, int[] developerIds)
+    {
+        for (int developer : developerIds)
+        {
+            while (rowsByDeveloper.size() <= developer)
+            {
+                rowsByDeveloper.add(new IntList());
+            }
+            IntList postings = rowsByDeveloper.get(developer);
+
+            if (postings.isEmpty() || postings.last() != row)
+            {
+                postings.add(row);
+            }
+        }
+    }
+
+    /**
+     * Adds a live task's duration to the aggregates of its status and of
+     * each of its developers
+     */
+    private void addToTotals(TaskStatus status, float duration, int[] developerIds)
+    {
+        hoursByStatus[status.ordinal()].add(duration);
+        for (int i = 0; i < developerIds.length; i++)
+        {
+            if (isFirst(developerIds, i))
+            {
+                developerHours(developerIds[i]).add(duration);
+            }
+        }
+    }
+
+    /**
+     * Takes a task's duration out of the aggregates of its status and of
+     * each of its developers
+     */
+    private void removeFromTotals(TaskStatus status, float duration, int[] developerIds)
+    {
+        hoursByStatus[status.ordinal()].remove(duration);
+        for (int i = 0; i < developerIds.length; i++)
+        {
+            if (isFirst(developerIds, i))
+            {
+                hoursByDeveloper.get(developerIds[i]).remove(duration);
+            }
+        }
+    }
+
+    /**
+     * Gets the aggregates of a developer, creating them on first use
+     */
+    private DurationTotals developerHours(int developer)
+    {
+        while (hoursByDeveloper.size() <= developer)
+        {
+            hoursByDeveloper.add(new DurationTotals());
+        }
+        return hoursByDeveloper.get(developer);
+    }
+
+    /**
+     * Adds a row to the overall and per-status duration orderings
+     */
+    private void indexByDuration(int row, TaskStatus status)
+    {
+        float duration = store.getDuration(row);
+        rowsByDuration.add(row, duration);
+        rowsByStatusDuration[status.ordinal()].add(row, duration);
+    }
+
+    /**
+     * Adds rows to the empty duration orderings in one step
+     * Rows are sorted once on their primitive keys and each ordering is then
+     * built from its sorted run in linear time, rather than by one insert
+     * per row
+     */
+    private void indexByDurationInBulk(IntList rows)
+    {
+        long[] keys = new long[rows.size()];
+        int[] perStatus = new int[rowsByStatusDuration.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            int row = rows.get(i);
+            keys[i] = DurationIndex.keyOf(row, store.getDuration(row));
+            perStatus[store.getStatus(row).ordinal()]++;
+        }
+        Arrays.sort(keys);
+
+        long[][] keysByStatus = new long[perStatus.length][];
+        for (int bucket = 0; bucket < perStatus.length; bucket++)
+        {
+            keysByStatus[bucket] = new long[perStatus[bucket]];
+            perStatus[bucket] = 0;
+        }
+        for (long key : keys)
+        {
+            int bucket = store.getStatus((int) key).ordinal();
+            keysByStatus[bucket][perStatus[bucket]++] = key;
+        }
+
+        rowsByDuration.addAllSorted(keys);
+        for (int bucket = 0; bucket < keysByStatus.length; bucket++)
+        {
+            rowsByStatusDuration[bucket].addAllSorted(keysByStatus[bucket]);
+        }
+    }
+
+    /**
+     * Gets all tasks as formatted string
+     * @return 
+     */
+    public String getAllTasks()
+    {
+        if (getTaskCount() == 0)
+        {
+            return "No tasks available";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        try
+        {
+            writeAllTasks(sb);
+        }
+        catch (IOException e)
+        {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes all tasks to the given destination one task at a time
+     * Writes nothing when no tasks exist
+     * @param out
+     * @throws IOException if the destination fails
+     */
+    public void writeAllTasks(Appendable out)
+        throws IOException
+    {
+        writeTasks(out, 0, store.size());
+    }
+
+    /**
+     * Writes one page of tasks in order of addition
+     * Offsets count stored rows, deleted ones included, so a page started
+     * from a returned offset continues where the last page ended
+     * @param out
+     * @param offset 0, or an offset returned by the previous page
+     * @param limit maximum number of tasks to write
+     * @return offset of the next page, or -1 if the last task was written
+     * @throws IOException if the destination fails
+     * @throws IllegalArgumentException if offset or limit is negative
+     */
+    public int writeTasks(Appendable out, int offset, int limit)
+        throws IOException, IllegalArgumentException
+    {
+        if (offset < 0 || limit < 0)
+        {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+
+        int size = store.size();
+        int row = deletedRows.nextClearBit(offset);
+        for (int written = 0; row < size && written < limit; written++)
+        {
+            TaskRenderer.render(store.get(row), out);
+            out.append("\n\n");
+            row = deletedRows.nextClearBit(row + 1);
+        }
+        return row < size ? row : -1;
+    }
+
+    /**
+     * Gets tasks by developer from the developer index
+     * Cost is proportional to the number of matching tasks
+     * @param developer
+     * @return 
+     * @throws IllegalArgumentException if no tasks found
+     */
+    public String getTasksByDeveloper(String developer)
+        throws IllegalArgumentException
+    {
+        IntList postings = getDeveloperRows(developer);
+        if (postings == null)
+        {
+            throw new IllegalArgumentException("No tasks for " + developer);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < postings.size(); i++)
+        {
+            int row = postings.get(i);
+            if (!deletedRows.get(row))
+            {
+                TaskRenderer.render(store.get(row), sb);
+                sb.append("\n\n");
+            }
+        }
+
+        if (sb.length() == 0)
+        {
+            throw new IllegalArgumentException("No tasks for " + developer);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Finds the tasks whose name or description contains every word of a
+     * query, from the word index
+     * Words are compared without case; a word ending in '*' matches any
+     * word it starts, so "log* page" finds "Login page". Cost follows the
+     * tasks holding the rarest word of the query
+     * @param query
+     * @return IDs of the matching tasks in order of addition; empty if none
+     * @throws IllegalArgumentException if the query has no words
+     */
+    public List<String> searchTasks(String query)
+        throws IllegalArgumentException
+    {
+        IntList rows = searchRows(query);
+        List<String> ids = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++)
+        {
+            ids.add(store.get(rows.get(i)).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the live rows whose name or description contains every word of
+     * a query
+     * @param query
+     * @return rows in order of addition
+     * @throws IllegalArgumentException if the query has no words
+     */
+    IntList searchRows(String query)
+        throws IllegalArgumentException
+    {
+        IntList matches = rowsByWord.search(query);
+        IntList live = new IntList(matches.size());
+        for (int i = 0; i < matches.size(); i++)
+        {
+            if (!deletedRows.get(matches.get(i)))
+            {
+                live.add(matches.get(i));
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Runs a query, answering it from the most selective index
+     * The filter whose index holds the fewest rows drives the query, the
+     * other posting lists are intersected with its rows and the remaining
+     * filters are checked per row; only a query without indexed filters
+     * scans every task. The result explains the plan that ran
+     * @param query
+     * @return matching task IDs in the query's order, with the plan
+     * @throws IllegalArgumentException if the query is missing or its text
+     *         filter has no words
+     */
+    public QueryResult query(TaskQuery query)
+        throws IllegalArgumentException
+    {
+        QueryPlanner planner = runQuery(query);
+        IntList rows = planner.getRows();
+        List<String> ids = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++)
+        {
+            ids.add(store.get(rows.get(i)).getId());
+        }
+        return new QueryResult(ids, planner.describe(), planner.getRowsTouched());
+    }
+
+    /**
+     * Plans and runs a query
+     * @param query
+     * @return planner holding the matching rows and the plan
+     * @throws IllegalArgumentException if the query is missing or its text
+     *         filter has no words
+     */
+    QueryPlanner runQuery(TaskQuery query)
+        throws IllegalArgumentException
+    {
+        if (query == null)
+        {
+            throw new IllegalArgumentException("Query is required");
+        }
+        QueryPlanner planner = new QueryPlanner(this, query);
+        planner.run();
+        return planner;
+    }
+
+    /**
+     * Finds the tasks a filter accepts by scanning every task
+     * For questions no index answers. Storage is split into pieces that
+     * the scan pool filters in parallel; boards no larger than the scan
+     * threshold are filtered on the calling thread. The filter may be
+     * called from several threads at once and the board must not change
+     * until the scan returns
+     * @param filter test applied to a view of each task
+     * @return IDs of the matching tasks in order of addition
+     * @throws IllegalArgumentException if the filter is missing
+     */
+    public List<String> findTasks(Predicate<? super TaskView> filter)
+        throws IllegalArgumentException
+    {
+        IntList rows = scanRows(filter);
+        List<String> ids = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++)
+        {
+            ids.add(store.get(rows.get(i)).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the live rows a filter accepts
+     * @param filter
+     * @return rows in order of addition
+     * @throws IllegalArgumentException if the filter is missing
+     */
+    IntList scanRows(Predicate<? super TaskView> filter)
+        throws IllegalArgumentException
+    {
+        return scanRows(filter, scanPool, scanThreshold);
+    }
+
+    /**
+     * Gets the live rows a filter accepts, scanning with the given settings
+     * @param filter
+     * @param pool
+     * @param threshold
+     * @return rows in order of addition
+     * @throws IllegalArgumentException if the filter is missing
+     */
+    IntList scanRows(Predicate<? super TaskView> filter, ForkJoinPool pool, int threshold)
+        throws IllegalArgumentException
+    {
+        if (filter == null)
+        {
+            throw new IllegalArgumentException("Filter is required");
+        }
+        return ParallelScan.scan(pool, threshold, store, deletedRows, filter);
+    }
+
+    /**
+     * Sets the pool that runs findTasks scans
+     * @param pool pool to use, or null for the common pool
+     */
+    public void setScanPool(ForkJoinPool pool)
+    {
+        scanPool = pool == null ? ForkJoinPool.commonPool() : pool;
+    }
+
+    /**
+     * Subscribes to the changes made to this board
+     * Adds, moves, updates and deletes are delivered in batches: one
+     * notification per operation, so addTasks is one notification, or
+     * one per event delay. Replaying a log and compacting publish nothing
+     * @param listener
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void addTaskListener(TaskListener listener)
+        throws IllegalArgumentException
+    {
+        if (listener == null)
+        {
+            throw new IllegalArgumentException("Listener is required");
+        }
+        events.addListener(listener);
+    }
+
+    /**
+     * Unsubscribes a listener; does nothing if it is not subscribed
+     * @param listener
+     */
+    public void removeTaskListener(TaskListener listener)
+    {
+        events.removeListener(listener);
+    }
+
+    /**
+     * Sets how long changes are collected before listeners are notified
+     * With a delay, every change made during it is delivered in one batch
+     * on a background thread, so bursts of single adds cost one
+     * notification rather than one per task
+     * @param millis 0, the default, to notify after every operation on the
+     *        writer's thread
+     * @throws IllegalArgumentException if millis is negative
+     */
+    public void setEventDelay(long millis)
+        throws IllegalArgumentException
+    {
+        if (millis < 0)
+        {
+            throw new IllegalArgumentException("Event delay must not be negative");
+        }
+        events.setDelay(millis);
+    }
+
+    /**
+     * Publishes this manager's changes to a publisher it shares with other
+     * managers, which flush it themselves once their locks are released
+     * @param publisher
+     */
+    void publishTo(TaskEventPublisher publisher)
+    {
+        events = publisher;
+        flushesEvents = false;
+    }
+
+    @Override
+    void setPublishing(boolean publishing)
+    {
+        events.setPaused(!publishing);
+    }
+
+    /**
+     * Adds a change to the pending batch if anyone listens
+     */
+    private void publish(TaskEvent.Type type, String id, TaskStatus status, TaskStatus previousStatus)
+    {
+        if (events.isListening())
+        {
+            events.publish(new TaskEvent(type, id, status, previousStatus));
+        }
+    }
+
+    /**
+     * Notifies listeners of the pending batch, unless the manager this one
+     * belongs to does so
+     */
+    private void flushEvents()
+    {
+        if (flushesEvents)
+        {
+            events.flush();
+        }
+    }
+
+    /**
+     * Sets how many rows a findTasks scan handles on one thread before the
+     * work is split; boards no larger than this are scanned sequentially
+     * @param rows
+     * @throws IllegalArgumentException if rows is below 1
+     */
+    public void setScanThreshold(int rows)
+        throws IllegalArgumentException
+    {
+        if (rows < 1)
+        {
+            throw new IllegalArgumentException("Scan threshold must be at least 1");
+        }
+        scanThreshold = rows;
+    }
+
+    /**
+     * Finds developers whose names are like a full, partial or misspelt
+     * name, from a trigram index over the developer names
+     * Only developers with at least one task are returned, best match
+     * first, so "jon doe" or "Doe" finds "John Doe"
+     * @param query
+     * @param limit maximum number of names
+     * @return names of the closest developers; empty if none is close
+     * @throws IllegalArgumentException if limit is below 1
+     */
+    public List<String> findDevelopers(String query, int limit)
+        throws IllegalArgumentException
+    {
+        List<String> names = new ArrayList<>();
+        for (TrigramIndex.Match match : findDeveloperMatches(query, limit))
+        {
+            names.add(match.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Gets the developers whose names are like a query, with their scores
+     * @param query
+     * @param limit maximum number of matches
+     * @return matches best first
+     * @throws IllegalArgumentException if limit is below 1
+     */
+    List<TrigramIndex.Match> findDeveloperMatches(String query, int limit)
+        throws IllegalArgumentException
+    {
+        if (limit < 1)
+        {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        if (query == null)
+        {
+            return new ArrayList<>();
+        }
+        return developersByTrigram.find(query, limit, TrigramIndex.DEFAULT_MIN_SCORE, this::hasLiveTask);
+    }
+
+    /**
+     * Checks whether a developer is on at least one task that was not
+     * deleted
+     */
+    private boolean hasLiveTask(int developer)
+    {
+        return developer < hoursByDeveloper.size() && hoursByDeveloper.get(developer).getCount() > 0;
+    }
+
+    /**
+     * Releases the storage engine
+     * A memory-mapped store is forced to disk and unmapped; stores on the
+     * heap need no closing. The manager must not be used afterwards
+     * @throws IOException if the store cannot be written
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        if (store instanceof Closeable closeable)
+        {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Gets the storage engine
+     */
+    TaskStore getStore()
+    {
+        return store;
+    }
+
+    /**
+     * Checks whether the task at a row was deleted
+     */
+    boolean isDeleted(int row)
+    {
+        return deletedRows.get(row);
+    }
+
+    /**
+     * Gets a number that changes whenever a task is added or changed
+     * Deletions do not change it; copyDeletedRows tracks them
+     */
+    long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Gets the rows of a developer's tasks in order of addition
+     * The list may include rows of deleted tasks
+     * @return posting list, or null if the developer has no tasks
+     */
+    IntList getDeveloperRows(String developer)
+    {
+        int id = developers.idOf(developer);
+        if (id == DeveloperDictionary.UNKNOWN || id >= rowsByDeveloper.size())
+        {
+            return null;
+        }
+        IntList postings = rowsByDeveloper.get(id);
+        return postings.isEmpty() ? null : postings;
+    }
+
+    /**
+     * Gets the live rows of a status
+     * @param status
+     * @return bucket of rows; must not be changed
+     */
+    BitSet getStatusRows(TaskStatus status)
+    {
+        return rowsByStatus[status.ordinal()];
+    }
+
+    /**
+     * Gets the duration ordering of a status, or of every task
+     * @param status status, or null for every task
+     * @return ordering; must not be changed
+     */
+    DurationIndex getDurationIndex(TaskStatus status)
+    {
+        return durationsOf(status);
+    }
+
+    /**
+     * Gets the live rows matching optional filters in order of addition
+     * Rows are produced lazily: a developer filter walks the developer's
+     * posting list, a status filter alone walks the status bucket, and no
+     * filter walks every stored row
+     * @param developer developer the tasks must include, or null for any
+     * @param status status the tasks must have, or null for any
+     * @return 
+     */
+    IntStream matchingRows(String developer, TaskStatus status)
+    {
+        if (developer != null)
+        {
+            IntList postings = getDeveloperRows(developer);
+            if (postings == null)
+            {
+                return IntStream.empty();
+            }
+            return IntStream.range(0, postings.size())
+                .map(postings::get)
+                .filter(row -> !deletedRows.get(row) && (status == null || store.getStatus(row) == status));
+        }
+        if (status != null)
+        {
+            return rowsByStatus[status.ordinal()].stream();
+        }
+        return IntStream.range(0, store.size()).filter(row -> !deletedRows.get(row));
+    }
+
+    /**
+     * Gets the row of the task with the given ID
+     * The sequence number in the ID is looked up in the hash index and the
+     * full ID is then rebuilt from the stored name and ID developer and
+     * compared, so a mistyped prefix does not match and no task is
+     * materialized
+     * @return row, or -1 if no task has the ID
+     */
+    int getRowById(String id)
+    {
+        long sequence = Task.parseSequence(id);
+        int row = sequence < 0 ? LongIntHashMap.MISSING : rowsBySequence.get(sequence);
+        if (row == LongIntHashMap.MISSING || deletedRows.get(row))
+        {
+            return -1;
+        }
+        String stored = Task.buildId(store.getName(row), developers, store.getIdDeveloper(row), sequence);
+        if (!stored.equals(id))
+        {
+            return -1;
+        }
+        return row;
+    }
+
+    /**
+     * Gets the row of the longest task
+     * @return row, or -1 if no tasks exist
+     */
+    int getLongestRow()
+    {
+        return rowsByDuration.isEmpty() ? -1 : rowsByDuration.rowAt(0);
+    }
+
+    /**
+     * Gets the total number of tasks
+     * @return 
+     */
+    public int getTaskCount()
+    {
+        return store.size() - deletedCount;
+    }
+
+    /**
+     * Gets the number of tasks with the given status
+     * @param status
+     * @return 
+     */
+    public int getTaskCount(TaskStatus status)
+    {
+        return statusCounts[status.ordinal()];
+    }
+
+    /**
+     * Gets the tasks of one status column in order of addition
+     * @param status
+     * @return 
+     * @throws IllegalArgumentException if no tasks have the status
+     */
+    public String getTasksByStatus(TaskStatus status)
+        throws IllegalArgumentException
+    {
+        if (getTaskCount(status) == 0)
+        {
+            throw new IllegalArgumentException("No tasks with status " + status);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        try
+        {
+            writeTasksByStatus(sb, status);
+        }
+        catch (IOException e)
+        {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the tasks of one status column in order of addition
+     * Only rows in the column's bucket are visited
+     * @param out
+     * @param status
+     * @throws IOException if the destination fails
      */
-    public void addTask(String name, String description, 
-                       List<String> developers, float duration, String status)
-        throws IllegalArgumentException
+    public void writeTasksByStatus(Appendable out, TaskStatus status)
+        throws IOException
     {
-        if (description.length() > 50)
+        BitSet bucket = rowsByStatus[status.ordinal()];
+        for (int row = bucket.nextSetBit(0); row >= 0; row = bucket.nextSetBit(row + 1))
         {
-            throw new IllegalArgumentException("Description must be ≤50 characters");
+            TaskRenderer.render(store.get(row), out);
+            out.append("\n\n");
         }
+    }
+
+    /**
+     * Gets a task by its ID
+     * @param id
+     * @return 
+     * @throws IllegalArgumentException if no task has the ID
+     */
+    public String getTaskById(String id)
+        throws IllegalArgumentException
+    {
+        return store.get(requireRow(id)).toString();
+    }
 
-        if (developers.size() < 1 || developers.size() > 5)
+    /**
+     * Gets task with longest duration
+     * @return 
+     * @throws IllegalStateException if no tasks exist
+     */
+    public String getTaskWithLongestDuration()
+        throws IllegalStateException
+    {
+        if (rowsByDuration.isEmpty())
         {
-            throw new IllegalArgumentException("Must have 1-5 developers");
+            throw new IllegalStateException("No tasks available");
         }
 
-        Task newTask = new Task(name, description, developers, duration, status);
-        tasks.add(newTask);
+        return "Longest task:\n" + store.get(rowsByDuration.rowAt(0));
     }
 
     /**
-     * Gets all tasks as formatted string
+     * Gets the longest tasks, longest first
+     * @param count maximum number of tasks to return
      * @return 
+     * @throws IllegalArgumentException if count is not positive
+     * @throws IllegalStateException if no tasks exist
      */
-    public String getAllTasks()
+    public String getLongestTasks(int count)
+        throws IllegalArgumentException, IllegalStateException
     {
-        if (tasks.isEmpty())
+        if (rowsByDuration.isEmpty())
         {
-            return "No tasks available";
+            throw new IllegalStateException("No tasks available");
         }
+        return formatLongest(rowsByDuration, count);
+    }
 
-        StringBuilder sb = new StringBuilder();
-        for (Task task : tasks)
+    /**
+     * Gets the longest tasks with the given status, longest first
+     * @param count maximum number of tasks to return
+     * @param status label of the status, e.g. "Doing"
+     * @return 
+     * @throws IllegalArgumentException if count is not positive, the status
+     *         is unknown or no tasks have the status
+     */
+    public String getLongestTasks(int count, String status)
+        throws IllegalArgumentException
+    {
+        return getLongestTasks(count, TaskStatus.fromLabel(status));
+    }
+
+    /**
+     * Gets the longest tasks with the given status, longest first
+     * @param count maximum number of tasks to return
+     * @param status
+     * @return 
+     * @throws IllegalArgumentException if count is not positive or no tasks
+     *         have the status
+     */
+    public String getLongestTasks(int count, TaskStatus status)
+        throws IllegalArgumentException
+    {
+        DurationIndex ordered = rowsByStatusDuration[status.ordinal()];
+        if (ordered.isEmpty())
         {
-            sb.append(task).append("\n\n");
+            throw new IllegalArgumentException("No tasks with status " + status);
         }
-        return sb.toString();
+        return formatLongest(ordered, count);
     }
 
     /**
-     * Gets tasks by developer
-     * @param developer
+     * Counts the tasks whose duration lies in a range, from the duration
+     * index in O(log n)
+     * @param minHours lowest duration, inclusive
+     * @param maxHours highest duration, inclusive
      * @return 
-     * @throws IllegalArgumentException if no tasks found
+     * @throws IllegalArgumentException if minHours is above maxHours
      */
-    public String getTasksByDeveloper(String developer)
+    public int countTasksByDuration(float minHours, float maxHours)
         throws IllegalArgumentException
     {
-        StringBuilder sb = new StringBuilder();
-        for (Task task : tasks)
+        return countTasksByDuration(minHours, maxHours, null);
+    }
+
+    /**
+     * Counts the tasks with a status whose duration lies in a range
+     * @param minHours lowest duration, inclusive
+     * @param maxHours highest duration, inclusive
+     * @param status status the tasks must have, or null for any
+     * @return 
+     * @throws IllegalArgumentException if minHours is above maxHours
+     */
+    public int countTasksByDuration(float minHours, float maxHours, TaskStatus status)
+        throws IllegalArgumentException
+    {
+        checkRange(minHours, maxHours);
+        DurationIndex durations = durationsOf(status);
+        return durations.countAtLeast(minHours) - durations.countLongerThan(maxHours);
+    }
+
+    /**
+     * Gets the tasks whose duration lies in a range, longest first
+     * The first task is found in O(log n) and each further one in O(log n)
+     * @param minHours lowest duration, inclusive
+     * @param maxHours highest duration, inclusive
+     * @param limit maximum number of tasks
+     * @return IDs of the tasks, ties in order of addition
+     * @throws IllegalArgumentException if minHours is above maxHours or
+     *         limit is below 1
+     */
+    public List<String> getTaskIdsByDuration(float minHours, float maxHours, int limit)
+        throws IllegalArgumentException
+    {
+        checkRange(minHours, maxHours);
+        if (limit < 1)
         {
-            if (task.getDevelopers().contains(developer))
-            {
-                sb.append(task).append("\n\n");
-            }
+            throw new IllegalArgumentException("Limit must be at least 1");
         }
 
-        if (sb.length() == 0)
+        int from = rowsByDuration.countLongerThan(maxHours);
+        int to = Math.min(rowsByDuration.countAtLeast(minHours), from + limit);
+        List<String> ids = new ArrayList<>(Math.max(to - from, 0));
+        for (int rank = from; rank < to; rank++)
         {
-            throw new IllegalArgumentException("No tasks for " + developer);
+            ids.add(store.get(rowsByDuration.rowAt(rank)).getId());
         }
-        return sb.toString();
+        return ids;
     }
 
     /**
-     * Gets task with longest duration
-     * @return 
+     * Gets a percentile of task durations by the nearest-rank method
+     * For example 50 gives the median, 0 the shortest and 100 the longest
+     * duration, each found in O(log n)
+     * @param percentile from 0 to 100
+     * @return duration in hours
+     * @throws IllegalArgumentException if percentile is outside 0 to 100
      * @throws IllegalStateException if no tasks exist
      */
-    public String getTaskWithLongestDuration()
+    public float getDurationPercentile(double percentile)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        return getDurationPercentile(percentile, null);
+    }
+
+    /**
+     * Gets a percentile of the durations of tasks with a status by the
+     * nearest-rank method
+     * @param percentile from 0 to 100
+     * @param status status the tasks must have, or null for any
+     * @return duration in hours
+     * @throws IllegalArgumentException if percentile is outside 0 to 100
+     * @throws IllegalStateException if no tasks have the status
+     */
+    public float getDurationPercentile(double percentile, TaskStatus status)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if (!(percentile >= 0 && percentile <= 100))
+        {
+            throw new IllegalArgumentException("Percentile must be from 0 to 100");
+        }
+        DurationIndex durations = durationsOf(status);
+        if (durations.isEmpty())
+        {
+            throw new IllegalStateException("No tasks available");
+        }
+
+        // The nearest rank counts from the shortest task; the index starts
+        // at the longest
+        int rank = Math.max(1, (int) Math.ceil(percentile / 100 * durations.size()));
+        return durations.durationAt(durations.size() - rank);
+    }
+
+    /**
+     * Gets the percentage of tasks no longer than a duration
+     * @param hours
+     * @return from 0 to 100
+     * @throws IllegalStateException if no tasks exist
+     */
+    public double getPercentileRank(float hours)
+        throws IllegalStateException
+    {
+        return getPercentileRank(hours, null);
+    }
+
+    /**
+     * Gets the percentage of tasks with a status no longer than a duration
+     * @param hours
+     * @param status status the tasks must have, or null for any
+     * @return from 0 to 100
+     * @throws IllegalStateException if no tasks have the status
+     */
+    public double getPercentileRank(float hours, TaskStatus status)
         throws IllegalStateException
     {
-        if (tasks.isEmpty())
+        DurationIndex durations = durationsOf(status);
+        if (durations.isEmpty())
         {
             throw new IllegalStateException("No tasks available");
         }
+        return 100.0 * (durations.size() - durations.countLongerThan(hours)) / durations.size();
+    }
+
+    /**
+     * Counts tasks in duration buckets
+     * Each bucket costs two O(log n) counts, whatever the board size
+     * @param bounds ascending bucket bounds; bucket i holds durations from
+     *        bounds[i], inclusive, to bounds[i + 1], exclusive
+     * @return one count per bucket
+     * @throws IllegalArgumentException if fewer than two bounds are given
+     *         or they are not ascending
+     */
+    public int[] getDurationHistogram(float[] bounds)
+        throws IllegalArgumentException
+    {
+        return getDurationHistogram(bounds, null);
+    }
+
+    /**
+     * Counts tasks with a status in duration buckets
+     * @param bounds ascending bucket bounds; bucket i holds durations from
+     *        bounds[i], inclusive, to bounds[i + 1], exclusive
+     * @param status status the tasks must have, or null for any
+     * @return one count per bucket
+     * @throws IllegalArgumentException if fewer than two bounds are given
+     *         or they are not ascending
+     */
+    public int[] getDurationHistogram(float[] bounds, TaskStatus status)
+        throws IllegalArgumentException
+    {
+        if (bounds == null || bounds.length < 2)
+        {
+            throw new IllegalArgumentException("A histogram needs at least two bounds");
+        }
+
+        DurationIndex durations = durationsOf(status);
+        int[] counts = new int[bounds.length - 1];
+        int atLeastLower = durations.countAtLeast(bounds[0]);
+        for (int i = 0; i < counts.length; i++)
+        {
+            if (!(bounds[i] < bounds[i + 1]))
+            {
+                throw new IllegalArgumentException("Bounds must be ascending");
+            }
+            int atLeastUpper = durations.countAtLeast(bounds[i + 1]);
+            counts[i] = atLeastLower - atLeastUpper;
+            atLeastLower = atLeastUpper;
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the count, total, shortest and longest duration of every task
+     * Totals are kept up to date as tasks change, so this costs the same
+     * whatever the board size
+     * @return 
+     */
+    public DurationStats getDurationStats()
+    {
+        DurationStats stats = DurationStats.EMPTY;
+        for (TaskStatus status : TaskStatus.values())
+        {
+            stats = stats.plus(getDurationStats(status));
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the count, total, shortest and longest duration of the tasks
+     * with a status
+     * Count and total are kept up to date as tasks change; the shortest and
+     * longest are the ends of the status's duration ordering
+     * @param status
+     * @return 
+     * @throws IllegalArgumentException if the status is missing
+     */
+    public DurationStats getDurationStats(TaskStatus status)
+        throws IllegalArgumentException
+    {
+        if (status == null)
+        {
+            throw new IllegalArgumentException("Status is required");
+        }
+
+        DurationIndex durations = rowsByStatusDuration[status.ordinal()];
+        if (durations.isEmpty())
+        {
+            return DurationStats.EMPTY;
+        }
+        return hoursByStatus[status.ordinal()].toStats(durations.durationAt(durations.size() - 1),
+                                                       durations.durationAt(0));
+    }
+
+    /**
+     * Gets the count, total, shortest and longest duration of the tasks a
+     * developer is on
+     * Everything is kept up to date as tasks change, except that taking the
+     * developer's shortest or longest task away leaves the bounds to be
+     * recomputed from the developer's own tasks on the next read
+     * @param developer
+     * @return stats, empty if the developer has no tasks
+     */
+    public DurationStats getDeveloperDurationStats(String developer)
+    {
+        int id = developers.idOf(developer);
+        if (id == DeveloperDictionary.UNKNOWN || id >= hoursByDeveloper.size())
+        {
+            return DurationStats.EMPTY;
+        }
 
-        Task longest = tasks.get(0);
-        for (Task task : tasks)
+        DurationTotals totals = hoursByDeveloper.get(id);
+        // Readers of a shared board may race to recompute the same bounds
+        synchronized (totals)
         {
-            if (task.getDuration() > longest.getDuration())
+            if (totals.getCount() > 0 && totals.isBoundsStale())
             {
-                longest = task;
+                float min = Float.POSITIVE_INFINITY;
+                float max = Float.NEGATIVE_INFINITY;
+                IntList postings = rowsByDeveloper.get(id);
+                for (int i = 0; i < postings.size(); i++)
+                {
+                    int row = postings.get(i);
+                    if (!deletedRows.get(row))
+                    {
+                        float duration = store.getDuration(row);
+                        min = Math.min(min, duration);
+                        max = Math.max(max, duration);
+                    }
+                }
+                totals.setBounds(min, max);
             }
+            return totals.toStats();
+        }
+    }
+
+    /**
+     * Gets the duration ordering of a status, or of every task
+     */
+    private DurationIndex durationsOf(TaskStatus status)
+    {
+        return status == null ? rowsByDuration : rowsByStatusDuration[status.ordinal()];
+    }
+
+    /**
+     * Checks that a duration range is not empty by construction
+     */
+    private static void checkRange(float minHours, float maxHours)
+    {
+        if (!(minHours <= maxHours))
+        {
+            throw new IllegalArgumentException("Minimum duration must not exceed maximum");
+        }
+    }
+
+    /**
+     * Formats the first count rows of a duration ordering
+     */
+    private String formatLongest(DurationIndex ordered, int count)
+    {
+        if (count < 1)
+        {
+            throw new IllegalArgumentException("Count must be at least 1");
+        }
+
+        StringBuilder sb = new StringBuilder("Longest tasks:\n");
+        for (int rank = 0; rank < ordered.size() && rank < count; rank++)
+        {
+            TaskRenderer.render(store.get(ordered.rowAt(rank)), sb);
+            sb.append("\n\n");
         }
-        return "Longest task:\n" + longest;
+        return sb.toString();
     }
 
     /**
      * Represents a task with multiple developers
      */
-    private static class Task
+    static class Task
     {
         private final String name;
         private final String description;
-        private final List<String> developers;
+        private final int[] developerIds;
+        private final DeveloperDictionary dictionary;
         private final float duration;
-        private final String status;
+        private final TaskStatus status;
+        private final int idDeveloper;
         private final String id;
+        private final long sequence;
+
+        /**
+         * Constructs a new task, interning its developer names
+         */
+        public Task(String name, String description, 
+                   List<String> developers, DeveloperDictionary dictionary,
+                   float duration, TaskStatus status, long sequence)
+        {
+            this(name, description, dictionary.internAll(developers), dictionary,
+                 duration, status, sequence);
+        }
 
         /**
-         * Constructs a new task
+         * Constructs a new task from developer ids of the given dictionary
          */
         public Task(String name, String description, 
-                   List<String> developers, float duration, String status)
+                   int[] developerIds, DeveloperDictionary dictionary,
+                   float duration, TaskStatus status, long sequence)
+        {
+            this(name, description, developerIds, dictionary, duration, status, sequence,
+                 developerIds.length > 0 ? developerIds[0] : DeveloperDictionary.UNKNOWN);
+        }
+
+        /**
+         * Constructs a task whose ID is built from the given developer id
+         * rather than the current first developer, so a task keeps its ID
+         * when its developers are changed
+         */
+        Task(String name, String description, 
+             int[] developerIds, DeveloperDictionary dictionary,
+             float duration, TaskStatus status, long sequence, int idDeveloper)
         {
             this.name = name;
             this.description = description;
-            this.developers = developers;
+            this.developerIds = developerIds;
+            this.dictionary = dictionary;
             this.duration = duration;
             this.status = status;
+            this.sequence = sequence;
+            this.idDeveloper = idDeveloper;
             this.id = generateId();
         }
 
+        /**
+         * Gets a copy of this task with another status
+         */
+        Task withStatus(TaskStatus status)
+        {
+            return new Task(name, description, developerIds, dictionary,
+                            duration, status, sequence, idDeveloper);
+        }
+
+        /**
+         * Gets a copy of this task with another duration
+         */
+        Task withDuration(float duration)
+        {
+            return new Task(name, description, developerIds, dictionary,
+                            duration, status, sequence, idDeveloper);
+        }
+
+        /**
+         * Gets a copy of this task with other developers, keeping its ID
+         */
+        Task withDevelopers(int[] developerIds)
+        {
+            return new Task(name, description, developerIds, dictionary,
+                            duration, status, sequence, idDeveloper);
+        }
+
         /**
          * Generates a task ID
+         * The readable prefix can repeat between tasks, so the sequence
+         * number is appended to make every ID unique
          */
         private String generateId()
         {
-            String devPart = developers.stream()
-                .map(dev -> dev.length() >= 3 ? 
-                    dev.substring(dev.length() - 3) : "???")
-                .findFirst()
-                .orElse("???")
-                .toUpperCase();
+            return buildId(name, dictionary, idDeveloper, sequence);
+        }
+
+        /**
+         * Builds the ID of a task from the fields it is made of, so an ID can
+         * be checked against stored fields without materializing the task
+         */
+        static String buildId(String name, DeveloperDictionary dictionary, int idDeveloper,
+                              long sequence)
+        {
+            String devPart = "???";
+            if (idDeveloper != DeveloperDictionary.UNKNOWN)
+            {
+                String dev = dictionary.nameOf(idDeveloper);
+                devPart = (dev.length() >= 3 ? dev.substring(dev.length() - 3) : "???")
+                    .toUpperCase();
+            }
             
             return (name.length() >= 2 ? name.substring(0, 2) : "??").toUpperCase() + 
-                   ":" + devPart;
+                   ":" + devPart + ":" + (sequence + 1);
+        }
+
+        /**
+         * Extracts the sequence number from a task ID
+         * @return sequence number, or -1 if the ID is malformed
+         */
+        static long parseSequence(String id)
+        {
+            int separator = id == null ? -1 : id.lastIndexOf(':');
+            if (separator < 0)
+            {
+                return -1;
+            }
+
+            try
+            {
+                return Long.parseLong(id.substring(separator + 1)) - 1;
+            }
+            catch (NumberFormatException e)
+            {
+                return -1;
+            }
+        }
+
+        /**
+         * Gets task name
+         */
+        public String getName()
+        {
+            return name;
+        }
+
+        /**
+         * Gets task description
+         */
+        public String getDescription()
+        {
+            return description;
         }
 
         /**
-         * Gets developer names
+         * Gets developer names, resolved through the dictionary
          */
         public List<String> getDevelopers()
         {
-            return developers;
+            String[] names = new String[developerIds.length];
+            for (int i = 0; i < names.length; i++)
+            {
+                names[i] = dictionary.nameOf(developerIds[i]);
+            }
+            return Collections.unmodifiableList(Arrays.asList(names));
+        }
+
+        /**
+         * Gets developer ids; the array is shared and must not be modified
+         */
+        int[] getDeveloperIds()
+        {
+            return developerIds;
+        }
+
+        /**
+         * Gets the id of the developer the task ID was built from
+         * @return developer id, or DeveloperDictionary.UNKNOWN
+         */
+        int getIdDeveloper()
+        {
+            return idDeveloper;
+        }
+
+        /**
+         * Gets the dictionary the developer ids belong to
+         */
+        DeveloperDictionary getDictionary()
+        {
+            return dictionary;
         }
 
         /**
@@ -164,15 +2244,39 @@ public class TaskManager
             return duration;
         }
 
+        /**
+         * Gets task status
+         */
+        public TaskStatus getStatus()
+        {
+            return status;
+        }
+
+        /**
+         * Gets task ID
+         */
+        public String getId()
+        {
+            return id;
+        }
+
+        /**
+         * Gets the order in which the task was added
+         */
+        public long getSequence()
+        {
+            return sequence;
+        }
+
         /**
          * String representation of task
          */
         @Override
         public String toString()
         {
-            return String.format(
-                "Task: %s\nDesc: %s\nDevs: %s\nDuration: %.2f hrs\nStatus: %s\nID: %s",
-                name, description, String.join(", ", developers), duration, status, id);
+            StringBuilder sb = new StringBuilder(96 + name.length() + description.length());
+            TaskRenderer.render(this, sb);
+            return sb.toString();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package Solution.Logic;
+
+/**
+ * Question about tasks built from optional filters, an order and a limit
+ * Filters combine with AND; a query without filters matches every task.
+ * Setters return the query so calls can be chained, e.g.
+ * new TaskQuery().developer("John Doe").status(TaskStatus.DOING)
+ * .orderBy(TaskQuery.Order.LONGEST_FIRST).limit(5). Run it with
+ * TaskManager.query, which picks the indexes to answer it from
+ */
+public final class TaskQuery
+{
+    /**
+     * Order of the matching tasks
+     */
+    public enum Order
+    {
+        /**
+         * Order of addition
+         */
+        ADDED("order of addition"),
+        /**
+         * Longest duration first, ties in order of addition
+         */
+        LONGEST_FIRST("longest first"),
+        /**
+         * Shortest duration first, ties in order of addition
+         */
+        SHORTEST_FIRST("shortest first");
+
+        private final String label;
+
+        Order(String label)
+        {
+            this.label = label;
+        }
+
+        /**
+         * Gets the description used in query plans
+         * @return 
+         */
+        String getLabel()
+        {
+            return label;
+        }
+    }
+
+    private String developer;
+    private TaskStatus status;
+    private float minHours = Float.NEGATIVE_INFINITY;
+    private float maxHours = Float.POSITIVE_INFINITY;
+    private boolean durationFiltered;
+    private String text;
+    private Order order = Order.ADDED;
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * Keeps only tasks a developer is on
+     * @param developer name, or null for any developer
+     * @return this query
+     */
+    public TaskQuery developer(String developer)
+    {
+        this.developer = developer;
+        return this;
+    }
+
+    /**
+     * Keeps only tasks with a status
+     * @param status status, or null for any status
+     * @return this query
+     */
+    public TaskQuery status(TaskStatus status)
+    {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Keeps only tasks whose duration lies in a range
+     * @param minHours lowest duration, inclusive
+     * @param maxHours highest duration, inclusive
+     * @return this query
+     * @throws IllegalArgumentException if minHours is above maxHours
+     */
+    public TaskQuery durationBetween(float minHours, float maxHours)
+        throws IllegalArgumentException
+    {
+        if (!(minHours <= maxHours))
+        {
+            throw new IllegalArgumentException("Minimum duration must not exceed maximum");
+        }
+        this.minHours = minHours;
+        this.maxHours = maxHours;
+        durationFiltered = true;
+        return this;
+    }
+
+    /**
+     * Keeps only tasks whose name or description contains every word, as
+     * TaskManager.searchTasks does
+     * @param text words, a trailing '*' marking a prefix, or null for any
+     * @return this query
+     */
+    public TaskQuery text(String text)
+    {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * Sets the order of the matching tasks
+     * @param order
+     * @return this query
+     * @throws IllegalArgumentException if the order is missing
+     */
+    public TaskQuery orderBy(Order order)
+        throws IllegalArgumentException
+    {
+        if (order == null)
+        {
+            throw new IllegalArgumentException("Order is required");
+        }
+        this.order = order;
+        return this;
+    }
+
+    /**
+     * Keeps only the first tasks in the query's order
+     * @param limit maximum number of tasks
+     * @return this query
+     * @throws IllegalArgumentException if limit is below 1
+     */
+    public TaskQuery limit(int limit)
+        throws IllegalArgumentException
+    {
+        if (limit < 1)
+        {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Gets the developer filter, or null
+     */
+    String getDeveloper()
+    {
+        return developer;
+    }
+
+    /**
+     * Gets the status filter, or null
+     */
+    TaskStatus getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * Checks whether a duration range was set
+     */
+    boolean hasDurationRange()
+    {
+        return durationFiltered;
+    }
+
+    /**
+     * Gets the lowest duration of the range
+     */
+    float getMinHours()
+    {
+        return minHours;
+    }
+
+    /**
+     * Gets the highest duration of the range
+     */
+    float getMaxHours()
+    {
+        return maxHours;
+    }
+
+    /**
+     * Gets the text filter, or null
+     */
+    String getText()
+    {
+        return text;
+    }
+
+    /**
+     * Gets the order of the matches
+     */
+    Order getOrder()
+    {
+        return order;
+    }
+
+    /**
+     * Gets the maximum number of matches
+     */
+    int getLimit()
+    {
+        return limit;
+    }
+}
@@ -0,0 +1,458 @@
+package Solution.Logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses one line of an import file into a task draft
+ * CSV lines hold name, description, developers, duration and status, with
+ * developers separated by semicolons; fields may be quoted, with doubled
+ * quotes inside, and a sixth ID column is ignored. JSON lines hold one
+ * object with the same keys, developers as an array of strings; a file that
+ * is one array with an object per line is read the same way. Drafts are checked against the rules of
+ * TaskManager.addTask, so every draft returned can be added
+ */
+final class TaskRecordParser
+{
+    static final String CSV_HEADER = "name,description,developers,duration,status";
+
+    private TaskRecordParser()
+    {
+    }
+
+    /**
+     * Checks whether a line is the optional CSV header
+     * @param line
+     * @return 
+     */
+    static boolean isCsvHeader(String line)
+    {
+        String header = line.replace(" ", "");
+        return header.equalsIgnoreCase(CSV_HEADER) || header.equalsIgnoreCase(CSV_HEADER + ",id");
+    }
+
+    /**
+     * Parses a CSV line
+     * @param line line without its line break
+     * @return 
+     * @throws IllegalArgumentException describing why the line is not a valid task
+     */
+    static TaskDraft parseCsv(String line)
+        throws IllegalArgumentException
+    {
+        List<String> fields = splitCsv(line);
+        // A sixth column holds the ID written by TaskExporter; the board
+        // gives imported tasks IDs of its own
+        if (fields.size() != 5 && fields.size() != 6)
+        {
+            throw new IllegalArgumentException("Expected 5 fields (" + CSV_HEADER + ") but found "
+                                               + fields.size());
+        }
+
+        List<String> developers = new ArrayList<>();
+        for (String developer : fields.get(2).split(";"))
+        {
+            if (!developer.trim().isEmpty())
+            {
+                developers.add(developer.trim());
+            }
+        }
+        return draft(fields.get(0), fields.get(1), developers, parseDuration(fields.get(3)),
+                     fields.get(4));
+    }
+
+    /**
+     * Parses a JSON line
+     * @param line line without its line break
+     * @return draft, or null if the line only opens or closes the array
+     *         the objects are in
+     * @throws IllegalArgumentException describing why the line is not a valid task
+     */
+    static TaskDraft parseJson(String line)
+        throws IllegalArgumentException
+    {
+        String record = line.trim();
+        if (record.startsWith("["))
+        {
+            record = record.substring(1).trim();
+        }
+        if (record.endsWith("]"))
+        {
+            record = record.substring(0, record.length() - 1).trim();
+        }
+        if (record.endsWith(","))
+        {
+            record = record.substring(0, record.length() - 1).trim();
+        }
+        if (record.isEmpty())
+        {
+            return null;
+        }
+
+        JsonCursor json = new JsonCursor(record);
+        String name = null;
+        String description = null;
+        List<String> developers = null;
+        Float duration = null;
+        String status = null;
+
+        json.expect('{');
+        if (!json.consume('}'))
+        {
+            do
+            {
+                String key = json.readString();
+                json.expect(':');
+                switch (key)
+                {
+                    case "name" -> name = json.readString();
+                    case "description" -> description = json.readString();
+                    case "developers" -> developers = json.readStringArray();
+                    case "duration" -> duration = json.readNumber();
+                    case "status" -> status = json.readString();
+                    default -> json.skipValue();
+                }
+            }
+            while (json.consume(','));
+            json.expect('}');
+        }
+        json.expectEnd();
+
+        if (duration == null)
+        {
+            throw new IllegalArgumentException("Duration is required");
+        }
+        return draft(name, description, developers, duration, status);
+    }
+
+    /**
+     * Checks parsed fields against the board rules and builds the draft
+     */
+    private static TaskDraft draft(String name, String description, List<String> developers,
+                                   float duration, String status)
+    {
+        if (name == null || name.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Name is required");
+        }
+        if (status == null)
+        {
+            throw new IllegalArgumentException("Status is required");
+        }
+
+        TaskStatus parsedStatus = TaskStatus.fromLabel(status.trim());
+        String trimmedDescription = description == null ? null : description.trim();
+        String error = TaskManager.validate(name, trimmedDescription, developers, parsedStatus);
+        if (error != null)
+        {
+            throw new IllegalArgumentException(error);
+        }
+        return new TaskDraft(name.trim(), trimmedDescription, developers, duration, parsedStatus);
+    }
+
+    /**
+     * Parses a duration in hours
+     */
+    private static float parseDuration(String value)
+    {
+        try
+        {
+            return Float.parseFloat(value.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException("Duration must be a number: " + value.trim());
+        }
+    }
+
+    /**
+     * Splits a CSV line into fields, honouring quotes
+     */
+    private static List<String> splitCsv(String line)
+    {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++)
+        {
+            char c = line.charAt(i);
+            if (quoted)
+            {
+                if (c != '"')
+                {
+                    field.append(c);
+                }
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+                {
+                    field.append('"');
+                    i++;
+                }
+                else
+                {
+                    quoted = false;
+                }
+            }
+            else if (c == ',')
+            {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            }
+            else if (c == '"' && !wasQuoted && field.toString().trim().isEmpty())
+            {
+                field.setLength(0);
+                quoted = true;
+                wasQuoted = true;
+            }
+            else
+            {
+                field.append(c);
+            }
+        }
+
+        if (quoted)
+        {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Reads the parts of a JSON object a task record is made of
+     */
+    private static final class JsonCursor
+    {
+        private final String text;
+        private int position;
+
+        JsonCursor(String text)
+        {
+            this.text = text;
+        }
+
+        /**
+         * Skips whitespace and consumes a character if it comes next
+         */
+        boolean consume(char expected)
+        {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == expected)
+            {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Consumes a character that must come next
+         */
+        void expect(char expected)
+        {
+            if (!consume(expected))
+            {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        /**
+         * Fails if anything but whitespace is left
+         */
+        void expectEnd()
+        {
+            skipWhitespace();
+            if (position < text.length())
+            {
+                throw error("Unexpected text after the object");
+            }
+        }
+
+        /**
+         * Reads a string, or null for a JSON null
+         */
+        String readString()
+        {
+            skipWhitespace();
+            if (text.startsWith("null", position))
+            {
+                position += 4;
+                return null;
+            }
+            if (position >= text.length() || text.charAt(position) != '"')
+            {
+                throw error("Expected a string");
+            }
+            position++;
+
+            StringBuilder value = new StringBuilder();
+            while (position < text.length())
+            {
+                char c = text.charAt(position++);
+                if (c == '"')
+                {
+                    return value.toString();
+                }
+                if (c != '\\')
+                {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length())
+                {
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped)
+                {
+                    case '"', '\\', '/' -> value.append(escaped);
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> value.append(readUnicodeEscape());
+                    default -> throw error("Unknown escape \\" + escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        /**
+         * Reads an array of strings, or null for a JSON null
+         */
+        List<String> readStringArray()
+        {
+            skipWhitespace();
+            if (text.startsWith("null", position))
+            {
+                position += 4;
+                return null;
+            }
+            expect('[');
+            List<String> values = new ArrayList<>();
+            if (!consume(']'))
+            {
+                do
+                {
+                    String value = readString();
+                    if (value == null)
+                    {
+                        throw error("Developer names must not be null");
+                    }
+                    values.add(value.trim());
+                }
+                while (consume(','));
+                expect(']');
+            }
+            return values;
+        }
+
+        /**
+         * Reads a number, or a string holding one
+         */
+        float readNumber()
+        {
+            skipWhitespace();
+            String value;
+            if (position < text.length() && text.charAt(position) == '"')
+            {
+                value = readString();
+            }
+            else
+            {
+                int start = position;
+                while (position < text.length() && "+-.0123456789eE".indexOf(text.charAt(position)) >= 0)
+                {
+                    position++;
+                }
+                value = text.substring(start, position);
+            }
+            return parseDuration(value);
+        }
+
+        /**
+         * Skips a value of a key that is not part of a task
+         */
+        void skipValue()
+        {
+            skipWhitespace();
+            if (position >= text.length())
+            {
+                throw error("Expected a value");
+            }
+            char c = text.charAt(position);
+            if (c == '"')
+            {
+                readString();
+            }
+            else if (c == '[' || c == '{')
+            {
+                char close = c == '[' ? ']' : '}';
+                position++;
+                if (!consume(close))
+                {
+                    do
+                    {
+                        if (close == '}')
+                        {
+                            readString();
+                            expect(':');
+                        }
+                        skipValue();
+                    }
+                    while (consume(','));
+                    expect(close);
+                }
+            }
+            else
+            {
+                // Numbers, true, false and null
+                int start = position;
+                while (position < text.length() && ",]} \t".indexOf(text.charAt(position)) < 0)
+                {
+                    position++;
+                }
+                if (start == position)
+                {
+                    throw error("Expected a value");
+                }
+            }
+        }
+
+        /**
+         * Reads the four hex digits of a \\u escape
+         */
+        private char readUnicodeEscape()
+        {
+            if (position + 4 > text.length())
+            {
+                throw error("Incomplete \\u escape");
+            }
+            try
+            {
+                char c = (char) Integer.parseInt(text.substring(position, position + 4), 16);
+                position += 4;
+                return c;
+            }
+            catch (NumberFormatException e)
+            {
+                throw error("Invalid \\u escape");
+            }
+        }
+
+        private void skipWhitespace()
+        {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position)))
+            {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message)
+        {
+            return new IllegalArgumentException(message + " at column " + (position + 1));
+        }
+    }
+}
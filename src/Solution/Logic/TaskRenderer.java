@@ -0,0 +1,129 @@
+package Solution.Logic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+/**
+ * Renders tasks in the board text format without String.format
+ * Fields are written straight into the destination, so rendering a task
+ * into a reused buffer allocates nothing
+ */
+final class TaskRenderer
+{
+    private static final String DEVELOPER_SEPARATOR = ", ";
+
+    /**
+     * Largest duration rendered by the fast path; hundredths of it still
+     * fit exactly in a double, so rounding matches String.format
+     */
+    private static final double FAST_PATH_LIMIT = 1e13;
+
+    private TaskRenderer()
+    {
+    }
+
+    /**
+     * Writes a task in the board text format
+     * @param task
+     * @param out
+     * @throws IOException if the destination fails
+     */
+    static void render(TaskManager.Task task, Appendable out)
+        throws IOException
+    {
+        out.append("Task: ").append(task.getName())
+           .append("\nDesc: ").append(task.getDescription())
+           .append("\nDevs: ");
+        appendDevelopers(task.getDeveloperIds(), task.getDictionary(), out);
+        out.append("\nDuration: ");
+        appendHours(task.getDuration(), out);
+        out.append(" hrs\nStatus: ").append(task.getStatus().getLabel())
+           .append("\nID: ").append(task.getId());
+    }
+
+    /**
+     * Writes a task into a string builder
+     * @param task
+     * @param out
+     */
+    static void render(TaskManager.Task task, StringBuilder out)
+    {
+        try
+        {
+            render(task, (Appendable) out);
+        }
+        catch (IOException e)
+        {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes developer names separated by commas, resolving ids through
+     * the dictionary instead of building a joined string
+     */
+    private static void appendDevelopers(int[] developerIds, DeveloperDictionary dictionary,
+                                         Appendable out)
+        throws IOException
+    {
+        for (int i = 0; i < developerIds.length; i++)
+        {
+            if (i > 0)
+            {
+                out.append(DEVELOPER_SEPARATOR);
+            }
+            out.append(dictionary.nameOf(developerIds[i]));
+        }
+    }
+
+    /**
+     * Writes hours with two decimals, rounding half up like "%.2f"
+     * The decimal separator is always a period, whatever the default locale
+     * @param hours
+     * @param out
+     * @throws IOException if the destination fails
+     */
+    static void appendHours(float hours, Appendable out)
+        throws IOException
+    {
+        double magnitude = Math.abs((double) hours);
+        if (!(magnitude < FAST_PATH_LIMIT))
+        {
+            // NaN, infinity and huge values keep the formatter's output
+            out.append(String.format(Locale.ROOT, "%.2f", hours));
+            return;
+        }
+
+        if (Float.floatToRawIntBits(hours) < 0)
+        {
+            out.append('-');
+        }
+
+        long hundredths = Math.round(magnitude * 100);
+        appendDigits(hundredths / 100, out);
+        long fraction = hundredths % 100;
+        out.append('.')
+           .append((char) ('0' + fraction / 10))
+           .append((char) ('0' + fraction % 10));
+    }
+
+    /**
+     * Writes the decimal digits of a non-negative number
+     */
+    private static void appendDigits(long value, Appendable out)
+        throws IOException
+    {
+        long divisor = 1;
+        while (divisor <= value / 10)
+        {
+            divisor *= 10;
+        }
+
+        for (; divisor > 0; divisor /= 10)
+        {
+            out.append((char) ('0' + (value / divisor) % 10));
+        }
+    }
+}
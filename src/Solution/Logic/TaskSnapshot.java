@@ -0,0 +1,320 @@
+package Solution.Logic;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Compact image of a board at one position of its TaskLog
+ * Holds only live tasks, in order of addition, as TaskCodec records, so
+ * developer names are written once and referred to by number afterwards.
+ * Records are encoded into and decoded from one reused buffer. Opening a
+ * log loads its newest snapshot and replays only the records after that
+ * position, so startup no longer grows with the length of the history.
+ * The file ends with a CRC32 of its contents and is replaced atomically,
+ * so a crash while writing leaves the previous snapshot in place
+ */
+final class TaskSnapshot
+{
+    private static final int MAGIC = 0x4B42534E;
+    private static final byte VERSION = 2;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final long logPosition;
+    private final long nextSequence;
+    private final List<TaskManager.Task> tasks;
+    private byte[] user;
+
+    /**
+     * Constructs a snapshot of captured tasks
+     * @param logPosition log position the tasks are current up to
+     * @param nextSequence sequence number the next added task gets
+     * @param tasks live tasks in order of addition, from any dictionary
+     */
+    TaskSnapshot(long logPosition, long nextSequence, List<TaskManager.Task> tasks)
+    {
+        this.logPosition = logPosition;
+        this.nextSequence = nextSequence;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Gets the log position the snapshot is current up to
+     * @return 
+     */
+    long getLogPosition()
+    {
+        return logPosition;
+    }
+
+    /**
+     * Gets the sequence number the next added task gets
+     * @return 
+     */
+    long getNextSequence()
+    {
+        return nextSequence;
+    }
+
+    /**
+     * Gets the live tasks in order of addition
+     * @return 
+     */
+    List<TaskManager.Task> getTasks()
+    {
+        return tasks;
+    }
+
+    /**
+     * Gets the registered user as a TaskLog USER record
+     * @return record, or null if no user was registered
+     */
+    byte[] getUser()
+    {
+        return user;
+    }
+
+    /**
+     * Sets the registered user as a TaskLog USER record
+     * @param user may be null
+     */
+    void setUser(byte[] user)
+    {
+        this.user = user;
+    }
+
+    /**
+     * Gets the file the snapshot of a log is kept in
+     * @param logFile
+     * @return 
+     */
+    static Path fileFor(Path logFile)
+    {
+        return logFile.resolveSibling(logFile.getFileName() + ".snapshot");
+    }
+
+    /**
+     * Gets the file the snapshot before the newest one is kept in, so a
+     * damaged newest snapshot still has one to fall back on
+     * @param logFile
+     * @return 
+     */
+    static Path previousFileFor(Path logFile)
+    {
+        return logFile.resolveSibling(logFile.getFileName() + ".snapshot.previous");
+    }
+
+    /**
+     * Writes the snapshot to a temporary file, forces it to disk and then
+     * moves it over the previous one
+     * @param file
+     * @throws IOException if the file cannot be written
+     */
+    void write(Path file)
+        throws IOException
+    {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            CRC32 crc = new CRC32();
+            byte[] userRecord = user == null ? new byte[0] : user;
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, 64 + userRecord.length));
+            buffer.putInt(MAGIC).put(VERSION);
+            TaskCodec.writeHeader(buffer);
+            buffer.putLong(logPosition).putLong(nextSequence);
+            TaskCodec.putVarInt(buffer, userRecord.length);
+            buffer.put(userRecord);
+            TaskCodec.putVarInt(buffer, tasks.size());
+
+            TaskCodec codec = new TaskCodec();
+            for (TaskManager.Task task : tasks)
+            {
+                if (codec.encode(task, buffer))
+                {
+                    continue;
+                }
+                writeBuffer(channel, buffer, crc);
+                if (!codec.encode(task, buffer))
+                {
+                    // A record larger than the buffer gets one of its own
+                    ByteBuffer large = ByteBuffer.allocate(codec.encodedSize(task));
+                    codec.encode(task, large);
+                    writeBuffer(channel, large, crc);
+                }
+            }
+            writeBuffer(channel, buffer, crc);
+
+            // The checksum itself is not part of what it covers
+            buffer.putInt((int) crc.getValue());
+            writeBuffer(channel, buffer, new CRC32());
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot file
+     * @param file
+     * @return snapshot, or null if the file is damaged
+     * @throws IOException if the file cannot be read
+     */
+    static TaskSnapshot read(Path file)
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            SnapshotReader reader = new SnapshotReader(channel);
+            TaskSnapshot snapshot = reader.read();
+            return snapshot != null && reader.checksumMatches() ? snapshot : null;
+        }
+        catch (IllegalArgumentException | BufferUnderflowException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Writes out what a buffer holds, adds it to the checksum and clears it
+     */
+    private static void writeBuffer(FileChannel channel, ByteBuffer buffer, CRC32 crc)
+        throws IOException
+    {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads a snapshot file through one heap buffer, refilled as records
+     * are decoded, so strings are decoded straight from it
+     */
+    private static final class SnapshotReader
+    {
+        private final FileChannel channel;
+        private final long contentEnd;
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private long filePosition;
+
+        SnapshotReader(FileChannel channel)
+            throws IOException
+        {
+            this.channel = channel;
+            this.contentEnd = channel.size() - Integer.BYTES;
+            buffer.flip();
+        }
+
+        /**
+         * Reads everything the checksum covers
+         * @return snapshot, or null if the file is not a whole snapshot
+         */
+        TaskSnapshot read()
+            throws IOException
+        {
+            fill();
+            if (buffer.remaining() < Integer.BYTES + 1 || buffer.getInt() != MAGIC
+                || buffer.get() != VERSION)
+            {
+                return null;
+            }
+            TaskCodec.readHeader(buffer);
+            long logPosition = buffer.getLong();
+            long nextSequence = buffer.getLong();
+            byte[] userRecord = new byte[TaskCodec.getVarInt(buffer)];
+            buffer.get(userRecord);
+            int count = TaskCodec.getVarInt(buffer);
+
+            TaskCodec codec = new TaskCodec();
+            List<TaskManager.Task> tasks = new ArrayList<>(Math.min(count, 1 << 20));
+            while (tasks.size() < count)
+            {
+                TaskManager.Task task = codec.decode(buffer);
+                if (task != null)
+                {
+                    tasks.add(task);
+                }
+                else if (!fill())
+                {
+                    return null;
+                }
+            }
+            if (buffer.hasRemaining() || filePosition != contentEnd)
+            {
+                return null;
+            }
+
+            TaskSnapshot snapshot = new TaskSnapshot(logPosition, nextSequence, tasks);
+            snapshot.setUser(userRecord.length == 0 ? null : userRecord);
+            return snapshot;
+        }
+
+        /**
+         * Checks the trailing checksum against everything read
+         */
+        boolean checksumMatches()
+            throws IOException
+        {
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+            while (trailer.hasRemaining()
+                   && channel.read(trailer, contentEnd + trailer.position()) > 0)
+            {
+                // Keep reading until the checksum is complete
+            }
+            return !trailer.hasRemaining() && trailer.getInt(0) == (int) crc.getValue();
+        }
+
+        /**
+         * Moves unread bytes to the front and reads more of the contents,
+         * growing the buffer when a single record does not fit
+         * @return false if nothing more could be read
+         */
+        private boolean fill()
+            throws IOException
+        {
+            if (buffer.position() == 0 && buffer.limit() == buffer.capacity())
+            {
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                larger.put(buffer);
+                buffer = larger;
+            }
+            else
+            {
+                buffer.compact();
+            }
+
+            int start = buffer.position();
+            long left = contentEnd - filePosition;
+            if (left < buffer.remaining())
+            {
+                buffer.limit(start + (int) Math.max(0, left));
+            }
+            while (buffer.hasRemaining())
+            {
+                int read = channel.read(buffer, filePosition);
+                if (read <= 0)
+                {
+                    break;
+                }
+                filePosition += read;
+            }
+            crc.update(buffer.array(), start, buffer.position() - start);
+            buffer.flip();
+            return buffer.limit() > start;
+        }
+    }
+}
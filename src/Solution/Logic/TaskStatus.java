@@ -0,0 +1,62 @@
+package Solution.Logic;
+
+/**
+ * Kanban column a task is in
+ */
+public enum TaskStatus
+{
+    TO_DO("To Do"),
+    DOING("Doing"),
+    DONE("Done");
+
+    private static final TaskStatus[] VALUES = values();
+
+    private final String label;
+
+    TaskStatus(String label)
+    {
+        this.label = label;
+    }
+
+    /**
+     * Gets the label shown to users
+     * @return 
+     */
+    public String getLabel()
+    {
+        return label;
+    }
+
+    /**
+     * Finds the status with the given label
+     * @param label
+     * @return 
+     * @throws IllegalArgumentException if no status has the label
+     */
+    public static TaskStatus fromLabel(String label)
+        throws IllegalArgumentException
+    {
+        for (TaskStatus status : VALUES)
+        {
+            if (status.label.equals(label))
+            {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status: " + label);
+    }
+
+    /**
+     * Gets the status with the given ordinal
+     */
+    static TaskStatus fromOrdinal(int ordinal)
+    {
+        return VALUES[ordinal];
+    }
+
+    @Override
+    public String toString()
+    {
+        return label;
+    }
+}
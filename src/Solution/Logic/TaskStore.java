@@ -0,0 +1,147 @@
+package Solution.Logic;
+
+/**
+ * Storage engine behind TaskManager
+ * Tasks are addressed by row, the position at which they were added
+ */
+interface TaskStore
+{
+    /**
+     * Appends a task
+     * @param task
+     * @return row of the new task
+     */
+    int add(TaskManager.Task task);
+
+    /**
+     * Creates an empty store of the same kind sharing this store's
+     * developer dictionary, so developer ids stay valid between the two
+     * @return 
+     */
+    TaskStore newEmpty();
+
+    /**
+     * Puts this store, made by newEmpty of the original, in the original's
+     * place when a compacted copy is swapped in
+     * @param original
+     */
+    void replace(TaskStore original);
+
+    /**
+     * Makes room for at least the given number of rows in one step
+     * @param rows
+     */
+    void ensureCapacity(int rows);
+
+    /**
+     * Drops every row at or after the given row
+     * Used to undo a partially stored batch
+     * @param rows number of rows to keep
+     */
+    void truncate(int rows);
+
+    /**
+     * Changes the status of the task at a row
+     * @param row
+     * @param status
+     */
+    void setStatus(int row, TaskStatus status);
+
+    /**
+     * Changes the duration of the task at a row
+     * @param row
+     * @param duration
+     */
+    void setDuration(int row, float duration);
+
+    /**
+     * Changes the developers of the task at a row; the task keeps its ID
+     * @param row
+     * @param developerIds ids in this store's dictionary
+     */
+    void setDevelopers(int row, int[] developerIds);
+
+    /**
+     * Records that the task at a row was deleted
+     * TaskManager keeps its own tombstones; only stores that outlive the
+     * manager, such as a mapped file, need to remember them
+     * @param row
+     */
+    void markDeleted(int row);
+
+    /**
+     * Checks whether the task at a row was recorded as deleted
+     * @param row
+     * @return false for stores that do not remember deletions
+     */
+    boolean isMarkedDeleted(int row);
+
+    /**
+     * Gets the task stored at a row
+     * @param row
+     * @return 
+     */
+    TaskManager.Task get(int row);
+
+    /**
+     * Gets the name of the task at a row without materializing it
+     * @param row
+     * @return 
+     */
+    String getName(int row);
+
+    /**
+     * Gets the description of the task at a row without materializing it
+     * @param row
+     * @return 
+     */
+    String getDescription(int row);
+
+    /**
+     * Gets the developer ids of the task at a row without materializing it
+     * @param row
+     * @return ids in this store's dictionary; callers must not change them
+     */
+    int[] getDeveloperIds(int row);
+
+    /**
+     * Gets the id of the developer the ID of the task at a row was built
+     * from, without materializing it
+     * @param row
+     * @return id in this store's dictionary, or DeveloperDictionary.UNKNOWN
+     */
+    int getIdDeveloper(int row);
+
+    /**
+     * Gets the duration of the task at a row without materializing it
+     * @param row
+     * @return 
+     */
+    float getDuration(int row);
+
+    /**
+     * Gets the status of the task at a row without materializing it
+     * @param row
+     * @return 
+     */
+    TaskStatus getStatus(int row);
+
+    /**
+     * Gets the sequence number of the task at a row without materializing it
+     * @param row
+     * @return 
+     */
+    long getSequence(int row);
+
+    /**
+     * Gets the number of stored tasks
+     * @return 
+     */
+    int size();
+
+    /**
+     * Gets the dictionary that developer ids of stored tasks refer to
+     * @return 
+     */
+    DeveloperDictionary getDeveloperDictionary();
+}
@@ -0,0 +1,58 @@
+package Solution.Logic;
+
+import java.util.List;
+
+/**
+ * Read-only view of one stored task, handed to the filters of
+ * TaskManager.findTasks
+ * A view is reused for the following rows of a scan, so it is only valid
+ * during the call it is passed to and must not be kept. Duration and
+ * status are read straight from storage; the other fields may build the
+ * task first
+ */
+public interface TaskView
+{
+    /**
+     * Gets the task ID
+     * @return 
+     */
+    String getId();
+
+    /**
+     * Gets the task name
+     * @return 
+     */
+    String getName();
+
+    /**
+     * Gets the task description
+     * @return 
+     */
+    String getDescription();
+
+    /**
+     * Gets the developers of the task
+     * @return 
+     */
+    List<String> getDevelopers();
+
+    /**
+     * Checks whether a developer is on the task without building the
+     * developer list
+     * @param developer
+     * @return 
+     */
+    boolean hasDeveloper(String developer);
+
+    /**
+     * Gets the task duration in hours
+     * @return 
+     */
+    float getDuration();
+
+    /**
+     * Gets the status column of the task
+     * @return 
+     */
+    TaskStatus getStatus();
+}
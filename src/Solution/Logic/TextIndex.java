@@ -0,0 +1,288 @@
+package Solution.Logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index from the words of task names and descriptions to rows
+ * Words are runs of letters and digits, compared without case. Each word
+ * has a posting list of rows in ascending order, so rows must be indexed
+ * in order of addition. Words are also kept sorted, merged in lazily when
+ * a prefix query needs them, so a prefix finds its words by binary search.
+ * Like the developer index, posting lists keep rows of deleted tasks;
+ * callers skip them
+ */
+final class TextIndex
+{
+    // Non-driving prefix terms matching more words than this are merged
+    // into one sorted list rather than searched word by word
+    private static final int PREFIX_PROBE_LIMIT = 8;
+
+    private final Map<String, IntList> postings = new HashMap<>();
+    private String[] sortedWords = new String[0];
+    private final List<String> unsortedWords = new ArrayList<>();
+
+    /**
+     * Splits text into lower-case words
+     * @param text
+     * @return words in order, repeats included
+     */
+    static List<String> tokenize(String text)
+    {
+        List<String> words = new ArrayList<>();
+        if (text == null)
+        {
+            return words;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++)
+        {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0)
+            {
+                start = i;
+            }
+            else if (!wordChar && start >= 0)
+            {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Adds a row under every word of its name and description
+     * @param row row greater than every row indexed before
+     * @param name
+     * @param description
+     */
+    void add(int row, String name, String description)
+    {
+        addWords(row, tokenize(name));
+        addWords(row, tokenize(description));
+    }
+
+    private void addWords(int row, List<String> words)
+    {
+        for (String word : words)
+        {
+            IntList rows = postings.get(word);
+            if (rows == null)
+            {
+                // Most words belong to one task; grow only when shared
+                rows = new IntList(1);
+                postings.put(word, rows);
+                unsortedWords.add(word);
+            }
+            if (rows.isEmpty() || rows.last() != row)
+            {
+                rows.add(row);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of distinct words indexed
+     * @return 
+     */
+    int size()
+    {
+        return postings.size();
+    }
+
+    /**
+     * Finds the rows whose name or description contains every term
+     * A term ending in '*' matches any word it starts; other terms match
+     * whole words. The rarest term is walked and the others are checked
+     * against each of its rows by binary search, so the cost follows the
+     * rows of the rarest term rather than the size of the board
+     * @param query terms separated by spaces or punctuation, e.g. "log* page"
+     * @return matching rows in ascending order, deleted ones included
+     * @throws IllegalArgumentException if the query has no words
+     */
+    IntList search(String query)
+        throws IllegalArgumentException
+    {
+        List<IntList[]> terms = new ArrayList<>();
+        for (String piece : query == null ? new String[0] : query.trim().split("\\s+"))
+        {
+            boolean prefix = piece.endsWith("*");
+            List<String> words = tokenize(piece);
+            for (int i = 0; i < words.size(); i++)
+            {
+                IntList[] lists = prefix && i == words.size() - 1
+                    ? postingsWithPrefix(words.get(i))
+                    : postingsOf(words.get(i));
+                if (lists.length == 0)
+                {
+                    return new IntList(0);
+                }
+                terms.add(lists);
+            }
+        }
+        if (terms.isEmpty())
+        {
+            throw new IllegalArgumentException("Search needs at least one word");
+        }
+
+        int driving = 0;
+        for (int t = 1; t < terms.size(); t++)
+        {
+            if (totalSize(terms.get(t)) < totalSize(terms.get(driving)))
+            {
+                driving = t;
+            }
+        }
+
+        IntList[][] checks = new IntList[terms.size() - 1][];
+        for (int t = 0, c = 0; t < terms.size(); t++)
+        {
+            if (t != driving)
+            {
+                IntList[] lists = terms.get(t);
+                checks[c++] = lists.length > PREFIX_PROBE_LIMIT ? new IntList[] {union(lists)} : lists;
+            }
+        }
+
+        IntList candidates = union(terms.get(driving));
+        IntList matches = new IntList(Math.min(candidates.size(), 16));
+        for (int i = 0; i < candidates.size(); i++)
+        {
+            int row = candidates.get(i);
+            boolean all = true;
+            for (int c = 0; c < checks.length && all; c++)
+            {
+                all = containsAny(checks[c], row);
+            }
+            if (all)
+            {
+                matches.add(row);
+            }
+        }
+        return matches;
+    }
+
+    private IntList[] postingsOf(String word)
+    {
+        IntList rows = postings.get(word);
+        return rows == null ? new IntList[0] : new IntList[] {rows};
+    }
+
+    /**
+     * Gets the posting lists of every word starting with a prefix
+     */
+    private IntList[] postingsWithPrefix(String prefix)
+    {
+        String[] words = sortedWords();
+        int from = Arrays.binarySearch(words, prefix);
+        from = from >= 0 ? from : -from - 1;
+        int to = from;
+        while (to < words.length && words[to].startsWith(prefix))
+        {
+            to++;
+        }
+
+        IntList[] lists = new IntList[to - from];
+        for (int i = from; i < to; i++)
+        {
+            lists[i - from] = postings.get(words[i]);
+        }
+        return lists;
+    }
+
+    /**
+     * Gets every word in order, first merging in the words added since the
+     * last prefix query
+     * Synchronized because concurrent readers of one board may both run
+     * prefix queries; adds happen under the board's write lock
+     */
+    private synchronized String[] sortedWords()
+    {
+        if (unsortedWords.isEmpty())
+        {
+            return sortedWords;
+        }
+
+        String[] added = unsortedWords.toArray(new String[0]);
+        Arrays.sort(added);
+        String[] merged = new String[sortedWords.length + added.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < sortedWords.length && j < added.length)
+        {
+            merged[k++] = sortedWords[i].compareTo(added[j]) <= 0 ? sortedWords[i++] : added[j++];
+        }
+        while (i < sortedWords.length)
+        {
+            merged[k++] = sortedWords[i++];
+        }
+        while (j < added.length)
+        {
+            merged[k++] = added[j++];
+        }
+        sortedWords = merged;
+        unsortedWords.clear();
+        return merged;
+    }
+
+    private static long totalSize(IntList[] lists)
+    {
+        long total = 0;
+        for (IntList list : lists)
+        {
+            total += list.size();
+        }
+        return total;
+    }
+
+    /**
+     * Merges sorted posting lists into one without repeats
+     */
+    private static IntList union(IntList[] lists)
+    {
+        if (lists.length == 1)
+        {
+            return lists[0];
+        }
+
+        int[] rows = new int[(int) totalSize(lists)];
+        int size = 0;
+        for (IntList list : lists)
+        {
+            for (int i = 0; i < list.size(); i++)
+            {
+                rows[size++] = list.get(i);
+            }
+        }
+        Arrays.sort(rows);
+
+        IntList merged = new IntList(rows.length);
+        for (int row : rows)
+        {
+            if (merged.isEmpty() || merged.last() != row)
+            {
+                merged.add(row);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean containsAny(IntList[] lists, int row)
+    {
+        for (IntList list : lists)
+        {
+            if (list.binarySearch(row) >= 0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,232 @@
+package Solution.Logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Trigram index over the names of a developer dictionary for fuzzy lookup
+ * Each word of a name is lower-cased and padded with two spaces in front
+ * and one behind, then cut into overlapping three-character trigrams, so
+ * "John Doe" gives "  j", " jo", "joh", "ohn", "hn ", "  d", " do", "doe"
+ * and "oe ". A query is cut the same way and each name is scored by the
+ * share of the query's trigrams it holds, so typos and partial names still
+ * score well. Only names sharing a trigram with the query are looked at.
+ * The dictionary only grows, so new names are indexed on the next lookup
+ */
+final class TrigramIndex
+{
+    /**
+     * Lowest score a name needs to be returned by default
+     */
+    static final double DEFAULT_MIN_SCORE = 0.3;
+
+    private final DeveloperDictionary dictionary;
+    private final LongIntHashMap slotsByTrigram = new LongIntHashMap();
+    private final List<IntList> idsBySlot = new ArrayList<>();
+    private final IntList trigramCounts = new IntList();
+
+    /**
+     * Constructs an index over a dictionary
+     * @param dictionary
+     */
+    TrigramIndex(DeveloperDictionary dictionary)
+    {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Cuts text into its distinct trigrams
+     * @param text
+     * @return trigrams packed as three 16-bit chars, in order of first use
+     */
+    static long[] trigramsOf(String text)
+    {
+        LongIntHashMap seen = new LongIntHashMap();
+        List<String> words = TextIndex.tokenize(text);
+        long[] trigrams = new long[0];
+        int count = 0;
+        for (String word : words)
+        {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++)
+            {
+                long trigram = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16
+                    | padded.charAt(i + 2);
+                if (seen.get(trigram) == LongIntHashMap.MISSING)
+                {
+                    seen.put(trigram, count);
+                    if (count == trigrams.length)
+                    {
+                        trigrams = Arrays.copyOf(trigrams, count * 2 + 8);
+                    }
+                    trigrams[count++] = trigram;
+                }
+            }
+        }
+        return Arrays.copyOf(trigrams, count);
+    }
+
+    /**
+     * Finds the names most like a query, best first
+     * Names are ranked by the share of the query's trigrams they hold, then
+     * by how few trigrams they have beyond the query's, then by name
+     * @param query full or partial name, possibly misspelt
+     * @param limit maximum number of names
+     * @param minScore lowest share of the query's trigrams a name must hold
+     * @param accept tells which ids may be returned, e.g. those with tasks
+     * @return ranked matches; empty if the query has no letters or digits
+     */
+    synchronized List<Match> find(String query, int limit, double minScore, IntPredicate accept)
+    {
+        catchUp();
+        long[] queryTrigrams = trigramsOf(query);
+        List<Match> matches = new ArrayList<>();
+        if (queryTrigrams.length == 0)
+        {
+            return matches;
+        }
+
+        int[] shared = new int[trigramCounts.size()];
+        IntList touched = new IntList();
+        for (long trigram : queryTrigrams)
+        {
+            int slot = slotsByTrigram.get(trigram);
+            if (slot == LongIntHashMap.MISSING)
+            {
+                continue;
+            }
+            IntList ids = idsBySlot.get(slot);
+            for (int i = 0; i < ids.size(); i++)
+            {
+                int id = ids.get(i);
+                if (shared[id]++ == 0)
+                {
+                    touched.add(id);
+                }
+            }
+        }
+
+        // Keep only the best matches seen so far, worst on top, so names
+        // that cannot make the cut are neither checked nor built
+        PriorityQueue<Match> best = new PriorityQueue<>(Math.min(limit, 64) + 1, Match.BEST_FIRST.reversed());
+        for (int i = 0; i < touched.size(); i++)
+        {
+            int id = touched.get(i);
+            double score = (double) shared[id] / queryTrigrams.length;
+            if (score < minScore)
+            {
+                continue;
+            }
+
+            double similarity = (double) shared[id]
+                / (queryTrigrams.length + trigramCounts.get(id) - shared[id]);
+            Match worst = best.peek();
+            if (best.size() == limit && (score < worst.getScore()
+                || score == worst.getScore() && similarity < worst.getSimilarity()))
+            {
+                continue;
+            }
+
+            Match match = new Match(id, dictionary.nameOf(id), score, similarity);
+            if (best.size() == limit && Match.BEST_FIRST.compare(match, worst) >= 0 || !accept.test(id))
+            {
+                continue;
+            }
+            best.add(match);
+            if (best.size() > limit)
+            {
+                best.poll();
+            }
+        }
+
+        matches.addAll(best);
+        matches.sort(Match.BEST_FIRST);
+        return matches;
+    }
+
+    /**
+     * Indexes the names added to the dictionary since the last lookup
+     */
+    private void catchUp()
+    {
+        for (int id = trigramCounts.size(); id < dictionary.size(); id++)
+        {
+            long[] trigrams = trigramsOf(dictionary.nameOf(id));
+            for (long trigram : trigrams)
+            {
+                int slot = slotsByTrigram.get(trigram);
+                if (slot == LongIntHashMap.MISSING)
+                {
+                    slot = idsBySlot.size();
+                    slotsByTrigram.put(trigram, slot);
+                    idsBySlot.add(new IntList(1));
+                }
+                idsBySlot.get(slot).add(id);
+            }
+            trigramCounts.add(trigrams.length);
+        }
+    }
+
+    /**
+     * Developer name found by a fuzzy lookup, with its scores
+     */
+    static final class Match
+    {
+        /**
+         * Orders matches best first
+         */
+        static final Comparator<Match> BEST_FIRST = Comparator.comparingDouble(Match::getScore).reversed()
+            .thenComparing(Comparator.comparingDouble(Match::getSimilarity).reversed())
+            .thenComparing(Match::getName);
+
+        private final int id;
+        private final String name;
+        private final double score;
+        private final double similarity;
+
+        Match(int id, String name, double score, double similarity)
+        {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+            this.similarity = similarity;
+        }
+
+        /**
+         * Gets the dictionary id of the name
+         */
+        int getId()
+        {
+            return id;
+        }
+
+        /**
+         * Gets the developer name
+         */
+        String getName()
+        {
+            return name;
+        }
+
+        /**
+         * Gets the share of the query's trigrams the name holds, from 0 to 1
+         */
+        double getScore()
+        {
+            return score;
+        }
+
+        /**
+         * Gets the shared trigrams over all trigrams of the query and name,
+         * from 0 to 1
+         */
+        double getSimilarity()
+        {
+            return similarity;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package Solution.UI;
 
 import Solution.Logic.AuthManager;
-import Solution.Logic.TaskManager;
+import Solution.Logic.ConcurrentTaskManager;
+import Solution.Logic.TaskLog;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Main application window with consistent sizing
@@ -12,7 +19,8 @@ import java.awt.*;
 public final class AuthFrame extends JFrame
 {
     private final AuthManager authManager;
-    private final TaskManager taskManager;
+    private final ConcurrentTaskManager taskManager;
+    private final TaskLog taskLog;
     
     /**
      * Constructs the main application window
@@ -20,11 +28,33 @@ public final class AuthFrame extends JFrame
     public AuthFrame()
     {
         this.authManager = new AuthManager();
-        this.taskManager = new TaskManager();
+        this.taskManager = new ConcurrentTaskManager();
+        this.taskLog = openTaskLog();
         initializeWindow();
         showLoginPanel();
     }
     
+    /**
+     * Restores the board and account from the task log in the user's home
+     * directory and keeps logging changes to it
+     * @return the open log, or null if it cannot be used
+     */
+    private TaskLog openTaskLog()
+    {
+        Path file = Paths.get(System.getProperty("user.home"), ".kanban-java", "kanban.log");
+        try
+        {
+            Files.createDirectories(file.getParent());
+            return TaskLog.open(file, taskManager, authManager);
+        }
+        catch (IOException e)
+        {
+            // Fall back to a board that lives only as long as the window
+            System.err.println("Unable to open task log: " + e.getMessage());
+            return null;
+        }
+    }
+    
     /**
      * Initializes window properties with optimal sizing
      */
@@ -37,6 +67,14 @@ public final class AuthFrame extends JFrame
         setMinimumSize(new Dimension(800, 533));
         
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter()
+        {
+            @Override
+            public void windowClosing(WindowEvent e)
+            {
+                closeTaskLog();
+            }
+        });
         setLocationRelativeTo(null);
         
         // Use light gray background for Apple-like appearance
@@ -104,4 +142,33 @@ public final class AuthFrame extends JFrame
         revalidate();
         repaint();
     }
+    
+    /**
+     * Writes a snapshot, so the next start replays nothing, and any pending
+     * log records before the application exits
+     */
+    private void closeTaskLog()
+    {
+        if (taskLog == null)
+        {
+            return;
+        }
+        try
+        {
+            taskLog.checkpoint();
+        }
+        catch (IOException e)
+        {
+            // The log alone still restores everything, just more slowly
+            System.err.println("Unable to write task snapshot: " + e.getMessage());
+        }
+        try
+        {
+            taskLog.close();
+        }
+        catch (IOException e)
+        {
+            System.err.println("Unable to close task log: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -1,13 +1,24 @@
 package Solution.UI;
 
 import Solution.Logic.AuthManager;
-import Solution.Logic.TaskManager;
+import Solution.Logic.ConcurrentTaskManager;
+import Solution.Logic.ImportReport;
+import Solution.Logic.TaskExporter;
+import Solution.Logic.TaskEvent;
+import Solution.Logic.TaskImporter;
+import Solution.Logic.TaskListener;
+import Solution.Logic.TaskStatus;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.border.LineBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 /**
  * Task management interface optimized for 900x600 window
@@ -15,12 +26,19 @@ import javax.swing.border.LineBorder;
  */
 public class TaskPanel extends JPanel
 {
+    private static final int TASK_PAGE_SIZE = 500;
+
     private final AuthFrame parentFrame;
-    private final TaskManager taskManager;
+    private final ConcurrentTaskManager taskManager;
     private final AuthManager authManager;
     private JTextArea taskDisplayArea;
+    // Set while a refresh is queued on the event thread, so a burst of
+    // batches repaints the board once
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private boolean importing;
+    private final TaskListener boardListener = this::tasksChanged;
 
-    public TaskPanel(AuthFrame frame, TaskManager taskManager, AuthManager authManager)
+    public TaskPanel(AuthFrame frame, ConcurrentTaskManager taskManager, AuthManager authManager)
     {
         this.parentFrame = frame;
         this.taskManager = taskManager;
@@ -32,6 +50,53 @@ public class TaskPanel extends JPanel
         initializeComponents();
     }
 
+    /**
+     * Subscribes to board changes while the panel is on screen
+     */
+    @Override
+    public void addNotify()
+    {
+        super.addNotify();
+        taskManager.addTaskListener(boardListener);
+    }
+
+    /**
+     * Unsubscribes when the panel is taken off screen, e.g. on sign out
+     */
+    @Override
+    public void removeNotify()
+    {
+        taskManager.removeTaskListener(boardListener);
+        super.removeNotify();
+    }
+
+    /**
+     * Queues one board refresh when tasks were added
+     * Called on the thread that changed the board; moves and deletes keep
+     * the view their dialogs show
+     */
+    private void tasksChanged(List<TaskEvent> events)
+    {
+        boolean added = false;
+        for (TaskEvent event : events)
+        {
+            added |= event.getType() == TaskEvent.Type.ADDED;
+        }
+        if (added && refreshQueued.compareAndSet(false, true))
+        {
+            SwingUtilities.invokeLater(() ->
+            {
+                refreshQueued.set(false);
+                // The board is not read while an import is adding to it;
+                // the import shows it once done
+                if (!importing)
+                {
+                    showAllTasks();
+                }
+            });
+        }
+    }
+
     /**
      * Initializes all components for 900x600 layout
      */
@@ -155,11 +220,31 @@ public class TaskPanel extends JPanel
         JButton searchButton = createTertiaryButton("Search by Developer");
         searchButton.addActionListener(e -> showSearchDialog());
 
+        JButton textSearchButton = createTertiaryButton("Search Text");
+        textSearchButton.addActionListener(e -> showTextSearchDialog());
+
         JButton longestButton = createTertiaryButton("Longest Task");
         longestButton.addActionListener(e -> showLongestTask());
 
+        JButton moveButton = createTertiaryButton("Move Task");
+        moveButton.addActionListener(e -> showMoveDialog());
+
+        JButton deleteButton = createTertiaryButton("Delete Task");
+        deleteButton.addActionListener(e -> showDeleteDialog());
+
+        JButton importButton = createTertiaryButton("Import Tasks");
+        importButton.addActionListener(e -> showImportDialog());
+
+        JButton exportButton = createTertiaryButton("Export Tasks");
+        exportButton.addActionListener(e -> showExportDialog());
+
         secondaryPanel.add(searchButton);
+        secondaryPanel.add(textSearchButton);
         secondaryPanel.add(longestButton);
+        secondaryPanel.add(moveButton);
+        secondaryPanel.add(deleteButton);
+        secondaryPanel.add(importButton);
+        secondaryPanel.add(exportButton);
 
         footer.add(primaryPanel);
         footer.add(divider);
@@ -292,7 +377,7 @@ public class TaskPanel extends JPanel
         }
 
         // Status
-        String status = askStatus();
+        TaskStatus status = askStatus();
         if (status == null)
         {
             return;
@@ -302,7 +387,6 @@ public class TaskPanel extends JPanel
         {
             taskManager.addTask(taskName, description, developers, duration, status);
             showMessage("Task added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            showAllTasks();
         }
         catch (IllegalArgumentException ex)
         {
@@ -422,10 +506,10 @@ public class TaskPanel extends JPanel
     /**
      * Asks for task status
      */
-    private String askStatus()
+    private TaskStatus askStatus()
     {
-        String[] options = {"To Do", "Doing", "Done"};
-        return (String) JOptionPane.showInputDialog(
+        TaskStatus[] options = TaskStatus.values();
+        return (TaskStatus) JOptionPane.showInputDialog(
             this,
             "Select task status:",
             "Task Status",
@@ -441,14 +525,28 @@ public class TaskPanel extends JPanel
      */
     private void showAllTasks()
     {
-        String content = taskManager.getAllTasks();
-        if (content.trim().isEmpty() || content.equals("No tasks available"))
+        taskDisplayArea.setText("");
+
+        // Copy the board page by page so it never exists as one big string
+        StringBuilder page = new StringBuilder();
+        long offset = 0;
+        try
         {
-            taskDisplayArea.setText("No tasks available. Add your first task to get started.");
+            while (offset >= 0)
+            {
+                page.setLength(0);
+                offset = taskManager.writeTasks(page, offset, TASK_PAGE_SIZE);
+                taskDisplayArea.append(page.toString());
+            }
         }
-        else
+        catch (IOException e)
         {
-            taskDisplayArea.setText(content);
+            showMessage(e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+
+        if (taskDisplayArea.getDocument().getLength() == 0)
+        {
+            taskDisplayArea.setText("No tasks available. Add your first task to get started.");
         }
     }
 
@@ -473,8 +571,74 @@ public class TaskPanel extends JPanel
             }
             catch (IllegalArgumentException e)
             {
-                showMessage("No tasks found for developer: " + developer,
-                           "Search Results", JOptionPane.INFORMATION_MESSAGE);
+                showClosestDeveloper(developer.trim());
+            }
+        }
+    }
+
+    /**
+     * Offers the developers closest to a name that has no tasks, and shows
+     * the tasks of the one picked
+     */
+    private void showClosestDeveloper(String developer)
+    {
+        List<String> candidates = taskManager.findDevelopers(developer, 8);
+        if (candidates.isEmpty())
+        {
+            showMessage("No tasks found for developer: " + developer,
+                       "Search Results", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        Object choice = JOptionPane.showInputDialog(
+            this,
+            "No developer named \"" + developer + "\". Did you mean:",
+            "Search Tasks",
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            candidates.toArray(),
+            candidates.get(0)
+        );
+        if (choice != null)
+        {
+            taskDisplayArea.setText(taskManager.getTasksByDeveloper(choice.toString()));
+        }
+    }
+
+    /**
+     * Shows the tasks whose name or description contains every word entered
+     */
+    private void showTextSearchDialog()
+    {
+        String query = JOptionPane.showInputDialog(
+            this,
+            "Enter words to find (end a word with * to match its start):",
+            "Search Text",
+            JOptionPane.QUESTION_MESSAGE
+        );
+
+        if (query != null && !query.trim().isEmpty())
+        {
+            try
+            {
+                List<String> ids = taskManager.searchTasks(query);
+                if (ids.isEmpty())
+                {
+                    showMessage("No tasks found for: " + query,
+                               "Search Results", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+
+                StringBuilder content = new StringBuilder();
+                for (String id : ids)
+                {
+                    content.append(taskManager.getTaskById(id)).append("\n\n");
+                }
+                taskDisplayArea.setText(content.toString());
+            }
+            catch (IllegalArgumentException e)
+            {
+                showMessage(e.getMessage(), "Search Results", JOptionPane.INFORMATION_MESSAGE);
             }
         }
     }
@@ -496,6 +660,206 @@ public class TaskPanel extends JPanel
         }
     }
 
+    /**
+     * Shows move dialog
+     */
+    private void showMoveDialog()
+    {
+        String id = JOptionPane.showInputDialog(
+            this,
+            "Enter task ID:",
+            "Move Task",
+            JOptionPane.QUESTION_MESSAGE
+        );
+
+        if (id == null || id.trim().isEmpty())
+        {
+            return;
+        }
+
+        TaskStatus status = askStatus();
+        if (status == null)
+        {
+            return;
+        }
+
+        try
+        {
+            taskManager.moveTask(id.trim(), status);
+            taskDisplayArea.setText(taskManager.getTaskById(id.trim()));
+        }
+        catch (IllegalArgumentException e)
+        {
+            showMessage("No task found with ID: " + id,
+                       "Move Task", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    /**
+     * Shows delete dialog
+     */
+    private void showDeleteDialog()
+    {
+        String id = JOptionPane.showInputDialog(
+            this,
+            "Enter task ID:",
+            "Delete Task",
+            JOptionPane.QUESTION_MESSAGE
+        );
+
+        if (id == null || id.trim().isEmpty())
+        {
+            return;
+        }
+
+        int choice = JOptionPane.showConfirmDialog(
+            this,
+            "Delete task " + id.trim() + "?",
+            "Delete Task",
+            JOptionPane.YES_NO_OPTION
+        );
+        if (choice != JOptionPane.YES_OPTION)
+        {
+            return;
+        }
+
+        try
+        {
+            taskManager.deleteTask(id.trim());
+            showMessage("Task deleted.", "Delete Task", JOptionPane.INFORMATION_MESSAGE);
+        }
+        catch (IllegalArgumentException e)
+        {
+            showMessage("No task found with ID: " + id,
+                       "Delete Task", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    /**
+     * Imports tasks from a CSV or JSON file
+     * The import runs in the background behind a modal dialog, so the
+     * board is not used while tasks are being added
+     */
+    private void showImportDialog()
+    {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Tasks");
+        chooser.setFileFilter(new FileNameExtensionFilter(
+            "Task files (CSV, JSON)", "csv", "json", "jsonl", "ndjson"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION)
+        {
+            return;
+        }
+
+        Path file = chooser.getSelectedFile().toPath();
+        JDialog progress = new JOptionPane("Importing " + file.getFileName() + "...",
+                                           JOptionPane.INFORMATION_MESSAGE,
+                                           JOptionPane.DEFAULT_OPTION, null, new Object[0])
+            .createDialog(this, "Import Tasks");
+        progress.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+
+        importing = true;
+        SwingWorker<ImportReport, Void> worker = new SwingWorker<ImportReport, Void>()
+        {
+            @Override
+            protected ImportReport doInBackground() throws IOException
+            {
+                return new TaskImporter().importFile(file, TaskImporter.Format.of(file), taskManager);
+            }
+
+            @Override
+            protected void done()
+            {
+                progress.dispose();
+                importing = false;
+                try
+                {
+                    showImportReport(get());
+                }
+                catch (InterruptedException | ExecutionException e)
+                {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showMessage("Import failed: " + cause.getMessage(),
+                               "Import Tasks", JOptionPane.ERROR_MESSAGE);
+                }
+                showAllTasks();
+            }
+        };
+        worker.execute();
+        progress.setVisible(true);
+    }
+
+    /**
+     * Shows the outcome of an import with its first rejected lines
+     */
+    private void showImportReport(ImportReport report)
+    {
+        StringBuilder message = new StringBuilder(report.toString());
+        int shown = Math.min(10, report.getErrors().size());
+        for (int i = 0; i < shown; i++)
+        {
+            message.append('\n').append(report.getErrors().get(i));
+        }
+        if (report.getRejected() > shown)
+        {
+            message.append("\n...");
+        }
+        showMessage(message.toString(), "Import Tasks",
+                   report.getRejected() == 0 ? JOptionPane.INFORMATION_MESSAGE
+                                             : JOptionPane.WARNING_MESSAGE);
+    }
+
+    /**
+     * Exports every task to a CSV or JSON file, chosen by its extension
+     * The export runs in the background behind a modal dialog
+     */
+    private void showExportDialog()
+    {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Tasks");
+        chooser.setFileFilter(new FileNameExtensionFilter(
+            "Task files (CSV, JSON)", "csv", "json", "jsonl", "ndjson"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+        {
+            return;
+        }
+
+        Path file = chooser.getSelectedFile().toPath();
+        JDialog progress = new JOptionPane("Exporting to " + file.getFileName() + "...",
+                                           JOptionPane.INFORMATION_MESSAGE,
+                                           JOptionPane.DEFAULT_OPTION, null, new Object[0])
+            .createDialog(this, "Export Tasks");
+        progress.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+
+        SwingWorker<Long, Void> worker = new SwingWorker<Long, Void>()
+        {
+            @Override
+            protected Long doInBackground() throws IOException
+            {
+                return new TaskExporter().exportFile(taskManager, file, TaskImporter.Format.of(file));
+            }
+
+            @Override
+            protected void done()
+            {
+                progress.dispose();
+                try
+                {
+                    showMessage(String.format("Exported %,d tasks to %s", get(), file.getFileName()),
+                               "Export Tasks", JOptionPane.INFORMATION_MESSAGE);
+                }
+                catch (InterruptedException | ExecutionException e)
+                {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showMessage("Export failed: " + cause.getMessage(),
+                               "Export Tasks", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+        progress.setVisible(true);
+    }
+
     /**
      * Shows a message dialog
      */
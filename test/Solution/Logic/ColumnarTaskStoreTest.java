@@ -0,0 +1,203 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+
+/**
+ * Unit tests for ColumnarTaskStore class
+ * Tests that tasks read back from the columns match what was stored
+ */
+public class ColumnarTaskStoreTest
+{
+    private ColumnarTaskStore store;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        store = new ColumnarTaskStore();
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        store = null;
+    }
+
+    /**
+     * Tests that a stored task reads back unchanged
+     */
+    @Test
+    public void testAddAndGet()
+    {
+        // Arrange
+        TaskManager.Task task = new TaskManager.Task(
+            "Login Feature", "Implement login",
+            Arrays.asList("John Doe", "Jane Smith"), store.getDeveloperDictionary(),
+            8.5f, TaskStatus.DOING, 0);
+
+        // Act
+        int row = store.add(task);
+        TaskManager.Task result = store.get(row);
+
+        // Assert
+        assertEquals("First task should be row 0", 0, row);
+        assertEquals("Rendered task should match", task.toString(), result.toString());
+        assertEquals("Duration column should match", 8.5f, store.getDuration(row), 0.0f);
+        assertEquals("Status column should match", TaskStatus.DOING, store.getStatus(row));
+        assertEquals("Name should be read from the text", "Login Feature", store.getName(row));
+        assertEquals("Description should be read from the text", "Implement login",
+                    store.getDescription(row));
+        assertEquals("ID developer should be read from its column",
+                    store.getDeveloperDictionary().idOf("John Doe"), store.getIdDeveloper(row));
+    }
+
+    /**
+     * Tests that rows stay intact while the columns grow
+     */
+    @Test
+    public void testManyRowsSurviveGrowth()
+    {
+        // Arrange & Act
+        for (int i = 0; i < 5_000; i++)
+        {
+            store.add(new TaskManager.Task("Task " + i, "Description " + i,
+                Arrays.asList("Dev" + (i % 7), "Dev" + (i % 11)), store.getDeveloperDictionary(),
+                i, TaskStatus.TO_DO, i));
+        }
+
+        // Assert
+        assertEquals("Should hold every row", 5_000, store.size());
+        for (int i = 0; i < 5_000; i += 499)
+        {
+            TaskManager.Task task = store.get(i);
+            assertEquals("Name should match", "Task " + i, task.getName());
+            assertEquals("Description should match", "Description " + i, task.getDescription());
+            assertEquals("Developers should match",
+                        Arrays.asList("Dev" + (i % 7), "Dev" + (i % 11)), task.getDevelopers());
+            assertEquals("Sequence should match", i, task.getSequence());
+        }
+    }
+
+    /**
+     * Tests that empty names and descriptions are kept apart
+     */
+    @Test
+    public void testEmptyText()
+    {
+        // Arrange
+        DeveloperDictionary dictionary = store.getDeveloperDictionary();
+        store.add(new TaskManager.Task("", "", Arrays.asList("Dev1"), dictionary,
+                                       1.0f, TaskStatus.DONE, 0));
+        store.add(new TaskManager.Task("Second", "", Arrays.asList("Dev2"), dictionary,
+                                       2.0f, TaskStatus.DONE, 1));
+
+        // Act
+        TaskManager.Task first = store.get(0);
+        TaskManager.Task second = store.get(1);
+
+        // Assert
+        assertEquals("First name should be empty", "", first.getName());
+        assertEquals("Second name should match", "Second", second.getName());
+        assertEquals("Second description should be empty", "", second.getDescription());
+    }
+
+    /**
+     * Tests that truncating drops rows and reuses their text storage
+     */
+    @Test
+    public void testTruncate()
+    {
+        // Arrange
+        DeveloperDictionary dictionary = store.getDeveloperDictionary();
+        store.add(new TaskManager.Task("Keep", "Kept", Arrays.asList("Dev1"), dictionary,
+                                       1.0f, TaskStatus.TO_DO, 0));
+        store.add(new TaskManager.Task("Drop", "Dropped", Arrays.asList("Dev2"), dictionary,
+                                       2.0f, TaskStatus.DONE, 1));
+
+        // Act
+        store.truncate(1);
+        store.add(new TaskManager.Task("New", "Added", Arrays.asList("Dev3"), dictionary,
+                                       3.0f, TaskStatus.DOING, 2));
+
+        // Assert
+        assertEquals("Should hold two rows", 2, store.size());
+        assertEquals("First row should be kept", "Keep", store.get(0).getName());
+        assertEquals("Second row should be the new task", "New", store.get(1).getName());
+        assertEquals("Description should not mix with dropped text", "Added",
+                    store.get(1).getDescription());
+    }
+
+    /**
+     * Tests that a row given more developers moves without disturbing others
+     */
+    @Test
+    public void testSetDevelopersGrows()
+    {
+        // Arrange
+        DeveloperDictionary dictionary = store.getDeveloperDictionary();
+        store.add(new TaskManager.Task("First", "One", Arrays.asList("Dev1"), dictionary,
+                                       1.0f, TaskStatus.TO_DO, 0));
+        store.add(new TaskManager.Task("Second", "Two", Arrays.asList("Dev2"), dictionary,
+                                       2.0f, TaskStatus.TO_DO, 1));
+        String firstId = store.get(0).getId();
+
+        // Act
+        store.setDevelopers(0, dictionary.internAll(Arrays.asList("Dev3", "Dev4", "Dev5")));
+        store.add(new TaskManager.Task("Third", "Three", Arrays.asList("Dev6"), dictionary,
+                                       3.0f, TaskStatus.TO_DO, 2));
+
+        // Assert
+        assertEquals("First row should have its new developers",
+                    Arrays.asList("Dev3", "Dev4", "Dev5"), store.get(0).getDevelopers());
+        assertEquals("First row should keep its ID", firstId, store.get(0).getId());
+        assertEquals("Second row should be unchanged",
+                    Arrays.asList("Dev2"), store.get(1).getDevelopers());
+        assertEquals("Third row should not overwrite moved developers",
+                    Arrays.asList("Dev6"), store.get(2).getDevelopers());
+    }
+
+    /**
+     * Tests that truncating after a row moved keeps the moved developers
+     */
+    @Test
+    public void testTruncateAfterSetDevelopers()
+    {
+        // Arrange
+        DeveloperDictionary dictionary = store.getDeveloperDictionary();
+        store.add(new TaskManager.Task("Keep", "Kept", Arrays.asList("Dev1"), dictionary,
+                                       1.0f, TaskStatus.TO_DO, 0));
+        store.add(new TaskManager.Task("Drop", "Dropped", Arrays.asList("Dev2"), dictionary,
+                                       2.0f, TaskStatus.DONE, 1));
+        store.setDevelopers(0, dictionary.internAll(Arrays.asList("Dev3", "Dev4")));
+
+        // Act
+        store.truncate(1);
+        store.add(new TaskManager.Task("New", "Added", Arrays.asList("Dev5"), dictionary,
+                                       3.0f, TaskStatus.DOING, 2));
+
+        // Assert
+        assertEquals("Kept row should keep its moved developers",
+                    Arrays.asList("Dev3", "Dev4"), store.get(0).getDevelopers());
+        assertEquals("New row should have its developers",
+                    Arrays.asList("Dev5"), store.get(1).getDevelopers());
+    }
+
+    /**
+     * Tests reading a row that was never written
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetMissingRow()
+    {
+        // Act & Assert
+        store.get(0);
+    }
+}
@@ -0,0 +1,424 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for ConcurrentTaskManager class
+ * Tests striped writes, merged reads and behavior under concurrent ingest
+ */
+public class ConcurrentTaskManagerTest
+{
+    private ConcurrentTaskManager taskManager;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        taskManager = new ConcurrentTaskManager(4);
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        taskManager = null;
+    }
+
+    /**
+     * Tests that reads merge stripes back into order of addition
+     */
+    @Test
+    public void testGetAllTasksKeepsOrder()
+    {
+        // Arrange
+        for (int i = 0; i < 50; i++)
+        {
+            taskManager.addTask("Task " + i, "Task", Arrays.asList("Dev" + (i % 3)), i, "To Do");
+        }
+
+        // Act
+        String result = taskManager.getAllTasks();
+
+        // Assert
+        for (int i = 1; i < 50; i++)
+        {
+            assertTrue("Task " + (i - 1) + " should come before Task " + i,
+                      result.indexOf("Task: Task " + (i - 1) + "\n")
+                      < result.indexOf("Task: Task " + i + "\n"));
+        }
+    }
+
+    /**
+     * Tests that the concurrent manager answers like TaskManager
+     */
+    @Test
+    public void testMatchesTaskManager()
+    {
+        // Arrange
+        TaskManager expected = new TaskManager();
+        addSampleTasks(expected);
+        taskManager.addTask("Login Feature", "Implement user login functionality",
+                           Arrays.asList("John Doe", "Jane Smith"), 8.5f, "Doing");
+        taskManager.addTask("Dashboard", "Create user dashboard with widgets",
+                           Arrays.asList("Jane Smith", "Bob Johnson"), 12.0f, "To Do");
+        taskManager.addTask("API Integration", "Integrate with external API services",
+                           Arrays.asList("John Doe", "Alice Brown", "Bob Johnson"), 20.0f, "Doing");
+
+        // Act & Assert
+        assertEquals("All tasks should match", expected.getAllTasks(), taskManager.getAllTasks());
+        assertEquals("Developer search should match",
+                    expected.getTasksByDeveloper("John Doe"), taskManager.getTasksByDeveloper("John Doe"));
+        assertEquals("Longest task should match",
+                    expected.getTaskWithLongestDuration(), taskManager.getTaskWithLongestDuration());
+        assertEquals("Doing count should match",
+                    expected.getTaskCount(TaskStatus.DOING), taskManager.getTaskCount(TaskStatus.DOING));
+        assertEquals("Word search should match",
+                    expected.searchTasks("user log*"), taskManager.searchTasks("user log*"));
+        assertEquals("Developer lookup should match",
+                    expected.findDevelopers("jon", 3), taskManager.findDevelopers("jon", 3));
+        taskManager.setScanThreshold(1);
+        assertEquals("Filtered scan should match",
+                    expected.findTasks(task -> task.hasDeveloper("Bob Johnson")),
+                    taskManager.findTasks(task -> task.hasDeveloper("Bob Johnson")));
+        TaskQuery query = new TaskQuery().developer("John Doe").orderBy(TaskQuery.Order.LONGEST_FIRST).limit(1);
+        assertEquals("Query should match",
+                    expected.query(query).getTaskIds(), taskManager.query(query).getTaskIds());
+    }
+
+    /**
+     * Tests that the first added task wins a tie across stripes
+     */
+    @Test
+    public void testLongestTaskTieAcrossStripes()
+    {
+        // Arrange
+        for (int i = 0; i < 20; i++)
+        {
+            taskManager.addTask("Task " + i, "Task", Arrays.asList("Dev1"), 10.0f, "To Do");
+        }
+
+        // Act
+        String result = taskManager.getTaskWithLongestDuration();
+
+        // Assert
+        assertTrue("Should keep the first task on a tie", result.contains("Task: Task 0\n"));
+    }
+
+    /**
+     * Tests that IDs stay unique and findable across stripes
+     */
+    @Test
+    public void testGetTaskByIdAcrossStripes()
+    {
+        // Arrange
+        for (int i = 0; i < 20; i++)
+        {
+            taskManager.addTask("Login " + i, "Task", Arrays.asList("John Doe"), 1.0f, "To Do");
+        }
+
+        // Act
+        String result = taskManager.getTaskById("LO:DOE:17");
+
+        // Assert
+        assertTrue("Should return the seventeenth task", result.startsWith("Task: Login 16\n"));
+    }
+
+    /**
+     * Tests moving tasks that live on different stripes
+     */
+    @Test
+    public void testMoveTaskAcrossStripes()
+    {
+        // Arrange
+        for (int i = 0; i < 20; i++)
+        {
+            taskManager.addTask("Login " + i, "Task", Arrays.asList("John Doe"), 1.0f, "To Do");
+        }
+
+        // Act
+        for (int i = 1; i <= 20; i += 2)
+        {
+            taskManager.moveTask("LO:DOE:" + i, "Done");
+        }
+
+        // Assert
+        assertEquals("Half the tasks should be done", 10, taskManager.getTaskCount(TaskStatus.DONE));
+        assertEquals("Half the tasks should remain", 10, taskManager.getTaskCount(TaskStatus.TO_DO));
+        assertEquals("Done hours should sum across stripes", 10.0,
+                    taskManager.getDurationStats(TaskStatus.DONE).getTotalHours(), 1e-9);
+        assertTrue("Moved task should show its status",
+                  taskManager.getTaskById("LO:DOE:5").contains("Status: Done"));
+    }
+
+    /**
+     * Tests that pages continue in order after deletes and compaction
+     * between them
+     */
+    @Test
+    public void testWriteTasksPagesAcrossCompaction() throws IOException, InterruptedException
+    {
+        // Arrange
+        for (int i = 0; i < 40; i++)
+        {
+            taskManager.addTask("Login " + i, "Task", Arrays.asList("John Doe"), i, "To Do");
+        }
+        StringBuilder first = new StringBuilder();
+        long offset = taskManager.writeTasks(first, 0, 10);
+
+        // Act
+        for (int i = 2; i <= 40; i += 2)
+        {
+            taskManager.deleteTask("LO:DOE:" + i);
+        }
+        taskManager.awaitCompaction();
+        StringBuilder rest = new StringBuilder();
+        int pages = 0;
+        while (offset >= 0)
+        {
+            offset = taskManager.writeTasks(rest, offset, 4);
+            pages++;
+        }
+
+        // Assert
+        assertTrue("Stripes should have been compacted",
+                  taskManager.getDeletedRatio() < ConcurrentTaskManager.DEFAULT_COMPACTION_THRESHOLD);
+        assertTrue("First page should start at Login 0", first.toString().startsWith("Task: Login 0\n"));
+        assertEquals("Ten tasks on the first page", 10, first.toString().split("\n\n").length);
+        assertEquals("Kept tasks after the first page", 15, rest.toString().split("\n\n").length);
+        assertEquals("Rest should be four pages", 4, pages);
+        assertTrue("Rest should start at Login 10", rest.toString().startsWith("Task: Login 10\n"));
+        assertFalse("Deleted task should be skipped", rest.toString().contains("Task: Login 11\n"));
+        assertTrue("Rest should reach Login 38", rest.toString().contains("Task: Login 38\n"));
+    }
+
+    /**
+     * Tests that deleted tasks are hidden and stripes are compacted
+     */
+    @Test
+    public void testDeleteTaskCompacts() throws InterruptedException
+    {
+        // Arrange
+        for (int i = 0; i < 40; i++)
+        {
+            taskManager.addTask("Login " + i, "Task", Arrays.asList("John Doe"), i, "To Do");
+        }
+
+        // Act
+        for (int i = 1; i <= 40; i += 2)
+        {
+            taskManager.deleteTask("LO:DOE:" + i);
+        }
+        taskManager.awaitCompaction();
+
+        // Assert
+        assertEquals("Half the tasks should remain", 20, taskManager.getTaskCount());
+        assertTrue("Deleted rows should have been compacted",
+                  taskManager.getDeletedRatio() < ConcurrentTaskManager.DEFAULT_COMPACTION_THRESHOLD);
+        assertFalse("Deleted task should be hidden",
+                   taskManager.getAllTasks().contains("Task: Login 0\n"));
+        assertTrue("Kept task should be found by ID",
+                  taskManager.getTaskById("LO:DOE:2").startsWith("Task: Login 1\n"));
+        assertTrue("Longest task should be a kept task",
+                  taskManager.getTaskWithLongestDuration().contains("Task: Login 39\n"));
+        DurationStats stats = taskManager.getDeveloperDurationStats("John Doe");
+        assertEquals("Aggregates should survive compaction", 400.0, stats.getTotalHours(), 1e-9);
+        assertEquals("Shortest kept task", 1.0f, stats.getMinHours(), 0.0f);
+        assertEquals("Longest kept task", 39.0f, taskManager.getDurationStats().getMaxHours(), 0.0f);
+    }
+
+    /**
+     * Tests that every stripe publishes to the manager's listeners, also
+     * after a stripe was compacted and swapped
+     */
+    @Test
+    public void testListenersSeeEveryStripe() throws InterruptedException
+    {
+        // Arrange
+        List<List<TaskEvent>> batches = new ArrayList<>();
+        taskManager.addTaskListener(batches::add);
+        ConcurrentTaskManager single = new ConcurrentTaskManager(1);
+        List<TaskEvent> compactedEvents = new ArrayList<>();
+        single.addTaskListener(compactedEvents::addAll);
+        List<TaskDraft> drafts = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            drafts.add(new TaskDraft("Login " + i, "Task", Arrays.asList("John Doe"), i, TaskStatus.TO_DO));
+        }
+
+        // Act
+        taskManager.addTasks(drafts);
+        for (int i = 0; i < 20; i++)
+        {
+            taskManager.addTask("Report " + i, "Task", Arrays.asList("Jane Smith"), i, "To Do");
+        }
+        single.addTasks(drafts);
+        for (int i = 1; i <= 5; i++)
+        {
+            single.deleteTask("LO:DOE:" + i);
+        }
+        single.awaitCompaction();
+        single.moveTask("LO:DOE:6", "Done");
+
+        // Assert
+        assertEquals("One notification per operation", 21, batches.size());
+        assertEquals("Batch add should be one notification", 10, batches.get(0).size());
+        assertEquals("Adds on every stripe should be published", "RE:ITH:30",
+                    batches.get(20).get(0).getTaskId());
+        assertEquals("Stripe should have been compacted", 0.0, single.getDeletedRatio(), 0.0);
+        assertEquals("Every change should be published", 16, compactedEvents.size());
+        assertEquals("Compacted stripes should still publish", "MOVED LO:DOE:6 To Do -> Done",
+                    compactedEvents.get(15).toString());
+    }
+
+    /**
+     * Tests an out of range compaction threshold
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCompactionThreshold()
+    {
+        // Act & Assert
+        new ConcurrentTaskManager(4, 0);
+    }
+
+    /**
+     * Tests searching for a developer without tasks
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetTasksByDeveloperNotFound()
+    {
+        // Arrange
+        taskManager.addTask("Task", "Task", Arrays.asList("Dev1"), 1.0f, "To Do");
+
+        // Act & Assert
+        taskManager.getTasksByDeveloper("Nonexistent Developer");
+    }
+
+    /**
+     * Tests getting all tasks when no tasks exist
+     */
+    @Test
+    public void testGetAllTasksEmpty()
+    {
+        // Act & Assert
+        assertEquals("Should return message for no tasks", "No tasks available",
+                    taskManager.getAllTasks());
+    }
+
+    /**
+     * Tests that concurrent writers lose no tasks and readers only ever see
+     * whole tasks
+     */
+    @Test
+    public void testConcurrentWritersAndReaders() throws InterruptedException
+    {
+        // Arrange
+        int writers = 4;
+        int tasksPerWriter = 2_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++)
+        {
+            int writer = w;
+            threads.add(new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                    for (int i = 0; i < tasksPerWriter; i++)
+                    {
+                        taskManager.addTask("W" + writer + " " + i, "Task",
+                                           Arrays.asList("Dev" + writer), 1.0f, "To Do");
+                    }
+                }
+                catch (Throwable t)
+                {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        Thread reader = new Thread(() ->
+        {
+            try
+            {
+                start.await();
+                for (int i = 0; i < 20; i++)
+                {
+                    String all = taskManager.getAllTasks();
+                    int tasks = count(all, "Task: ");
+                    int ids = count(all, "ID: ");
+                    if (tasks != ids)
+                    {
+                        throw new AssertionError("Reader saw a partial task");
+                    }
+                }
+            }
+            catch (Throwable t)
+            {
+                failure.compareAndSet(null, t);
+            }
+        });
+        threads.add(reader);
+
+        // Act
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        // Assert
+        assertNull("No thread should fail", failure.get());
+        assertEquals("Every task should be stored", writers * tasksPerWriter,
+                    taskManager.getTaskCount());
+        assertEquals("Every task should be counted in its column", writers * tasksPerWriter,
+                    taskManager.getTaskCount(TaskStatus.TO_DO));
+        assertEquals("Each writer's tasks should be found", tasksPerWriter,
+                    count(taskManager.getTasksByDeveloper("Dev0"), "Task: "));
+    }
+
+    /**
+     * Helper method counting occurrences of a marker
+     */
+    private static int count(String text, String marker)
+    {
+        int count = 0;
+        for (int i = text.indexOf(marker); i >= 0; i = text.indexOf(marker, i + 1))
+        {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Helper method to add sample tasks to a TaskManager
+     */
+    private static void addSampleTasks(TaskManager manager)
+    {
+        manager.addTask("Login Feature", "Implement user login functionality",
+                       Arrays.asList("John Doe", "Jane Smith"), 8.5f, "Doing");
+        manager.addTask("Dashboard", "Create user dashboard with widgets",
+                       Arrays.asList("Jane Smith", "Bob Johnson"), 12.0f, "To Do");
+        manager.addTask("API Integration", "Integrate with external API services",
+                       Arrays.asList("John Doe", "Alice Brown", "Bob Johnson"), 20.0f, "Doing");
+    }
+}
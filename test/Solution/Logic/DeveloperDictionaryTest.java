@@ -0,0 +1,97 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+
+/**
+ * Unit tests for DeveloperDictionary class
+ * Tests interning of developer names and id lookups
+ */
+public class DeveloperDictionaryTest
+{
+    private DeveloperDictionary dictionary;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        dictionary = new DeveloperDictionary();
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        dictionary = null;
+    }
+
+    /**
+     * Tests that ids are dense and stable per name
+     */
+    @Test
+    public void testInternAssignsDenseIds()
+    {
+        // Act
+        int john = dictionary.intern("John Doe");
+        int jane = dictionary.intern("Jane Smith");
+        int johnAgain = dictionary.intern(new String("John Doe"));
+
+        // Assert
+        assertEquals("First name should get id 0", 0, john);
+        assertEquals("Second name should get id 1", 1, jane);
+        assertEquals("Repeated name should keep its id", john, johnAgain);
+        assertEquals("Should hold two names", 2, dictionary.size());
+    }
+
+    /**
+     * Tests that every name is stored as a single instance
+     */
+    @Test
+    public void testNameOfReturnsInternedInstance()
+    {
+        // Arrange
+        String first = new String("John Doe");
+        dictionary.intern(first);
+
+        // Act
+        int id = dictionary.intern(new String("John Doe"));
+
+        // Assert
+        assertSame("Should resolve to the first instance", first, dictionary.nameOf(id));
+    }
+
+    /**
+     * Tests interning a developer list
+     */
+    @Test
+    public void testInternAll()
+    {
+        // Act
+        int[] ids = dictionary.internAll(Arrays.asList("Dev1", "Dev2", "Dev1"));
+
+        // Assert
+        assertArrayEquals("Repeated names should share an id", new int[] {0, 1, 0}, ids);
+    }
+
+    /**
+     * Tests looking up a name that was never interned
+     */
+    @Test
+    public void testIdOfUnknownName()
+    {
+        // Arrange
+        dictionary.intern("John Doe");
+
+        // Act & Assert
+        assertEquals("Unknown name should not get an id", 
+                    DeveloperDictionary.UNKNOWN, dictionary.idOf("Jane Smith"));
+        assertEquals("Lookup should not add names", 1, dictionary.size());
+    }
+}
@@ -0,0 +1,163 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for DurationIndex class
+ * Tests ordering, ranks and range counts against a sorted list
+ */
+public class DurationIndexTest
+{
+    private DurationIndex index;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        index = new DurationIndex();
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        index = null;
+    }
+
+    /**
+     * Tests that rows come longest first, ties in order of addition
+     */
+    @Test
+    public void testOrdering()
+    {
+        // Arrange
+        index.add(0, 5.0f);
+        index.add(1, 12.5f);
+        index.add(2, 5.0f);
+        index.add(3, 0.25f);
+
+        // Act & Assert
+        assertEquals("Should hold four rows", 4, index.size());
+        assertEquals("Longest row should come first", 1, index.rowAt(0));
+        assertEquals("Tie should keep order of addition", 0, index.rowAt(1));
+        assertEquals("Tie should keep order of addition", 2, index.rowAt(2));
+        assertEquals("Duration should be read back from the key", 0.25f, index.durationAt(3), 0.0f);
+    }
+
+    /**
+     * Tests range counts at and between stored durations
+     */
+    @Test
+    public void testCounts()
+    {
+        // Arrange
+        for (int row = 0; row < 10; row++)
+        {
+            index.add(row, row);
+        }
+
+        // Act & Assert
+        assertEquals("Rows of 4 hours or more", 6, index.countAtLeast(4.0f));
+        assertEquals("Rows over 4 hours", 5, index.countLongerThan(4.0f));
+        assertEquals("Rows at least 4.5 hours", 5, index.countAtLeast(4.5f));
+        assertEquals("Every row is at least 0 hours", 10, index.countAtLeast(0.0f));
+        assertEquals("No row is over 9 hours", 0, index.countLongerThan(9.0f));
+    }
+
+    /**
+     * Tests removal, including rows that are not present
+     */
+    @Test
+    public void testRemove()
+    {
+        // Arrange
+        index.add(0, 3.0f);
+        index.add(1, 7.0f);
+
+        // Act
+        boolean removed = index.remove(1, 7.0f);
+        boolean missing = index.remove(1, 7.0f);
+        boolean wrongDuration = index.remove(0, 4.0f);
+
+        // Assert
+        assertTrue("Present row should be removed", removed);
+        assertFalse("Removed row should be gone", missing);
+        assertFalse("Row is only found under its duration", wrongDuration);
+        assertEquals("Remaining row should be first", 0, index.rowAt(0));
+        assertEquals("One row should remain", 1, index.size());
+    }
+
+    /**
+     * Tests random adds and removes, after a bulk build, against a sorted
+     * list of keys
+     */
+    @Test
+    public void testMatchesSortedList()
+    {
+        // Arrange
+        Random random = new Random(7);
+        List<Long> expected = new ArrayList<>();
+        long[] initial = new long[2_000];
+        float[] durations = new float[6_000];
+        for (int row = 0; row < initial.length; row++)
+        {
+            durations[row] = random.nextInt(400) / 4f;
+            initial[row] = DurationIndex.keyOf(row, durations[row]);
+            expected.add(initial[row]);
+        }
+        Arrays.sort(initial);
+        index.addAllSorted(initial);
+
+        // Act
+        for (int row = initial.length; row < durations.length; row++)
+        {
+            durations[row] = random.nextInt(400) / 4f;
+            index.add(row, durations[row]);
+            expected.add(DurationIndex.keyOf(row, durations[row]));
+            int victim = random.nextInt(row);
+            if (expected.remove(Long.valueOf(DurationIndex.keyOf(victim, durations[victim]))))
+            {
+                assertTrue("Removed row should be present", index.remove(victim, durations[victim]));
+            }
+        }
+        Collections.sort(expected);
+
+        // Assert
+        assertEquals("Sizes should match", expected.size(), index.size());
+        for (int rank = 0; rank < expected.size(); rank++)
+        {
+            assertEquals("Row at rank " + rank, (int) (long) expected.get(rank), index.rowAt(rank));
+        }
+        int atLeastFifty = 0;
+        for (long key : expected)
+        {
+            atLeastFifty += durations[(int) key] >= 50f ? 1 : 0;
+        }
+        assertEquals("Range count should match", atLeastFifty, index.countAtLeast(50f));
+    }
+
+    /**
+     * Tests that bulk adds need an empty index
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testAddAllSortedNotEmpty()
+    {
+        // Arrange
+        index.add(0, 1.0f);
+
+        // Act
+        index.addAllSorted(new long[] {DurationIndex.keyOf(1, 2.0f)});
+    }
+}
@@ -0,0 +1,118 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DurationTotals class
+ * Tests running totals, stale bounds and combining stats
+ */
+public class DurationTotalsTest
+{
+    private DurationTotals totals;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        totals = new DurationTotals();
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        totals = null;
+    }
+
+    /**
+     * Tests that adding tracks count, sum and bounds
+     */
+    @Test
+    public void testAdd()
+    {
+        // Act
+        totals.add(4.0f);
+        totals.add(1.5f);
+        totals.add(9.0f);
+        DurationStats stats = totals.toStats();
+
+        // Assert
+        assertEquals("Count", 3, stats.getCount());
+        assertEquals("Total", 14.5, stats.getTotalHours(), 0.0);
+        assertEquals("Shortest", 1.5f, stats.getMinHours(), 0.0f);
+        assertEquals("Longest", 9.0f, stats.getMaxHours(), 0.0f);
+        assertFalse("Bounds should be current", totals.isBoundsStale());
+    }
+
+    /**
+     * Tests that only removing a bound makes the bounds stale
+     */
+    @Test
+    public void testRemove()
+    {
+        // Arrange
+        totals.add(4.0f);
+        totals.add(1.5f);
+        totals.add(9.0f);
+
+        // Act & Assert
+        totals.remove(4.0f);
+        assertFalse("Removing an inner duration keeps the bounds", totals.isBoundsStale());
+        totals.remove(9.0f);
+        assertTrue("Removing the longest makes the bounds stale", totals.isBoundsStale());
+        totals.setBounds(1.5f, 1.5f);
+        assertEquals("Recomputed longest", 1.5f, totals.toStats().getMaxHours(), 0.0f);
+        totals.remove(1.5f);
+        assertEquals("Empty totals have no tasks", 0, totals.toStats().getCount());
+        assertFalse("Empty totals need no bounds", totals.isBoundsStale());
+    }
+
+    /**
+     * Tests that the sum restarts at exactly 0 once every duration is removed
+     */
+    @Test
+    public void testSumResetsWhenEmpty()
+    {
+        // Arrange
+        totals.add(0.1f);
+        totals.add(0.2f);
+        totals.add(1e17f);
+
+        // Act
+        totals.remove(1e17f);
+        totals.remove(0.1f);
+        totals.remove(0.2f);
+        totals.add(0.3f);
+
+        // Assert
+        assertEquals("No rounding should be left over", (double) 0.3f, totals.getSum(), 0.0);
+    }
+
+    /**
+     * Tests combining the stats of two groups
+     */
+    @Test
+    public void testPlus()
+    {
+        // Arrange
+        DurationStats first = new DurationStats(2, 10.0, 2.0f, 8.0f);
+        DurationStats second = new DurationStats(1, 0.5, 0.5f, 0.5f);
+
+        // Act
+        DurationStats combined = first.plus(second);
+
+        // Assert
+        assertEquals("Count", 3, combined.getCount());
+        assertEquals("Total", 10.5, combined.getTotalHours(), 0.0);
+        assertEquals("Shortest", 0.5f, combined.getMinHours(), 0.0f);
+        assertEquals("Longest", 8.0f, combined.getMaxHours(), 0.0f);
+        assertSame("Empty stats change nothing", first, first.plus(DurationStats.EMPTY));
+    }
+}
@@ -0,0 +1,84 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for LongIntHashMap class
+ * Tests puts, lookups and growth of the open addressing table
+ */
+public class LongIntHashMapTest
+{
+    private LongIntHashMap map;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        map = new LongIntHashMap();
+    }
+
+    /**
+     * Tests that stored values are found and missing keys are not
+     */
+    @Test
+    public void testPutAndGet()
+    {
+        // Act
+        map.put(7, 70);
+        map.put(-3, 30);
+
+        // Assert
+        assertEquals("Should find 7", 70, map.get(7));
+        assertEquals("Should find -3", 30, map.get(-3));
+        assertEquals("Should not find 8", LongIntHashMap.MISSING, map.get(8));
+    }
+
+    /**
+     * Tests that putting an existing key replaces its value
+     */
+    @Test
+    public void testPutReplaces()
+    {
+        // Act
+        map.put(1, 10);
+        map.put(1, 11);
+
+        // Assert
+        assertEquals("Should hold one entry", 1, map.size());
+        assertEquals("Should hold the new value", 11, map.get(1));
+    }
+
+    /**
+     * Tests that every entry survives growth of the table
+     */
+    @Test
+    public void testGrowth()
+    {
+        // Act
+        for (int i = 0; i < 100_000; i++)
+        {
+            map.put(i * 31L, i);
+        }
+
+        // Assert
+        assertEquals("Should hold every entry", 100_000, map.size());
+        for (int i = 0; i < 100_000; i++)
+        {
+            assertEquals("Should find entry " + i, i, map.get(i * 31L));
+        }
+    }
+
+    /**
+     * Tests that the reserved key is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testReservedKey()
+    {
+        // Act & Assert
+        map.put(Long.MIN_VALUE, 1);
+    }
+}
@@ -0,0 +1,238 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Unit tests for MappedTaskStore class
+ * Tests that rows read back from the mapped files match what was stored,
+ * survive growth and reopening, and that updates and deletions persist
+ */
+public class MappedTaskStoreTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private MappedTaskStore store;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp() throws IOException
+    {
+        file = folder.getRoot().toPath().resolve("board.tasks");
+        store = MappedTaskStore.open(file);
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown() throws IOException
+    {
+        store.close();
+        store = null;
+    }
+
+    /**
+     * Tests that a stored task reads back unchanged
+     */
+    @Test
+    public void testAddAndGet()
+    {
+        // Arrange
+        TaskManager.Task task = task("Login Feature", "Implement login", 8.5f, TaskStatus.DOING, 0,
+                                     "John Doe", "Jane Smith");
+
+        // Act
+        int row = store.add(task);
+        TaskManager.Task result = store.get(row);
+
+        // Assert
+        assertEquals("First task should be row 0", 0, row);
+        assertEquals("Rendered task should match", task.toString(), result.toString());
+        assertEquals("Duration should be read from the segment", 8.5f, store.getDuration(row), 0.0f);
+        assertEquals("Status should be read from the segment", TaskStatus.DOING, store.getStatus(row));
+        assertArrayEquals("Developer ids should be read from the segment",
+                         task.getDeveloperIds(), store.getDeveloperIds(row));
+    }
+
+    /**
+     * Tests that tasks, updates and deletions survive closing and reopening
+     */
+    @Test
+    public void testReopen() throws IOException
+    {
+        // Arrange
+        store.add(task("Login", "Log in", 1.0f, TaskStatus.TO_DO, 0, "John Doe"));
+        store.add(task("Café menu", "Ünïcödé 中文", 2.5f, TaskStatus.TO_DO, 1, "Jane Smith"));
+        store.setStatus(1, TaskStatus.DONE);
+        store.setDuration(1, 3.25f);
+        store.setDevelopers(0, store.getDeveloperDictionary().internAll(
+            Arrays.asList("Alice Brown", "Bob Johnson", "John Doe")));
+        store.markDeleted(0);
+        String first = store.get(0).toString();
+        String second = store.get(1).toString();
+        store.close();
+
+        // Act
+        store = MappedTaskStore.open(file);
+
+        // Assert
+        assertEquals("Both rows should be read", 2, store.size());
+        assertEquals("First task should match", first, store.get(0).toString());
+        assertEquals("Second task should match", second, store.get(1).toString());
+        assertEquals("Name should be read without the task", "Café menu", store.getName(1));
+        assertEquals("Description should be read without the task", "Ünïcödé 中文", store.getDescription(1));
+        assertEquals("ID developer should survive new developers",
+                    store.getDeveloperDictionary().idOf("John Doe"), store.getIdDeveloper(0));
+        assertTrue("Deletion should persist", store.isMarkedDeleted(0));
+        assertFalse("Live row should not be deleted", store.isMarkedDeleted(1));
+        assertEquals("Developer names should be read", 4, store.getDeveloperDictionary().size());
+    }
+
+    /**
+     * Tests that rows stay intact while the files grow and are remapped
+     */
+    @Test
+    public void testManyRowsSurviveGrowth() throws IOException
+    {
+        // Arrange & Act
+        for (int i = 0; i < 5_000; i++)
+        {
+            store.add(task("Task " + i, "Description " + i, i, TaskStatus.TO_DO, i,
+                           "Dev" + (i % 7), "Dev" + (i % 11)));
+        }
+        store.close();
+        store = MappedTaskStore.open(file);
+
+        // Assert
+        assertEquals("Should hold every row", 5_000, store.size());
+        for (int i = 0; i < 5_000; i += 499)
+        {
+            TaskManager.Task task = store.get(i);
+            assertEquals("Name should match", "Task " + i, task.getName());
+            assertEquals("Description should match", "Description " + i, task.getDescription());
+            assertEquals("Developers should match",
+                        Arrays.asList("Dev" + (i % 7), "Dev" + (i % 11)), task.getDevelopers());
+            assertEquals("Sequence should match", i, store.getSequence(i));
+        }
+    }
+
+    /**
+     * Tests that truncated rows are dropped but developer names are kept
+     */
+    @Test
+    public void testTruncateKeepsDevelopers() throws IOException
+    {
+        // Arrange
+        store.add(task("Login", "Log in", 1.0f, TaskStatus.TO_DO, 0, "John Doe"));
+        store.add(task("Logout", "Log out", 1.0f, TaskStatus.TO_DO, 1, "Jane Smith"));
+
+        // Act
+        store.truncate(1);
+        store.add(task("Reports", "Weekly", 1.0f, TaskStatus.TO_DO, 2, "Jane Smith"));
+        store.close();
+        store = MappedTaskStore.open(file);
+
+        // Assert
+        assertEquals("Two rows should remain", 2, store.size());
+        assertEquals("New row should replace the dropped one", "Reports", store.get(1).getName());
+        assertEquals("Developer should be read", Arrays.asList("Jane Smith"), store.get(1).getDevelopers());
+    }
+
+    /**
+     * Tests opening a file that is not a task store
+     */
+    @Test(expected = IOException.class)
+    public void testOpenNotAStore() throws IOException
+    {
+        // Arrange
+        Path other = folder.newFile("notes.txt").toPath();
+        Files.write(other, new byte[128]);
+        Files.write(MappedTaskStore.dataFileFor(other), new byte[128]);
+
+        // Act & Assert
+        MappedTaskStore.open(other);
+    }
+
+    /**
+     * Tests that a second compaction is refused while a copy is open, and
+     * that a copy closed without being swapped in is deleted
+     */
+    @Test
+    public void testSecondCompactionRefused() throws IOException
+    {
+        // Arrange
+        store.add(task("Login", "Log in", 1.0f, TaskStatus.TO_DO, 0, "John Doe"));
+        MappedTaskStore copy = (MappedTaskStore) store.newEmpty();
+
+        // Act & Assert
+        try
+        {
+            store.newEmpty();
+            fail("Second compaction should be refused");
+        }
+        catch (IllegalStateException e)
+        {
+            // Expected
+        }
+        copy.close();
+        assertFalse("Unused copy should be deleted", Files.exists(MappedTaskStore.compactingFileFor(file)));
+        ((MappedTaskStore) store.newEmpty()).close();
+        store.close();
+        store = MappedTaskStore.open(file);
+        assertEquals("Original should be unchanged", "Login", store.getName(0));
+    }
+
+    /**
+     * Tests that opening a store finishes a swap that stopped after the
+     * data file was moved
+     */
+    @Test
+    public void testOpenFinishesInterruptedSwap() throws IOException
+    {
+        // Arrange
+        store.add(task("Login", "Log in", 1.0f, TaskStatus.TO_DO, 0, "John Doe"));
+        store.add(task("Logout", "Log out", 1.0f, TaskStatus.TO_DO, 1, "Jane Smith"));
+        store.markDeleted(0);
+        MappedTaskStore copy = (MappedTaskStore) store.newEmpty();
+        copy.add(store.get(1));
+        copy.flush();
+        Path pending = MappedTaskStore.compactingFileFor(file);
+        Files.move(MappedTaskStore.dataFileFor(pending), MappedTaskStore.dataFileFor(file),
+                   StandardCopyOption.REPLACE_EXISTING);
+        copy.close();
+        store.close();
+
+        // Act
+        store = MappedTaskStore.open(file);
+
+        // Assert
+        assertEquals("Only the copied row should remain", 1, store.size());
+        assertEquals("Copied row should be read", "Logout", store.getName(0));
+        assertEquals("Developer should be read", Arrays.asList("Jane Smith"), store.get(0).getDevelopers());
+        assertFalse("Compacting file should be moved", Files.exists(pending));
+    }
+
+    /**
+     * Helper method creating a task in the store's dictionary
+     */
+    private TaskManager.Task task(String name, String description, float duration,
+                                  TaskStatus status, long sequence, String... developers)
+    {
+        return new TaskManager.Task(name, description, Arrays.asList(developers),
+                                    store.getDeveloperDictionary(), duration, status, sequence);
+    }
+}
@@ -0,0 +1,119 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for ParallelScan class
+ * Tests that split scans keep row order, skip deleted rows and fall back
+ * to the calling thread on small boards
+ */
+public class ParallelScanTest
+{
+    private ListTaskStore store;
+    private BitSet deletedRows;
+    private ForkJoinPool pool;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        store = new ListTaskStore();
+        deletedRows = new BitSet();
+        pool = new ForkJoinPool(4);
+        for (int i = 0; i < 1000; i++)
+        {
+            store.add(new TaskManager.Task("Task " + i, "Scan", Arrays.asList(i % 3 == 0 ? "Ann Lee" : "Ben Ray"),
+                                           store.getDeveloperDictionary(), i % 40, TaskStatus.values()[i % 3], i));
+        }
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        pool.shutdownNow();
+        store = null;
+        deletedRows = null;
+    }
+
+    /**
+     * Tests that a scan split into many pieces returns the same rows, in
+     * order, as one sequential scan
+     */
+    @Test
+    public void testSplitScanKeepsOrder()
+    {
+        // Arrange
+        deletedRows.set(3);
+        deletedRows.set(500, 520);
+
+        // Act
+        IntList split = ParallelScan.scan(pool, 7, store, deletedRows,
+                                          task -> task.getDuration() >= 20 && task.hasDeveloper("Ann Lee"));
+        IntList sequential = ParallelScan.scan(pool, Integer.MAX_VALUE, store, deletedRows,
+                                               task -> task.getDuration() >= 20 && task.hasDeveloper("Ann Lee"));
+
+        // Assert
+        assertEquals("Both scans should match as many rows", sequential.size(), split.size());
+        for (int i = 0; i < split.size(); i++)
+        {
+            assertEquals("Rows should match in order", sequential.get(i), split.get(i));
+            assertFalse("Deleted rows should be skipped", deletedRows.get(split.get(i)));
+            assertTrue("Only accepted rows should match", split.get(i) % 40 >= 20 && split.get(i) % 3 == 0);
+        }
+        assertTrue("Some rows should match", split.size() > 100);
+    }
+
+    /**
+     * Tests that a board within the threshold is scanned without the pool
+     */
+    @Test
+    public void testSmallBoardSkipsPool()
+    {
+        // Arrange
+        pool.shutdownNow();
+
+        // Act
+        IntList rows = ParallelScan.scan(pool, 1000, store, deletedRows,
+                                         task -> task.getName().equals("Task 999"));
+
+        // Assert
+        assertEquals("Scan should run on the calling thread", 1, rows.size());
+        assertEquals("Last row should match", 999, rows.get(0));
+    }
+
+    /**
+     * Tests that a failing filter fails the whole scan
+     */
+    @Test
+    public void testFilterFailurePropagates()
+    {
+        // Act & Assert
+        try
+        {
+            ParallelScan.scan(pool, 10, store, deletedRows, task ->
+            {
+                if (task.getStatus() == TaskStatus.DONE && task.getDuration() > 30)
+                {
+                    throw new IllegalStateException("Filter failed");
+                }
+                return true;
+            });
+            fail("Filter failure should reach the caller");
+        }
+        catch (IllegalStateException e)
+        {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Unit tests for TaskCodec class
+ * Tests round trips, developer references, string and duration encodings
+ * and decoding from buffers that hold partial records
+ */
+public class TaskCodecTest
+{
+    private DeveloperDictionary dictionary;
+    private TaskCodec encoder;
+    private TaskCodec decoder;
+    private ByteBuffer buffer;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        dictionary = new DeveloperDictionary();
+        encoder = new TaskCodec();
+        decoder = new TaskCodec();
+        buffer = ByteBuffer.allocate(4096);
+    }
+
+    /**
+     * Tests that every field survives a round trip
+     */
+    @Test
+    public void testRoundTrip()
+    {
+        // Arrange
+        TaskManager.Task task = task("Login Feature", 8.5f, 41, "John Doe", "Jane Smith");
+
+        // Act
+        assertTrue("Record should fit", encoder.encode(task, buffer));
+        buffer.flip();
+        TaskManager.Task decoded = decoder.decode(buffer);
+
+        // Assert
+        assertEquals("Task should match", task.toString(), decoded.toString());
+        assertEquals("Sequence should match", 41, decoded.getSequence());
+        assertEquals("Developers should match", task.getDevelopers(), decoded.getDevelopers());
+        assertFalse("Buffer should be consumed", buffer.hasRemaining());
+    }
+
+    /**
+     * Tests that a developer's name is only written the first time
+     */
+    @Test
+    public void testDeveloperWrittenOnce()
+    {
+        // Arrange
+        TaskManager.Task first = task("Login", 1.0f, 0, "Christopher Columbus");
+        TaskManager.Task second = task("Logout", 1.0f, 1, "Christopher Columbus");
+
+        // Act
+        int firstSize = encoder.encodedSize(first);
+        encoder.encode(first, buffer);
+        int secondSize = encoder.encodedSize(second);
+        encoder.encode(second, buffer);
+        buffer.flip();
+        TaskManager.Task firstDecoded = decoder.decode(buffer);
+        TaskManager.Task secondDecoded = decoder.decode(buffer);
+
+        // Assert
+        assertTrue("Second record should refer to the name",
+                  secondSize <= firstSize - "Christopher Columbus".length());
+        assertEquals("Sizes should match what was written", firstSize + secondSize, buffer.position());
+        assertEquals("Second task should match", second.toString(), secondDecoded.toString());
+        assertEquals("Both should share a developer id",
+                    firstDecoded.getDeveloperIds()[0], secondDecoded.getDeveloperIds()[0]);
+    }
+
+    /**
+     * Tests tasks from several dictionaries sharing one numbering
+     */
+    @Test
+    public void testSeveralDictionaries()
+    {
+        // Arrange
+        DeveloperDictionary other = new DeveloperDictionary();
+        other.intern("Bob Johnson");
+        TaskManager.Task first = task("Login", 1.0f, 0, "John Doe", "Bob Johnson");
+        TaskManager.Task second = new TaskManager.Task("Reports", "Task",
+            Arrays.asList("John Doe", "Alice Brown"), other, 2.0f, TaskStatus.DONE, 1);
+
+        // Act
+        encoder.encode(first, buffer);
+        int expected = encoder.encodedSize(second);
+        int start = buffer.position();
+        encoder.encode(second, buffer);
+        buffer.flip();
+        decoder.decode(buffer);
+        TaskManager.Task decoded = decoder.decode(buffer);
+
+        // Assert
+        assertEquals("Size should match what was written", expected, buffer.position() - start);
+        assertEquals("Task should match", second.toString(), decoded.toString());
+        assertEquals("Three names should be known", 3, decoder.getDictionary().size());
+    }
+
+    /**
+     * Tests Latin-1 and UTF-8 strings, including supplementary characters
+     */
+    @Test
+    public void testStrings()
+    {
+        // Arrange
+        String[] values = {"", "Plain", "Café déjà vu", "Ünïcödé 中文", "Rocket 🚀"};
+
+        // Act & Assert
+        for (String value : values)
+        {
+            buffer.clear();
+            TaskCodec.putString(buffer, value);
+            assertEquals("Size should match for " + value, TaskCodec.stringSize(value), buffer.position());
+            buffer.flip();
+            assertEquals("Should round trip", value, TaskCodec.getString(buffer));
+        }
+        buffer.clear();
+        TaskCodec.putString(buffer, "Café");
+        assertEquals("Latin-1 should take one byte per char", 5, buffer.position());
+    }
+
+    /**
+     * Tests that a lone surrogate is written as '?'
+     */
+    @Test
+    public void testLoneSurrogate()
+    {
+        // Arrange
+        String value = "A\uD83DB中";
+
+        // Act
+        TaskCodec.putString(buffer, value);
+        buffer.flip();
+
+        // Assert
+        assertEquals("Size should match", TaskCodec.stringSize(value), buffer.limit());
+        assertEquals("Lone surrogate should become '?'", "A?B中", TaskCodec.getString(buffer));
+    }
+
+    /**
+     * Tests exact hundredths as varints and other durations as floats
+     */
+    @Test
+    public void testDurations()
+    {
+        // Arrange
+        float[] values = {0f, 0.1f, 8.5f, 12.25f, 1000f, 1f / 3, -2f, Float.NaN, 3e9f};
+
+        // Act & Assert
+        for (float value : values)
+        {
+            buffer.clear();
+            TaskCodec.putDuration(buffer, value);
+            assertEquals("Size should match for " + value, TaskCodec.durationSize(value), buffer.position());
+            buffer.flip();
+            assertEquals("Should round trip", Float.floatToIntBits(value),
+                        Float.floatToIntBits(TaskCodec.getDuration(buffer)));
+        }
+        assertEquals("8.5 hours should take two bytes", 2, TaskCodec.durationSize(8.5f));
+        assertEquals("A third should fall back to the float", 5, TaskCodec.durationSize(1f / 3));
+    }
+
+    /**
+     * Tests varints at their size boundaries
+     */
+    @Test
+    public void testVarLongs()
+    {
+        // Arrange
+        long[] values = {0, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE};
+
+        // Act & Assert
+        for (long value : values)
+        {
+            buffer.clear();
+            TaskCodec.putVarLong(buffer, value);
+            assertEquals("Size should match for " + value, TaskCodec.varLongSize(value), buffer.position());
+            buffer.flip();
+            assertEquals("Should round trip", value, TaskCodec.getVarLong(buffer));
+        }
+        assertEquals("127 should take one byte", 1, TaskCodec.varLongSize(127));
+        assertEquals("128 should take two bytes", 2, TaskCodec.varLongSize(128));
+    }
+
+    /**
+     * Tests that a partial record is left for a later, fuller buffer
+     */
+    @Test
+    public void testPartialRecord()
+    {
+        // Arrange
+        TaskManager.Task task = task("Dashboard", 12.0f, 7, "Jane Smith");
+        encoder.encode(task, buffer);
+        int size = buffer.position();
+        buffer.flip();
+
+        // Act & Assert
+        for (int available = 0; available < size; available++)
+        {
+            ByteBuffer partial = buffer.duplicate().limit(available);
+            assertNull("Partial record should not decode", decoder.decode(partial));
+            assertEquals("Position should be unchanged", 0, partial.position());
+        }
+        assertEquals("Whole record should decode", task.toString(), decoder.decode(buffer).toString());
+    }
+
+    /**
+     * Tests that a developer count the record cannot hold is rejected
+     * before anything is allocated
+     */
+    @Test
+    public void testBadDeveloperCount()
+    {
+        // Varints of Integer.MAX_VALUE and of -1, which the writer refuses
+        byte[][] counts = {
+            {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07},
+            {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+             (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01}
+        };
+        for (byte[] count : counts)
+        {
+            // Arrange
+            ByteBuffer body = ByteBuffer.allocate(64);
+            TaskCodec.putVarLong(body, 0);
+            TaskCodec.putString(body, "Login");
+            TaskCodec.putString(body, "");
+            body.put(count);
+            body.put(new byte[8]).flip();
+            buffer.clear();
+            TaskCodec.putVarInt(buffer, body.remaining());
+            buffer.put(body).flip();
+
+            // Act & Assert
+            try
+            {
+                decoder.decode(buffer);
+                fail("Count should be rejected");
+            }
+            catch (IllegalArgumentException e)
+            {
+                // Expected
+            }
+        }
+    }
+
+    /**
+     * Tests that a full buffer is left unchanged
+     */
+    @Test
+    public void testEncodeDoesNotFit()
+    {
+        // Arrange
+        TaskManager.Task task = task("Dashboard", 12.0f, 7, "Jane Smith");
+        ByteBuffer small = ByteBuffer.allocate(encoder.encodedSize(task) - 1);
+
+        // Act
+        boolean written = encoder.encode(task, small);
+
+        // Assert
+        assertFalse("Record should not fit", written);
+        assertEquals("Buffer should be unchanged", 0, small.position());
+    }
+
+    /**
+     * Tests reading a stream of another version
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedVersion()
+    {
+        // Arrange
+        buffer.put((byte) (TaskCodec.VERSION + 1)).flip();
+
+        // Act & Assert
+        TaskCodec.readHeader(buffer);
+    }
+
+    /**
+     * Helper method creating a task in the test dictionary
+     */
+    private TaskManager.Task task(String name, float duration, long sequence, String... developers)
+    {
+        return new TaskManager.Task(name, "Task", Arrays.asList(developers), dictionary,
+                                    duration, TaskStatus.DOING, sequence);
+    }
+}
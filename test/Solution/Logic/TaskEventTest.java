@@ -0,0 +1,254 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for task change listeners
+ * Tests the events each change publishes, that a batch add is one
+ * notification, that an event delay coalesces bursts and that replays and
+ * failed writes publish nothing
+ */
+public class TaskEventTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TaskManager taskManager;
+    private List<List<TaskEvent>> batches;
+    private TaskListener recorder;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        taskManager = new TaskManager();
+        batches = Collections.synchronizedList(new ArrayList<>());
+        recorder = batches::add;
+        taskManager.addTaskListener(recorder);
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        taskManager = null;
+        batches = null;
+    }
+
+    /**
+     * Tests the event every kind of change publishes
+     */
+    @Test
+    public void testEventPerChange()
+    {
+        // Act
+        taskManager.addTask("Login Feature", "Implement login", Arrays.asList("John Doe"), 8.5f, "To Do");
+        taskManager.moveTask("LO:DOE:1", "Doing");
+        taskManager.moveTask("LO:DOE:1", "Doing");
+        taskManager.updateDuration("LO:DOE:1", 9.0f);
+        taskManager.updateDevelopers("LO:DOE:1", Arrays.asList("Jane Smith"));
+        taskManager.deleteTask("LO:DOE:1");
+
+        // Assert
+        assertEquals("Each change but the no-op move should notify", 5, batches.size());
+        assertEquals("ADDED LO:DOE:1 To Do", batches.get(0).get(0).toString());
+        TaskEvent move = batches.get(1).get(0);
+        assertEquals("Move type", TaskEvent.Type.MOVED, move.getType());
+        assertEquals("Move target", TaskStatus.DOING, move.getStatus());
+        assertEquals("Move source", TaskStatus.TO_DO, move.getPreviousStatus());
+        assertEquals("Duration change", TaskEvent.Type.UPDATED, batches.get(2).get(0).getType());
+        assertEquals("Developer change", TaskEvent.Type.UPDATED, batches.get(3).get(0).getType());
+        TaskEvent delete = batches.get(4).get(0);
+        assertEquals("Delete type", TaskEvent.Type.DELETED, delete.getType());
+        assertEquals("Deleted task's status", TaskStatus.DOING, delete.getStatus());
+        assertNull("Only moves have a previous status", delete.getPreviousStatus());
+    }
+
+    /**
+     * Tests that a batch add is one notification in order
+     */
+    @Test
+    public void testAddTasksOneNotification()
+    {
+        // Arrange
+        List<TaskDraft> drafts = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+        {
+            drafts.add(new TaskDraft("Login " + i, "Task", Arrays.asList("John Doe"), i, TaskStatus.TO_DO));
+        }
+
+        // Act
+        taskManager.addTasks(drafts);
+
+        // Assert
+        assertEquals("Batch should be one notification", 1, batches.size());
+        List<TaskEvent> events = batches.get(0);
+        assertEquals("Every task should have an event", 50, events.size());
+        assertEquals("Events should be in order", "LO:DOE:1", events.get(0).getTaskId());
+        assertEquals("Events should be in order", "LO:DOE:50", events.get(49).getTaskId());
+        try
+        {
+            events.clear();
+            fail("Batch should be read-only");
+        }
+        catch (UnsupportedOperationException e)
+        {
+            // Expected
+        }
+    }
+
+    /**
+     * Tests that single adds made within the event delay are delivered as
+     * one batch on the event thread
+     */
+    @Test
+    public void testEventDelayCoalesces() throws InterruptedException
+    {
+        // Arrange
+        CountDownLatch delivered = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        taskManager.addTaskListener(events ->
+        {
+            threads.add(Thread.currentThread().getName());
+            delivered.countDown();
+        });
+        taskManager.setEventDelay(500);
+
+        // Act
+        for (int i = 0; i < 100; i++)
+        {
+            taskManager.addTask("Login " + i, "Task", Arrays.asList("John Doe"), 1.0f, "To Do");
+        }
+        boolean done = delivered.await(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue("Batch should be delivered", done);
+        assertEquals("Burst should be one notification", 1, batches.size());
+        assertEquals("Every add should be in the batch", 100, batches.get(0).size());
+        assertEquals("Delayed batches arrive on the event thread", "task-events", threads.get(0));
+    }
+
+    /**
+     * Tests that failed writes and replayed changes publish nothing
+     */
+    @Test
+    public void testNoEventsWithoutChange() throws IOException
+    {
+        // Arrange
+        Path file = folder.getRoot().toPath().resolve("board.log");
+        TaskManager logged = new TaskManager();
+        TaskLog log = TaskLog.open(file, logged, null);
+        logged.addTask("Login Feature", "Implement login", Arrays.asList("John Doe"), 8.5f, "To Do");
+        logged.moveTask("LO:DOE:1", "Done");
+        log.close();
+
+        // Act
+        try
+        {
+            taskManager.addTask("Login", "Log in", new ArrayList<>(), 1.0f, "To Do");
+            fail("Invalid task should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+        try
+        {
+            taskManager.deleteTask("NO:ONE:1");
+            fail("Unknown ID should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+        log = TaskLog.open(file, taskManager, null);
+        log.close();
+
+        // Assert
+        assertEquals("Replay should restore the board", 1, taskManager.getTaskCount(TaskStatus.DONE));
+        assertTrue("Nothing should be published: " + batches, batches.isEmpty());
+    }
+
+    /**
+     * Tests that a removed listener is not notified and a failing one does
+     * not reach the writer or other listeners
+     */
+    @Test
+    public void testRemoveAndFailingListener()
+    {
+        // Arrange
+        taskManager.addTaskListener(events ->
+        {
+            throw new IllegalStateException("Listener failed");
+        });
+        List<List<TaskEvent>> later = new ArrayList<>();
+        taskManager.addTaskListener(later::add);
+        List<Throwable> failures = new ArrayList<>();
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((failed, e) -> failures.add(e));
+
+        // Act
+        try
+        {
+            taskManager.addTask("Login Feature", "Implement login", Arrays.asList("John Doe"), 8.5f, "To Do");
+            taskManager.removeTaskListener(recorder);
+            taskManager.deleteTask("LO:DOE:1");
+        }
+        finally
+        {
+            thread.setUncaughtExceptionHandler(handler == thread.getThreadGroup() ? null : handler);
+        }
+
+        // Assert
+        assertEquals("Task should be deleted", 0, taskManager.getTaskCount());
+        assertEquals("Removed listener should only see the add", 1, batches.size());
+        assertEquals("Listener after the failing one should see both", 2, later.size());
+        assertEquals("Failures should go to the thread's handler", 2, failures.size());
+        assertEquals("Listener failed", failures.get(0).getMessage());
+    }
+
+    /**
+     * Tests that a missing listener and a negative delay are rejected
+     */
+    @Test
+    public void testInvalidArguments()
+    {
+        // Act & Assert
+        try
+        {
+            taskManager.addTaskListener(null);
+            fail("Missing listener should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+        try
+        {
+            taskManager.setEventDelay(-1);
+            fail("Negative delay should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+    }
+}
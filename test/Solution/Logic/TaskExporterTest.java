@@ -0,0 +1,175 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for TaskExporter class
+ * Tests that exports read back through TaskImporter, that filters come
+ * from the indexes and that the buffer size does not change the output
+ */
+public class TaskExporterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TaskManager taskManager;
+    private TaskExporter exporter;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        taskManager = new TaskManager();
+        exporter = new TaskExporter();
+        taskManager.addTask("Login Feature", "Implement login", Arrays.asList("John Doe", "Jane Smith"),
+                            8.5f, "Doing");
+        taskManager.addTask("Reports, weekly", "Say \"hi\"\tthen go", Arrays.asList("Bob Johnson"),
+                            3.0f, "To Do");
+        taskManager.addTask("Café 🚀", "Ünïcödé 中文", Arrays.asList("Jane Smith"), 12.25f, "Done");
+        taskManager.addTask("Dashboard", "Widgets", Arrays.asList("John Doe"), 0.1f, "Doing");
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        taskManager = null;
+        exporter = null;
+    }
+
+    /**
+     * Tests that a CSV export imports back into the same board
+     */
+    @Test
+    public void testCsvRoundTrip() throws IOException
+    {
+        // Arrange
+        Path file = folder.getRoot().toPath().resolve("board.csv");
+
+        // Act
+        long written = exporter.exportFile(taskManager, file, TaskImporter.Format.CSV);
+        TaskManager imported = new TaskManager();
+        ImportReport report = new TaskImporter().importFile(file, TaskImporter.Format.CSV, imported);
+
+        // Assert
+        assertEquals("Every task should be written", 4, written);
+        assertEquals("No line should be rejected: " + report.getErrors(), 0, report.getRejected());
+        assertEquals("Board should match", taskManager.getAllTasks(), imported.getAllTasks());
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals("Header should name the columns", TaskRecordParser.CSV_HEADER + ",id", lines.get(0));
+        assertEquals("Fields with commas and quotes should be quoted",
+                    "\"Reports, weekly\",\"Say \"\"hi\"\"\tthen go\",Bob Johnson,3.0,To Do,RE:SON:2",
+                    lines.get(2));
+    }
+
+    /**
+     * Tests that a JSON export imports back into the same board
+     */
+    @Test
+    public void testJsonRoundTrip() throws IOException
+    {
+        // Arrange
+        Path file = folder.getRoot().toPath().resolve("board.jsonl");
+
+        // Act
+        exporter.exportFile(taskManager, file, TaskImporter.Format.JSON);
+        TaskManager imported = new TaskManager();
+        ImportReport report = new TaskImporter().importFile(file, TaskImporter.Format.JSON, imported);
+
+        // Assert
+        assertEquals("No line should be rejected: " + report.getErrors(), 0, report.getRejected());
+        assertEquals("Board should match", taskManager.getAllTasks(), imported.getAllTasks());
+        assertEquals("Control characters should be escaped",
+                    "{\"id\":\"RE:SON:2\",\"name\":\"Reports, weekly\",\"description\":\"Say \\\"hi\\\"\\tthen go\","
+                    + "\"developers\":[\"Bob Johnson\"],\"duration\":3.0,\"status\":\"To Do\"}",
+                    Files.readAllLines(file, StandardCharsets.UTF_8).get(1));
+    }
+
+    /**
+     * Tests exporting only the tasks of one developer and status
+     */
+    @Test
+    public void testFilteredExport() throws IOException
+    {
+        // Arrange
+        Path file = folder.getRoot().toPath().resolve("board.csv");
+        taskManager.deleteTask("DA:DOE:4");
+
+        // Act
+        long byDeveloper = exporter.exportFile(taskManager, file, TaskImporter.Format.CSV, "Jane Smith", null);
+        long byStatus = exporter.exportFile(taskManager, file, TaskImporter.Format.CSV, null, TaskStatus.DOING);
+        long byBoth = exporter.exportFile(taskManager, file, TaskImporter.Format.CSV, "John Doe",
+                                          TaskStatus.DOING);
+        long unknown = exporter.exportFile(taskManager, file, TaskImporter.Format.CSV, "Nobody", null);
+
+        // Assert
+        assertEquals("Jane Smith has two tasks", 2, byDeveloper);
+        assertEquals("Deleted task should not be written", 1, byStatus);
+        assertEquals("Both filters should apply", 1, byBoth);
+        assertEquals("Unknown developer has no tasks", 0, unknown);
+        assertEquals("Only the header should remain", 1, Files.readAllLines(file).size());
+    }
+
+    /**
+     * Tests that a concurrent board exports the same file as a plain one
+     * holding the same tasks
+     */
+    @Test
+    public void testConcurrentBoardExport() throws IOException
+    {
+        // Arrange
+        ConcurrentTaskManager concurrent = new ConcurrentTaskManager(3);
+        concurrent.addTask("Login Feature", "Implement login", Arrays.asList("John Doe", "Jane Smith"),
+                           8.5f, "Doing");
+        concurrent.addTask("Reports, weekly", "Say \"hi\"\tthen go", Arrays.asList("Bob Johnson"),
+                           3.0f, "To Do");
+        concurrent.addTask("Café 🚀", "Ünïcödé 中文", Arrays.asList("Jane Smith"), 12.25f, "Done");
+        concurrent.addTask("Dashboard", "Widgets", Arrays.asList("John Doe"), 0.1f, "Doing");
+        Path expected = folder.getRoot().toPath().resolve("expected.csv");
+        Path actual = folder.getRoot().toPath().resolve("actual.csv");
+        exporter.exportFile(taskManager, expected, TaskImporter.Format.CSV);
+
+        // Act
+        long written = exporter.exportFile(concurrent, actual, TaskImporter.Format.CSV);
+
+        // Assert
+        assertEquals("Every task should be written", 4, written);
+        assertEquals("Output should match the plain board",
+                    Files.readAllLines(expected), Files.readAllLines(actual));
+    }
+
+    /**
+     * Tests that a tiny buffer writes the same bytes as the default one
+     */
+    @Test
+    public void testSmallBuffer() throws IOException
+    {
+        // Arrange
+        Path expected = folder.getRoot().toPath().resolve("expected.jsonl");
+        Path actual = folder.getRoot().toPath().resolve("actual.jsonl");
+        exporter.exportFile(taskManager, expected, TaskImporter.Format.JSON);
+
+        // Act
+        exporter.setBufferBytes(16);
+        exporter.exportFile(taskManager, actual, TaskImporter.Format.JSON);
+
+        // Assert
+        assertArrayEquals("Output should not depend on the buffer size",
+                         Files.readAllBytes(expected), Files.readAllBytes(actual));
+    }
+}
@@ -0,0 +1,244 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Unit tests for TaskImporter class
+ * Tests CSV and JSON imports, per-line errors, and that chunking and
+ * parallel parsing keep the tasks in file order
+ */
+public class TaskImporterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TaskManager taskManager;
+    private TaskImporter importer;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        taskManager = new TaskManager();
+        importer = new TaskImporter();
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        taskManager = null;
+        importer = null;
+    }
+
+    /**
+     * Tests a CSV file with a header, quoted fields and several developers
+     */
+    @Test
+    public void testImportCsv() throws IOException
+    {
+        // Arrange
+        Path file = write("board.csv",
+            "name,description,developers,duration,status",
+            "Login Feature,Implement login,John Doe;Jane Smith,8.5,Doing",
+            "\"Reports, weekly\",\"Say \"\"hi\"\"\",Bob Johnson,3,To Do",
+            "",
+            "Dashboard,Widgets,Jane Smith,12,Done");
+
+        // Act
+        ImportReport report = importer.importFile(file, TaskImporter.Format.CSV, taskManager);
+
+        // Assert
+        assertEquals("Three tasks should be imported", 3, report.getImported());
+        assertEquals("No line should be rejected", 0, report.getRejected());
+        assertEquals("Every line should be read", 5, report.getLines());
+        assertTrue("Quoted name should keep its comma",
+                  taskManager.getTaskById("RE:SON:2").startsWith("Task: Reports, weekly\n"));
+        assertTrue("Doubled quotes should become one",
+                  taskManager.getTaskById("RE:SON:2").contains("Say \"hi\""));
+        assertTrue("Both developers should be indexed",
+                  taskManager.getTasksByDeveloper("Jane Smith").startsWith("Task: Login Feature\n"));
+        assertEquals("Done column should hold one task", 1, taskManager.getTaskCount(TaskStatus.DONE));
+    }
+
+    /**
+     * Tests JSON lines and a JSON array with one object per line
+     */
+    @Test
+    public void testImportJson() throws IOException
+    {
+        // Arrange
+        Path file = write("board.json",
+            "[",
+            "{\"name\": \"Login\", \"description\": \"Log in\", \"developers\": [\"John Doe\"], "
+                + "\"duration\": 8.5, \"status\": \"Doing\", \"tags\": [\"auth\", {\"a\": 1}]},",
+            "{\"name\": \"Caf\\u00e9 \\\"menu\\\"\", \"description\": \"Line\\tbreak\", "
+                + "\"developers\": [\"Jane Smith\", \"Bob Johnson\"], \"duration\": \"2\", \"status\": \"To Do\"}",
+            "]");
+
+        // Act
+        ImportReport report = importer.importFile(file, TaskImporter.Format.of(file), taskManager);
+
+        // Assert
+        assertEquals("Two tasks should be imported", 2, report.getImported());
+        assertEquals("No line should be rejected: " + report.getErrors(), 0, report.getRejected());
+        assertTrue("Escapes should be decoded",
+                  taskManager.getTaskById("CA:ITH:2").startsWith("Task: Café \"menu\"\n"));
+        assertEquals("Developers should be indexed", 1,
+                    taskManager.getTasksByDeveloper("Bob Johnson").split("Task: ").length - 1);
+    }
+
+    /**
+     * Tests that invalid lines are skipped and reported by line number
+     */
+    @Test
+    public void testInvalidLinesReported() throws IOException
+    {
+        // Arrange
+        Path file = write("board.csv",
+            "Login,Log in,John Doe,1,To Do",
+            "Long,This description is far longer than fifty characters allows,John Doe,1,To Do",
+            "Nobody,No developers,,1,To Do",
+            "Crowd,Six developers,A1;B2;C3;D4;E5;F6,1,To Do",
+            "Slow,Bad duration,John Doe,soon,To Do",
+            "Lost,Bad status,John Doe,1,Later",
+            "Short,Too few fields",
+            "Open,\"Unterminated,John Doe,1,To Do",
+            "Logout,Log out,John Doe,1,Done");
+
+        // Act
+        ImportReport report = importer.importFile(file, TaskImporter.Format.CSV, taskManager);
+
+        // Assert
+        assertEquals("Valid tasks should be imported", 2, report.getImported());
+        assertEquals("Invalid lines should be rejected", 7, report.getRejected());
+        assertEquals("Description rule should apply",
+                    "Line 2: Description must be ≤50 characters", report.getErrors().get(0));
+        assertEquals("Developer rule should apply", "Line 3: Must have 1-5 developers", report.getErrors().get(1));
+        assertEquals("Developer rule should apply", "Line 4: Must have 1-5 developers", report.getErrors().get(2));
+        assertTrue("Duration should be reported", report.getErrors().get(3).startsWith("Line 5: Duration"));
+        assertEquals("Status should be reported", "Line 6: Unknown status: Later", report.getErrors().get(4));
+        assertTrue("Field count should be reported", report.getErrors().get(5).startsWith("Line 7: Expected 5"));
+        assertEquals("Quote should be reported", "Line 8: Unterminated quote", report.getErrors().get(6));
+        assertEquals("Board should hold the valid tasks", 2, taskManager.getTaskCount());
+    }
+
+    /**
+     * Tests that tiny chunks, long lines and several threads keep the
+     * tasks and line numbers in file order
+     */
+    @Test
+    public void testSmallChunksKeepFileOrder() throws IOException
+    {
+        // Arrange
+        StringBuilder contents = new StringBuilder();
+        for (int i = 1; i <= 2_000; i++)
+        {
+            if (i % 500 == 0)
+            {
+                contents.append("Broken line ").append(i).append("\r\n");
+            }
+            else
+            {
+                contents.append("Task ").append(i).append(",Description ").append(i)
+                        .append(",Dev").append(i % 7).append(" Name,").append(i % 40)
+                        .append(",To Do\r\n");
+            }
+        }
+        Path file = folder.getRoot().toPath().resolve("board.csv");
+        Files.write(file, contents.toString().getBytes(StandardCharsets.UTF_8));
+        TaskManager expected = new TaskManager();
+        importer.importFile(file, TaskImporter.Format.CSV, expected);
+
+        // Act
+        importer.setChunkBytes(16);
+        importer.setThreads(4);
+        importer.setBatchSize(7);
+        ImportReport report = importer.importFile(file, TaskImporter.Format.CSV, taskManager);
+
+        // Assert
+        assertEquals("Every valid line should be imported", 1_996, report.getImported());
+        assertEquals("Board should match a single chunk import",
+                    expected.getAllTasks(), taskManager.getAllTasks());
+        assertTrue("Line numbers should count across chunks",
+                  report.getErrors().get(3).startsWith("Line 2000: "));
+        assertEquals("Every byte should be read", Files.size(file), report.getBytes());
+    }
+
+    /**
+     * Tests that only the first error messages are kept
+     */
+    @Test
+    public void testMaxErrors() throws IOException
+    {
+        // Arrange
+        Path file = write("board.csv", "a", "b", "c", "Login,Log in,John Doe,1,To Do");
+        importer.setMaxErrors(2);
+
+        // Act
+        ImportReport report = importer.importFile(file, TaskImporter.Format.CSV, taskManager);
+
+        // Assert
+        assertEquals("Every rejection should be counted", 3, report.getRejected());
+        assertEquals("Only two messages should be kept", 2, report.getErrors().size());
+        assertEquals("Valid task should be imported", 1, report.getImported());
+    }
+
+    /**
+     * Tests importing into a concurrent board
+     */
+    @Test
+    public void testImportConcurrent() throws IOException
+    {
+        // Arrange
+        Path file = write("board.jsonl",
+            "{\"name\":\"Login\",\"description\":\"Log in\",\"developers\":[\"John Doe\"],\"duration\":1,\"status\":\"To Do\"}",
+            "{\"name\":\"Logout\",\"description\":\"Log out\",\"developers\":[\"John Doe\"],\"duration\":2,\"status\":\"Done\"}",
+            "{\"name\":\"Broken\",\"developers\":[\"John Doe\"],\"duration\":2}");
+        ConcurrentTaskManager concurrent = new ConcurrentTaskManager(4);
+
+        // Act
+        ImportReport report = importer.importFile(file, TaskImporter.Format.of(file), concurrent);
+
+        // Assert
+        assertEquals("Two tasks should be imported", 2, concurrent.getTaskCount());
+        assertEquals("Missing status should be reported", "Line 3: Status is required",
+                    report.getErrors().get(0));
+    }
+
+    /**
+     * Tests choosing the format from the file extension
+     */
+    @Test
+    public void testFormatOf()
+    {
+        // Act & Assert
+        assertEquals(TaskImporter.Format.JSON, TaskImporter.Format.of(Paths.get("tasks.JSON")));
+        assertEquals(TaskImporter.Format.JSON, TaskImporter.Format.of(Paths.get("tasks.ndjson")));
+        assertEquals(TaskImporter.Format.CSV, TaskImporter.Format.of(Paths.get("tasks.csv")));
+    }
+
+    /**
+     * Helper method writing lines to a file in the temporary folder
+     */
+    private Path write(String name, String... lines) throws IOException
+    {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,525 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for TaskLog class
+ * Tests that logged changes replay into fresh managers, torn records are
+ * dropped, concurrent writers share group commits and snapshots shorten
+ * replay
+ */
+public class TaskLogTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private TaskManager taskManager;
+    private AuthManager authManager;
+    private TaskLog log;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp() throws IOException
+    {
+        file = folder.getRoot().toPath().resolve("board.log");
+        taskManager = new TaskManager();
+        authManager = new AuthManager();
+        log = TaskLog.open(file, taskManager, authManager);
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown() throws IOException
+    {
+        log.close();
+        taskManager = null;
+        authManager = null;
+    }
+
+    /**
+     * Tests that every kind of change survives a restart
+     */
+    @Test
+    public void testReplayRestoresBoard() throws IOException
+    {
+        // Arrange
+        taskManager.addTask("Login Feature", "Implement login", Arrays.asList("John Doe"), 8.5f, "Doing");
+        taskManager.addTasks(Arrays.asList(
+            new TaskDraft("Dashboard", "Widgets", Arrays.asList("Jane Smith"), 12.0f, TaskStatus.TO_DO),
+            new TaskDraft("Reports", "Weekly", Arrays.asList("Bob Johnson"), 3.0f, TaskStatus.TO_DO)));
+        taskManager.moveTask("DA:ITH:2", "Done");
+        taskManager.updateDuration("LO:DOE:1", 9.25f);
+        taskManager.updateDevelopers("LO:DOE:1", Arrays.asList("Alice Brown", "John Doe"));
+        taskManager.deleteTask("RE:SON:3");
+        authManager.registerUser("jo_d", "Password123!", "John", "Doe");
+        log.close();
+
+        // Act
+        TaskManager restored = new TaskManager();
+        AuthManager restoredUsers = new AuthManager();
+        log = TaskLog.open(file, restored, restoredUsers);
+
+        // Assert
+        assertEquals("Board should match", taskManager.getAllTasks(), restored.getAllTasks());
+        assertEquals("Done column should match", 1, restored.getTaskCount(TaskStatus.DONE));
+        assertTrue("Developer index should be rebuilt",
+                  restored.getTasksByDeveloper("Alice Brown").startsWith("Task: Login Feature\n"));
+        assertTrue("User should log in", restoredUsers.loginUser("jo_d", "Password123!"));
+        assertEquals("First name should match", "John", restoredUsers.getStoredFirstName());
+    }
+
+    /**
+     * Tests that changes a closed log rejects leave the board and users
+     * as the log has them
+     */
+    @Test
+    public void testRejectedChangesLeaveBoardUnchanged() throws IOException
+    {
+        // Arrange
+        taskManager.addTask("Login", "Log in", Arrays.asList("John Doe"), 1.0f, "To Do");
+        String before = taskManager.getAllTasks();
+        log.close();
+        List<Runnable> changes = Arrays.asList(
+            () -> taskManager.addTask("Logout", "Log out", Arrays.asList("John Doe"), 1.0f, "To Do"),
+            () -> taskManager.addTasks(Arrays.asList(
+                new TaskDraft("Reports", "Weekly", Arrays.asList("Bob Johnson"), 3.0f, TaskStatus.TO_DO))),
+            () -> taskManager.moveTask("LO:DOE:1", "Done"),
+            () -> taskManager.updateDuration("LO:DOE:1", 5.0f),
+            () -> taskManager.updateDevelopers("LO:DOE:1", Arrays.asList("Jane Smith")),
+            () -> taskManager.deleteTask("LO:DOE:1"),
+            () -> authManager.registerUser("jo_d", "Password123!", "John", "Doe"));
+
+        // Act
+        for (Runnable change : changes)
+        {
+            try
+            {
+                change.run();
+                fail("Closed log should reject the change");
+            }
+            catch (IllegalStateException e)
+            {
+                // Expected
+            }
+        }
+        TaskManager restored = new TaskManager();
+        log = TaskLog.open(file, restored, null);
+
+        // Assert
+        assertEquals("Board should be unchanged", before, taskManager.getAllTasks());
+        assertEquals("Aggregates should be unchanged", 1.0, taskManager.getDurationStats().getTotalHours(), 0.0);
+        assertEquals("Board should match the log", before, restored.getAllTasks());
+        assertNull("No user should be registered", authManager.getStoredFirstName());
+    }
+
+    /**
+     * Tests that tasks added after a restart continue the numbering
+     */
+    @Test
+    public void testReplayContinuesNumbering() throws IOException
+    {
+        // Arrange
+        taskManager.addTask("Login", "Log in", Arrays.asList("John Doe"), 1.0f, "To Do");
+        log.close();
+        TaskManager restored = new TaskManager();
+        log = TaskLog.open(file, restored, null);
+
+        // Act
+        restored.addTask("Logout", "Log out", Arrays.asList("John Doe"), 1.0f, "To Do");
+
+        // Assert
+        assertTrue("New task should get the next number",
+                  restored.getTaskById("LO:DOE:2").startsWith("Task: Logout\n"));
+    }
+
+    /**
+     * Tests that the password itself never reaches the file
+     */
+    @Test
+    public void testPasswordNotWritten() throws IOException
+    {
+        // Act
+        authManager.registerUser("jo_d", "Secret123!xyz", "John", "Doe");
+
+        // Assert
+        String contents = new String(Files.readAllBytes(file), "ISO-8859-1");
+        assertFalse("Password should not be in the log", contents.contains("Secret123!xyz"));
+    }
+
+    /**
+     * Tests that a record torn by a crash is dropped and the log stays usable
+     */
+    @Test
+    public void testTornRecordDropped() throws IOException
+    {
+        // Arrange
+        taskManager.addTask("Login", "Log in", Arrays.asList("John Doe"), 1.0f, "To Do");
+        log.close();
+        // A record header promising more bytes than were written
+        Files.write(file, new byte[] {0, 0, 0, 40, TaskLog.ADD, 1, 2}, StandardOpenOption.APPEND);
+
+        // Act
+        TaskManager restored = new TaskManager();
+        log = TaskLog.open(file, restored, null);
+        restored.addTask("Logout", "Log out", Arrays.asList("John Doe"), 1.0f, "To Do");
+        log.close();
+        TaskManager reopened = new TaskManager();
+        log = TaskLog.open(file, reopened, null);
+
+        // Assert
+        assertEquals("Both whole tasks should replay", 2, reopened.getTaskCount());
+    }
+
+    /**
+     * Tests that concurrent writers are grouped into fewer commits
+     */
+    @Test
+    public void testConcurrentWritersShareCommits() throws Exception
+    {
+        // Arrange
+        log.close();
+        Files.delete(file);
+        ConcurrentTaskManager concurrent = new ConcurrentTaskManager(4);
+        log = TaskLog.open(file, 2, TaskLog.DEFAULT_MAX_BATCH_RECORDS, concurrent, null);
+        int writers = 8;
+        int tasksPerWriter = 50;
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++)
+        {
+            int writer = w;
+            threads.add(new Thread(() ->
+            {
+                for (int i = 0; i < tasksPerWriter; i++)
+                {
+                    concurrent.addTask("W" + writer + " " + i, "Task",
+                                       Arrays.asList("Dev" + writer), 1.0f, "To Do");
+                }
+            }));
+        }
+
+        // Act
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        long commits = log.getGroupCommits();
+        log.close();
+        ConcurrentTaskManager restored = new ConcurrentTaskManager(4);
+        log = TaskLog.open(file, 0, 1, restored, null);
+
+        // Assert
+        assertTrue("Writes should share commits", commits < writers * tasksPerWriter);
+        assertEquals("Every task should replay", writers * tasksPerWriter, restored.getTaskCount());
+        assertEquals("Board should match", concurrent.getAllTasks(), restored.getAllTasks());
+    }
+
+    /**
+     * Tests that a log written by more stripes than the manager replaying
+     * it has still reads back in order of addition
+     */
+    @Test
+    public void testReplayIntoFewerStripes() throws IOException
+    {
+        // Arrange
+        // Writers on four stripes may log sequence numbers out of order
+        long[] sequences = {3, 2, 1, 0, 5, 4, 7, 6};
+        for (long sequence : sequences)
+        {
+            log.append(TaskLog.encodeAdd("Task " + sequence, "Logged", Arrays.asList("John Doe"),
+                                         sequence, TaskStatus.TO_DO, sequence));
+        }
+        log.append(TaskLog.encodeMove("TA:DOE:4", TaskStatus.DONE));
+        log.append(TaskLog.encodeDelete("TA:DOE:6"));
+        log.close();
+
+        // Act
+        ConcurrentTaskManager restored = new ConcurrentTaskManager(2);
+        log = TaskLog.open(file, restored, null);
+        restored.addTask("Task 8", "Added", Arrays.asList("John Doe"), 8, "To Do");
+
+        // Assert
+        String all = restored.getAllTasks();
+        int previous = -1;
+        for (int sequence : new int[] {0, 1, 2, 3, 4, 6, 7, 8})
+        {
+            int position = all.indexOf("Task: Task " + sequence + "\n");
+            assertTrue("Task " + sequence + " should follow the one added before it", position > previous);
+            previous = position;
+        }
+        assertFalse("Deleted task should stay deleted", all.contains("Task: Task 5\n"));
+        assertEquals("Move should replay", 1, restored.getTaskCount(TaskStatus.DONE));
+        assertTrue("Replayed tasks should keep their IDs",
+                  restored.getTaskById("TA:DOE:8").startsWith("Task: Task 7\n"));
+    }
+
+    /**
+     * Tests that a stripe compacted while the log replays keeps logging
+     * once the log is attached
+     */
+    @Test
+    public void testCompactionDuringReplayKeepsLogging() throws IOException, InterruptedException
+    {
+        // Arrange
+        for (int i = 0; i < 40_000; i++)
+        {
+            log.append(TaskLog.encodeAdd("Task " + i, "Logged", Arrays.asList("John Doe"),
+                                         1.0f, TaskStatus.TO_DO, i));
+        }
+        // The last delete reaches the threshold, so the copy is built
+        // while the log is being attached
+        for (int i = 0; i < 10_000; i++)
+        {
+            log.append(TaskLog.encodeDelete("TA:DOE:" + (i + 1)));
+        }
+        log.close();
+        ConcurrentTaskManager restored = new ConcurrentTaskManager(1);
+        log = TaskLog.open(file, restored, null);
+
+        // Act
+        restored.awaitCompaction();
+        restored.addTask("Reports", "Added", Arrays.asList("John Doe"), 8, "To Do");
+        log.close();
+        ConcurrentTaskManager reopened = new ConcurrentTaskManager(1);
+        log = TaskLog.open(file, reopened, null);
+
+        // Assert
+        assertTrue("Replay should have compacted the stripe",
+                  restored.getDeletedRatio() < ConcurrentTaskManager.DEFAULT_COMPACTION_THRESHOLD);
+        assertEquals("Task added after compaction should be logged", 30_001, reopened.getTaskCount());
+        assertTrue("Added task should keep its ID",
+                  reopened.getTaskById("RE:DOE:40001").startsWith("Task: Reports\n"));
+    }
+
+    /**
+     * Tests that a snapshot is loaded and only later records are replayed
+     */
+    @Test
+    public void testSnapshotReplaysOnlyTail() throws IOException
+    {
+        // Arrange
+        taskManager.addTask("Login", "Log in", Arrays.asList("John Doe"), 1.0f, "To Do");
+        taskManager.addTask("Dashboard", "Widgets", Arrays.asList("Jane Smith"), 2.0f, "To Do");
+        taskManager.deleteTask("LO:DOE:1");
+        authManager.registerUser("jo_d", "Password123!", "John", "Doe");
+        log.checkpoint();
+        long covered = Files.size(file);
+        taskManager.moveTask("DA:ITH:2", "Done");
+        taskManager.addTask("Reports", "Weekly", Arrays.asList("Bob Johnson"), 3.0f, "Doing");
+        log.close();
+        // Records covered by the snapshot must not be read again
+        byte[] contents = Files.readAllBytes(file);
+        Arrays.fill(contents, 5, (int) covered, (byte) 0x7F);
+        Files.write(file, contents);
+
+        // Act
+        TaskManager restored = new TaskManager();
+        AuthManager restoredUsers = new AuthManager();
+        log = TaskLog.open(file, restored, restoredUsers);
+        restored.addTask("Logout", "Log out", Arrays.asList("John Doe"), 1.0f, "To Do");
+
+        // Assert
+        assertEquals("Two tasks should remain before the new one", 3, restored.getTaskCount());
+        assertTrue("Moved task should keep its ID",
+                  restored.getTaskById("DA:ITH:2").contains("Status: Done"));
+        assertTrue("Numbering should continue",
+                  restored.getTaskById("LO:DOE:4").startsWith("Task: Logout\n"));
+        assertTrue("User should log in", restoredUsers.loginUser("jo_d", "Password123!"));
+    }
+
+    /**
+     * Tests that a damaged snapshot falls back to replaying the whole log
+     */
+    @Test
+    public void testDamagedSnapshotIgnored() throws IOException
+    {
+        // Arrange
+        taskManager.addTask("Login", "Log in", Arrays.asList("John Doe"), 1.0f, "To Do");
+        log.checkpoint();
+        taskManager.addTask("Logout", "Log out", Arrays.asList("John Doe"), 1.0f, "To Do");
+        log.close();
+        Path snapshot = folder.getRoot().toPath().resolve("board.log.snapshot");
+        byte[] contents = Files.readAllBytes(snapshot);
+        contents[contents.length / 2] ^= 1;
+        Files.write(snapshot, contents);
+
+        // Act
+        TaskManager restored = new TaskManager();
+        log = TaskLog.open(file, restored, null);
+
+        // Assert
+        assertEquals("Board should match", taskManager.getAllTasks(), restored.getAllTasks());
+    }
+
+    /**
+     * Tests that a snapshot cuts the log back to where the one before it
+     * starts and the cut log still reopens
+     */
+    @Test
+    public void testLogCutBackAfterSnapshot() throws IOException
+    {
+        // Arrange
+        taskManager.addTask("Login", "Log in", Arrays.asList("John Doe"), 1.0f, "To Do");
+        log.checkpoint();
+        taskManager.addTask("Dashboard", "Widgets", Arrays.asList("Jane Smith"), 2.0f, "To Do");
+        log.checkpoint();
+        taskManager.addTask("Reports", "Weekly", Arrays.asList("Bob Johnson"), 3.0f, "Doing");
+        taskManager.moveTask("LO:DOE:1", "Done");
+        log.close();
+
+        // Act
+        String contents = new String(Files.readAllBytes(file), "ISO-8859-1");
+        TaskManager restored = new TaskManager();
+        log = TaskLog.open(file, restored, null);
+        restored.addTask("Logout", "Log out", Arrays.asList("John Doe"), 1.0f, "To Do");
+
+        // Assert
+        assertFalse("Records before the previous snapshot should be cut", contents.contains("Log in"));
+        assertTrue("Records after it should be kept", contents.contains("Widgets"));
+        assertTrue("Moved task should keep its status",
+                  restored.getTaskById("LO:DOE:1").contains("Status: Done"));
+        assertTrue("Numbering should continue",
+                  restored.getTaskById("LO:DOE:4").startsWith("Task: Logout\n"));
+    }
+
+    /**
+     * Tests that a cut log falls back to the previous snapshot and refuses
+     * to open once neither can be read
+     */
+    @Test
+    public void testCutLogFallsBackToPreviousSnapshot() throws IOException
+    {
+        // Arrange
+        log.setCheckpointBytes(64);
+        for (int i = 0; i < 50; i++)
+        {
+            taskManager.addTask("Task " + i, "Work", Arrays.asList("John Doe"), 1.0f, "To Do");
+        }
+        log.close();
+        Path snapshot = folder.getRoot().toPath().resolve("board.log.snapshot");
+        Path previous = folder.getRoot().toPath().resolve("board.log.snapshot.previous");
+        damage(snapshot);
+
+        // Act
+        TaskManager restored = new TaskManager();
+        log = TaskLog.open(file, restored, null);
+        log.close();
+        damage(previous);
+
+        // Assert
+        assertEquals("Board should match", taskManager.getAllTasks(), restored.getAllTasks());
+        try
+        {
+            TaskLog.open(file, new TaskManager(), null);
+            fail("Should throw IOException");
+        }
+        catch (IOException e)
+        {
+            // Expected
+        }
+    }
+
+    /**
+     * Tests that snapshots are written once enough has been logged
+     */
+    @Test
+    public void testSnapshotWrittenWhenDue() throws IOException
+    {
+        // Arrange
+        log.setCheckpointBytes(1);
+
+        // Act
+        taskManager.addTask("Login", "Log in", Arrays.asList("John Doe"), 1.0f, "To Do");
+
+        // Assert
+        assertTrue("Snapshot should be written",
+                  Files.exists(folder.getRoot().toPath().resolve("board.log.snapshot")));
+    }
+
+    /**
+     * Tests a snapshot of a concurrent board restored into other stripes
+     */
+    @Test
+    public void testConcurrentSnapshot() throws IOException
+    {
+        // Arrange
+        log.close();
+        Files.delete(file);
+        ConcurrentTaskManager concurrent = new ConcurrentTaskManager(4);
+        log = TaskLog.open(file, concurrent, null);
+        for (int i = 0; i < 40; i++)
+        {
+            concurrent.addTask("Task " + i, "Task", Arrays.asList("Dev" + (i % 3)), i, "To Do");
+        }
+        concurrent.deleteTask("TA:EV0:1");
+        log.checkpoint();
+        concurrent.addTask("Late", "Task", Arrays.asList("Dev1"), 1.0f, "Doing");
+        log.close();
+
+        // Act
+        ConcurrentTaskManager restored = new ConcurrentTaskManager(2);
+        log = TaskLog.open(file, 0, 1, restored, null);
+
+        // Assert
+        assertEquals("Board should match", concurrent.getAllTasks(), restored.getAllTasks());
+        assertEquals("Developer search should match",
+                    concurrent.getTasksByDeveloper("Dev1"), restored.getTasksByDeveloper("Dev1"));
+    }
+
+    /**
+     * Tests opening a file that is not a task log
+     */
+    @Test(expected = IOException.class)
+    public void testOpenNotALog() throws IOException
+    {
+        // Arrange
+        Path other = folder.newFile("notes.txt").toPath();
+        Files.write(other, "Buy milk".getBytes("US-ASCII"));
+
+        // Act & Assert
+        TaskLog.open(other, new TaskManager(), null);
+    }
+
+    /**
+     * Tests changing the board after the log is closed
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testAppendAfterClose() throws IOException
+    {
+        // Arrange
+        log.close();
+
+        // Act & Assert
+        taskManager.addTask("Login", "Log in", Arrays.asList("John Doe"), 1.0f, "To Do");
+    }
+
+    /**
+     * Flips a bit in the middle of a file
+     */
+    private static void damage(Path file) throws IOException
+    {
+        byte[] contents = Files.readAllBytes(file);
+        contents[contents.length / 2] ^= 1;
+        Files.write(file, contents);
+    }
+}
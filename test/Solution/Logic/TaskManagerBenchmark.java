@@ -0,0 +1,1427 @@
+package Solution.Logic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Micro benchmarks for TaskManager operations on large boards
+ * Not a unit test; run manually with a generous heap, e.g.
+ * java -Xmx4g -cp build/classes:build/test/classes Solution.Logic.TaskManagerBenchmark
+ */
+public class TaskManagerBenchmark
+{
+    private static final int[] BOARD_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int DEVELOPER_POOL = 5_000;
+    private static final int SEARCHES = 200;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final int RENDER_TASKS = 100_000;
+    private static final int RENDER_ROUNDS = 10;
+    private static final int MEMORY_TASKS = 1_000_000;
+    private static final int CONCURRENT_TASKS = 2_000_000;
+    private static final int BATCH_TASKS = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int MOVE_BOARD = 1_000_000;
+    private static final int MOVES = 2_000_000;
+    private static final int DELETE_BOARD = 1_000_000;
+    private static final int WAL_THREADS = 128;
+    private static final int WAL_TASKS = 50_000;
+    private static final int[] WAL_BATCH_RECORDS = {1, 4, 16, 64, 128};
+    private static final int STARTUP_BOARD = 1_000_000;
+    private static final int STARTUP_MOVES = 3_000_000;
+    private static final int STARTUP_TAIL = 10_000;
+    private static final int CODEC_TASKS = 1_000_000;
+    private static final int CODEC_ROUNDS = 5;
+    private static final int MAPPED_BOARD = 1_000_000;
+    private static final int IMPORT_LINES = 1_000_000;
+    private static final int EXPORT_BOARD = 1_000_000;
+    private static final int SEARCH_BOARD = 1_000_000;
+    private static final int FUZZY_DEVELOPERS = 50_000;
+    private static final int[] DURATION_BOARDS = {1_000_000, 4_000_000};
+    private static final int AGGREGATE_BOARD = 1_000_000;
+    private static final int AGGREGATE_UPDATES = 1_000_000;
+    private static final int SCAN_BOARD = 2_000_000;
+    private static final int SCAN_ROUNDS = 5;
+    private static final int QUERY_BOARD = 1_000_000;
+    private static final int EVENT_THREADS = 8;
+    private static final int EVENT_TASKS = 400_000;
+    private static final long[] EVENT_DELAYS = {0, 10, 100};
+    private static final String[] NAME_SYLLABLES = {"an", "bel", "cor", "da", "el", "fin", "gar", "ha", "is",
+                                                    "jo", "ka", "lin", "mar", "no", "or", "pe", "ri", "sa",
+                                                    "ta", "vin", "wen", "yo", "zel", "ston", "son"};
+    private static final String[] SEARCH_QUERIES = {"123456", "task 123456", "12345*", "descr* 99999*",
+                                                    "generated task"};
+
+    /**
+     * Runs the named benchmark scenarios, or all of them without arguments
+     * @param args scenario names, e.g. developerSearch render
+     */
+    public static void main(String[] args)
+    {
+        List<String> scenarios = Arrays.asList(args);
+
+        if (scenarios.isEmpty() || scenarios.contains("developerSearch"))
+        {
+            for (int size : BOARD_SIZES)
+            {
+                benchmarkDeveloperSearch(size);
+            }
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("render"))
+        {
+            benchmarkRender();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("memory"))
+        {
+            benchmarkStoreMemory("ListTaskStore", new ListTaskStore());
+            benchmarkStoreMemory("ColumnarTaskStore", new ColumnarTaskStore());
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("batchAdd"))
+        {
+            benchmarkBatchAdd();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("move"))
+        {
+            benchmarkMove("ListTaskStore", new TaskManager());
+            benchmarkMove("ColumnarTaskStore", TaskManager.withColumnarStore());
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("delete"))
+        {
+            benchmarkDelete();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("concurrentAdd"))
+        {
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads <= cores; threads *= 2)
+            {
+                benchmarkConcurrentAdd(threads);
+            }
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("wal"))
+        {
+            for (int maxBatchRecords : WAL_BATCH_RECORDS)
+            {
+                benchmarkLog(maxBatchRecords);
+            }
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("startup"))
+        {
+            benchmarkStartup();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("codec"))
+        {
+            benchmarkCodec();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("mapped"))
+        {
+            benchmarkMapped();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("import"))
+        {
+            benchmarkImport(TaskImporter.Format.CSV);
+            benchmarkImport(TaskImporter.Format.JSON);
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("export"))
+        {
+            benchmarkExport();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("textSearch"))
+        {
+            benchmarkTextSearch();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("fuzzyDeveloper"))
+        {
+            benchmarkFuzzyDeveloper();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("durationQueries"))
+        {
+            for (int size : DURATION_BOARDS)
+            {
+                benchmarkDurationQueries(size);
+            }
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("aggregates"))
+        {
+            benchmarkAggregates();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("parallelScan"))
+        {
+            benchmarkParallelScan("ListTaskStore", new TaskManager());
+            benchmarkParallelScan("ColumnarTaskStore", TaskManager.withColumnarStore());
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("query"))
+        {
+            benchmarkQuery();
+        }
+
+        if (scenarios.isEmpty() || scenarios.contains("events"))
+        {
+            // The first run warms up the add path for the ones compared
+            benchmarkEvents(-1);
+            benchmarkEvents(-1);
+            for (long delay : EVENT_DELAYS)
+            {
+                benchmarkEvents(delay);
+            }
+        }
+    }
+
+    /**
+     * Compares indexed developer search with the previous full scan
+     */
+    private static void benchmarkDeveloperSearch(int size)
+    {
+        TaskManager manager = new TaskManager();
+        List<List<String>> scanBaseline = new ArrayList<>(size);
+        Random random = new Random(42);
+
+        for (int i = 0; i < size; i++)
+        {
+            List<String> developers = randomDevelopers(random);
+            manager.addTask("Task " + i, "Generated task", developers,
+                           1 + random.nextInt(40), STATUSES[i % STATUSES.length]);
+            scanBaseline.add(developers);
+        }
+
+        String[] targets = new String[SEARCHES];
+        for (int i = 0; i < SEARCHES; i++)
+        {
+            targets[i] = developerName(random.nextInt(DEVELOPER_POOL));
+        }
+
+        // Warm up both paths before measuring
+        runScan(scanBaseline, targets);
+        runIndexed(manager, targets);
+
+        long scanStart = System.nanoTime();
+        long scanMatches = runScan(scanBaseline, targets);
+        long scanNanos = System.nanoTime() - scanStart;
+
+        long indexStart = System.nanoTime();
+        long indexChars = runIndexed(manager, targets);
+        long indexNanos = System.nanoTime() - indexStart;
+
+        System.out.printf("developerSearch size=%,d  scan=%.3f ms/search  index=%.3f ms/search  "
+                          + "speedup=%.1fx  (matches=%d, chars=%d)%n",
+                          size, scanNanos / 1e6 / SEARCHES, indexNanos / 1e6 / SEARCHES,
+                          (double) scanNanos / indexNanos, scanMatches, indexChars);
+    }
+
+    /**
+     * Compares renders per second of String.format with TaskRenderer
+     */
+    private static void benchmarkRender()
+    {
+        Random random = new Random(42);
+        DeveloperDictionary dictionary = new DeveloperDictionary();
+        List<TaskManager.Task> tasks = new ArrayList<>(RENDER_TASKS);
+        for (int i = 0; i < RENDER_TASKS; i++)
+        {
+            tasks.add(new TaskManager.Task("Task " + i, "Generated task", randomDevelopers(random),
+                                           dictionary, random.nextFloat() * 40,
+                                           STATUSES[i % STATUSES.length], i));
+        }
+
+        StringBuilder buffer = new StringBuilder(256);
+        long sink = 0;
+        long formatNanos = 0;
+        long rendererNanos = 0;
+
+        // The first round warms up both paths and is not counted
+        for (int round = 0; round <= RENDER_ROUNDS; round++)
+        {
+            long start = System.nanoTime();
+            for (TaskManager.Task task : tasks)
+            {
+                sink += String.format(
+                    "Task: %s\nDesc: %s\nDevs: %s\nDuration: %.2f hrs\nStatus: %s\nID: %s",
+                    task.getName(), task.getDescription(), String.join(", ", task.getDevelopers()),
+                    task.getDuration(), task.getStatus(), task.getId()).length();
+            }
+            long middle = System.nanoTime();
+            for (TaskManager.Task task : tasks)
+            {
+                buffer.setLength(0);
+                TaskRenderer.render(task, buffer);
+                sink += buffer.length();
+            }
+            long end = System.nanoTime();
+
+            if (round > 0)
+            {
+                formatNanos += middle - start;
+                rendererNanos += end - middle;
+            }
+        }
+
+        double renders = (double) RENDER_TASKS * RENDER_ROUNDS;
+        System.out.printf("render  String.format=%,.0f renders/s  TaskRenderer=%,.0f renders/s  "
+                          + "speedup=%.1fx  (chars=%d)%n",
+                          renders / (formatNanos / 1e9), renders / (rendererNanos / 1e9),
+                          (double) formatNanos / rendererNanos, sink);
+    }
+
+    /**
+     * Measures the retained heap of a store holding MEMORY_TASKS tasks
+     * Developer names come from a shared pool, as they would from the UI
+     */
+    private static void benchmarkStoreMemory(String label, TaskStore store)
+    {
+        String[] pool = new String[DEVELOPER_POOL];
+        for (int i = 0; i < pool.length; i++)
+        {
+            pool[i] = developerName(i);
+        }
+
+        long before = usedHeap();
+        Random random = new Random(42);
+        for (int i = 0; i < MEMORY_TASKS; i++)
+        {
+            int count = 1 + random.nextInt(3);
+            String[] developers = new String[count];
+            for (int d = 0; d < count; d++)
+            {
+                developers[d] = pool[random.nextInt(pool.length)];
+            }
+            store.add(new TaskManager.Task("Task " + i, "Generated task description " + i,
+                                           Arrays.asList(developers), store.getDeveloperDictionary(),
+                                           random.nextFloat() * 40,
+                                           STATUSES[i % STATUSES.length], i));
+        }
+        long after = usedHeap();
+
+        System.out.printf("memory  %-18s tasks=%,d  heap=%,.1f MB  (%.0f bytes/task, rows=%d)%n",
+                          label, MEMORY_TASKS, (after - before) / 1e6,
+                          (double) (after - before) / MEMORY_TASKS, store.size());
+    }
+
+    /**
+     * Gets heap in use after encouraging a full collection
+     */
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Compares adding BATCH_TASKS tasks one at a time with addTasks batches
+     */
+    private static void benchmarkBatchAdd()
+    {
+        Random random = new Random(42);
+        List<TaskDraft> drafts = new ArrayList<>(BATCH_TASKS);
+        for (int i = 0; i < BATCH_TASKS; i++)
+        {
+            drafts.add(new TaskDraft("Task " + i, "Generated task", randomDevelopers(random),
+                                     1 + random.nextInt(40), STATUSES[i % STATUSES.length]));
+        }
+
+        TaskManager single = new TaskManager();
+        long singleStart = System.nanoTime();
+        for (TaskDraft draft : drafts)
+        {
+            single.addTask(draft.getName(), draft.getDescription(), draft.getDevelopers(),
+                           draft.getDuration(), draft.getStatus());
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+
+        TaskManager batched = new TaskManager();
+        long batchStart = System.nanoTime();
+        for (int from = 0; from < BATCH_TASKS; from += BATCH_SIZE)
+        {
+            batched.addTasks(drafts.subList(from, Math.min(from + BATCH_SIZE, BATCH_TASKS)));
+        }
+        long batchNanos = System.nanoTime() - batchStart;
+
+        System.out.printf("batchAdd tasks=%,d  addTask=%,.0f tasks/s  addTasks(%d)=%,.0f tasks/s%n",
+                          BATCH_TASKS, BATCH_TASKS / (singleNanos / 1e9), BATCH_SIZE,
+                          BATCH_TASKS / (batchNanos / 1e9));
+    }
+
+    /**
+     * Measures sustained moveTask and updateDuration throughput on a
+     * MOVE_BOARD task board, each operation on a random task
+     */
+    private static void benchmarkMove(String label, TaskManager manager)
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < MOVE_BOARD; i++)
+        {
+            manager.addTask("Task " + i, "Generated task", randomDevelopers(random),
+                           1 + random.nextInt(40), STATUSES[i % STATUSES.length]);
+        }
+
+        String[] ids = new String[MOVE_BOARD];
+        for (int row = 0; row < MOVE_BOARD; row++)
+        {
+            ids[row] = manager.getStore().get(row).getId();
+        }
+
+        int[] targets = new int[MOVES];
+        for (int i = 0; i < MOVES; i++)
+        {
+            targets[i] = random.nextInt(MOVE_BOARD);
+        }
+
+        // Warm up before measuring
+        for (int i = 0; i < MOVES / 10; i++)
+        {
+            manager.moveTask(ids[targets[i]], STATUSES[i % STATUSES.length]);
+        }
+
+        long moveStart = System.nanoTime();
+        for (int i = 0; i < MOVES; i++)
+        {
+            manager.moveTask(ids[targets[i]], STATUSES[(i + 1) % STATUSES.length]);
+        }
+        long moveNanos = System.nanoTime() - moveStart;
+
+        long durationStart = System.nanoTime();
+        for (int i = 0; i < MOVES; i++)
+        {
+            manager.updateDuration(ids[targets[i]], 1 + (i % 40));
+        }
+        long durationNanos = System.nanoTime() - durationStart;
+
+        System.out.printf("move %s board=%,d  moveTask=%,.0f moves/s  updateDuration=%,.0f updates/s  "
+                          + "(done=%,d)%n",
+                          label, MOVE_BOARD, MOVES / (moveNanos / 1e9), MOVES / (durationNanos / 1e9),
+                          manager.getTaskCount(TaskStatus.DONE));
+    }
+
+    /**
+     * Deletes most of a DELETE_BOARD task board while another thread keeps
+     * adding tasks, and reports the longest single add the writer saw
+     */
+    private static void benchmarkDelete()
+    {
+        ConcurrentTaskManager manager = new ConcurrentTaskManager(4);
+        Random random = new Random(42);
+        String[] ids = new String[DELETE_BOARD];
+        for (int i = 0; i < DELETE_BOARD; i++)
+        {
+            List<String> developers = randomDevelopers(random);
+            manager.addTask("Task " + i, "Generated task", developers,
+                           1 + random.nextInt(40), STATUSES[i % STATUSES.length]);
+            String first = developers.get(0);
+            ids[i] = "TA:" + first.substring(first.length() - 3).toUpperCase() + ":" + (i + 1);
+        }
+
+        AtomicBoolean deleting = new AtomicBoolean(true);
+        long[] writer = new long[2];
+        Thread adder = new Thread(() ->
+        {
+            Random writerRandom = new Random(7);
+            while (deleting.get())
+            {
+                long start = System.nanoTime();
+                manager.addTask("New", "Generated task", randomDevelopers(writerRandom),
+                               1, TaskStatus.TO_DO);
+                writer[0] = Math.max(writer[0], System.nanoTime() - start);
+                writer[1]++;
+            }
+        });
+        adder.start();
+
+        int deletes = DELETE_BOARD * 3 / 5;
+        long deleteStart = System.nanoTime();
+        for (int i = 0; i < deletes; i++)
+        {
+            manager.deleteTask(ids[i]);
+        }
+        long deleteNanos = System.nanoTime() - deleteStart;
+
+        try
+        {
+            manager.awaitCompaction();
+            deleting.set(false);
+            adder.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+
+        System.out.printf("delete board=%,d  deleteTask=%,.0f deletes/s  concurrent adds=%,d  "
+                          + "longest add=%.2f ms  deleted ratio after compaction=%.3f%n",
+                          DELETE_BOARD, deletes / (deleteNanos / 1e9), writer[1],
+                          writer[0] / 1e6, manager.getDeletedRatio());
+    }
+
+    /**
+     * Compares add throughput of ConcurrentTaskManager with a TaskManager
+     * behind one global lock, splitting CONCURRENT_TASKS over the threads
+     */
+    private static void benchmarkConcurrentAdd(int threads)
+    {
+        TaskManager locked = new TaskManager();
+        double lockedRate = runConcurrentAdds(threads, (name, developers, status) ->
+        {
+            synchronized (locked)
+            {
+                locked.addTask(name, "Generated task", developers, 4.0f, status);
+            }
+        });
+
+        ConcurrentTaskManager striped = new ConcurrentTaskManager();
+        double stripedRate = runConcurrentAdds(threads, (name, developers, status) ->
+            striped.addTask(name, "Generated task", developers, 4.0f, status));
+
+        System.out.printf("concurrentAdd threads=%d  globalLock=%,.0f adds/s  striped=%,.0f adds/s%n",
+                          threads, lockedRate, stripedRate);
+    }
+
+    /**
+     * Measures durable adds from WAL_THREADS threads into a logged
+     * ConcurrentTaskManager, with at most maxBatchRecords per group commit
+     */
+    private static void benchmarkLog(int maxBatchRecords)
+    {
+        try
+        {
+            Path file = Files.createTempFile("task-log", ".bin");
+            Files.delete(file);
+            ConcurrentTaskManager manager = new ConcurrentTaskManager();
+            double rate;
+            long commits;
+            try (TaskLog log = TaskLog.open(file, TaskLog.DEFAULT_FLUSH_INTERVAL_MILLIS,
+                                            maxBatchRecords, manager, null))
+            {
+                rate = runConcurrentAdds(WAL_THREADS, WAL_TASKS, (name, developers, status) ->
+                    manager.addTask(name, "Generated task", developers, 4.0f, status));
+                commits = log.getGroupCommits();
+            }
+            finally
+            {
+                Files.deleteIfExists(file);
+            }
+
+            System.out.printf("wal threads=%d maxBatchRecords=%d  %,.0f durable adds/s  "
+                              + "group commits=%,d  average group=%.1f records%n",
+                              WAL_THREADS, maxBatchRecords, rate, commits,
+                              (double) manager.getTaskCount() / commits);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Measures TaskCodec size and speed on CODEC_TASKS tasks against the
+     * board text format
+     */
+    private static void benchmarkCodec()
+    {
+        TaskManager manager = new TaskManager();
+        Random random = new Random(42);
+        for (int i = 0; i < CODEC_TASKS; i++)
+        {
+            manager.addTask("Task " + i, "Generated task", randomDevelopers(random),
+                           1 + random.nextInt(160) / 4f, STATUSES[i % STATUSES.length]);
+        }
+        List<TaskManager.Task> tasks = new ArrayList<>(CODEC_TASKS);
+        manager.collectLiveTasks(tasks);
+
+        long textBytes = 0;
+        for (TaskManager.Task task : tasks)
+        {
+            textBytes += task.toString().length() + 2;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(64 << 20);
+        long encodeNanos = Long.MAX_VALUE;
+        long decodeNanos = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < CODEC_ROUNDS; round++)
+        {
+            buffer.clear();
+            TaskCodec encoder = new TaskCodec();
+            long start = System.nanoTime();
+            for (TaskManager.Task task : tasks)
+            {
+                encoder.encode(task, buffer);
+            }
+            encodeNanos = Math.min(encodeNanos, System.nanoTime() - start);
+
+            buffer.flip();
+            TaskCodec decoder = new TaskCodec();
+            start = System.nanoTime();
+            for (TaskManager.Task task = decoder.decode(buffer); task != null;
+                 task = decoder.decode(buffer))
+            {
+                checksum += task.getSequence();
+            }
+            decodeNanos = Math.min(decodeNanos, System.nanoTime() - start);
+        }
+
+        long codecBytes = buffer.limit();
+        System.out.printf("codec tasks=%,d  binary=%.1f bytes/task  text=%.1f bytes/task  "
+                          + "encode=%,.0f tasks/s (%,.0f MB/s)  decode=%,.0f tasks/s  (checksum %d)%n",
+                          CODEC_TASKS, (double) codecBytes / CODEC_TASKS,
+                          (double) textBytes / CODEC_TASKS,
+                          CODEC_TASKS / (encodeNanos / 1e9), codecBytes / (encodeNanos / 1e3),
+                          CODEC_TASKS / (decodeNanos / 1e9), checksum);
+    }
+
+    /**
+     * Compares opening a log with a long history by full replay with
+     * loading a snapshot and replaying only a short tail
+     * The history is STARTUP_BOARD adds, STARTUP_MOVES moves and duration
+     * changes and a tenth of the board deleted
+     */
+    private static void benchmarkStartup()
+    {
+        try
+        {
+            Path directory = Files.createTempDirectory("task-startup");
+            Path file = directory.resolve("board.log");
+            try
+            {
+                TaskManager original = new TaskManager();
+                Random random = new Random(42);
+                String[] ids = new String[STARTUP_BOARD];
+                try (TaskLog log = TaskLog.open(file, original, null))
+                {
+                    log.setCheckpointBytes(Long.MAX_VALUE);
+                    // Generating the history should not wait for every fsync
+                    original.attachLog(log, false);
+                    for (int i = 0; i < STARTUP_BOARD; i++)
+                    {
+                        List<String> developers = randomDevelopers(random);
+                        original.addTask("Task " + i, "Generated task", developers,
+                                        1 + random.nextInt(40), TaskStatus.TO_DO);
+                        String first = developers.get(0);
+                        ids[i] = "TA:" + first.substring(first.length() - 3).toUpperCase()
+                            + ":" + (i + 1);
+                    }
+                    for (int i = 0; i < STARTUP_MOVES; i++)
+                    {
+                        String id = ids[random.nextInt(STARTUP_BOARD / 10 * 9) + STARTUP_BOARD / 10];
+                        if (i % 2 == 0)
+                        {
+                            original.moveTask(id, STATUSES[1 + random.nextInt(2)]);
+                        }
+                        else
+                        {
+                            original.updateDuration(id, 1 + random.nextInt(40));
+                        }
+                    }
+                    for (int i = 0; i < STARTUP_BOARD / 10; i++)
+                    {
+                        original.deleteTask(ids[i]);
+                    }
+                }
+                long logBytes = Files.size(file);
+
+                TaskManager replayed = new TaskManager();
+                long replayStart = System.nanoTime();
+                long checkpointNanos;
+                try (TaskLog log = TaskLog.open(file, replayed, null))
+                {
+                    long replayNanos = System.nanoTime() - replayStart;
+                    log.setCheckpointBytes(Long.MAX_VALUE);
+                    long checkpointStart = System.nanoTime();
+                    log.checkpoint();
+                    checkpointNanos = System.nanoTime() - checkpointStart;
+                    replayed.attachLog(log, false);
+                    for (int i = 0; i < STARTUP_TAIL; i++)
+                    {
+                        replayed.updateDuration(ids[STARTUP_BOARD - 1 - i], 41);
+                    }
+                    System.out.printf("startup board=%,d history=%,d changes log=%,d KB  "
+                                      + "full replay=%,d ms%n",
+                                      STARTUP_BOARD, STARTUP_BOARD + STARTUP_MOVES + STARTUP_BOARD / 10,
+                                      logBytes / 1024, replayNanos / 1_000_000);
+                }
+
+                TaskManager restored = new TaskManager();
+                long restoreStart = System.nanoTime();
+                TaskLog restoredLog = TaskLog.open(file, restored, null);
+                try
+                {
+                    long restoreNanos = System.nanoTime() - restoreStart;
+                    System.out.printf("startup snapshot=%,d KB written in %,d ms  "
+                                      + "snapshot + %,d record tail=%,d ms  (tasks=%,d, match=%b)%n",
+                                      Files.size(TaskSnapshot.fileFor(file)) / 1024,
+                                      checkpointNanos / 1_000_000, STARTUP_TAIL,
+                                      restoreNanos / 1_000_000, restored.getTaskCount(),
+                                      restored.getTaskCount(TaskStatus.DONE)
+                                          == replayed.getTaskCount(TaskStatus.DONE)
+                                      && restored.getTaskWithLongestDuration()
+                                          .equals(replayed.getTaskWithLongestDuration()));
+                }
+                finally
+                {
+                    restoredLog.close();
+                }
+            }
+            finally
+            {
+                Files.deleteIfExists(TaskSnapshot.fileFor(file));
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(directory);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds a board of MAPPED_BOARD tasks in a mapped store, then compares
+     * reopening it with the heap a list-backed board of the same tasks holds
+     */
+    private static void benchmarkMapped()
+    {
+        try
+        {
+            Path directory = Files.createTempDirectory("task-mapped");
+            Path file = directory.resolve("board.tasks");
+            try
+            {
+                long baseline = usedHeap();
+                TaskManager listed = new TaskManager();
+                fillBoard(listed, MAPPED_BOARD);
+                long listedHeap = usedHeap() - baseline;
+                String expected = listed.getLongestTasks(5, TaskStatus.DONE);
+                listed = null;
+
+                long buildStart = System.nanoTime();
+                try (TaskManager mapped = TaskManager.withMappedStore(file))
+                {
+                    fillBoard(mapped, MAPPED_BOARD);
+                }
+                long buildNanos = System.nanoTime() - buildStart;
+
+                baseline = usedHeap();
+                long openStart = System.nanoTime();
+                try (TaskManager reopened = TaskManager.withMappedStore(file))
+                {
+                    long openNanos = System.nanoTime() - openStart;
+                    long mappedHeap = usedHeap() - baseline;
+                    long queryStart = System.nanoTime();
+                    String longest = reopened.getLongestTasks(5, TaskStatus.DONE);
+                    long queryMicros = (System.nanoTime() - queryStart) / 1_000;
+                    System.out.printf("mapped  tasks=%,d  files=%,d KB  built in %,d ms  reopened in %,d ms  "
+                                      + "longest query=%,d us  (match=%b)%n",
+                                      MAPPED_BOARD,
+                                      (Files.size(file) + Files.size(MappedTaskStore.dataFileFor(file))) / 1024,
+                                      buildNanos / 1_000_000, openNanos / 1_000_000, queryMicros,
+                                      expected.equals(longest));
+                    System.out.printf("mapped  heap ListTaskStore board=%,.1f MB  "
+                                      + "MappedTaskStore board (indexes only)=%,.1f MB%n",
+                                      listedHeap / 1e6, mappedHeap / 1e6);
+                }
+            }
+            finally
+            {
+                Files.deleteIfExists(MappedTaskStore.dataFileFor(file));
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(directory);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Imports a generated file of IMPORT_LINES tasks, one line in a
+     * thousand invalid, with one parser thread and with one per core
+     */
+    private static void benchmarkImport(TaskImporter.Format format)
+    {
+        try
+        {
+            Path file = Files.createTempFile("task-import", format == TaskImporter.Format.CSV
+                                                            ? ".csv" : ".jsonl");
+            try
+            {
+                Random random = new Random(42);
+                try (java.io.BufferedWriter out = Files.newBufferedWriter(file))
+                {
+                    for (int i = 0; i < IMPORT_LINES; i++)
+                    {
+                        List<String> developers = randomDevelopers(random);
+                        float duration = 1 + random.nextInt(4000) / 100f;
+                        String status = STATUSES[i % STATUSES.length].toString();
+                        String description = i % 1000 == 999
+                            ? "This generated description is much too long to be accepted"
+                            : "Generated task description " + i;
+                        if (format == TaskImporter.Format.CSV)
+                        {
+                            out.write("Task " + i + "," + description + "," + String.join(";", developers)
+                                      + "," + duration + "," + status);
+                        }
+                        else
+                        {
+                            out.write("{\"name\": \"Task " + i + "\", \"description\": \"" + description
+                                      + "\", \"developers\": [\"" + String.join("\", \"", developers)
+                                      + "\"], \"duration\": " + duration + ", \"status\": \"" + status + "\"}");
+                        }
+                        out.newLine();
+                    }
+                }
+
+                int cores = Runtime.getRuntime().availableProcessors();
+                for (int threads : new int[] {1, cores})
+                {
+                    TaskImporter importer = new TaskImporter();
+                    importer.setThreads(threads);
+                    TaskManager manager = new TaskManager();
+                    ImportReport report = importer.importFile(file, format, manager);
+                    System.out.printf("import  %-4s threads=%d  file=%,d KB  %s%n", format, threads,
+                                      Files.size(file) / 1024, report);
+                }
+                ImportReport parseOnly = new TaskImporter().importFile(file, format, batch -> { });
+                System.out.printf("import  %-4s parse only  %s%n", format, parseOnly);
+            }
+            finally
+            {
+                Files.deleteIfExists(file);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Exports a board of EXPORT_BOARD tasks as CSV and JSON, whole and
+     * filtered, and compares the heap with building getAllTasks as one String
+     */
+    private static void benchmarkExport()
+    {
+        try
+        {
+            Path file = Files.createTempFile("task-export", ".out");
+            try
+            {
+                TaskManager manager = new TaskManager();
+                fillBoard(manager, EXPORT_BOARD);
+                long baseline = usedHeap();
+
+                long start = System.nanoTime();
+                String all = manager.getAllTasks();
+                Files.writeString(file, all);
+                long stringNanos = System.nanoTime() - start;
+                long stringHeap = usedHeap() - baseline;
+                System.out.printf("export  getAllTasks String  %,d ms  file=%,d KB  heap held=%,.1f MB%n",
+                                  stringNanos / 1_000_000, Files.size(file) / 1024, stringHeap / 1e6);
+                all = null;
+
+                TaskExporter exporter = new TaskExporter();
+                String developer = manager.getStore().getDeveloperDictionary().nameOf(0);
+                for (TaskImporter.Format format : TaskImporter.Format.values())
+                {
+                    exportOnce(exporter, manager, file, format, null, null);
+                    exportOnce(exporter, manager, file, format, null, TaskStatus.DONE);
+                    exportOnce(exporter, manager, file, format, developer, null);
+                }
+                System.out.printf("export  TaskExporter buffer=%,d KB  heap held after=%,.1f MB%n",
+                                  TaskExporter.DEFAULT_BUFFER_BYTES / 1024,
+                                  (usedHeap() - baseline) / 1e6);
+            }
+            finally
+            {
+                Files.deleteIfExists(file);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Times one export and prints its rate
+     */
+    private static void exportOnce(TaskExporter exporter, TaskManager manager, Path file,
+                                   TaskImporter.Format format, String developer, TaskStatus status)
+        throws IOException
+    {
+        long start = System.nanoTime();
+        long tasks = exporter.exportFile(manager, file, format, developer, status);
+        long nanos = System.nanoTime() - start;
+        System.out.printf("export  %-4s %-22s tasks=%,9d  %,6d ms  %6.1f MB/s%n", format,
+                          developer != null ? "developer=" + developer : status != null ? "status=" + status : "all",
+                          tasks, nanos / 1_000_000, Files.size(file) / 1e6 / (nanos / 1e9));
+    }
+
+    /**
+     * Compares word index searches with a scan of every name and
+     * description, and measures the heap the word index takes
+     */
+    private static void benchmarkTextSearch()
+    {
+        TaskManager manager = new TaskManager();
+        fillBoard(manager, SEARCH_BOARD);
+        TaskStore store = manager.getStore();
+
+        long baseline = usedHeap();
+        long buildStart = System.nanoTime();
+        TextIndex index = new TextIndex();
+        for (int row = 0; row < store.size(); row++)
+        {
+            TaskManager.Task task = store.get(row);
+            index.add(row, task.getName(), task.getDescription());
+        }
+        long buildNanos = System.nanoTime() - buildStart;
+        long indexHeap = usedHeap() - baseline;
+        System.out.printf("textSearch  tasks=%,d  words=%,d  built in %,d ms  heap=%,.1f MB%n",
+                          SEARCH_BOARD, index.size(), buildNanos / 1_000_000, indexHeap / 1e6);
+
+        for (String query : SEARCH_QUERIES)
+        {
+            manager.searchTasks(query);
+            long start = System.nanoTime();
+            int matches = 0;
+            for (int i = 0; i < SEARCHES; i++)
+            {
+                matches = manager.searchTasks(query).size();
+            }
+            long indexedMicros = (System.nanoTime() - start) / 1_000 / SEARCHES;
+
+            start = System.nanoTime();
+            int scanned = scanForWords(store, query);
+            long scanMicros = (System.nanoTime() - start) / 1_000;
+            System.out.printf("textSearch  %-16s matches=%,9d  index=%,9d us  scan=%,9d us  (match=%b)%n",
+                              '"' + query + '"', matches, indexedMicros, scanMicros, matches == scanned);
+        }
+    }
+
+    /**
+     * Times range counts, percentiles and a histogram from the duration
+     * index against a scan of every task's duration
+     */
+    private static void benchmarkDurationQueries(int size)
+    {
+        TaskManager manager = new TaskManager();
+        long fillStart = System.nanoTime();
+        fillBoard(manager, size);
+        long fillMillis = (System.nanoTime() - fillStart) / 1_000_000;
+        TaskStore store = manager.getStore();
+        float[] bounds = {0, 1, 2, 4, 8, 16, 32, 64};
+
+        long start = System.nanoTime();
+        int inRange = 0;
+        float median = 0;
+        int[] histogram = null;
+        for (int i = 0; i < SEARCHES; i++)
+        {
+            inRange = manager.countTasksByDuration(4, 8);
+            median = manager.getDurationPercentile(50);
+            histogram = manager.getDurationHistogram(bounds);
+        }
+        long indexedMicros = (System.nanoTime() - start) / 1_000 / SEARCHES;
+
+        start = System.nanoTime();
+        float[] durations = new float[store.size()];
+        int scannedInRange = 0;
+        int[] scannedHistogram = new int[bounds.length - 1];
+        for (int row = 0; row < durations.length; row++)
+        {
+            float duration = store.getDuration(row);
+            durations[row] = duration;
+            scannedInRange += duration >= 4 && duration <= 8 ? 1 : 0;
+            for (int b = 0; b < scannedHistogram.length; b++)
+            {
+                if (duration >= bounds[b] && duration < bounds[b + 1])
+                {
+                    scannedHistogram[b]++;
+                }
+            }
+        }
+        Arrays.sort(durations);
+        float scannedMedian = durations[(int) Math.ceil(durations.length / 2.0) - 1];
+        long scanMicros = (System.nanoTime() - start) / 1_000;
+
+        System.out.printf("durationQueries tasks=%,d  filled in %,d ms  range+median+histogram: index=%,d us  "
+                          + "scan=%,d us  (match=%b)%n",
+                          size, fillMillis, indexedMicros, scanMicros,
+                          inRange == scannedInRange && median == scannedMedian
+                              && Arrays.equals(histogram, scannedHistogram));
+    }
+
+    /**
+     * Times reading the maintained per-status and per-developer aggregates
+     * against summing the same tasks from scratch, then times updates that
+     * keep the aggregates current
+     */
+    private static void benchmarkAggregates()
+    {
+        TaskManager manager = new TaskManager();
+        fillBoard(manager, AGGREGATE_BOARD);
+        TaskStore store = manager.getStore();
+        Random random = new Random(7);
+        String[] targets = new String[SEARCHES];
+        for (int i = 0; i < SEARCHES; i++)
+        {
+            targets[i] = developerName(random.nextInt(DEVELOPER_POOL));
+        }
+
+        // The first round warms up the read path and is not counted
+        long start = 0;
+        double maintained = 0;
+        for (int round = 0; round < 2; round++)
+        {
+            start = System.nanoTime();
+            for (int i = 0; i < SEARCHES; i++)
+            {
+                for (TaskStatus status : STATUSES)
+                {
+                    maintained += manager.getDurationStats(status).getTotalHours();
+                }
+                maintained += manager.getDeveloperDurationStats(targets[i]).getTotalHours();
+            }
+        }
+        double readNanos = (double) (System.nanoTime() - start) / SEARCHES;
+
+        // Full scans are slow, so only the first few lookups are repeated
+        int scans = 5;
+        double expected = 0;
+        double scanned = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < scans; i++)
+        {
+            double[] byStatus = new double[STATUSES.length];
+            for (int row = 0; row < store.size(); row++)
+            {
+                byStatus[store.getStatus(row).ordinal()] += store.getDuration(row);
+            }
+            for (double hours : byStatus)
+            {
+                scanned += hours;
+            }
+            IntList rows = manager.getDeveloperRows(targets[i]);
+            for (int r = 0; rows != null && r < rows.size(); r++)
+            {
+                scanned += store.getDuration(rows.get(r));
+            }
+        }
+        double scanNanos = (double) (System.nanoTime() - start) / scans;
+        for (int i = 0; i < scans; i++)
+        {
+            expected += manager.getDurationStats().getTotalHours()
+                + manager.getDeveloperDurationStats(targets[i]).getTotalHours();
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < AGGREGATE_UPDATES; i++)
+        {
+            String id = store.get(random.nextInt(store.size())).getId();
+            if (i % 2 == 0)
+            {
+                manager.updateDuration(id, 1 + random.nextInt(4000) / 100f);
+            }
+            else
+            {
+                manager.moveTask(id, STATUSES[random.nextInt(STATUSES.length)]);
+            }
+        }
+        long updateNanos = System.nanoTime() - start;
+
+        System.out.printf("aggregates tasks=%,d  statuses+developer: maintained=%.2f us  scan=%,.0f us  "
+                          + "updates=%,.0f/s  (match=%b)%n",
+                          AGGREGATE_BOARD, readNanos / 1e3, scanNanos / 1e3,
+                          AGGREGATE_UPDATES / (updateNanos / 1e9),
+                          maintained > 0 && Math.abs(expected - scanned) < 1e-6 * scanned);
+    }
+
+    /**
+     * Times findTasks with a cheap and a text filter on one thread and on
+     * fork/join pools of growing size, up to the number of processors
+     */
+    private static void benchmarkParallelScan(String label, TaskManager manager)
+    {
+        fillBoard(manager, SCAN_BOARD);
+        String target = developerName(7);
+        List<Predicate<TaskView>> filters = Arrays.asList(
+            task -> task.getStatus() == TaskStatus.DOING && task.getDuration() > 30,
+            task -> task.getDescription().endsWith("77") && task.hasDeveloper(target));
+        String[] kinds = {"duration+status", "text+developer"};
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int f = 0; f < filters.size(); f++)
+        {
+            manager.setScanThreshold(Integer.MAX_VALUE);
+            int matches = manager.findTasks(filters.get(f)).size();
+            double sequentialMillis = timeScans(manager, filters.get(f));
+            StringBuilder line = new StringBuilder(String.format(
+                "parallelScan %s board=%,d  %s  sequential=%.1f ms", label, SCAN_BOARD, kinds[f], sequentialMillis));
+
+            manager.setScanThreshold(ParallelScan.DEFAULT_THRESHOLD);
+            for (int threads = 1; threads <= cores; threads *= 2)
+            {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                manager.setScanPool(pool);
+                double millis = timeScans(manager, filters.get(f));
+                line.append(String.format("  %d threads=%.1f ms (%.2fx)", threads, millis, sequentialMillis / millis));
+                pool.shutdown();
+            }
+            manager.setScanPool(null);
+            System.out.println(line.append(String.format("  (matches=%,d, cores=%d)", matches, cores)));
+        }
+    }
+
+    /**
+     * Times planned queries against a findTasks scan with the same filters
+     * and prints the plan each query ran
+     */
+    private static void benchmarkQuery()
+    {
+        TaskManager manager = new TaskManager();
+        fillBoard(manager, QUERY_BOARD);
+        manager.setScanThreshold(Integer.MAX_VALUE);
+        String developer = developerName(11);
+        String[] labels = {"developer+status", "text+developer", "top 10 Doing by duration", "duration range+status"};
+        TaskQuery[] queries = {
+            new TaskQuery().developer(developer).status(TaskStatus.DOING),
+            new TaskQuery().text("description 12345*").developer(developer),
+            new TaskQuery().status(TaskStatus.DOING).orderBy(TaskQuery.Order.LONGEST_FIRST).limit(10),
+            new TaskQuery().durationBetween(20, 20.5f).status(TaskStatus.DONE)};
+        List<Predicate<TaskView>> filters = Arrays.asList(
+            task -> task.hasDeveloper(developer) && task.getStatus() == TaskStatus.DOING,
+            task -> task.getDescription().contains("description 12345") && task.hasDeveloper(developer),
+            task -> task.getStatus() == TaskStatus.DOING,
+            task -> task.getDuration() >= 20 && task.getDuration() <= 20.5f && task.getStatus() == TaskStatus.DONE);
+
+        for (int q = 0; q < queries.length; q++)
+        {
+            QueryResult result = manager.query(queries[q]);
+            long start = System.nanoTime();
+            for (int i = 0; i < SEARCHES; i++)
+            {
+                result = manager.query(queries[q]);
+            }
+            double plannedMicros = (System.nanoTime() - start) / 1e3 / SEARCHES;
+            double scanMicros = timeScans(manager, filters.get(q)) * 1e3;
+
+            System.out.printf("query %s board=%,d  planned=%,.1f us  scan=%,.0f us  (returned=%d)%n  %s%n",
+                              labels[q], QUERY_BOARD, plannedMicros, scanMicros, result.getTaskIds().size(),
+                              result.explain().replace("\n", "\n  "));
+        }
+    }
+
+    /**
+     * Runs a warm-up scan, then returns the mean time of SCAN_ROUNDS scans
+     */
+    private static double timeScans(TaskManager manager, Predicate<TaskView> filter)
+    {
+        manager.findTasks(filter);
+        long start = System.nanoTime();
+        for (int round = 0; round < SCAN_ROUNDS; round++)
+        {
+            manager.findTasks(filter);
+        }
+        return (System.nanoTime() - start) / 1e6 / SCAN_ROUNDS;
+    }
+
+    /**
+     * Adds EVENT_TASKS tasks one at a time from EVENT_THREADS threads to a
+     * board whose listener reads the task count on every notification, as a
+     * UI refresh would, and counts the notifications
+     * @param delayMillis event delay, or -1 for no listener
+     */
+    private static void benchmarkEvents(long delayMillis)
+    {
+        ConcurrentTaskManager manager = new ConcurrentTaskManager();
+        AtomicLong notifications = new AtomicLong();
+        AtomicLong events = new AtomicLong();
+        if (delayMillis >= 0)
+        {
+            manager.setEventDelay(delayMillis);
+            manager.addTaskListener(batch ->
+            {
+                manager.getTaskCount();
+                notifications.incrementAndGet();
+                events.addAndGet(batch.size());
+            });
+        }
+
+        double rate = runConcurrentAdds(EVENT_THREADS, EVENT_TASKS, (name, developers, status) ->
+            manager.addTask(name, "Generated task", developers, 4.0f, status));
+        long expected = delayMillis >= 0 ? manager.getTaskCount() : 0;
+        while (events.get() < expected)
+        {
+            Thread.onSpinWait();
+        }
+
+        System.out.printf("events %s tasks=%,d  %,.0f adds/s  notifications=%,d  events=%,d%n",
+                          delayMillis < 0 ? "none" : "delay=" + delayMillis + "ms", EVENT_TASKS, rate,
+                          notifications.get(), events.get());
+    }
+
+    /**
+     * Looks up misspelt and partial names among FUZZY_DEVELOPERS distinct
+     * developers and counts how often the intended one ranks in the top five
+     */
+    private static void benchmarkFuzzyDeveloper()
+    {
+        TaskManager manager = new TaskManager();
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        java.util.Set<String> seen = new java.util.HashSet<>();
+        while (names.size() < FUZZY_DEVELOPERS)
+        {
+            String name = syllables(random, 2) + " " + syllables(random, 3);
+            if (seen.add(name))
+            {
+                names.add(name);
+                manager.addTask("Task " + names.size(), "Generated task", Arrays.asList(name), 1,
+                               STATUSES[names.size() % STATUSES.length]);
+            }
+        }
+
+        long firstStart = System.nanoTime();
+        manager.findDevelopers("warm up", 5);
+        long firstMicros = (System.nanoTime() - firstStart) / 1_000;
+
+        String[] kinds = {"typo", "surname", "no spaces"};
+        for (String kind : kinds)
+        {
+            int found = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < SEARCHES; i++)
+            {
+                String name = names.get(random.nextInt(names.size()));
+                String query;
+                if (kind.equals("typo"))
+                {
+                    // Swap two neighbouring letters
+                    char[] chars = name.toCharArray();
+                    int at = 1 + random.nextInt(chars.length - 3);
+                    char swapped = chars[at];
+                    chars[at] = chars[at + 1];
+                    chars[at + 1] = swapped;
+                    query = new String(chars);
+                }
+                else
+                {
+                    query = kind.equals("surname") ? name.substring(name.indexOf(' ') + 1)
+                                                   : name.replace(" ", "");
+                }
+                if (manager.findDevelopers(query, 5).contains(name))
+                {
+                    found++;
+                }
+            }
+            long micros = (System.nanoTime() - start) / 1_000 / SEARCHES;
+            System.out.printf("fuzzyDeveloper  developers=%,d  %-10s  %,6d us/lookup  intended in top 5: %d%%%n",
+                              FUZZY_DEVELOPERS, kind, micros, found * 100 / SEARCHES);
+        }
+        System.out.printf("fuzzyDeveloper  first lookup (indexes every name)=%,d ms%n", firstMicros / 1_000);
+    }
+
+    /**
+     * Builds a capitalised made-up word from random syllables
+     */
+    private static String syllables(Random random, int count)
+    {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < count; i++)
+        {
+            word.append(NAME_SYLLABLES[random.nextInt(NAME_SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+
+    /**
+     * Counts the tasks matching a query by splitting every name and
+     * description, as a search without the word index would
+     */
+    private static int scanForWords(TaskStore store, String query)
+    {
+        String[] terms = query.split(" ");
+        int matches = 0;
+        for (int row = 0; row < store.size(); row++)
+        {
+            TaskManager.Task task = store.get(row);
+            List<String> words = new ArrayList<>(TextIndex.tokenize(task.getName()));
+            words.addAll(TextIndex.tokenize(task.getDescription()));
+            boolean all = true;
+            for (int t = 0; t < terms.length && all; t++)
+            {
+                String term = terms[t];
+                all = term.endsWith("*")
+                    ? words.stream().anyMatch(word -> word.startsWith(term.substring(0, term.length() - 1)))
+                    : words.contains(term);
+            }
+            if (all)
+            {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Adds the same generated tasks to any board
+     */
+    private static void fillBoard(TaskManager manager, int tasks)
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < tasks; i++)
+        {
+            manager.addTask("Task " + i, "Generated task description " + i, randomDevelopers(random),
+                            1 + random.nextInt(4000) / 100f, STATUSES[i % STATUSES.length]);
+        }
+    }
+
+    /**
+     * Adds generated tasks from several threads and returns adds per second
+     */
+    private static double runConcurrentAdds(int threads, TaskSink sink)
+    {
+        return runConcurrentAdds(threads, CONCURRENT_TASKS, sink);
+    }
+
+    /**
+     * Adds a total of generated tasks from several threads and returns adds
+     * per second
+     */
+    private static double runConcurrentAdds(int threads, int total, TaskSink sink)
+    {
+        int perThread = total / threads;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++)
+        {
+            int seed = t;
+            workers[t] = new Thread(() ->
+            {
+                Random random = new Random(seed);
+                for (int i = 0; i < perThread; i++)
+                {
+                    sink.add("Task " + i, randomDevelopers(random), STATUSES[i % STATUSES.length]);
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread worker : workers)
+        {
+            worker.start();
+        }
+        for (Thread worker : workers)
+        {
+            try
+            {
+                worker.join();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return (double) perThread * threads / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Destination of generated tasks in the concurrent benchmark
+     */
+    private interface TaskSink
+    {
+        void add(String name, List<String> developers, TaskStatus status);
+    }
+
+    /**
+     * Full scan with List.contains, as getTasksByDeveloper did before the index
+     */
+    private static long runScan(List<List<String>> developersPerTask, String[] targets)
+    {
+        long matches = 0;
+        for (String target : targets)
+        {
+            for (List<String> developers : developersPerTask)
+            {
+                if (developers.contains(target))
+                {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Indexed search including rendering of the matching tasks
+     */
+    private static long runIndexed(TaskManager manager, String[] targets)
+    {
+        long chars = 0;
+        for (String target : targets)
+        {
+            try
+            {
+                chars += manager.getTasksByDeveloper(target).length();
+            }
+            catch (IllegalArgumentException e)
+            {
+                // Developer without tasks; still a completed search
+            }
+        }
+        return chars;
+    }
+
+    /**
+     * Picks one to three developers from the pool
+     */
+    private static List<String> randomDevelopers(Random random)
+    {
+        int count = 1 + random.nextInt(3);
+        String[] developers = new String[count];
+        for (int i = 0; i < count; i++)
+        {
+            developers[i] = developerName(random.nextInt(DEVELOPER_POOL));
+        }
+        return Arrays.asList(developers);
+    }
+
+    /**
+     * Builds a developer name for a pool index
+     */
+    private static String developerName(int index)
+    {
+        return "Developer " + index;
+    }
+}
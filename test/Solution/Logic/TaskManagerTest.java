@@ -3,10 +3,23 @@ package Solution.Logic;
 import org.junit.Test;
 import org.junit.Before;
 import org.junit.After;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
 import static org.junit.Assert.*;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 /**
  * Unit tests for TaskManager class
@@ -14,6 +27,9 @@ import java.util.ArrayList;
  */
 public class TaskManagerTest
 {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private TaskManager taskManager;
     
     /**
@@ -74,6 +90,39 @@ public class TaskManagerTest
         taskManager.addTask(name, description, developers, duration, status);
     }
     
+    /**
+     * Tests that text the log cannot store unchanged is rejected, while
+     * paired surrogates are kept
+     */
+    @Test
+    public void testAddTaskLoneSurrogate()
+    {
+        // Arrange
+        List<Runnable> changes = Arrays.asList(
+            () -> taskManager.addTask("\uD83DLogin", "Log in", Arrays.asList("John Doe"), 1.0f, "To Do"),
+            () -> taskManager.addTask("Login", "Log\uDE80 in", Arrays.asList("John Doe"), 1.0f, "To Do"),
+            () -> taskManager.addTask("Login", "Log in", Arrays.asList("John Doe\uD83D"), 1.0f, "To Do"),
+            () -> taskManager.updateDevelopers("🚀:DOE:1", Arrays.asList("\uDE80Jane")));
+        taskManager.addTask("🚀 Launch", "Go 🚀", Arrays.asList("John Doe"), 1.0f, "To Do");
+
+        // Act & Assert
+        for (Runnable change : changes)
+        {
+            try
+            {
+                change.run();
+                fail("Unpaired surrogate should be rejected");
+            }
+            catch (IllegalArgumentException e)
+            {
+                assertEquals("Text must not contain unpaired surrogates", e.getMessage());
+            }
+        }
+        assertEquals("Only the paired task should be added", 1, taskManager.getTaskCount());
+        assertTrue("Paired surrogates should be kept",
+                  taskManager.getTaskById("🚀:DOE:1").startsWith("Task: 🚀 Launch\n"));
+    }
+
     /**
      * Tests addition of task with no developers
      */
@@ -108,6 +157,86 @@ public class TaskManagerTest
         taskManager.addTask(name, description, developers, duration, status);
     }
     
+    /**
+     * Tests adding a batch of tasks
+     */
+    @Test
+    public void testAddTasksBatch()
+    {
+        // Arrange
+        List<TaskDraft> drafts = Arrays.asList(
+            new TaskDraft("First Task", "First", Arrays.asList("Dev1"), 5.0f, TaskStatus.TO_DO),
+            new TaskDraft("Second Task", "Second", Arrays.asList("Dev1", "Dev2"), 15.0f, TaskStatus.DOING));
+        
+        // Act
+        taskManager.addTasks(drafts);
+        
+        // Assert
+        assertEquals("Both tasks should be added", 2, taskManager.getTaskCount());
+        assertTrue("Should list tasks in order", taskManager.getAllTasks().indexOf("First Task") 
+                  < taskManager.getAllTasks().indexOf("Second Task"));
+        assertTrue("Developer index should be updated", 
+                  taskManager.getTasksByDeveloper("Dev2").contains("Second Task"));
+        assertTrue("Duration order should be updated", 
+                  taskManager.getTaskWithLongestDuration().contains("Second Task"));
+        assertEquals("Status counts should be updated", 1, taskManager.getTaskCount(TaskStatus.DOING));
+    }
+    
+    /**
+     * Tests that an invalid batch reports every failure and adds nothing
+     */
+    @Test
+    public void testAddTasksBatchAllOrNothing()
+    {
+        // Arrange
+        addSampleTasks();
+        List<TaskDraft> drafts = Arrays.asList(
+            new TaskDraft("Valid", "Fine", Arrays.asList("Dev1"), 5.0f, TaskStatus.TO_DO),
+            new TaskDraft("No Devs", "Missing developers", new ArrayList<>(), 5.0f, TaskStatus.TO_DO),
+            new TaskDraft("No Status", "Missing status", Arrays.asList("Dev1"), 5.0f, null));
+        
+        // Act
+        try
+        {
+            taskManager.addTasks(drafts);
+            fail("Batch with invalid tasks should be rejected");
+        }
+        catch (TaskBatchException e)
+        {
+            // Assert
+            assertEquals("Should report both failures", 2, e.getErrors().size());
+            assertTrue("Should name the second task", e.getErrors().get(0).startsWith("Task 2:"));
+            assertTrue("Should name the third task", e.getErrors().get(1).startsWith("Task 3:"));
+        }
+        assertEquals("No task should be added", 3, taskManager.getTaskCount());
+        assertFalse("Valid task should not be added", taskManager.getAllTasks().contains("Valid"));
+    }
+    
+    /**
+     * Tests that a batch is stored identically on the columnar store
+     */
+    @Test
+    public void testAddTasksBatchColumnar()
+    {
+        // Arrange
+        List<TaskDraft> drafts = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+        {
+            drafts.add(new TaskDraft("Task " + i, "Batch", Arrays.asList("Dev" + (i % 4)), 
+                                     i, TaskStatus.values()[i % 3]));
+        }
+        TaskManager columnar = TaskManager.withColumnarStore();
+        
+        // Act
+        taskManager.addTasks(drafts);
+        columnar.addTasks(drafts);
+        
+        // Assert
+        assertEquals("All tasks should match", taskManager.getAllTasks(), columnar.getAllTasks());
+        assertEquals("Developer search should match", 
+                    taskManager.getTasksByDeveloper("Dev3"), columnar.getTasksByDeveloper("Dev3"));
+    }
+    
     /**
      * Tests retrieval of all tasks when no tasks exist
      */
@@ -139,6 +268,64 @@ public class TaskManagerTest
         assertTrue("Should contain API Integration", result.contains("API Integration"));
     }
     
+    /**
+     * Tests that streaming all tasks matches getAllTasks
+     */
+    @Test
+    public void testWriteAllTasksMatchesGetAllTasks() throws IOException
+    {
+        // Arrange
+        addSampleTasks();
+        StringWriter out = new StringWriter();
+        
+        // Act
+        taskManager.writeAllTasks(out);
+        
+        // Assert
+        assertEquals("Streamed output should match", taskManager.getAllTasks(), out.toString());
+    }
+    
+    /**
+     * Tests that paging through tasks visits every task once in order
+     */
+    @Test
+    public void testWriteTasksPaged() throws IOException
+    {
+        // Arrange
+        addSampleTasks();
+        StringBuilder out = new StringBuilder();
+        
+        // Act
+        int next = taskManager.writeTasks(out, 0, 2);
+        String firstPage = out.toString();
+        int last = taskManager.writeTasks(out, next, 2);
+        
+        // Assert
+        assertEquals("Second page should start after two tasks", 2, next);
+        assertEquals("Last page should report no more tasks", -1, last);
+        assertFalse("First page should not contain the third task", 
+                   firstPage.contains("API Integration"));
+        assertEquals("Pages together should match", taskManager.getAllTasks(), out.toString());
+    }
+    
+    /**
+     * Tests paging with an offset past the last task
+     */
+    @Test
+    public void testWriteTasksPastEnd() throws IOException
+    {
+        // Arrange
+        addSampleTasks();
+        StringBuilder out = new StringBuilder();
+        
+        // Act
+        int next = taskManager.writeTasks(out, 10, 5);
+        
+        // Assert
+        assertEquals("Should report no more tasks", -1, next);
+        assertEquals("Should write nothing", 0, out.length());
+    }
+    
     /**
      * Tests getting tasks by developer when developer has tasks
      */
@@ -171,6 +358,61 @@ public class TaskManagerTest
         taskManager.getTasksByDeveloper(developer);
     }
     
+    /**
+     * Tests that developer search returns tasks in order of addition
+     */
+    @Test
+    public void testGetTasksByDeveloperKeepsOrder()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act
+        String result = taskManager.getTasksByDeveloper("Bob Johnson");
+        
+        // Assert
+        assertTrue("Should contain Dashboard before API Integration", 
+                  result.indexOf("Dashboard") < result.indexOf("API Integration"));
+        assertFalse("Should not contain tasks without Bob Johnson", result.contains("Login Feature"));
+    }
+    
+    /**
+     * Tests that a developer listed twice on one task is only matched once
+     */
+    @Test
+    public void testGetTasksByDeveloperDuplicateDeveloper()
+    {
+        // Arrange
+        taskManager.addTask("Pairing", "Pair on refactor", 
+                           Arrays.asList("John Doe", "John Doe"), 2.0f, "Doing");
+        
+        // Act
+        String result = taskManager.getTasksByDeveloper("John Doe");
+        
+        // Assert
+        assertEquals("Task should be listed once", 
+                    result.indexOf("Task: Pairing"), result.lastIndexOf("Task: Pairing"));
+    }
+    
+    /**
+     * Tests that changing the caller's developer list does not affect the index
+     */
+    @Test
+    public void testGetTasksByDeveloperAfterCallerListChanges()
+    {
+        // Arrange
+        List<String> developers = new ArrayList<>(Arrays.asList("John Doe"));
+        taskManager.addTask("Login Feature", "Implement login", developers, 8.5f, "Doing");
+        
+        // Act
+        developers.set(0, "Jane Smith");
+        String result = taskManager.getTasksByDeveloper("John Doe");
+        
+        // Assert
+        assertTrue("Task should still be found for John Doe", result.contains("Login Feature"));
+        assertFalse("Task should not list the changed name", result.contains("Jane Smith"));
+    }
+    
     /**
      * Tests getting task with longest duration
      */
@@ -198,6 +440,145 @@ public class TaskManagerTest
         taskManager.getTaskWithLongestDuration();
     }
     
+    /**
+     * Tests that the first added task wins a tie for longest duration
+     */
+    @Test
+    public void testGetTaskWithLongestDurationTie()
+    {
+        // Arrange
+        taskManager.addTask("First Task", "First", Arrays.asList("Dev1"), 10.0f, "To Do");
+        taskManager.addTask("Second Task", "Second", Arrays.asList("Dev2"), 10.0f, "Doing");
+        
+        // Act
+        String result = taskManager.getTaskWithLongestDuration();
+        
+        // Assert
+        assertTrue("Should keep the first task on a tie", result.contains("First Task"));
+        assertFalse("Should only return one task", result.contains("Second Task"));
+    }
+    
+    /**
+     * Tests getting the top tasks by duration
+     */
+    @Test
+    public void testGetLongestTasks()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act
+        String result = taskManager.getLongestTasks(2);
+        
+        // Assert
+        assertTrue("Should list API Integration first", 
+                  result.indexOf("API Integration") < result.indexOf("Dashboard"));
+        assertFalse("Should stop after two tasks", result.contains("Login Feature"));
+    }
+    
+    /**
+     * Tests getting the top tasks by duration for a single status
+     */
+    @Test
+    public void testGetLongestTasksByStatus()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act
+        String result = taskManager.getLongestTasks(20, "Doing");
+        
+        // Assert
+        assertTrue("Should list API Integration first", 
+                  result.indexOf("API Integration") < result.indexOf("Login Feature"));
+        assertFalse("Should not contain other statuses", result.contains("Dashboard"));
+    }
+    
+    /**
+     * Tests getting top tasks for a status without tasks
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetLongestTasksByStatusNotFound()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act & Assert
+        taskManager.getLongestTasks(5, "Done");
+    }
+    
+    /**
+     * Tests getting top tasks with a non-positive count
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetLongestTasksInvalidCount()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act & Assert
+        taskManager.getLongestTasks(0);
+    }
+    
+    /**
+     * Tests addition of task with an unknown status
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddTaskUnknownStatus()
+    {
+        // Act & Assert
+        taskManager.addTask("Login Feature", "Implement login", 
+                           Arrays.asList("John Doe"), 8.5f, "Blocked");
+    }
+    
+    /**
+     * Tests column counts per status
+     */
+    @Test
+    public void testGetTaskCount()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act & Assert
+        assertEquals("Should count To Do tasks", 1, taskManager.getTaskCount(TaskStatus.TO_DO));
+        assertEquals("Should count Doing tasks", 2, taskManager.getTaskCount(TaskStatus.DOING));
+        assertEquals("Should count Done tasks", 0, taskManager.getTaskCount(TaskStatus.DONE));
+    }
+    
+    /**
+     * Tests getting the tasks of a single status column
+     */
+    @Test
+    public void testGetTasksByStatus()
+    {
+        // Arrange
+        addSampleTasks();
+        taskManager.addTask("Release", "Ship it", Arrays.asList("Jane Smith"), 1.0f, TaskStatus.DONE);
+        
+        // Act
+        String result = taskManager.getTasksByStatus(TaskStatus.DOING);
+        
+        // Assert
+        assertTrue("Should list Login Feature before API Integration", 
+                  result.indexOf("Login Feature") < result.indexOf("API Integration"));
+        assertFalse("Should not contain To Do tasks", result.contains("Dashboard"));
+        assertFalse("Should not contain Done tasks", result.contains("Release"));
+    }
+    
+    /**
+     * Tests getting an empty status column
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetTasksByStatusEmpty()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act & Assert
+        taskManager.getTasksByStatus(TaskStatus.DONE);
+    }
+    
     /**
      * Tests task ID generation with valid developer names
      */
@@ -264,28 +645,933 @@ public class TaskManagerTest
     }
     
     /**
-     * Tests task ordering in getAllTasks
+     * Tests that tasks with the same ID prefix get different IDs
      */
     @Test
-    public void testTaskOrdering()
+    public void testTaskIdsAreUnique()
     {
         // Arrange
-        taskManager.addTask("First Task", "First", Arrays.asList("Dev1"), 5.0f, "To Do");
-        taskManager.addTask("Second Task", "Second", Arrays.asList("Dev2"), 10.0f, "Doing");
-        taskManager.addTask("Third Task", "Third", Arrays.asList("Dev3"), 15.0f, "Done");
+        taskManager.addTask("Login", "Log in", Arrays.asList("John Doe"), 2.0f, "To Do");
+        taskManager.addTask("Logout", "Log out", Arrays.asList("John Doe"), 1.0f, "To Do");
         
         // Act
         String result = taskManager.getAllTasks();
         
         // Assert
-        int firstIndex = result.indexOf("First Task");
-        int secondIndex = result.indexOf("Second Task");
-        int thirdIndex = result.indexOf("Third Task");
+        assertTrue("First task should get LO:DOE:1", result.contains("ID: LO:DOE:1\n"));
+        assertTrue("Second task should get LO:DOE:2", result.endsWith("ID: LO:DOE:2\n\n"));
+    }
+    
+    /**
+     * Tests getting a task by its ID
+     */
+    @Test
+    public void testGetTaskById()
+    {
+        // Arrange
+        addSampleTasks();
         
-        assertTrue("Tasks should appear in order of addition", 
-                  firstIndex < secondIndex && secondIndex < thirdIndex);
+        // Act
+        String result = taskManager.getTaskById("DA:ITH:2");
+        
+        // Assert
+        assertTrue("Should return Dashboard", result.startsWith("Task: Dashboard\n"));
+        assertFalse("Should return one task", result.contains("Login Feature"));
+    }
+    
+    /**
+     * Tests that an ID with the right number but wrong prefix is not found
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetTaskByIdWrongPrefix()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act & Assert
+        taskManager.getTaskById("LO:DOE:2");
     }
     
+    /**
+     * Tests that IDs are checked against stored fields on the columnar
+     * store, including after the developer the ID was built from is removed
+     */
+    @Test
+    public void testGetTaskByIdColumnarStore()
+    {
+        // Arrange
+        taskManager = TaskManager.withColumnarStore();
+        addSampleTasks();
+
+        // Act
+        taskManager.updateDevelopers("LO:DOE:1", Arrays.asList("Bob Johnson"));
+        String found = taskManager.getTaskById("LO:DOE:1");
+
+        // Assert
+        assertTrue("ID should keep its developer", found.startsWith("Task: Login Feature\n"));
+        try
+        {
+            taskManager.getTaskById("LO:SON:1");
+            fail("ID built from the new developer should not match");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+    }
+
+    /**
+     * Tests getting a task by a malformed ID
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetTaskByIdMalformed()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act & Assert
+        taskManager.getTaskById("DA:ITH");
+    }
+    
+    /**
+     * Tests that moving a task updates its column and counts
+     */
+    @Test
+    public void testMoveTask()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act
+        taskManager.moveTask("AP:DOE:3", "Done");
+        
+        // Assert
+        assertEquals("Doing should lose the task", 1, taskManager.getTaskCount(TaskStatus.DOING));
+        assertEquals("Done should gain the task", 1, taskManager.getTaskCount(TaskStatus.DONE));
+        assertTrue("Task should show its new status",
+                  taskManager.getTaskById("AP:DOE:3").contains("Status: Done"));
+        assertTrue("Done column should hold the task",
+                  taskManager.getTasksByStatus(TaskStatus.DONE).startsWith("Task: API Integration\n"));
+        assertTrue("Longest Doing task should now be Login Feature",
+                  taskManager.getLongestTasks(1, "Doing").contains("Task: Login Feature\n"));
+    }
+    
+    /**
+     * Tests that moving a task to its current status changes nothing
+     */
+    @Test
+    public void testMoveTaskSameStatus()
+    {
+        // Arrange
+        addSampleTasks();
+        String before = taskManager.getAllTasks();
+        
+        // Act
+        taskManager.moveTask("DA:ITH:2", TaskStatus.TO_DO);
+        
+        // Assert
+        assertEquals("Board should not change", before, taskManager.getAllTasks());
+        assertEquals("To Do count should not change", 1, taskManager.getTaskCount(TaskStatus.TO_DO));
+    }
+    
+    /**
+     * Tests moving a task that does not exist
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMoveTaskNotFound()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act & Assert
+        taskManager.moveTask("XX:XXX:9", "Done");
+    }
+    
+    /**
+     * Tests that changing a duration reorders the longest tasks
+     */
+    @Test
+    public void testUpdateDuration()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act
+        taskManager.updateDuration("LO:DOE:1", 30.0f);
+        
+        // Assert
+        assertTrue("Login Feature should now be longest",
+                  taskManager.getTaskWithLongestDuration().contains("Task: Login Feature\n"));
+        assertTrue("Login Feature should lead the Doing column",
+                  taskManager.getLongestTasks(1, TaskStatus.DOING).contains("Task: Login Feature\n"));
+    }
+    
+    /**
+     * Tests that changing developers updates the developer search and keeps the ID
+     */
+    @Test
+    public void testUpdateDevelopers()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act
+        taskManager.updateDevelopers("LO:DOE:1", Arrays.asList("Alice Brown", "Jane Smith", "Eve Adams"));
+        
+        // Assert
+        assertFalse("John Doe should lose the task",
+                   taskManager.getTasksByDeveloper("John Doe").contains("Login Feature"));
+        assertTrue("Alice Brown should get the task first, in order of addition",
+                  taskManager.getTasksByDeveloper("Alice Brown").startsWith("Task: Login Feature\n"));
+        assertTrue("Eve Adams should get the task",
+                  taskManager.getTasksByDeveloper("Eve Adams").contains("Login Feature"));
+        assertTrue("Task should keep its ID",
+                  taskManager.getTaskById("LO:DOE:1").contains("Devs: Alice Brown, Jane Smith, Eve Adams"));
+    }
+    
+    /**
+     * Tests that removing a developer's only task leaves no search results
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdateDevelopersRemovesLastTask()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act
+        taskManager.updateDevelopers("AP:DOE:3", Arrays.asList("John Doe"));
+        
+        // Assert
+        taskManager.getTasksByDeveloper("Alice Brown");
+    }
+    
+    /**
+     * Tests changing developers to an invalid list
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdateDevelopersInvalid()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act & Assert
+        taskManager.updateDevelopers("LO:DOE:1", Arrays.asList());
+    }
+    
+    /**
+     * Tests that updates on the columnar store match the default store
+     */
+    @Test
+    public void testUpdatesColumnarMatchesDefaultStore()
+    {
+        // Arrange
+        TaskManager defaultManager = taskManager;
+        TaskManager columnar = TaskManager.withColumnarStore();
+        for (TaskManager manager : Arrays.asList(defaultManager, columnar))
+        {
+            taskManager = manager;
+            addSampleTasks();
+            
+            // Act
+            manager.moveTask("DA:ITH:2", "Doing");
+            manager.updateDuration("DA:ITH:2", 1.5f);
+            manager.updateDevelopers("DA:ITH:2", Arrays.asList("A", "B", "C", "D", "E"));
+            manager.updateDevelopers("LO:DOE:1", Arrays.asList("B"));
+        }
+        
+        // Assert
+        assertEquals("All tasks should match", defaultManager.getAllTasks(), columnar.getAllTasks());
+        assertEquals("Developer search should match",
+                    defaultManager.getTasksByDeveloper("B"), columnar.getTasksByDeveloper("B"));
+        assertEquals("Longest tasks should match",
+                    defaultManager.getLongestTasks(3, "Doing"), columnar.getLongestTasks(3, "Doing"));
+    }
+    
+    /**
+     * Tests that a deleted task is hidden from every query
+     */
+    @Test
+    public void testDeleteTask()
+    {
+        // Arrange
+        addSampleTasks();
+        
+        // Act
+        taskManager.deleteTask("AP:DOE:3");
+        
+        // Assert
+        assertEquals("Should count two tasks", 2, taskManager.getTaskCount());
+        assertEquals("Doing should lose the task", 1, taskManager.getTaskCount(TaskStatus.DOING));
+        assertFalse("All tasks should skip it",
+                   taskManager.getAllTasks().contains("API Integration"));
+        assertFalse("Developer search should skip it",
+                   taskManager.getTasksByDeveloper("John Doe").contains("API Integration"));
+        assertTrue("Longest task should skip it",
+                  taskManager.getTaskWithLongestDuration().contains("Task: Dashboard\n"));
+        assertFalse("Longest Doing tasks should skip it",
+                   taskManager.getLongestTasks(3, "Doing").contains("API Integration"));
+    }
+    
+    /**
+     * Tests looking up a deleted task
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteTaskThenGetById()
+    {
+        // Arrange
+        addSampleTasks();
+        taskManager.deleteTask("DA:ITH:2");
+        
+        // Act & Assert
+        taskManager.getTaskById("DA:ITH:2");
+    }
+    
+    /**
+     * Tests searching for a developer whose only task was deleted
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteTaskLastForDeveloper()
+    {
+        // Arrange
+        addSampleTasks();
+        taskManager.deleteTask("AP:DOE:3");
+        
+        // Act & Assert
+        taskManager.getTasksByDeveloper("Alice Brown");
+    }
+    
+    /**
+     * Tests deleting the same task twice
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteTaskTwice()
+    {
+        // Arrange
+        addSampleTasks();
+        taskManager.deleteTask("LO:DOE:1");
+        
+        // Act & Assert
+        taskManager.deleteTask("LO:DOE:1");
+    }
+    
+    /**
+     * Tests that paging skips deleted tasks
+     */
+    @Test
+    public void testWriteTasksSkipsDeleted() throws IOException
+    {
+        // Arrange
+        addSampleTasks();
+        taskManager.deleteTask("DA:ITH:2");
+        StringBuilder first = new StringBuilder();
+        StringBuilder second = new StringBuilder();
+        
+        // Act
+        int next = taskManager.writeTasks(first, 0, 1);
+        int end = taskManager.writeTasks(second, next, 1);
+        
+        // Assert
+        assertTrue("First page should hold Login Feature", first.toString().startsWith("Task: Login Feature\n"));
+        assertTrue("Second page should hold API Integration", second.toString().startsWith("Task: API Integration\n"));
+        assertEquals("Second page should be the last", -1, end);
+    }
+    
+    /**
+     * Tests that a compacted copy holds the same tasks with the same IDs
+     */
+    @Test
+    public void testCompacted()
+    {
+        // Arrange
+        addSampleTasks();
+        taskManager.deleteTask("LO:DOE:1");
+        
+        // Act
+        TaskManager compacted = taskManager.compacted();
+        compacted.addTask("Reports", "Weekly", Arrays.asList("Jane Smith"), 3.0f, "Done");
+        
+        // Assert
+        assertEquals("Should keep two tasks and the new one", 3, compacted.getTaskCount());
+        assertEquals("Should have no deleted rows", 0.0, compacted.getDeletedRatio(), 0.0);
+        assertTrue("Tasks should keep their IDs",
+                  compacted.getTaskById("AP:DOE:3").startsWith("Task: API Integration\n"));
+        assertTrue("New tasks should continue the numbering",
+                  compacted.getTaskById("RE:ITH:4").startsWith("Task: Reports\n"));
+        assertTrue("Developer search should be rebuilt",
+                  compacted.getTasksByDeveloper("Jane Smith").startsWith("Task: Dashboard\n"));
+    }
+    
+    /**
+     * Tests task ordering in getAllTasks
+     */
+    @Test
+    public void testTaskOrdering()
+    {
+        // Arrange
+        taskManager.addTask("First Task", "First", Arrays.asList("Dev1"), 5.0f, "To Do");
+        taskManager.addTask("Second Task", "Second", Arrays.asList("Dev2"), 10.0f, "Doing");
+        taskManager.addTask("Third Task", "Third", Arrays.asList("Dev3"), 15.0f, "Done");
+        
+        // Act
+        String result = taskManager.getAllTasks();
+        
+        // Assert
+        int firstIndex = result.indexOf("First Task");
+        int secondIndex = result.indexOf("Second Task");
+        int thirdIndex = result.indexOf("Third Task");
+        
+        assertTrue("Tasks should appear in order of addition", 
+                  firstIndex < secondIndex && secondIndex < thirdIndex);
+    }
+    
+    /**
+     * Tests that the columnar store answers queries like the default store
+     */
+    @Test
+    public void testColumnarStoreMatchesDefaultStore()
+    {
+        // Arrange
+        addSampleTasks();
+        TaskManager defaultManager = taskManager;
+        taskManager = TaskManager.withColumnarStore();
+        addSampleTasks();
+        
+        // Act & Assert
+        assertEquals("All tasks should match", 
+                    defaultManager.getAllTasks(), taskManager.getAllTasks());
+        assertEquals("Developer search should match", 
+                    defaultManager.getTasksByDeveloper("Bob Johnson"), 
+                    taskManager.getTasksByDeveloper("Bob Johnson"));
+        assertEquals("Longest tasks should match", 
+                    defaultManager.getLongestTasks(2, "Doing"), 
+                    taskManager.getLongestTasks(2, "Doing"));
+    }
+    
+    /**
+     * Tests that a board kept in a mapped store reopens with its indexes
+     */
+    @Test
+    public void testMappedStoreReopens() throws IOException
+    {
+        // Arrange
+        Path file = folder.getRoot().toPath().resolve("board.tasks");
+        TaskManager mapped = TaskManager.withMappedStore(file);
+        taskManager = mapped;
+        addSampleTasks();
+        mapped.moveTask("DA:ITH:2", "Done");
+        mapped.deleteTask("LO:DOE:1");
+        String expected = mapped.getAllTasks();
+        mapped.close();
+
+        // Act
+        taskManager = TaskManager.withMappedStore(file);
+        taskManager.addTask("Reports", "Weekly", Arrays.asList("Bob Johnson"), 3.0f, "To Do");
+
+        // Assert
+        assertTrue("Board should match", taskManager.getAllTasks().startsWith(expected));
+        assertEquals("Deleted task should stay deleted", 3, taskManager.getTaskCount());
+        assertEquals("Done column should match", 1, taskManager.getTaskCount(TaskStatus.DONE));
+        assertTrue("Numbering should continue",
+                  taskManager.getTaskById("RE:SON:4").startsWith("Task: Reports\n"));
+        assertTrue("Developer index should be rebuilt",
+                  taskManager.getTasksByDeveloper("Bob Johnson").contains("Task: Reports"));
+        assertEquals("Word index should be rebuilt", Arrays.asList("DA:ITH:2"),
+                    taskManager.searchTasks("user"));
+        assertEquals("Aggregates should be rebuilt", 35.0,
+                    taskManager.getDeveloperDurationStats("Bob Johnson").getTotalHours(), 1e-9);
+        assertAggregatesConsistent(taskManager);
+        taskManager.close();
+    }
+
+    /**
+     * Tests that a compacted mapped board replaces the original file and
+     * reopens without the deleted task
+     */
+    @Test
+    public void testMappedStoreCompactionReopens() throws IOException
+    {
+        // Arrange
+        Path file = folder.getRoot().toPath().resolve("board.tasks");
+        TaskManager mapped = TaskManager.withMappedStore(file);
+        taskManager = mapped;
+        addSampleTasks();
+        mapped.deleteTask("LO:DOE:1");
+
+        // Act
+        TaskManager compacted = mapped.compacted();
+        compacted.addTask("Reports", "Weekly", Arrays.asList("Bob Johnson"), 3.0f, "To Do");
+        String expected = compacted.getAllTasks();
+        try
+        {
+            mapped.compacted();
+            fail("Compacting a replaced board should be rejected");
+        }
+        catch (IllegalStateException e)
+        {
+            // Expected
+        }
+        try
+        {
+            mapped.getTaskById("DA:ITH:2");
+            fail("Replaced board should be closed");
+        }
+        catch (IllegalStateException e)
+        {
+            // Expected
+        }
+        mapped.close();
+        compacted.close();
+        taskManager = TaskManager.withMappedStore(file);
+
+        // Assert
+        assertEquals("Board should match the compacted copy", expected, taskManager.getAllTasks());
+        assertEquals("Deleted row should be gone", 0.0, taskManager.getDeletedRatio(), 0.0);
+        assertEquals("Live tasks and the new one should remain", 3, taskManager.getTaskCount());
+        assertTrue("New task should be kept",
+                  taskManager.getTaskById("RE:SON:4").startsWith("Task: Reports\n"));
+        assertFalse("Compacting files should be gone",
+                   Files.exists(MappedTaskStore.compactingFileFor(file)));
+        assertAggregatesConsistent(taskManager);
+        taskManager.close();
+    }
+
+    /**
+     * Tests searching names and descriptions by words and prefixes
+     */
+    @Test
+    public void testSearchTasks()
+    {
+        // Arrange
+        addSampleTasks();
+
+        // Act
+        List<String> user = taskManager.searchTasks("User");
+        List<String> prefixed = taskManager.searchTasks("user dash*");
+        taskManager.deleteTask("LO:DOE:1");
+        List<String> afterDelete = taskManager.searchTasks("user");
+
+        // Assert
+        assertEquals("Both user tasks should match", Arrays.asList("LO:DOE:1", "DA:ITH:2"), user);
+        assertEquals("Every word should match", Arrays.asList("DA:ITH:2"), prefixed);
+        assertEquals("Deleted task should not match", Arrays.asList("DA:ITH:2"), afterDelete);
+        assertTrue("Unknown words should match nothing", taskManager.searchTasks("payroll").isEmpty());
+        assertEquals("Compacted copy should be searchable", Arrays.asList("AP:DOE:3"),
+                    taskManager.compacted().searchTasks("api"));
+    }
+
+    /**
+     * Tests fuzzy developer lookup skips developers without live tasks
+     */
+    @Test
+    public void testFindDevelopers()
+    {
+        // Arrange
+        addSampleTasks();
+        taskManager.addTask("Reports", "Weekly", Arrays.asList("Jon Dough"), 3.0f, "Done");
+
+        // Act
+        List<String> typo = taskManager.findDevelopers("Jhon Doe", 5);
+        taskManager.deleteTask("RE:UGH:4");
+        List<String> afterDelete = taskManager.findDevelopers("Jon Dough", 5);
+
+        // Assert
+        assertEquals("Closest developer should rank first", "John Doe", typo.get(0));
+        assertTrue("Similar developer should be offered", typo.contains("Jon Dough"));
+        assertFalse("Developer without tasks should not be offered", afterDelete.contains("Jon Dough"));
+        assertEquals("Partial name should rank first", "Bob Johnson",
+                    taskManager.findDevelopers("johnson", 5).get(0));
+    }
+
+    /**
+     * Tests that fuzzy developer lookup rejects a limit below 1
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindDevelopersInvalidLimit()
+    {
+        // Act
+        taskManager.findDevelopers("John", 0);
+    }
+
+    /**
+     * Tests duration range counts and listings
+     */
+    @Test
+    public void testTasksByDuration()
+    {
+        // Arrange
+        addSampleTasks();
+        taskManager.addTask("Reports", "Weekly", Arrays.asList("Bob Johnson"), 8.5f, "Done");
+        taskManager.updateDuration("DA:ITH:2", 4.0f);
+
+        // Act
+        int between = taskManager.countTasksByDuration(4.0f, 8.5f);
+        int doing = taskManager.countTasksByDuration(4.0f, 8.5f, TaskStatus.DOING);
+        List<String> ids = taskManager.getTaskIdsByDuration(4.0f, 8.5f, 10);
+        taskManager.deleteTask("LO:DOE:1");
+
+        // Assert
+        assertEquals("Bounds should be inclusive", 3, between);
+        assertEquals("Status should filter", 1, doing);
+        assertEquals("Longest first, ties in order of addition",
+                    Arrays.asList("LO:DOE:1", "RE:SON:4", "DA:ITH:2"), ids);
+        assertEquals("Limit should apply after deletes", Arrays.asList("AP:DOE:3", "RE:SON:4"),
+                    taskManager.getTaskIdsByDuration(0.0f, 100.0f, 2));
+        assertEquals("Deleted task should not count", 2, taskManager.countTasksByDuration(4.0f, 8.5f));
+    }
+
+    /**
+     * Tests percentiles, percentile ranks and histograms
+     */
+    @Test
+    public void testDurationPercentiles()
+    {
+        // Arrange
+        for (int i = 1; i <= 10; i++)
+        {
+            taskManager.addTask("Task " + i, "Hours", Arrays.asList("John Doe"), i, i % 2 == 0 ? "Done" : "To Do");
+        }
+
+        // Act & Assert
+        assertEquals("Median", 5.0f, taskManager.getDurationPercentile(50), 0.0f);
+        assertEquals("Shortest", 1.0f, taskManager.getDurationPercentile(0), 0.0f);
+        assertEquals("Longest", 10.0f, taskManager.getDurationPercentile(100), 0.0f);
+        assertEquals("90th percentile", 9.0f, taskManager.getDurationPercentile(90), 0.0f);
+        assertEquals("Median of Done", 6.0f, taskManager.getDurationPercentile(50, TaskStatus.DONE), 0.0f);
+        assertEquals("Percentile rank", 30.0, taskManager.getPercentileRank(3.5f), 1e-9);
+        assertArrayEquals("Histogram buckets", new int[] {4, 5, 1},
+                         taskManager.getDurationHistogram(new float[] {0, 5, 10, 20}));
+        assertArrayEquals("Histogram of To Do", new int[] {3, 2},
+                         taskManager.getDurationHistogram(new float[] {0, 6, 20}, TaskStatus.TO_DO));
+    }
+
+    /**
+     * Tests that duration queries reject bad arguments
+     */
+    @Test
+    public void testDurationQueriesInvalid()
+    {
+        // Act & Assert
+        try
+        {
+            taskManager.getDurationPercentile(50);
+            fail("Empty board has no percentiles");
+        }
+        catch (IllegalStateException e)
+        {
+            // Expected
+        }
+        addSampleTasks();
+        try
+        {
+            taskManager.getDurationPercentile(101);
+            fail("Percentile above 100 should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+        try
+        {
+            taskManager.getDurationHistogram(new float[] {5, 1});
+            fail("Descending bounds should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+        try
+        {
+            taskManager.countTasksByDuration(8, 4);
+            fail("Empty range should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+    }
+
+    /**
+     * Tests duration aggregates per status, per developer and overall
+     */
+    @Test
+    public void testDurationStats()
+    {
+        // Arrange
+        addSampleTasks();
+
+        // Act
+        DurationStats all = taskManager.getDurationStats();
+        DurationStats doing = taskManager.getDurationStats(TaskStatus.DOING);
+        DurationStats done = taskManager.getDurationStats(TaskStatus.DONE);
+        DurationStats john = taskManager.getDeveloperDurationStats("John Doe");
+        DurationStats nobody = taskManager.getDeveloperDurationStats("Nobody");
+
+        // Assert
+        assertEquals("Every task should count", 3, all.getCount());
+        assertEquals("Total hours", 40.5, all.getTotalHours(), 1e-9);
+        assertEquals("Shortest task", 8.5f, all.getMinHours(), 0.0f);
+        assertEquals("Longest task", 20.0f, all.getMaxHours(), 0.0f);
+        assertEquals("Doing tasks", 2, doing.getCount());
+        assertEquals("Average of Doing", 14.25, doing.getAverageHours(), 1e-9);
+        assertEquals("Done is empty", 0, done.getCount());
+        assertEquals("Empty stats average to 0", 0.0, done.getAverageHours(), 0.0);
+        assertEquals("John Doe's hours", 28.5, john.getTotalHours(), 1e-9);
+        assertEquals("John Doe's longest task", 20.0f, john.getMaxHours(), 0.0f);
+        assertEquals("Unknown developer has no tasks", 0, nobody.getCount());
+    }
+
+    /**
+     * Tests that aggregates follow moves, updates and deletes
+     */
+    @Test
+    public void testDurationStatsFollowChanges()
+    {
+        // Arrange
+        addSampleTasks();
+
+        // Act
+        taskManager.deleteTask("AP:DOE:3");
+        taskManager.moveTask("LO:DOE:1", "Done");
+        taskManager.updateDuration("DA:ITH:2", 2.0f);
+        taskManager.updateDevelopers("LO:DOE:1", Arrays.asList("Bob Johnson", "Bob Johnson"));
+
+        // Assert
+        DurationStats john = taskManager.getDeveloperDurationStats("John Doe");
+        DurationStats bob = taskManager.getDeveloperDurationStats("Bob Johnson");
+        DurationStats jane = taskManager.getDeveloperDurationStats("Jane Smith");
+        assertEquals("John Doe has no tasks left", 0, john.getCount());
+        assertEquals("Emptied totals restart at 0", 0.0, john.getTotalHours(), 0.0);
+        assertEquals("Developer listed twice counts once", 2, bob.getCount());
+        assertEquals("Bob Johnson's hours", 10.5, bob.getTotalHours(), 1e-9);
+        assertEquals("Jane Smith's longest task was deleted", 2.0f, jane.getMaxHours(), 0.0f);
+        assertEquals("Done holds the moved task", 8.5f,
+                    taskManager.getDurationStats(TaskStatus.DONE).getMinHours(), 0.0f);
+        assertEquals("Doing is empty", 0, taskManager.getDurationStats(TaskStatus.DOING).getCount());
+        assertAggregatesConsistent(taskManager);
+    }
+
+    /**
+     * Tests that aggregates kept up to date through random changes match
+     * aggregates recomputed from scratch, on both heap stores
+     */
+    @Test
+    public void testDurationStatsMatchRecomputed()
+    {
+        for (TaskManager manager : Arrays.asList(new TaskManager(), TaskManager.withColumnarStore()))
+        {
+            // Arrange
+            Random random = new Random(22);
+            String[] names = {"Ann Lee", "Ben Ray", "Cy Moss", "Di Park", "Ed Fox", "Flo Day"};
+            List<String> ids = new ArrayList<>();
+
+            // Act
+            for (int step = 0; step < 600; step++)
+            {
+                int action = ids.isEmpty() ? 0 : random.nextInt(6);
+                String id = ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+                List<String> team = new ArrayList<>();
+                for (int d = random.nextInt(3); d >= 0; d--)
+                {
+                    // Repeats are allowed, so duplicate developers are covered
+                    team.add(names[random.nextInt(names.length)]);
+                }
+                float duration = random.nextInt(16) * 0.25f;
+                TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                switch (action)
+                {
+                    case 0, 1 -> manager.addTask("Task " + step, "Random", team, duration, status.getLabel());
+                    case 2 -> manager.moveTask(id, status);
+                    case 3 -> manager.updateDuration(id, duration);
+                    case 4 -> manager.updateDevelopers(id, team);
+                    default ->
+                    {
+                        manager.deleteTask(id);
+                        ids.remove(id);
+                    }
+                }
+                if (action <= 1)
+                {
+                    ids.clear();
+                    for (int row = 0; row < manager.getStore().size(); row++)
+                    {
+                        if (!manager.isDeleted(row))
+                        {
+                            ids.add(manager.getStore().get(row).getId());
+                        }
+                    }
+                }
+
+                // Assert
+                if (step % 20 == 0)
+                {
+                    assertAggregatesConsistent(manager);
+                }
+            }
+            assertAggregatesConsistent(manager);
+            assertAggregatesConsistent(manager.compacted());
+        }
+    }
+
+    /**
+     * Tests filtering every task with an arbitrary predicate
+     */
+    @Test
+    public void testFindTasks()
+    {
+        // Arrange
+        addSampleTasks();
+        taskManager.addTask("Reports", "Weekly report", Arrays.asList("Bob Johnson"), 3.0f, "Done");
+        taskManager.deleteTask("DA:ITH:2");
+
+        // Act
+        List<String> bobs = taskManager.findTasks(task -> task.hasDeveloper("Bob Johnson"));
+        List<String> doingOverTen = taskManager.findTasks(task -> task.getStatus() == TaskStatus.DOING
+                                                           && task.getDuration() > 10);
+        List<String> byName = taskManager.findTasks(task -> task.getName().startsWith("Login")
+                                                     && task.getDevelopers().contains("Jane Smith"));
+        List<String> none = taskManager.findTasks(task -> task.hasDeveloper("Nobody"));
+
+        // Assert
+        assertEquals("Deleted task should be skipped", Arrays.asList("AP:DOE:3", "RE:SON:4"), bobs);
+        assertEquals("Filters may combine fields", Arrays.asList("AP:DOE:3"), doingOverTen);
+        assertEquals("Filters may read text fields", Arrays.asList("LO:DOE:1"), byName);
+        assertTrue("Unknown developer matches nothing", none.isEmpty());
+    }
+
+    /**
+     * Tests that a scan split over a pool finds the same tasks in the same
+     * order as a sequential one
+     */
+    @Test
+    public void testFindTasksParallel()
+    {
+        // Arrange
+        for (int i = 0; i < 2000; i++)
+        {
+            taskManager.addTask("Task " + i, "Item " + (i % 7), Arrays.asList("John Doe"), i % 50, "To Do");
+        }
+        for (int i = 1; i <= 2000; i += 9)
+        {
+            taskManager.deleteTask("TA:DOE:" + i);
+        }
+        Predicate<TaskView> filter = task -> task.getDescription().endsWith("3")
+            && task.getDuration() < 25;
+        taskManager.setScanThreshold(Integer.MAX_VALUE);
+        List<String> expected = taskManager.findTasks(filter);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // Act
+        List<String> actual;
+        List<String> compacted;
+        try
+        {
+            taskManager.setScanPool(pool);
+            taskManager.setScanThreshold(16);
+            actual = taskManager.findTasks(filter);
+            compacted = taskManager.compacted().findTasks(filter);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        // Assert
+        assertFalse("Some tasks should match", expected.isEmpty());
+        assertEquals("Parallel scan should match the sequential one", expected, actual);
+        assertEquals("Compacted copy should find the same tasks", expected, compacted);
+    }
+
+    /**
+     * Tests that scans reject a missing filter and a bad threshold
+     */
+    @Test
+    public void testFindTasksInvalid()
+    {
+        // Act & Assert
+        try
+        {
+            taskManager.findTasks(null);
+            fail("Missing filter should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+        try
+        {
+            taskManager.setScanThreshold(0);
+            fail("Threshold below 1 should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+    }
+
+    /**
+     * Tests that a search without words is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchTasksEmptyQuery()
+    {
+        // Act
+        taskManager.searchTasks("   ");
+    }
+
+    /**
+     * Recomputes every aggregate from the stored tasks and checks that the
+     * maintained ones match
+     */
+    private static void assertAggregatesConsistent(TaskManager manager)
+    {
+        List<Float> all = new ArrayList<>();
+        Map<TaskStatus, List<Float>> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<String, List<Float>> byDeveloper = new HashMap<>();
+        for (int row = 0; row < manager.getStore().size(); row++)
+        {
+            if (manager.isDeleted(row))
+            {
+                continue;
+            }
+            TaskManager.Task task = manager.getStore().get(row);
+            all.add(task.getDuration());
+            byStatus.computeIfAbsent(task.getStatus(), s -> new ArrayList<>()).add(task.getDuration());
+            for (String developer : new HashSet<>(task.getDevelopers()))
+            {
+                byDeveloper.computeIfAbsent(developer, d -> new ArrayList<>()).add(task.getDuration());
+            }
+        }
+
+        assertStatsMatch("All tasks", all, manager.getDurationStats());
+        for (TaskStatus status : TaskStatus.values())
+        {
+            assertStatsMatch(status.getLabel(), byStatus.getOrDefault(status, new ArrayList<>()),
+                             manager.getDurationStats(status));
+        }
+        for (Map.Entry<String, List<Float>> entry : byDeveloper.entrySet())
+        {
+            assertStatsMatch(entry.getKey(), entry.getValue(),
+                             manager.getDeveloperDurationStats(entry.getKey()));
+        }
+    }
+
+    private static void assertStatsMatch(String group, List<Float> durations, DurationStats stats)
+    {
+        double total = 0;
+        float min = durations.isEmpty() ? 0 : Float.POSITIVE_INFINITY;
+        float max = durations.isEmpty() ? 0 : Float.NEGATIVE_INFINITY;
+        for (float duration : durations)
+        {
+            total += duration;
+            min = Math.min(min, duration);
+            max = Math.max(max, duration);
+        }
+        assertEquals(group + " count", durations.size(), stats.getCount());
+        assertEquals(group + " total", total, stats.getTotalHours(), 1e-6);
+        assertEquals(group + " shortest", min, stats.getMinHours(), 0.0f);
+        assertEquals(group + " longest", max, stats.getMaxHours(), 0.0f);
+    }
+
     /**
      * Helper method to add sample tasks for testing
      */
@@ -0,0 +1,248 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for TaskQuery class and the query planner
+ * Tests filters, orders and limits, which index drives each plan, and
+ * that planned answers match a brute force filter of every task
+ */
+public class TaskQueryTest
+{
+    private TaskManager taskManager;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        taskManager = new TaskManager();
+        taskManager.addTask("Login Feature", "Implement user login functionality",
+                            Arrays.asList("John Doe", "Jane Smith"), 8.5f, "Doing");
+        taskManager.addTask("Dashboard", "Create user dashboard with widgets",
+                            Arrays.asList("Jane Smith", "Bob Johnson"), 12.0f, "To Do");
+        taskManager.addTask("API Integration", "Integrate with external API services",
+                            Arrays.asList("John Doe", "Alice Brown", "Bob Johnson"), 20.0f, "Doing");
+        taskManager.addTask("Reports", "Weekly user report", Arrays.asList("Bob Johnson"), 8.5f, "Done");
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        taskManager = null;
+    }
+
+    /**
+     * Tests that filters combine with AND
+     */
+    @Test
+    public void testFilters()
+    {
+        // Act
+        QueryResult all = taskManager.query(new TaskQuery());
+        QueryResult john = taskManager.query(new TaskQuery().developer("John Doe").status(TaskStatus.DOING));
+        QueryResult userShort = taskManager.query(new TaskQuery().text("user").durationBetween(0, 10));
+        QueryResult nobody = taskManager.query(new TaskQuery().developer("Nobody"));
+
+        // Assert
+        assertEquals("No filter matches every task",
+                    Arrays.asList("LO:DOE:1", "DA:ITH:2", "AP:DOE:3", "RE:SON:4"), all.getTaskIds());
+        assertEquals("Developer and status", Arrays.asList("LO:DOE:1", "AP:DOE:3"), john.getTaskIds());
+        assertEquals("Text and duration", Arrays.asList("LO:DOE:1", "RE:SON:4"), userShort.getTaskIds());
+        assertTrue("Unknown developer matches nothing", nobody.getTaskIds().isEmpty());
+    }
+
+    /**
+     * Tests duration orders, ties in order of addition, and limits
+     */
+    @Test
+    public void testOrderAndLimit()
+    {
+        // Act
+        QueryResult longest = taskManager.query(new TaskQuery().orderBy(TaskQuery.Order.LONGEST_FIRST).limit(3));
+        QueryResult shortest = taskManager.query(new TaskQuery().orderBy(TaskQuery.Order.SHORTEST_FIRST));
+        QueryResult bobShortest = taskManager.query(new TaskQuery().developer("Bob Johnson")
+                                                    .orderBy(TaskQuery.Order.SHORTEST_FIRST).limit(2));
+        QueryResult first = taskManager.query(new TaskQuery().limit(1));
+
+        // Assert
+        assertEquals("Longest first", Arrays.asList("AP:DOE:3", "DA:ITH:2", "LO:DOE:1"), longest.getTaskIds());
+        assertEquals("Shortest first, ties in order of addition",
+                    Arrays.asList("LO:DOE:1", "RE:SON:4", "DA:ITH:2", "AP:DOE:3"), shortest.getTaskIds());
+        assertEquals("Sorted after filtering", Arrays.asList("RE:SON:4", "DA:ITH:2"), bobShortest.getTaskIds());
+        assertEquals("Limit in order of addition", Arrays.asList("LO:DOE:1"), first.getTaskIds());
+        assertEquals("Scan should stop at the limit", 1, first.getRowsTouched());
+    }
+
+    /**
+     * Tests that the filter with the fewest indexed rows drives the plan
+     */
+    @Test
+    public void testPlannerPicksMostSelectiveIndex()
+    {
+        // Arrange
+        for (int i = 0; i < 50; i++)
+        {
+            taskManager.addTask("Bulk " + i, "Filler", Arrays.asList("Bob Johnson"), 1.0f, "To Do");
+        }
+
+        // Act
+        QueryResult byText = taskManager.query(new TaskQuery().developer("Bob Johnson").text("widgets"));
+        QueryResult byStatus = taskManager.query(new TaskQuery().developer("Bob Johnson").status(TaskStatus.DONE));
+        QueryResult byDuration = taskManager.query(new TaskQuery().developer("Bob Johnson")
+                                                   .durationBetween(10, 30));
+        QueryResult top = taskManager.query(new TaskQuery().status(TaskStatus.TO_DO)
+                                            .orderBy(TaskQuery.Order.LONGEST_FIRST).limit(2));
+        QueryResult scan = taskManager.query(new TaskQuery());
+
+        // Assert
+        assertTrue(byText.explain(), byText.explain().contains("Driver: text index \"widgets\" (1 rows)"));
+        assertTrue(byText.explain(), byText.explain().contains("Intersect: developer postings"));
+        assertEquals("Text plan touches one row", 1, byText.getRowsTouched());
+        assertTrue(byStatus.explain(), byStatus.explain().contains("Driver: status index Done (1 rows)"));
+        assertEquals("Status and developer", Arrays.asList("RE:SON:4"), byStatus.getTaskIds());
+        assertTrue(byDuration.explain(), byDuration.explain().contains("Driver: duration index, 10.0 to 30.0"));
+        assertEquals("Range and developer", Arrays.asList("DA:ITH:2", "AP:DOE:3"), byDuration.getTaskIds());
+        assertTrue(top.explain(), top.explain().contains("Driver: duration index of To Do"));
+        assertTrue(top.explain(), top.explain().contains("read from the index"));
+        assertEquals("Ordered walk stops at the limit", 2, top.getRowsTouched());
+        assertEquals("Longest To Do tasks", Arrays.asList("DA:ITH:2", "BU:SON:5"), top.getTaskIds());
+        assertTrue(scan.explain(), scan.explain().startsWith("Driver: full scan"));
+    }
+
+    /**
+     * Tests that random queries on a changing board match a brute force
+     * filter and sort of every task
+     */
+    @Test
+    public void testMatchesBruteForce()
+    {
+        // Arrange
+        Random random = new Random(24);
+        String[] names = {"Ann Lee", "Ben Ray", "Cy Moss", "Di Park"};
+        String[] words = {"alpha", "beta", "gamma", "delta"};
+        TaskManager manager = TaskManager.withColumnarStore();
+        for (int i = 0; i < 400; i++)
+        {
+            manager.addTask(words[random.nextInt(4)] + " " + i, words[random.nextInt(4)],
+                            Arrays.asList(names[random.nextInt(4)], names[random.nextInt(4)]),
+                            random.nextInt(20) * 0.5f, TaskStatus.values()[random.nextInt(3)].getLabel());
+        }
+        for (int i = 1; i < 400; i += 7)
+        {
+            manager.deleteTask(manager.getStore().get(i).getId());
+        }
+
+        for (int q = 0; q < 300; q++)
+        {
+            // Act
+            TaskQuery query = new TaskQuery();
+            String developer = random.nextInt(3) == 0 ? names[random.nextInt(4)] : null;
+            TaskStatus status = random.nextInt(3) == 0 ? TaskStatus.values()[random.nextInt(3)] : null;
+            String text = random.nextInt(4) == 0 ? words[random.nextInt(4)].substring(0, 3) + "*" : null;
+            float min = random.nextInt(20) * 0.5f;
+            float max = min + random.nextInt(8);
+            boolean ranged = random.nextInt(3) == 0;
+            TaskQuery.Order order = TaskQuery.Order.values()[random.nextInt(3)];
+            int limit = random.nextInt(2) == 0 ? 1 + random.nextInt(30) : Integer.MAX_VALUE;
+            query.developer(developer).status(status).text(text).orderBy(order);
+            if (ranged)
+            {
+                query.durationBetween(min, max);
+            }
+            if (limit != Integer.MAX_VALUE)
+            {
+                query.limit(limit);
+            }
+            QueryResult result = manager.query(query);
+
+            // Assert
+            List<TaskManager.Task> expected = new ArrayList<>();
+            for (int row = 0; row < manager.getStore().size(); row++)
+            {
+                TaskManager.Task task = manager.getStore().get(row);
+                if (!manager.isDeleted(row)
+                    && (developer == null || task.getDevelopers().contains(developer))
+                    && (status == null || task.getStatus() == status)
+                    && (text == null || (task.getName() + " " + task.getDescription()).contains(text.substring(0, 3)))
+                    && (!ranged || task.getDuration() >= min && task.getDuration() <= max))
+                {
+                    expected.add(task);
+                }
+            }
+            if (order == TaskQuery.Order.LONGEST_FIRST)
+            {
+                expected.sort(Comparator.comparingDouble(TaskManager.Task::getDuration).reversed()
+                              .thenComparingLong(TaskManager.Task::getSequence));
+            }
+            else if (order == TaskQuery.Order.SHORTEST_FIRST)
+            {
+                expected.sort(Comparator.comparingDouble(TaskManager.Task::getDuration)
+                              .thenComparingLong(TaskManager.Task::getSequence));
+            }
+            List<String> expectedIds = new ArrayList<>();
+            for (int i = 0; i < expected.size() && i < limit; i++)
+            {
+                expectedIds.add(expected.get(i).getId());
+            }
+            assertEquals(result.explain(), expectedIds, result.getTaskIds());
+        }
+    }
+
+    /**
+     * Tests that invalid queries are rejected
+     */
+    @Test
+    public void testInvalid()
+    {
+        // Act & Assert
+        try
+        {
+            new TaskQuery().durationBetween(5, 1);
+            fail("Empty range should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+        try
+        {
+            new TaskQuery().limit(0);
+            fail("Limit below 1 should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+        try
+        {
+            taskManager.query(null);
+            fail("Missing query should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+        try
+        {
+            taskManager.query(new TaskQuery().text("  "));
+            fail("Text without words should be rejected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Unit tests for TaskRenderer class
+ * Tests that rendering matches the original String.format output
+ */
+public class TaskRendererTest
+{
+    /**
+     * Tests rendering a complete task
+     */
+    @Test
+    public void testRenderTask()
+    {
+        // Arrange
+        TaskManager.Task task = new TaskManager.Task(
+            "Login Feature", "Implement login",
+            Arrays.asList("John Doe", "Jane Smith"), new DeveloperDictionary(),
+            8.5f, TaskStatus.DOING, 0);
+        String expected = String.format(Locale.ROOT,
+            "Task: %s\nDesc: %s\nDevs: %s\nDuration: %.2f hrs\nStatus: %s\nID: %s",
+            "Login Feature", "Implement login", "John Doe, Jane Smith", 8.5f, "Doing",
+            task.getId());
+
+        // Act
+        String result = task.toString();
+
+        // Assert
+        assertEquals("Rendered task should match format output", expected, result);
+    }
+
+    /**
+     * Tests rendering into a reused buffer
+     */
+    @Test
+    public void testRenderIntoReusedBuffer()
+    {
+        // Arrange
+        TaskManager.Task task = new TaskManager.Task(
+            "API", "Implement API", Arrays.asList("Jo"), new DeveloperDictionary(),
+            5.0f, TaskStatus.TO_DO, 0);
+        StringBuilder buffer = new StringBuilder();
+
+        // Act
+        TaskRenderer.render(task, buffer);
+        buffer.setLength(0);
+        TaskRenderer.render(task, buffer);
+
+        // Assert
+        assertEquals("Buffer should hold one rendering", task.toString(), buffer.toString());
+    }
+
+    /**
+     * Tests hour rounding on values where half up rounding matters
+     */
+    @Test
+    public void testAppendHoursRounding() throws IOException
+    {
+        // Arrange
+        float[] values = {0f, -0f, 0.125f, -0.125f, 1.005f, 2.675f, 0.004f,
+                          99.995f, 12345.678f, 1e12f, 1e20f, Float.NaN,
+                          Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY};
+
+        // Act & Assert
+        for (float value : values)
+        {
+            assertEquals("Hours should match format for " + value,
+                        String.format(Locale.ROOT, "%.2f", value), hours(value));
+        }
+    }
+
+    /**
+     * Tests hour rendering against String.format for random durations
+     */
+    @Test
+    public void testAppendHoursRandom() throws IOException
+    {
+        // Arrange
+        Random random = new Random(7);
+
+        // Act & Assert
+        for (int i = 0; i < 100_000; i++)
+        {
+            float value = random.nextFloat() * 1000f;
+            assertEquals("Hours should match format for " + value,
+                        String.format(Locale.ROOT, "%.2f", value), hours(value));
+        }
+    }
+
+    /**
+     * Helper method rendering hours to a string
+     */
+    private String hours(float value) throws IOException
+    {
+        StringBuilder out = new StringBuilder();
+        TaskRenderer.appendHours(value, out);
+        return out.toString();
+    }
+}
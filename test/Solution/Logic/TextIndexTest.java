@@ -0,0 +1,134 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+
+/**
+ * Unit tests for TextIndex class
+ * Tests word splitting, multi-word AND queries and prefix terms
+ */
+public class TextIndexTest
+{
+    private TextIndex index;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        index = new TextIndex();
+        index.add(0, "Login Feature", "Implement user login functionality");
+        index.add(1, "Dashboard", "Create user dashboard with widgets");
+        index.add(2, "API Integration", "Integrate with external API services");
+        index.add(3, "Logout", "Log the user out");
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        index = null;
+    }
+
+    /**
+     * Tests that words are split on punctuation and lower-cased
+     */
+    @Test
+    public void testTokenize()
+    {
+        // Act & Assert
+        assertEquals(Arrays.asList("e", "mail", "café", "v2", "login"),
+                    TextIndex.tokenize("  E-mail, Café (v2) LOGIN!"));
+        assertTrue("Null text has no words", TextIndex.tokenize(null).isEmpty());
+    }
+
+    /**
+     * Tests that a word matches in names and descriptions without case
+     */
+    @Test
+    public void testSingleWord()
+    {
+        // Act
+        IntList rows = index.search("USER");
+
+        // Assert
+        assertRows(rows, 0, 1, 3);
+        assertRows(index.search("login"), 0);
+        assertRows(index.search("nothing"));
+    }
+
+    /**
+     * Tests that every word of a query must match
+     */
+    @Test
+    public void testAndQuery()
+    {
+        // Act & Assert
+        assertRows(index.search("user login"), 0);
+        assertRows(index.search("with api"), 2);
+        assertRows(index.search("user missing"));
+    }
+
+    /**
+     * Tests prefix terms alone and combined with whole words
+     */
+    @Test
+    public void testPrefix()
+    {
+        // Act & Assert
+        assertRows(index.search("log*"), 0, 3);
+        assertRows(index.search("integ* api"), 2);
+        assertRows(index.search("user w*"), 1);
+        assertRows(index.search("zz*"));
+    }
+
+    /**
+     * Tests a prefix matching more words than are probed one by one
+     */
+    @Test
+    public void testPrefixWithManyWords()
+    {
+        // Arrange
+        for (int row = 4; row < 40; row++)
+        {
+            index.add(row, "Task" + row, row % 2 == 0 ? "even" : "odd");
+        }
+
+        // Act
+        IntList rows = index.search("even task*");
+
+        // Assert
+        assertEquals("Every even task should match", 18, rows.size());
+        assertEquals("Rows should be in order", 4, rows.get(0));
+        assertEquals("Rows should be in order", 38, rows.last());
+    }
+
+    /**
+     * Tests that a query without words is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyQuery()
+    {
+        // Act
+        index.search(" - ");
+    }
+
+    /**
+     * Helper method comparing found rows with the expected ones
+     */
+    private static void assertRows(IntList rows, int... expected)
+    {
+        int[] actual = new int[rows.size()];
+        for (int i = 0; i < actual.length; i++)
+        {
+            actual[i] = rows.get(i);
+        }
+        assertArrayEquals(expected, actual);
+    }
+}
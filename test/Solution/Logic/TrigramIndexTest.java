@@ -0,0 +1,128 @@
+package Solution.Logic;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for TrigramIndex class
+ * Tests trigram splitting and ranked fuzzy lookups of developer names
+ */
+public class TrigramIndexTest
+{
+    private DeveloperDictionary dictionary;
+    private TrigramIndex index;
+
+    /**
+     * Sets up test fixture before each test
+     */
+    @Before
+    public void setUp()
+    {
+        dictionary = new DeveloperDictionary();
+        dictionary.internAll(Arrays.asList("John Doe", "Jane Smith", "Johnny Dorian", "Bob Johnson"));
+        index = new TrigramIndex(dictionary);
+    }
+
+    /**
+     * Cleans up test fixture after each test
+     */
+    @After
+    public void tearDown()
+    {
+        dictionary = null;
+        index = null;
+    }
+
+    /**
+     * Tests that each word is padded and cut into distinct trigrams
+     */
+    @Test
+    public void testTrigramsOf()
+    {
+        // Act
+        long[] trigrams = TrigramIndex.trigramsOf("Doe DOE");
+
+        // Assert
+        assertEquals("Repeated words should add no trigrams", 4, trigrams.length);
+        assertEquals("First trigram should be padded", (long) ' ' << 32 | (long) ' ' << 16 | 'd', trigrams[0]);
+        assertEquals("Text without words has no trigrams", 0, TrigramIndex.trigramsOf(" - ").length);
+    }
+
+    /**
+     * Tests that the exact name ranks first
+     */
+    @Test
+    public void testExactNameFirst()
+    {
+        // Act
+        List<String> names = find("john doe");
+
+        // Assert
+        assertEquals("Exact name should rank first", "John Doe", names.get(0));
+        assertEquals("Closer names should follow", "Johnny Dorian", names.get(1));
+    }
+
+    /**
+     * Tests that misspelt and partial names are found
+     */
+    @Test
+    public void testTyposAndPartialNames()
+    {
+        // Act & Assert
+        assertEquals("Swapped letters should match", "John Doe", find("Jhon Doe").get(0));
+        assertEquals("Surname alone should match", "Jane Smith", find("smith").get(0));
+        assertEquals("Missing letter should match", "Jane Smith", find("Jane Smth").get(0));
+        assertTrue("Unrelated text should not match", find("xyz").isEmpty());
+    }
+
+    /**
+     * Tests that names interned after the first lookup are indexed
+     */
+    @Test
+    public void testNewNamesIndexed()
+    {
+        // Arrange
+        find("doe");
+
+        // Act
+        dictionary.intern("Alice Brown");
+        List<String> names = find("alice");
+
+        // Assert
+        assertEquals("New name should be found", Arrays.asList("Alice Brown"), names);
+    }
+
+    /**
+     * Tests the limit and the filter on ids
+     */
+    @Test
+    public void testLimitAndAccept()
+    {
+        // Act
+        List<TrigramIndex.Match> limited = index.find("john", 1, TrigramIndex.DEFAULT_MIN_SCORE, id -> true);
+        List<TrigramIndex.Match> filtered = index.find("john doe", 10, TrigramIndex.DEFAULT_MIN_SCORE,
+                                                       id -> id != dictionary.idOf("John Doe"));
+
+        // Assert
+        assertEquals("Limit should apply", 1, limited.size());
+        assertEquals("Rejected id should be skipped", "Johnny Dorian", filtered.get(0).getName());
+    }
+
+    /**
+     * Helper method returning the names found for a query
+     */
+    private List<String> find(String query)
+    {
+        List<String> names = new ArrayList<>();
+        for (TrigramIndex.Match match : index.find(query, 10, TrigramIndex.DEFAULT_MIN_SCORE, id -> true))
+        {
+            names.add(match.getName());
+        }
+        return names;
+    }
+}